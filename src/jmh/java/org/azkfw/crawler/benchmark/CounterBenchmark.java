@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.crawler.parser.engine.SimpleHtmlParseEngine.Counter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * このクラスは、{@link Counter}のベンチマークです。
+ * <p>
+ * １ページ分のリンク(重複を含む)を計数し、全リンクの件数を参照するまでの時間を計測します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CounterBenchmark {
+
+	/** リンク数 */
+	@Param({ "50", "500", "5000" })
+	public int links;
+
+	/** リンク一覧 */
+	private String[] urls;
+
+	@Setup
+	public void setup() {
+		urls = new String[links];
+		for (int i = 0; i < links; i++) {
+			// 約1/4が重複するリンク
+			urls[i] = String.format("https://www.example.com/news/%d.html", i % (links - links / 4));
+		}
+	}
+
+	@Benchmark
+	public int countup() {
+		Counter counter = new Counter();
+		for (String url : urls) {
+			counter.countup(url);
+		}
+		int total = 0;
+		for (String url : counter.keyset()) {
+			total += counter.getCount(url);
+		}
+		return total;
+	}
+}
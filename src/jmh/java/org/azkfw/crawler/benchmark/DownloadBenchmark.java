@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.crawler.downloader.HttpClientManager;
+import org.azkfw.crawler.downloader.engine.DownloadEngineCondition;
+import org.azkfw.crawler.downloader.engine.DownloadEngineResult;
+import org.azkfw.crawler.downloader.engine.SimpleDownloadEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * このクラスは、{@link SimpleDownloadEngine}のベンチマークです。
+ * <p>
+ * ローカルに起動したHTTPサーバから固定サイズのコンテンツをダウンロードし、共有HTTPクライアント・コネクションプール・出力ファイル書き込みを含む１件あたりの時間を計測します。
+ * ネットワーク遅延を含まないため、クローラ側のI/O処理のオーバーヘッドの比較に使用してください。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class DownloadBenchmark {
+
+	/** コンテンツサイズ(バイト) */
+	@Param({ "1024", "65536", "1048576" })
+	public int size;
+
+	/** HTTPサーバ */
+	private HttpServer server;
+	/** URL */
+	private URL url;
+	/** 出力ディレクトリ */
+	private File directory;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		final byte[] body = new byte[size];
+		Arrays.fill(body, (byte) 'a');
+
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+				exchange.sendResponseHeaders(200, body.length);
+				OutputStream out = exchange.getResponseBody();
+				try {
+					out.write(body);
+				} finally {
+					out.close();
+				}
+			}
+		});
+		server.setExecutor(Executors.newFixedThreadPool(8));
+		server.start();
+
+		url = new URL(String.format("http://127.0.0.1:%d/content.html", server.getAddress().getPort()));
+		directory = File.createTempFile("download", "benchmark");
+		directory.delete();
+		directory.mkdirs();
+
+		HttpClientManager.getInstance().initialize(null);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		HttpClientManager.getInstance().destroy();
+		server.stop(0);
+		File[] files = directory.listFiles();
+		if (null != files) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	/**
+	 * このクラスは、スレッド毎の出力ファイルを保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	@State(Scope.Thread)
+	public static class Destination {
+
+		/** 出力ファイル */
+		private File file;
+
+		@Setup(Level.Trial)
+		public void setup(final DownloadBenchmark aBenchmark) {
+			file = new File(aBenchmark.directory, Long.toString(Thread.currentThread().getId()));
+		}
+	}
+
+	@Benchmark
+	public long download(final Destination aDestination) {
+		DownloadEngineCondition condition = new DownloadEngineCondition();
+		condition.setContentURL(url);
+		condition.setDestFile(aDestination.file);
+
+		SimpleDownloadEngine engine = new SimpleDownloadEngine();
+		engine.initialize();
+		DownloadEngineResult result = engine.download(condition);
+		try {
+			return result.getLength();
+		} finally {
+			result.release();
+			engine.release();
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * このクラスは、ベンチマーク用のHTMLコーパスを提供するクラスです。
+ * <p>
+ * システムプロパティ<code>benchmark.corpus</code>に保存済みHTMLのディレクトリを指定した場合、そのファイルを使用します。
+ * 指定しない場合は、一般的なポータル・ブログ記事と同程度のタグ構成・リンク数のHTMLを固定の乱数系列で生成します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class HtmlCorpus {
+
+	/** コーパスディレクトリのシステムプロパティ */
+	public static final String PROPERTY_CORPUS = "benchmark.corpus";
+
+	/** 本文用の文字列 */
+	private static final String[] WORDS = { "クローラ", "ダウンロード", "解析", "リンク", "スケジュール", "crawler", "frontier", "robots",
+			"の", "を", "に", "は", "が", "、", "。", "2026年", "東京", "ニュース", "記事", "ランキング" };
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private HtmlCorpus() {
+	}
+
+	/**
+	 * コーパスを取得する。
+	 * 
+	 * @param aLinks 生成するHTMLのリンク数
+	 * @return HTML(バイト列)一覧
+	 * @throws IOException コーパスファイルの読み込みに失敗した場合
+	 */
+	public static List<byte[]> load(final int aLinks) throws IOException {
+		List<byte[]> corpus = new ArrayList<byte[]>();
+		String dir = System.getProperty(PROPERTY_CORPUS);
+		if (null != dir) {
+			File[] files = new File(dir).listFiles();
+			if (null != files) {
+				Arrays.sort(files);
+				for (File file : files) {
+					if (file.isFile()) {
+						corpus.add(read(file));
+					}
+				}
+			}
+		}
+		if (corpus.isEmpty()) {
+			Random random = new Random(aLinks);
+			for (int i = 0; i < 8; i++) {
+				corpus.add(generate(random, aLinks).getBytes(Charset.forName("UTF-8")));
+			}
+		}
+		return corpus;
+	}
+
+	/**
+	 * HTMLを生成する。
+	 * 
+	 * @param aRandom 乱数
+	 * @param aLinks リンク数
+	 * @return HTML
+	 */
+	public static String generate(final Random aRandom, final int aLinks) {
+		StringBuilder s = new StringBuilder();
+		s.append("<!DOCTYPE html>\n<html lang=\"ja\">\n<head>\n");
+		s.append("<meta charset=\"utf-8\">\n");
+		s.append("<meta name=\"description\" content=\"").append(sentence(aRandom, 12)).append("\">\n");
+		s.append("<meta name=\"keywords\" content=\"crawler,news,ranking\">\n");
+		s.append("<title>").append(sentence(aRandom, 6)).append("</title>\n");
+		s.append("<link rel=\"stylesheet\" href=\"/static/css/main.css?v=").append(aRandom.nextInt(1000)).append("\">\n");
+		s.append("<link rel=\"canonical\" href=\"https://www.example.com/news/").append(aRandom.nextInt(100000)).append("\">\n");
+		s.append("<script src=\"https://cdn.example.net/lib/jquery.min.js\"></script>\n");
+		s.append("<script>var _q = _q || []; _q.push(['track', '<a href=\"/dummy\">']); if (1 < 2 && 3 > 2) { _q.length; }</script>\n");
+		s.append("</head>\n<body class=\"article\">\n<div id=\"header\"><ul class=\"nav\">\n");
+		int nav = Math.max(1, aLinks / 5);
+		for (int i = 0; i < nav; i++) {
+			s.append("<li><a href=\"/category/").append(i).append("/\" title=\"").append(sentence(aRandom, 2)).append("\">");
+			s.append(sentence(aRandom, 2)).append("</a></li>\n");
+		}
+		s.append("</ul></div>\n<div id=\"main\"><article>\n<h1>").append(sentence(aRandom, 8)).append("</h1>\n");
+		for (int i = nav; i < aLinks; i++) {
+			s.append("<p>").append(sentence(aRandom, 20 + aRandom.nextInt(30)));
+			switch (aRandom.nextInt(6)) {
+			case 0:
+				s.append("<a href=\"https://www.example.com/news/").append(aRandom.nextInt(100000)).append(".html\">");
+				break;
+			case 1:
+				s.append("<a href=\"../archive/").append(2000 + aRandom.nextInt(26)).append("/index.html#top\">");
+				break;
+			case 2:
+				s.append("<a href=\"/search?q=").append(aRandom.nextInt(1000)).append("&amp;utm_source=top&amp;page=").append(aRandom.nextInt(10))
+						.append("\">");
+				break;
+			case 3:
+				s.append("<a href=\"//sub.example.org/path/to/").append(aRandom.nextInt(1000)).append("\">");
+				break;
+			case 4:
+				s.append("<img src=\"/img/").append(aRandom.nextInt(10000)).append(".jpg\" alt=\"").append(sentence(aRandom, 2)).append("\"> <a href=\"detail_")
+						.append(i).append(".html\">");
+				break;
+			default:
+				s.append("<a href=\"./tag/%E3%82%AF%E3%83%AD%E3%83%BC%E3%83%A9/").append(i).append("\">");
+				break;
+			}
+			s.append(sentence(aRandom, 3)).append("</a>");
+			s.append(sentence(aRandom, 10)).append("</p>\n");
+		}
+		s.append("</article></div>\n<div id=\"footer\"><p>&copy; 2026 Example &amp; Co.</p></div>\n</body>\n</html>\n");
+		return s.toString();
+	}
+
+	/**
+	 * 文章を生成する。
+	 * 
+	 * @param aRandom 乱数
+	 * @param aWords 単語数
+	 * @return 文章
+	 */
+	private static String sentence(final Random aRandom, final int aWords) {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < aWords; i++) {
+			s.append(WORDS[aRandom.nextInt(WORDS.length)]);
+		}
+		return s.toString();
+	}
+
+	/**
+	 * ファイルを読み込む。
+	 * 
+	 * @param aFile ファイル
+	 * @return バイト列
+	 * @throws IOException 読み込みに失敗した場合
+	 */
+	private static byte[] read(final File aFile) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(aFile, "r");
+		try {
+			byte[] bytes = new byte[(int) file.length()];
+			file.readFully(bytes);
+			return bytes;
+		} finally {
+			file.close();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.crawler.content.ByteBufferContent;
+import org.azkfw.crawler.parser.engine.ParseEngineResult;
+import org.azkfw.crawler.parser.engine.SimpleHtmlParseEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * このクラスは、{@link SimpleHtmlParseEngine}のベンチマークです。
+ * <p>
+ * コーパスのHTMLを順に解析し、１ページあたりの解析時間(文字コード判定・トークン化・URL解決を含む)を計測します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HtmlParseBenchmark {
+
+	/** 生成するHTMLのリンク数 */
+	@Param({ "50", "500" })
+	public int links;
+
+	/** URL */
+	private URL url;
+	/** コーパス */
+	private List<byte[]> corpus;
+	/** 次に解析するページ */
+	private int index;
+
+	@Setup
+	public void setup() throws IOException {
+		url = new URL("https://www.example.com/news/2026/10/article.html");
+		corpus = HtmlCorpus.load(links);
+		index = 0;
+	}
+
+	@Benchmark
+	public int parse() {
+		byte[] html = corpus.get(index);
+		index = (index + 1) % corpus.size();
+
+		SimpleHtmlParseEngine engine = new SimpleHtmlParseEngine(url, new ByteBufferContent(html));
+		engine.initialize();
+		try {
+			ParseEngineResult result = engine.parse();
+			return (result.isResult()) ? engine.getUrls().keyset().size() : -1;
+		} finally {
+			engine.release();
+		}
+	}
+}
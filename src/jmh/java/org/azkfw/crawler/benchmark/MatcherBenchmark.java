@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.benchmark;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.crawler.matcher.CronExpression;
+import org.azkfw.crawler.matcher.DateTimeMatcher;
+import org.azkfw.crawler.matcher.NumberMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * このクラスは、スケジュールのマッチング処理のベンチマークです。
+ * <p>
+ * 文字列ベースの{@link DateTimeMatcher}・{@link NumberMatcher}と、DatetimeScheduleが使用する{@link CronExpression}を比較します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MatcherBenchmark {
+
+	/** スケジュールパターン */
+	private static final String PATTERN = "0,15,30,45 9-18 * 1-12 1-5";
+
+	/** 日時マッチャー */
+	private DateTimeMatcher dateTimeMatcher;
+	/** 数値マッチャー */
+	private NumberMatcher numberMatcher;
+	/** cron式 */
+	private CronExpression cronExpression;
+	/** 判定する日時 */
+	private long time;
+	/** 判定する日時(文字列) */
+	private String value;
+
+	@Setup
+	public void setup() {
+		dateTimeMatcher = new DateTimeMatcher();
+		dateTimeMatcher.compile(PATTERN);
+		numberMatcher = new NumberMatcher();
+		numberMatcher.compile("0,5,10-20,30-45");
+		cronExpression = new CronExpression(PATTERN, TimeZone.getDefault());
+
+		Calendar calendar = Calendar.getInstance();
+		calendar.set(2026, Calendar.OCTOBER, 19, 10, 30, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		time = calendar.getTimeInMillis();
+		value = String.format("%d %d %d %d %d", calendar.get(Calendar.MINUTE), calendar.get(Calendar.HOUR_OF_DAY),
+				calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_WEEK) - 1);
+	}
+
+	@Benchmark
+	public boolean dateTimeMatcher() {
+		return dateTimeMatcher.match(value);
+	}
+
+	@Benchmark
+	public boolean numberMatcher() {
+		return numberMatcher.match("17");
+	}
+
+	@Benchmark
+	public boolean cronMatch() {
+		return cronExpression.match(time);
+	}
+
+	@Benchmark
+	public long cronNext() {
+		return cronExpression.next(time);
+	}
+}
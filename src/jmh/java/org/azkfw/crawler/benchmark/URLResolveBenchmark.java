@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.crawler.util.URLNormalizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * このクラスは、リンクURLの解決・正規化のベンチマークです。
+ * <p>
+ * 解析結果のリンク解決で使用する{@link URLNormalizer#resolve(String, String)}、{@link URLNormalizer#normalize(String)}
+ * および既出判定で使用する{@link URLNormalizer#fingerprintOf(String)}を計測します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class URLResolveBenchmark {
+
+	/** 基準URL */
+	private static final String BASE = "https://www.example.com/news/2026/10/article.html";
+
+	/** 参照URL */
+	private static final String[] REFERENCES = { "https://www.example.com/news/12345.html", "../archive/2014/index.html#top",
+			"/search?q=crawler&utm_source=top&page=2", "//sub.example.org/path/to/page", "detail_10.html",
+			"./tag/%E3%82%AF%E3%83%AD%E3%83%BC%E3%83%A9/1", "HTTP://WWW.Example.COM:80/a/./b/../c/?b=2&a=1&gclid=xyz", "#section",
+			"javascript:void(0)", "mailto:info@example.com" };
+
+	/** URL正規化 */
+	private final URLNormalizer normalizer = URLNormalizer.getDefault();
+
+	@Benchmark
+	public void resolve(final Blackhole aBlackhole) {
+		for (String reference : REFERENCES) {
+			aBlackhole.consume(normalizer.resolve(BASE, reference));
+		}
+	}
+
+	@Benchmark
+	public void normalize(final Blackhole aBlackhole) {
+		for (String reference : REFERENCES) {
+			aBlackhole.consume(normalizer.normalize(reference));
+		}
+	}
+
+	@Benchmark
+	public void fingerprint(final Blackhole aBlackhole) {
+		for (String reference : REFERENCES) {
+			aBlackhole.consume(normalizer.fingerprintOf(reference));
+		}
+	}
+}
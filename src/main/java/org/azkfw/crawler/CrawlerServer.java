@@ -17,19 +17,31 @@
  */
 package org.azkfw.crawler;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.azkfw.configuration.ConfigurationFormatException;
 import org.azkfw.context.Context;
 import org.azkfw.crawler.config.CrawlerConfig;
 import org.azkfw.crawler.config.CrawlerConfig.CrawlerThreadConfig;
+import org.azkfw.crawler.downloader.HttpClientManager;
+import org.azkfw.crawler.downloader.ValidatorStore;
+import org.azkfw.crawler.engine.FrontierManager;
 import org.azkfw.crawler.lang.CrawlerSetupException;
+import org.azkfw.crawler.performance.Gauge;
+import org.azkfw.crawler.performance.MetricsRegistry;
+import org.azkfw.crawler.performance.Tracer;
+import org.azkfw.crawler.robots.RobotsManager;
 import org.azkfw.crawler.server.CrawlerControlServer;
 import org.azkfw.crawler.server.CrawlerManagerServer;
+import org.azkfw.crawler.task.support.CrawlerTaskPoolSupport;
 import org.azkfw.crawler.thread.BasicCrawlerThread;
+import org.azkfw.crawler.thread.CrawlerTaskPool;
 import org.azkfw.crawler.thread.CrawlerThread;
 import org.azkfw.crawler.thread.CrawlerThread.Status;
 import org.azkfw.log.LoggingObject;
@@ -67,9 +79,9 @@ public class CrawlerServer extends LoggingObject {
 	private List<CrawlerThread> threads = new ArrayList<CrawlerThread>();
 
 	/**
-	 * 停止要求フラグ
+	 * 停止要求ラッチ
 	 */
-	private boolean stopRequestFlag;
+	private final CountDownLatch stopRequestLatch = new CountDownLatch(1);
 
 	/**
 	 * コントロールサーバ
@@ -135,6 +147,7 @@ public class CrawlerServer extends LoggingObject {
 				// Crawler thread create
 				info("Crawler thread creating...");
 				createThreads(); // スレッド生成
+				registerThreadMetrics(); // メトリクス登録
 				info("Crawler thread created.");
 
 				// Crawler thread setup
@@ -155,20 +168,13 @@ public class CrawlerServer extends LoggingObject {
 				info("Crawler started.");
 
 				// Main
-				stopRequestFlag = false;
-				while (!stopRequestFlag) {
-					// メインループ
-					Thread.sleep(1000);
-				}
+				stopRequestLatch.await(); // 停止要求待ち
 
 				info("Crawler stoping...");
 
 				// Crawler thread stop
 				info("Crawler thread stopping...");
-				while (!isStopThreads()) { // スレッド停止待ち
-					debug("Crawler thread stopping(sleep)...");
-					Thread.sleep(500);
-				}
+				awaitStopThreads(); // スレッド停止待ち
 				info("Crawler thread stoped.");
 
 			} catch (CrawlerSetupException ex) {
@@ -216,11 +222,23 @@ public class CrawlerServer extends LoggingObject {
 	 * クローラサーバに停止要求を行う。
 	 */
 	public void requestStop() {
-		stopRequestFlag = true;
+		stopRequestLatch.countDown();
 		requestStopThreads();
 	}
 
 	private void initialize() throws IOException, ConfigurationFormatException, PluginServiceException {
+		HttpClientManager.getInstance().initialize(config.getDownloader());
+		if (null != config.getDownloader() && StringUtility.isNotEmpty(config.getDownloader().getValidatorfile())) {
+			ValidatorStore.getInstance().initialize(new File(config.getDownloader().getValidatorfile()),
+					config.getDownloader().getValidatorcapacity());
+		} else {
+			ValidatorStore.getInstance().initialize(null);
+		}
+		FrontierManager.getInstance().initialize(config.getFrontier(), config.getSeenfilter());
+		RobotsManager.getInstance().initialize(config.getRobots());
+		CrawlerTaskPool.getInstance().initialize(config.getTaskpool());
+		Tracer.getInstance().initialize(config.getTracer());
+
 		if (StringUtility.isNotEmpty(pluginFile)) {
 			InputStream stream = context.getResourceAsStream(pluginFile);
 			if (null != stream) {
@@ -236,6 +254,13 @@ public class CrawlerServer extends LoggingObject {
 
 	private void release() {
 		PluginManager.getInstance().destroy();
+		HttpClientManager.getInstance().destroy();
+		ValidatorStore.getInstance().destroy();
+		FrontierManager.getInstance().destroy();
+		RobotsManager.getInstance().destroy();
+		CrawlerTaskPool.getInstance().destroy();
+		MetricsRegistry.getInstance().destroy();
+		Tracer.getInstance().destroy();
 	}
 
 	/**
@@ -247,15 +272,81 @@ public class CrawlerServer extends LoggingObject {
 			List<CrawlerThreadConfig> threadConfigs = config.getThreads();
 			for (CrawlerThreadConfig threadConfig : threadConfigs) {
 
-				for (int i = 0; i < threadConfig.getThread(); i++) {
+				if (isPoolThread(threadConfig)) {
+					// 並列処理は共有タスクプールで行うため、複製しない
 					CrawlerThread thread = new BasicCrawlerThread(context, threadConfig);
 					threads.add(thread);
+				} else {
+					for (int i = 0; i < threadConfig.getThread(); i++) {
+						CrawlerThread thread = new BasicCrawlerThread(context, threadConfig);
+						threads.add(thread);
+					}
 				}
 
 			}
 		}
 	}
 
+	/**
+	 * 共有タスクプールで並列処理するスレッドか判断する。
+	 * <p>
+	 * <code>pool="true"</code>でもタスクが{@link CrawlerTaskPoolSupport}を実装していない場合は、スレッド数分の複製で処理する。
+	 * </p>
+	 * 
+	 * @param aConfig スレッド設定
+	 * @return 共有タスクプールで処理する場合、<code>true</code>
+	 */
+	private boolean isPoolThread(final CrawlerThreadConfig aConfig) {
+		if (!aConfig.isPool()) {
+			return false;
+		}
+		String classname = aConfig.getTask().getClassname();
+		try {
+			if (CrawlerTaskPoolSupport.class.isAssignableFrom(Class.forName(classname))) {
+				return true;
+			}
+			warn("This task is not task pool support, run replicas.[" + classname + "]");
+		} catch (ClassNotFoundException ex) {
+			warn("Task class not found.[" + classname + "]");
+		}
+		return false;
+	}
+
+	/**
+	 * スレッドの状態・タスク実行回数のメトリクスを登録する。
+	 */
+	private void registerThreadMetrics() {
+		MetricsRegistry metrics = MetricsRegistry.getInstance();
+		for (final Status status : Status.values()) {
+			metrics.gauge("crawler_threads", "Number of crawler threads by status.", new Gauge() {
+				@Override
+				public long getValue() {
+					long count = 0;
+					for (CrawlerThread thread : threads) {
+						if (status == thread.getStatus()) {
+							count++;
+						}
+					}
+					return count;
+				}
+			}, "status", status.name());
+		}
+		for (final CrawlerThread thread : threads) {
+			metrics.counterGauge("crawler_task_runs_total", "Number of task runs.", new Gauge() {
+				@Override
+				public long getValue() {
+					return thread.getStatistics().getCount();
+				}
+			}, "thread", thread.getTitle(), "id", thread.getId());
+			metrics.counterGauge("crawler_task_failures_total", "Number of failed task runs.", new Gauge() {
+				@Override
+				public long getValue() {
+					return thread.getStatistics().getFailureCount();
+				}
+			}, "thread", thread.getTitle(), "id", thread.getId());
+		}
+	}
+
 	/**
 	 * すべてのスレッドのセットアップ処理を行う。
 	 */
@@ -306,19 +397,18 @@ public class CrawlerServer extends LoggingObject {
 	}
 
 	/**
-	 * すべてのスレッドが停止しているか判断する。
+	 * すべてのスレッドが停止するまで待機する。
 	 * 
-	 * @return 判断
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
 	 */
-	private boolean isStopThreads() {
+	private void awaitStopThreads() throws InterruptedException {
 		synchronized (threads) {
 			for (CrawlerThread thread : threads) {
-				if (thread.getStatus() == Status.running || thread.getStatus() == Status.sleeping) {
-					return false;
+				while (!thread.awaitStop(10, TimeUnit.SECONDS)) {
+					debug(String.format("Crawler thread stopping(wait)...[%s]", thread.getTitle()));
 				}
 			}
 		}
-		return true;
 	}
 
 }
@@ -26,6 +26,7 @@ import org.apache.commons.digester.Digester;
 import org.apache.commons.digester.ObjectCreateRule;
 import org.apache.commons.digester.SetNextRule;
 import org.apache.commons.digester.SetPropertiesRule;
+import org.azkfw.crawler.thread.CrawlerThreadFactory;
 import org.xml.sax.SAXException;
 
 /**
@@ -61,6 +62,30 @@ public class CrawlerConfig {
 			digester.addRule("crawler/manager", new SetPropertiesRule());
 			digester.addRule("crawler/manager", new SetNextRule("setManager"));
 
+			digester.addRule("crawler/downloader", new ObjectCreateRule(CrawlerDownloaderConfig.class));
+			digester.addRule("crawler/downloader", new SetPropertiesRule());
+			digester.addRule("crawler/downloader", new SetNextRule("setDownloader"));
+
+			digester.addRule("crawler/frontier", new ObjectCreateRule(CrawlerFrontierConfig.class));
+			digester.addRule("crawler/frontier", new SetPropertiesRule());
+			digester.addRule("crawler/frontier", new SetNextRule("setFrontier"));
+
+			digester.addRule("crawler/seenfilter", new ObjectCreateRule(CrawlerSeenFilterConfig.class));
+			digester.addRule("crawler/seenfilter", new SetPropertiesRule());
+			digester.addRule("crawler/seenfilter", new SetNextRule("setSeenfilter"));
+
+			digester.addRule("crawler/robots", new ObjectCreateRule(CrawlerRobotsConfig.class));
+			digester.addRule("crawler/robots", new SetPropertiesRule());
+			digester.addRule("crawler/robots", new SetNextRule("setRobots"));
+
+			digester.addRule("crawler/taskpool", new ObjectCreateRule(CrawlerTaskPoolConfig.class));
+			digester.addRule("crawler/taskpool", new SetPropertiesRule());
+			digester.addRule("crawler/taskpool", new SetNextRule("setTaskpool"));
+
+			digester.addRule("crawler/tracer", new ObjectCreateRule(CrawlerTracerConfig.class));
+			digester.addRule("crawler/tracer", new SetPropertiesRule());
+			digester.addRule("crawler/tracer", new SetNextRule("setTracer"));
+
 			digester.addRule("crawler/threads", new ObjectCreateRule(ArrayList.class));
 			digester.addRule("crawler/threads", new SetNextRule("setThreads"));
 
@@ -96,6 +121,12 @@ public class CrawlerConfig {
 	private CrawlerControllerConfig controller;
 	private CrawlerLoggerConfig logger;
 	private CrawlerManagerConfig manager;
+	private CrawlerDownloaderConfig downloader;
+	private CrawlerFrontierConfig frontier;
+	private CrawlerSeenFilterConfig seenFilter;
+	private CrawlerRobotsConfig robots;
+	private CrawlerTaskPoolConfig taskPool;
+	private CrawlerTracerConfig tracer;
 	private List<CrawlerThreadConfig> threads;
 
 	public void setController(final CrawlerControllerConfig aController) {
@@ -122,6 +153,54 @@ public class CrawlerConfig {
 		return manager;
 	}
 
+	public void setDownloader(final CrawlerDownloaderConfig aDownloader) {
+		downloader = aDownloader;
+	}
+
+	public CrawlerDownloaderConfig getDownloader() {
+		return downloader;
+	}
+
+	public void setFrontier(final CrawlerFrontierConfig aFrontier) {
+		frontier = aFrontier;
+	}
+
+	public CrawlerFrontierConfig getFrontier() {
+		return frontier;
+	}
+
+	public void setSeenfilter(final CrawlerSeenFilterConfig aSeenFilter) {
+		seenFilter = aSeenFilter;
+	}
+
+	public CrawlerSeenFilterConfig getSeenfilter() {
+		return seenFilter;
+	}
+
+	public void setRobots(final CrawlerRobotsConfig aRobots) {
+		robots = aRobots;
+	}
+
+	public CrawlerRobotsConfig getRobots() {
+		return robots;
+	}
+
+	public void setTaskpool(final CrawlerTaskPoolConfig aTaskPool) {
+		taskPool = aTaskPool;
+	}
+
+	public CrawlerTaskPoolConfig getTaskpool() {
+		return taskPool;
+	}
+
+	public void setTracer(final CrawlerTracerConfig aTracer) {
+		tracer = aTracer;
+	}
+
+	public CrawlerTracerConfig getTracer() {
+		return tracer;
+	}
+
 	public void setThreads(final List<CrawlerThreadConfig> aThreads) {
 		threads = aThreads;
 	}
@@ -213,6 +292,373 @@ public class CrawlerConfig {
 		}
 	}
 
+	/**
+	 * このクラスは、クローラダウンローダ設定情報を保持するクラスです。
+	 * <p>
+	 * 時間の単位は全てミリ秒です。
+	 * </p>
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static class CrawlerDownloaderConfig {
+		/** 最大コネクション数 */
+		private int maxTotal;
+		/** ルート毎の最大コネクション数 */
+		private int maxPerRoute;
+		/** アイドルコネクションを破棄するまでの時間 */
+		private long idleTimeout;
+		/** コネクション再利用時に検証を行うまでの非活性時間(負数の場合、検証しない) */
+		private int validateAfterInactivity;
+		/** 接続タイムアウト */
+		private int connectTimeout;
+		/** ソケットタイムアウト */
+		private int socketTimeout;
+		/** コネクション取得タイムアウト */
+		private int requestTimeout;
+		/** バリデータ保存ファイル(未指定の場合、永続化しない) */
+		private String validatorFile;
+		/** バリデータ最大件数 */
+		private int validatorCapacity;
+
+		public CrawlerDownloaderConfig() {
+			maxTotal = 200;
+			maxPerRoute = 20;
+			idleTimeout = 30000;
+			validateAfterInactivity = 2000;
+			connectTimeout = 10000;
+			socketTimeout = 30000;
+			requestTimeout = 10000;
+			validatorFile = null;
+			validatorCapacity = 1000000;
+		}
+
+		public void setMaxtotal(final int aMaxTotal) {
+			maxTotal = aMaxTotal;
+		}
+
+		public int getMaxtotal() {
+			return maxTotal;
+		}
+
+		public void setMaxperroute(final int aMaxPerRoute) {
+			maxPerRoute = aMaxPerRoute;
+		}
+
+		public int getMaxperroute() {
+			return maxPerRoute;
+		}
+
+		public void setIdletimeout(final long aTimeout) {
+			idleTimeout = aTimeout;
+		}
+
+		public long getIdletimeout() {
+			return idleTimeout;
+		}
+
+		public void setValidateafterinactivity(final int aInactivity) {
+			validateAfterInactivity = aInactivity;
+		}
+
+		public int getValidateafterinactivity() {
+			return validateAfterInactivity;
+		}
+
+		public void setConnecttimeout(final int aTimeout) {
+			connectTimeout = aTimeout;
+		}
+
+		public int getConnecttimeout() {
+			return connectTimeout;
+		}
+
+		public void setSockettimeout(final int aTimeout) {
+			socketTimeout = aTimeout;
+		}
+
+		public int getSockettimeout() {
+			return socketTimeout;
+		}
+
+		public void setRequesttimeout(final int aTimeout) {
+			requestTimeout = aTimeout;
+		}
+
+		public int getRequesttimeout() {
+			return requestTimeout;
+		}
+
+		public void setValidatorfile(final String aFile) {
+			validatorFile = aFile;
+		}
+
+		public String getValidatorfile() {
+			return validatorFile;
+		}
+
+		public void setValidatorcapacity(final int aCapacity) {
+			validatorCapacity = aCapacity;
+		}
+
+		public int getValidatorcapacity() {
+			return validatorCapacity;
+		}
+	}
+
+	/**
+	 * このクラスは、クローラフロンティア設定情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static class CrawlerFrontierConfig {
+		/** ディレクトリ */
+		private String directory;
+		/** 優先度数 */
+		private int priorities;
+		/** パーティション数 */
+		private int partitions;
+		/** セグメントサイズ(バイト) */
+		private int segmentSize;
+
+		public CrawlerFrontierConfig() {
+			directory = "frontier";
+			priorities = 3;
+			partitions = 16;
+			segmentSize = 1024 * 1024 * 16;
+		}
+
+		public void setDirectory(final String aDirectory) {
+			directory = aDirectory;
+		}
+
+		public String getDirectory() {
+			return directory;
+		}
+
+		public void setPriorities(final int aPriorities) {
+			priorities = aPriorities;
+		}
+
+		public int getPriorities() {
+			return priorities;
+		}
+
+		public void setPartitions(final int aPartitions) {
+			partitions = aPartitions;
+		}
+
+		public int getPartitions() {
+			return partitions;
+		}
+
+		public void setSegmentsize(final int aSize) {
+			segmentSize = aSize;
+		}
+
+		public int getSegmentsize() {
+			return segmentSize;
+		}
+	}
+
+	/**
+	 * このクラスは、既出URLフィルタ設定情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static class CrawlerSeenFilterConfig {
+		/** ファイル */
+		private String file;
+		/** 想定登録件数 */
+		private long expectedInsertions;
+		/** 偽陽性率 */
+		private double fpp;
+
+		public CrawlerSeenFilterConfig() {
+			file = "seen.bloom";
+			expectedInsertions = 10000000;
+			fpp = 0.01;
+		}
+
+		public void setFile(final String aFile) {
+			file = aFile;
+		}
+
+		public String getFile() {
+			return file;
+		}
+
+		public void setExpectedinsertions(final long aExpectedInsertions) {
+			expectedInsertions = aExpectedInsertions;
+		}
+
+		public long getExpectedinsertions() {
+			return expectedInsertions;
+		}
+
+		public void setFpp(final double aFpp) {
+			fpp = aFpp;
+		}
+
+		public double getFpp() {
+			return fpp;
+		}
+	}
+
+	/**
+	 * このクラスは、robots.txt設定情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static class CrawlerRobotsConfig {
+		/** 有効 */
+		private boolean enable;
+		/** ユーザーエージェント(製品トークン) */
+		private String userAgent;
+		/** キャッシュ有効期間(ミリ秒) */
+		private long ttl;
+		/** 取得失敗時のキャッシュ有効期間(ミリ秒) */
+		private long errorTtl;
+		/** 最大キャッシュホスト数 */
+		private int maxHosts;
+
+		public CrawlerRobotsConfig() {
+			enable = true;
+			userAgent = "azkcrawler";
+			ttl = 24 * 60 * 60 * 1000;
+			errorTtl = 60 * 60 * 1000;
+			maxHosts = 10000;
+		}
+
+		public void setEnable(final boolean aEnable) {
+			enable = aEnable;
+		}
+
+		public boolean isEnable() {
+			return enable;
+		}
+
+		public void setUseragent(final String aUserAgent) {
+			userAgent = aUserAgent;
+		}
+
+		public String getUseragent() {
+			return userAgent;
+		}
+
+		public void setTtl(final long aTtl) {
+			ttl = aTtl;
+		}
+
+		public long getTtl() {
+			return ttl;
+		}
+
+		public void setErrorttl(final long aErrorTtl) {
+			errorTtl = aErrorTtl;
+		}
+
+		public long getErrorttl() {
+			return errorTtl;
+		}
+
+		public void setMaxhosts(final int aMaxHosts) {
+			maxHosts = aMaxHosts;
+		}
+
+		public int getMaxhosts() {
+			return maxHosts;
+		}
+	}
+
+	/**
+	 * このクラスは、共有タスクプール設定情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static class CrawlerTaskPoolConfig {
+		/** 並列度(0以下の場合はCPU数) */
+		private int parallelism;
+		/** 停止待機時間(ミリ秒) */
+		private long shutdownTimeout;
+
+		public CrawlerTaskPoolConfig() {
+			parallelism = 0;
+			shutdownTimeout = 30 * 1000;
+		}
+
+		public void setParallelism(final int aParallelism) {
+			parallelism = aParallelism;
+		}
+
+		public int getParallelism() {
+			return parallelism;
+		}
+
+		public void setShutdowntimeout(final long aShutdownTimeout) {
+			shutdownTimeout = aShutdownTimeout;
+		}
+
+		public long getShutdowntimeout() {
+			return shutdownTimeout;
+		}
+	}
+
+	/**
+	 * このクラスは、トレース設定情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static class CrawlerTracerConfig {
+		/** 有効フラグ */
+		private boolean enabled;
+		/** サンプリング間隔(最上位の区間の何件に１件を記録するか) */
+		private int sample;
+		/** 保持する区間数 */
+		private int capacity;
+
+		public CrawlerTracerConfig() {
+			enabled = false;
+			sample = 100;
+			capacity = 64 * 1024;
+		}
+
+		public void setEnabled(final boolean aEnabled) {
+			enabled = aEnabled;
+		}
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setSample(final int aSample) {
+			sample = aSample;
+		}
+
+		public int getSample() {
+			return sample;
+		}
+
+		public void setCapacity(final int aCapacity) {
+			capacity = aCapacity;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+	}
+
 	/**
 	 * このクラスは、クローラスレッド設定情報を保持するクラスです。
 	 * 
@@ -226,12 +672,22 @@ public class CrawlerConfig {
 		private String description;
 		private boolean startup;
 		private int thread;
+		/** スレッドモード(platform / virtual) */
+		private String mode;
+		/** 共有タスクプールを使用するか */
+		private boolean pool;
+		/** 共有タスクプールでの同時実行数(0以下の場合はスレッド数) */
+		private int concurrency;
+		/** 保持するタスク実行ログ数 */
+		private int history;
 
 		private CrawlerTaskConfig task;
 		private CrawlerScheduleConfig schedule;
 
 		public CrawlerThreadConfig() {
 			thread = 1;
+			mode = CrawlerThreadFactory.MODE_PLATFORM;
+			history = 100;
 		}
 
 		public void setTitle(final String aTitle) {
@@ -266,6 +722,38 @@ public class CrawlerConfig {
 			return thread;
 		}
 
+		public void setMode(final String aMode) {
+			mode = aMode;
+		}
+
+		public String getMode() {
+			return mode;
+		}
+
+		public void setPool(final boolean aPool) {
+			pool = aPool;
+		}
+
+		public boolean isPool() {
+			return pool;
+		}
+
+		public void setConcurrency(final int aConcurrency) {
+			concurrency = aConcurrency;
+		}
+
+		public int getConcurrency() {
+			return concurrency;
+		}
+
+		public void setHistory(final int aHistory) {
+			history = aHistory;
+		}
+
+		public int getHistory() {
+			return history;
+		}
+
 		public void setTask(final CrawlerTaskConfig aTask) {
 			task = aTask;
 		}
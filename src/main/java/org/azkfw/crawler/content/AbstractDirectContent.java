@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * このクラスは、バイト列へ直接アクセス可能なコンテンツを定義するための基底クラスです。
+ * <p>
+ * {@link #getInputStream()}は{@link #getByteBuffer()}のバッファから読み込むストリームを返します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public abstract class AbstractDirectContent implements DirectContent {
+
+	@Override
+	public final long getLength() throws IOException {
+		return getByteBuffer().remaining();
+	}
+
+	@Override
+	public final InputStream getInputStream() throws IOException {
+		return new ByteBufferInputStream(getByteBuffer());
+	}
+
+	@Override
+	public final CharSequence getCharSequence(final Charset aCharset) throws IOException {
+		return aCharset.decode(getByteBuffer());
+	}
+
+	/**
+	 * このクラスは、バッファから読み込む入力ストリームです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		/** バッファ */
+		private final ByteBuffer buffer;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aBuffer バッファ
+		 */
+		public ByteBufferInputStream(final ByteBuffer aBuffer) {
+			buffer = aBuffer;
+		}
+
+		@Override
+		public int read() {
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) {
+			if (0 == len) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int size = Math.min(len, buffer.remaining());
+			buffer.get(b, off, size);
+			return size;
+		}
+
+		@Override
+		public long skip(final long n) {
+			int size = (int) Math.max(0, Math.min(n, buffer.remaining()));
+			buffer.position(buffer.position() + size);
+			return size;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
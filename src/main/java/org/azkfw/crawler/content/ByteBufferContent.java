@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.content;
+
+import java.nio.ByteBuffer;
+
+/**
+ * このクラスは、メモリ上のバイト列をコンテンツとして扱うクラスです。
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class ByteBufferContent extends AbstractDirectContent {
+
+	/** バッファ */
+	private final ByteBuffer buffer;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * バイト配列はコピーされません。
+	 * </p>
+	 * 
+	 * @param aBytes バイト配列
+	 */
+	public ByteBufferContent(final byte[] aBytes) {
+		this(ByteBuffer.wrap(aBytes));
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * バッファの位置からリミットまでをコンテンツとします。バッファの内容はコピーされません。
+	 * </p>
+	 * 
+	 * @param aBuffer バッファ
+	 */
+	public ByteBufferContent(final ByteBuffer aBuffer) {
+		buffer = aBuffer.slice();
+	}
+
+	@Override
+	public ByteBuffer getByteBuffer() {
+		return buffer.asReadOnlyBuffer();
+	}
+}
@@ -0,0 +1,492 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Locale;
+
+/**
+ * このクラスは、テキストコンテンツの文字コードを判定するクラスです。
+ * <p>
+ * 以下の順に判定します。
+ * <ol>
+ * <li>BOM</li>
+ * <li>Content-Typeヘッダーのcharsetパラメータ</li>
+ * <li>先頭バイト列(既定4KB)のmetaタグ・XML宣言</li>
+ * <li>日本語文字コードの統計的判定(ISO-2022-JP・UTF-8・Shift_JIS・EUC-JP)</li>
+ * </ol>
+ * コンテンツ全体の解析は行わず、先頭バイト列のみを参照します。インスタンスはスレッドセーフです。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class CharsetDetector {
+
+	/** デフォルトの先頭バイト数 */
+	public static final int DEFAULT_PRESCAN_SIZE = 4 * 1024;
+
+	/** デフォルトインスタンス */
+	private static final CharsetDetector DEFAULT = new CharsetDetector();
+
+	/** UTF-8 */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/** 判定に使用する先頭バイト数 */
+	private final int prescanSize;
+	/** 統計的判定を行うか */
+	private final boolean guess;
+
+	/**
+	 * デフォルトインスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static CharsetDetector getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 先頭4KBを参照し、日本語文字コードの統計的判定を行います。
+	 * </p>
+	 */
+	public CharsetDetector() {
+		this(DEFAULT_PRESCAN_SIZE, true);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aPrescanSize 判定に使用する先頭バイト数
+	 * @param aGuess 日本語文字コードの統計的判定を行う場合、<code>true</code>
+	 */
+	public CharsetDetector(final int aPrescanSize, final boolean aGuess) {
+		prescanSize = Math.max(64, aPrescanSize);
+		guess = aGuess;
+	}
+
+	/**
+	 * 判定に使用する先頭バイト数を取得する。
+	 * 
+	 * @return バイト数
+	 */
+	public int getPrescanSize() {
+		return prescanSize;
+	}
+
+	/**
+	 * コンテンツの文字コードを判定する。
+	 * <p>
+	 * {@link DirectContent}の場合、ストリームを開かずにバッファの先頭を参照します。
+	 * </p>
+	 * 
+	 * @param aContent コンテンツ
+	 * @param aContentType Content-Typeヘッダー(<code>null</code>可)
+	 * @return 文字コード。判定できない場合、<code>null</code>を返す。
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public Charset detect(final Content aContent, final String aContentType) throws IOException {
+		byte[] buffer = new byte[prescanSize];
+		int length = 0;
+		if (aContent instanceof DirectContent) {
+			ByteBuffer source = ((DirectContent) aContent).getByteBuffer();
+			length = Math.min(buffer.length, source.remaining());
+			source.get(buffer, 0, length);
+			return detect(buffer, length, aContentType);
+		}
+
+		InputStream stream = null;
+		try {
+			stream = aContent.getInputStream();
+			int size;
+			while (length < buffer.length && -1 != (size = stream.read(buffer, length, buffer.length - length))) {
+				length += size;
+			}
+		} finally {
+			if (null != stream) {
+				stream.close();
+			}
+		}
+		return detect(buffer, length, aContentType);
+	}
+
+	/**
+	 * 先頭バイト列から文字コードを判定する。
+	 * 
+	 * @param aBuffer 先頭バイト列
+	 * @param aLength 長さ
+	 * @param aContentType Content-Typeヘッダー(<code>null</code>可)
+	 * @return 文字コード。判定できない場合、<code>null</code>を返す。
+	 */
+	public Charset detect(final byte[] aBuffer, final int aLength, final String aContentType) {
+		int length = Math.min(aLength, prescanSize);
+		Charset charset = getBomCharset(aBuffer, length);
+		if (null == charset) {
+			charset = getCharset(aContentType);
+		}
+		if (null == charset) {
+			charset = prescan(aBuffer, length);
+		}
+		if (null == charset && guess) {
+			charset = guess(aBuffer, length);
+		}
+		return charset;
+	}
+
+	/**
+	 * Content-Typeヘッダーから文字コードを取得する。
+	 * 
+	 * @param aContentType Content-Typeヘッダー
+	 * @return 文字コード。指定されていない場合、<code>null</code>を返す。
+	 */
+	public static Charset getCharset(final String aContentType) {
+		if (null == aContentType) {
+			return null;
+		}
+		int index = aContentType.toLowerCase(Locale.ENGLISH).indexOf("charset");
+		if (-1 == index) {
+			return null;
+		}
+		index = aContentType.indexOf('=', index + 7);
+		if (-1 == index) {
+			return null;
+		}
+		String name = aContentType.substring(index + 1);
+		int end = name.indexOf(';');
+		if (-1 != end) {
+			name = name.substring(0, end);
+		}
+		return forName(name);
+	}
+
+	/**
+	 * BOMから文字コードを取得する。
+	 * 
+	 * @param aBuffer 先頭バイト列
+	 * @param aLength 長さ
+	 * @return 文字コード。BOMがない場合、<code>null</code>を返す。
+	 */
+	public static Charset getBomCharset(final byte[] aBuffer, final int aLength) {
+		if (3 <= aLength && (byte) 0xEF == aBuffer[0] && (byte) 0xBB == aBuffer[1] && (byte) 0xBF == aBuffer[2]) {
+			return UTF_8;
+		}
+		if (2 <= aLength && (byte) 0xFE == aBuffer[0] && (byte) 0xFF == aBuffer[1]) {
+			return Charset.forName("UTF-16BE");
+		}
+		if (2 <= aLength && (byte) 0xFF == aBuffer[0] && (byte) 0xFE == aBuffer[1]) {
+			return Charset.forName("UTF-16LE");
+		}
+		return null;
+	}
+
+	/**
+	 * BOMの長さを取得する。
+	 * 
+	 * @param aBuffer 先頭バイト列
+	 * @param aLength 長さ
+	 * @return BOMの長さ。BOMがない場合、0
+	 */
+	public static int getBomLength(final byte[] aBuffer, final int aLength) {
+		Charset charset = getBomCharset(aBuffer, aLength);
+		if (null == charset) {
+			return 0;
+		}
+		return (UTF_8 == charset) ? 3 : 2;
+	}
+
+	/**
+	 * 先頭バイト列のmetaタグ・XML宣言から文字コードを取得する。
+	 * 
+	 * @param aBuffer 先頭バイト列
+	 * @param aLength 長さ
+	 * @return 文字コード。取得できない場合、<code>null</code>を返す。
+	 */
+	public static Charset prescan(final byte[] aBuffer, final int aLength) {
+		// XML宣言
+		if (indexOf(aBuffer, 0, Math.min(aLength, 5), "<?xml") == 0) {
+			int end = indexOf(aBuffer, 0, aLength, "?>");
+			if (-1 != end) {
+				Charset charset = getAttribute(aBuffer, 5, end, "encoding");
+				if (null != charset) {
+					return charset;
+				}
+			}
+		}
+
+		int index = 0;
+		while (-1 != (index = indexOf(aBuffer, index, aLength, "<meta"))) {
+			int end = indexOf(aBuffer, index, aLength, ">");
+			if (-1 == end) {
+				break;
+			}
+			// <meta charset="..."> および <meta http-equiv="Content-Type" content="...; charset=...">
+			Charset charset = getAttribute(aBuffer, index + 5, end, "charset");
+			if (null != charset) {
+				return charset;
+			}
+			index = end;
+		}
+		return null;
+	}
+
+	/**
+	 * 日本語文字コードを統計的に判定する。
+	 * <p>
+	 * Shift_JISと判定した場合は、機種依存文字を含むWindows-31Jを返します。
+	 * </p>
+	 * 
+	 * @param aBuffer 先頭バイト列
+	 * @param aLength 長さ
+	 * @return 文字コード。ASCIIのみの場合・判定できない場合、<code>null</code>を返す。
+	 */
+	public static Charset guess(final byte[] aBuffer, final int aLength) {
+		boolean ascii = true;
+		boolean escape = false;
+		for (int i = 0; i < aLength; i++) {
+			int b = aBuffer[i] & 0xFF;
+			if (0x80 <= b) {
+				ascii = false;
+				break;
+			}
+			if (0x1B == b && i + 2 < aLength) {
+				int b1 = aBuffer[i + 1];
+				int b2 = aBuffer[i + 2];
+				if (('$' == b1 && ('B' == b2 || '@' == b2)) || ('(' == b1 && ('J' == b2 || 'I' == b2))) {
+					escape = true;
+				}
+			}
+		}
+		if (ascii) {
+			return escape ? forName("ISO-2022-JP") : null;
+		}
+
+		if (isUtf8(aBuffer, aLength)) {
+			return UTF_8;
+		}
+
+		// Shift_JIS
+		int sjisError = 0;
+		int sjisDouble = 0;
+		int sjisKana = 0;
+		for (int i = 0; i < aLength; i++) {
+			int b = aBuffer[i] & 0xFF;
+			if (0x80 > b) {
+				continue;
+			}
+			if (0xA1 <= b && 0xDF >= b) {
+				sjisKana++;
+			} else if ((0x81 <= b && 0x9F >= b) || (0xE0 <= b && 0xFC >= b)) {
+				if (i + 1 < aLength) {
+					int t = aBuffer[++i] & 0xFF;
+					if ((0x40 <= t && 0x7E >= t) || (0x80 <= t && 0xFC >= t)) {
+						sjisDouble++;
+					} else {
+						sjisError++;
+					}
+				}
+			} else {
+				sjisError++;
+			}
+		}
+
+		// EUC-JP
+		int eucError = 0;
+		int eucDouble = 0;
+		for (int i = 0; i < aLength; i++) {
+			int b = aBuffer[i] & 0xFF;
+			if (0x80 > b) {
+				continue;
+			}
+			if (0x8F == b) {
+				// 補助漢字(３バイト)
+				if (i + 2 < aLength) {
+					int t1 = aBuffer[++i] & 0xFF;
+					int t2 = aBuffer[++i] & 0xFF;
+					if (0xA1 <= t1 && 0xFE >= t1 && 0xA1 <= t2 && 0xFE >= t2) {
+						eucDouble++;
+					} else {
+						eucError++;
+					}
+				}
+			} else if (0x8E == b || (0xA1 <= b && 0xFE >= b)) {
+				if (i + 1 < aLength) {
+					int t = aBuffer[++i] & 0xFF;
+					if ((0x8E == b && 0xA1 <= t && 0xDF >= t) || (0x8E != b && 0xA1 <= t && 0xFE >= t)) {
+						eucDouble++;
+					} else {
+						eucError++;
+					}
+				}
+			} else {
+				eucError++;
+			}
+		}
+
+		if (0 == sjisError && 0 == eucError) {
+			// EUC-JPをShift_JISとして解釈すると半角カナが多くなる
+			return (sjisKana > sjisDouble) ? forName("EUC-JP") : forName("windows-31j");
+		}
+		if (sjisError * eucDouble < eucError * sjisDouble) {
+			return forName("windows-31j");
+		} else if (eucError * sjisDouble < sjisError * eucDouble) {
+			return forName("EUC-JP");
+		}
+		return (sjisError <= eucError) ? forName("windows-31j") : forName("EUC-JP");
+	}
+
+	/**
+	 * UTF-8として正しいバイト列か判断する。
+	 * <p>
+	 * 末尾で途切れたマルチバイト文字は許容します。
+	 * </p>
+	 * 
+	 * @param aBuffer バイト列
+	 * @param aLength 長さ
+	 * @return UTF-8として正しい場合、<code>true</code>
+	 */
+	private static boolean isUtf8(final byte[] aBuffer, final int aLength) {
+		int i = 0;
+		while (i < aLength) {
+			int b = aBuffer[i] & 0xFF;
+			int trail;
+			if (0x80 > b) {
+				trail = 0;
+			} else if (0xC2 <= b && 0xDF >= b) {
+				trail = 1;
+			} else if (0xE0 <= b && 0xEF >= b) {
+				trail = 2;
+			} else if (0xF0 <= b && 0xF4 >= b) {
+				trail = 3;
+			} else {
+				return false;
+			}
+			i++;
+			for (int j = 0; j < trail && i < aLength; j++, i++) {
+				if (0x80 != (aBuffer[i] & 0xC0)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * タグ内の属性から文字コードを取得する。
+	 * 
+	 * @param aBuffer バッファ
+	 * @param aFrom 開始位置
+	 * @param aTo 終了位置
+	 * @param aName 属性名(小文字)
+	 * @return 文字コード。取得できない場合、<code>null</code>を返す。
+	 */
+	private static Charset getAttribute(final byte[] aBuffer, final int aFrom, final int aTo, final String aName) {
+		int start = indexOf(aBuffer, aFrom, aTo, aName);
+		if (-1 == start) {
+			return null;
+		}
+		int i = start + aName.length();
+		while (i < aTo && isWhitespace(aBuffer[i])) {
+			i++;
+		}
+		if (i >= aTo || '=' != aBuffer[i]) {
+			return null;
+		}
+		i++;
+		while (i < aTo && (isWhitespace(aBuffer[i]) || '"' == aBuffer[i] || '\'' == aBuffer[i])) {
+			i++;
+		}
+		int j = i;
+		while (j < aTo && !isWhitespace(aBuffer[j]) && '"' != aBuffer[j] && '\'' != aBuffer[j] && ';' != aBuffer[j] && '/' != aBuffer[j]
+				&& '?' != aBuffer[j]) {
+			j++;
+		}
+		if (i == j) {
+			return null;
+		}
+		char[] name = new char[j - i];
+		for (int k = 0; k < name.length; k++) {
+			name[k] = (char) (aBuffer[i + k] & 0x7F);
+		}
+		return forName(new String(name));
+	}
+
+	/**
+	 * 大文字小文字を区別せずにASCII文字列を検索する。
+	 * 
+	 * @param aBuffer バッファ
+	 * @param aFrom 開始位置
+	 * @param aTo 終了位置
+	 * @param aTarget 検索文字列(小文字)
+	 * @return 位置。見つからない場合、-1
+	 */
+	private static int indexOf(final byte[] aBuffer, final int aFrom, final int aTo, final String aTarget) {
+		int length = aTarget.length();
+		for (int i = aFrom; i + length <= aTo; i++) {
+			int j = 0;
+			while (j < length && toLowerCase(aBuffer[i + j]) == aTarget.charAt(j)) {
+				j++;
+			}
+			if (j == length) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return ' ' == b || '\t' == b || '\n' == b || '\r' == b || '\f' == b;
+	}
+
+	private static int toLowerCase(final byte b) {
+		return ('A' <= b && 'Z' >= b) ? b + 32 : b;
+	}
+
+	/**
+	 * 文字コード名から文字コードを取得する。
+	 * 
+	 * @param aName 文字コード名
+	 * @return 文字コード。不正・未対応の場合、<code>null</code>を返す。
+	 */
+	private static Charset forName(final String aName) {
+		String name = aName.trim();
+		if (1 < name.length() && ('"' == name.charAt(0) || '\'' == name.charAt(0))) {
+			name = name.substring(1);
+		}
+		if (1 < name.length() && ('"' == name.charAt(name.length() - 1) || '\'' == name.charAt(name.length() - 1))) {
+			name = name.substring(0, name.length() - 1);
+		}
+		if (0 == name.length()) {
+			return null;
+		}
+		try {
+			return Charset.forName(name);
+		} catch (IllegalCharsetNameException ex) {
+			return null;
+		} catch (UnsupportedCharsetException ex) {
+			return null;
+		}
+	}
+}
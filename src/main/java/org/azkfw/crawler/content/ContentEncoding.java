@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * この列挙型は、コンテンツの圧縮形式(Content-Encoding)を定義した列挙型です。
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public enum ContentEncoding {
+
+	/** 無圧縮 */
+	Identity("identity"),
+	/** gzip */
+	Gzip("gzip"),
+	/** deflate */
+	Deflate("deflate");
+
+	/** 展開時のバッファサイズ */
+	private static final int BUFFER_SIZE = 1024 * 8;
+
+	/** トークン */
+	private String token;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param token トークン
+	 */
+	private ContentEncoding(final String token) {
+		this.token = token;
+	}
+
+	/**
+	 * Content-Encodingヘッダーのトークンを取得する。
+	 * 
+	 * @return トークン
+	 */
+	public String getToken() {
+		return this.token;
+	}
+
+	/**
+	 * 圧縮されたストリームを展開するストリームを取得する。
+	 * 
+	 * @param stream 圧縮されたストリーム
+	 * @return 展開後のストリーム
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public InputStream decode(final InputStream stream) throws IOException {
+		switch (this) {
+		case Gzip:
+			return new GZIPInputStream(stream, BUFFER_SIZE);
+		case Deflate:
+			return decodeDeflate(stream);
+		default:
+			return stream;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.token;
+	}
+
+	/**
+	 * Content-Encodingヘッダーの値から圧縮形式を取得する。
+	 * 
+	 * @param value ヘッダーの値(<code>null</code>可)
+	 * @return 圧縮形式。対応していない形式の場合は<code>null</code>
+	 */
+	public static ContentEncoding parse(final String value) {
+		if (null == value) {
+			return Identity;
+		}
+		String token = value.trim().toLowerCase();
+		if (0 == token.length() || "identity".equals(token)) {
+			return Identity;
+		} else if ("gzip".equals(token) || "x-gzip".equals(token)) {
+			return Gzip;
+		} else if ("deflate".equals(token)) {
+			return Deflate;
+		}
+		return null;
+	}
+
+	/**
+	 * deflate形式のストリームを展開するストリームを取得する。
+	 * <p>
+	 * deflateはzlib形式(RFC1950)が正しい形式ですが、raw deflate形式(RFC1951)を返すサーバも存在するため、先頭２バイトで判定します。
+	 * </p>
+	 * 
+	 * @param stream 圧縮されたストリーム
+	 * @return 展開後のストリーム
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private static InputStream decodeDeflate(final InputStream stream) throws IOException {
+		PushbackInputStream pushback = new PushbackInputStream(stream, 2);
+		byte[] header = new byte[2];
+		int length = 0;
+		int size;
+		while (length < header.length && -1 != (size = pushback.read(header, length, header.length - length))) {
+			length += size;
+		}
+		if (0 < length) {
+			pushback.unread(header, 0, length);
+		}
+
+		boolean zlib = false;
+		if (2 == length) {
+			int cmf = header[0] & 0xff;
+			int flg = header[1] & 0xff;
+			zlib = (8 == (cmf & 0x0f)) && (0 == ((cmf << 8) | flg) % 31);
+		}
+		return new InflaterStream(pushback, new Inflater(!zlib), BUFFER_SIZE);
+	}
+
+	/**
+	 * このクラスは、終了時にインフレータを解放する展開ストリームです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class InflaterStream extends InflaterInputStream {
+
+		/** クローズ済みフラグ */
+		private boolean closed;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param stream ストリーム
+		 * @param inflater インフレータ
+		 * @param size バッファサイズ
+		 */
+		public InflaterStream(final InputStream stream, final Inflater inflater, final int size) {
+			super(stream, inflater, size);
+			closed = false;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!closed) {
+				closed = true;
+				inf.end();
+			}
+			super.close();
+		}
+	}
+}
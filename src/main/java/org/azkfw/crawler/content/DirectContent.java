@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.content;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * このインターフェースは、バイト列へ直接アクセス可能なコンテンツ機能を表現したインターフェースです。
+ * <p>
+ * {@link #getInputStream()}を経由せずに、読み込み専用の{@link ByteBuffer}でコンテンツ全体へアクセスできます。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public interface DirectContent extends Content {
+
+	/**
+	 * コンテンツ長を取得する。
+	 * 
+	 * @return コンテンツ長(バイト)
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public long getLength() throws IOException;
+
+	/**
+	 * コンテンツの読み込み専用バッファを取得する。
+	 * <p>
+	 * 呼び出し毎に位置が0の新しいバッファ(ビュー)を返します。内容はコピーされません。
+	 * </p>
+	 * 
+	 * @return 読み込み専用バッファ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public ByteBuffer getByteBuffer() throws IOException;
+
+	/**
+	 * コンテンツを文字列として取得する。
+	 * 
+	 * @param aCharset 文字コード
+	 * @return 文字列
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public CharSequence getCharSequence(final Charset aCharset) throws IOException;
+}
@@ -33,12 +33,34 @@ public class FileContent implements Content {
 
 	private File file;
 
+	private ContentEncoding encoding;
+
 	public FileContent(final File aFile) {
+		this(aFile, ContentEncoding.Identity);
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * 圧縮されたまま保存されたファイルは、{@link #getInputStream()}で読み込む際に展開されます。
+	 * </p>
+	 * 
+	 * @param aFile ファイル
+	 * @param aEncoding ファイルの圧縮形式
+	 */
+	public FileContent(final File aFile, final ContentEncoding aEncoding) {
 		file = aFile;
+		encoding = (null != aEncoding) ? aEncoding : ContentEncoding.Identity;
 	}
 
 	@Override
 	public InputStream getInputStream() throws IOException {
-		return new FileInputStream(file);
+		InputStream stream = new FileInputStream(file);
+		try {
+			return encoding.decode(stream);
+		} catch (IOException ex) {
+			stream.close();
+			throw ex;
+		}
 	}
 }
@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.content;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * このクラスは、ファイルをメモリマップしてコンテンツとして扱うクラスです。
+ * <p>
+ * 初回アクセス時に１度だけファイルをメモリマップし、以降は{@link #getInputStream()}・{@link #getByteBuffer()}のいずれもファイルを開きません。
+ * 圧縮されたまま保存されたファイルには使用できません。その場合は{@link FileContent}を使用してください。
+ * </p>
+ * <p>
+ * 取得したバッファが参照されている間に解放されないよう、メモリマップの解放はGCに任せます。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class MappedFileContent extends AbstractDirectContent {
+
+	/** ファイル */
+	private final File file;
+	/** メモリマップ */
+	private volatile ByteBuffer buffer;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aFile ファイル
+	 */
+	public MappedFileContent(final File aFile) {
+		file = aFile;
+	}
+
+	/**
+	 * ファイルを取得する。
+	 * 
+	 * @return ファイル
+	 */
+	public final File getFile() {
+		return file;
+	}
+
+	@Override
+	public ByteBuffer getByteBuffer() throws IOException {
+		ByteBuffer result = buffer;
+		if (null == result) {
+			synchronized (this) {
+				result = buffer;
+				if (null == result) {
+					result = map();
+					buffer = result;
+				}
+			}
+		}
+		return result.asReadOnlyBuffer();
+	}
+
+	/**
+	 * ファイルをメモリマップする。
+	 * 
+	 * @return メモリマップ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private ByteBuffer map() throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			if (Integer.MAX_VALUE < size) {
+				throw new IOException(String.format("File too large.[%s] %d", file.getAbsolutePath(), size));
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} finally {
+			raf.close();
+		}
+	}
+}
@@ -0,0 +1,441 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.downloader;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
+import org.azkfw.crawler.config.CrawlerConfig.CrawlerDownloaderConfig;
+import org.azkfw.crawler.performance.Span;
+import org.azkfw.crawler.performance.Tracer;
+import org.azkfw.crawler.thread.CrawlerThreadFactory;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、ダウンロードエンジンで共有するHTTPクライアントを管理するクラスです。
+ * <p>
+ * コネクションプールを持つHTTPクライアント(同期・非同期)をプロセスで１つだけ生成し、全てのダウンロードエンジンで共有します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class HttpClientManager extends LoggingObject {
+
+	/** インスタンス */
+	private static final HttpClientManager INSTANCE = new HttpClientManager();
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static HttpClientManager getInstance() {
+		return INSTANCE;
+	}
+
+	/** ダウンローダ設定 */
+	private CrawlerDownloaderConfig config;
+	/** コネクションマネージャー */
+	private PoolingHttpClientConnectionManager connectionManager;
+	/** HTTPクライアント */
+	private CloseableHttpClient httpClient;
+	/** 非同期コネクションマネージャー */
+	private PoolingNHttpClientConnectionManager asyncConnectionManager;
+	/** 非同期HTTPクライアント */
+	private CloseableHttpAsyncClient httpAsyncClient;
+	/** 非同期ダウンロードの完了処理エクゼキュータ */
+	private ExecutorService completionExecutor;
+	/** アイドルコネクション監視スレッド */
+	private IdleConnectionMonitor monitor;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private HttpClientManager() {
+		super(HttpClientManager.class);
+		config = new CrawlerDownloaderConfig();
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * <p>
+	 * 既にHTTPクライアントが生成されている場合、破棄した後に新しい設定で再生成する。
+	 * </p>
+	 * 
+	 * @param aConfig ダウンローダ設定。<code>null</code>の場合はデフォルト設定を使用する。
+	 */
+	public synchronized void initialize(final CrawlerDownloaderConfig aConfig) {
+		destroy();
+		if (null != aConfig) {
+			config = aConfig;
+		} else {
+			config = new CrawlerDownloaderConfig();
+		}
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 */
+	public synchronized void destroy() {
+		if (null != monitor) {
+			monitor.shutdown();
+			monitor = null;
+		}
+		if (null != httpClient) {
+			try {
+				httpClient.close();
+			} catch (IOException ex) {
+				warn(ex);
+			}
+			httpClient = null;
+		}
+		if (null != connectionManager) {
+			connectionManager.shutdown();
+			connectionManager = null;
+		}
+		if (null != httpAsyncClient) {
+			try {
+				httpAsyncClient.close();
+			} catch (IOException ex) {
+				warn(ex);
+			}
+			httpAsyncClient = null;
+			asyncConnectionManager = null;
+		}
+		if (null != completionExecutor) {
+			completionExecutor.shutdown();
+			completionExecutor = null;
+		}
+	}
+
+	/**
+	 * 共有HTTPクライアントを取得する。
+	 * <p>
+	 * 初回呼び出し時にHTTPクライアントを生成する。
+	 * </p>
+	 * 
+	 * @return HTTPクライアント
+	 */
+	public synchronized CloseableHttpClient getHttpClient() {
+		if (null == httpClient) {
+			// DNS解決・接続をトレースするため、デフォルトと同じソケットファクトリをラップする
+			Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory> create()
+					.register("http", new TracingSocketFactory(PlainConnectionSocketFactory.getSocketFactory()))
+					.register("https", new TracingLayeredSocketFactory(SSLConnectionSocketFactory.getSocketFactory())).build();
+			connectionManager = new PoolingHttpClientConnectionManager(registry, new TracingDnsResolver());
+			connectionManager.setMaxTotal(config.getMaxtotal());
+			connectionManager.setDefaultMaxPerRoute(config.getMaxperroute());
+
+			// 圧縮コンテンツの展開はダウンロードエンジンで行う
+			httpClient = HttpClientBuilder.create().setConnectionManager(connectionManager).setDefaultRequestConfig(getRequestConfig())
+					.setDefaultHeaders(getDefaultHeaders()).disableContentCompression().build();
+
+			startMonitor();
+
+			info(String.format("Http client created.[maxTotal=%d, maxPerRoute=%d]", config.getMaxtotal(), config.getMaxperroute()));
+		}
+		return httpClient;
+	}
+
+	/**
+	 * 共有非同期HTTPクライアントを取得する。
+	 * <p>
+	 * 初回呼び出し時に非同期HTTPクライアントを生成し、I/Oリアクターを起動する。
+	 * </p>
+	 * 
+	 * @return 非同期HTTPクライアント
+	 * @throws IOReactorException I/Oリアクターの生成に失敗した場合
+	 */
+	public synchronized CloseableHttpAsyncClient getHttpAsyncClient() throws IOReactorException {
+		if (null == httpAsyncClient) {
+			IOReactorConfig ioReactorConfig = IOReactorConfig.custom().setConnectTimeout(config.getConnecttimeout())
+					.setSoTimeout(config.getSockettimeout()).setSoKeepAlive(true).build();
+			asyncConnectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+			asyncConnectionManager.setMaxTotal(config.getMaxtotal());
+			asyncConnectionManager.setDefaultMaxPerRoute(config.getMaxperroute());
+
+			httpAsyncClient = HttpAsyncClientBuilder.create().setConnectionManager(asyncConnectionManager)
+					.setDefaultRequestConfig(getRequestConfig()).setDefaultHeaders(getDefaultHeaders()).build();
+			httpAsyncClient.start();
+
+			startMonitor();
+
+			info(String.format("Http async client created.[maxTotal=%d, maxPerRoute=%d]", config.getMaxtotal(), config.getMaxperroute()));
+		}
+		return httpAsyncClient;
+	}
+
+	/**
+	 * 非同期ダウンロードの完了処理を行うエクゼキュータを取得する。
+	 * <p>
+	 * 展開・リネームなどのファイル操作はI/Oディスパッチスレッドをブロックするため、このエクゼキュータで行います。
+	 * 同時に実行される完了処理の数はコネクション数以下のため、スレッド数は必要に応じて増減させます。
+	 * </p>
+	 * 
+	 * @return エクゼキュータ
+	 */
+	public synchronized ExecutorService getCompletionExecutor() {
+		if (null == completionExecutor) {
+			completionExecutor = Executors.newCachedThreadPool(new CrawlerThreadFactory("download-completion",
+					CrawlerThreadFactory.MODE_PLATFORM, true));
+		}
+		return completionExecutor;
+	}
+
+	/**
+	 * 期限切れ・アイドル状態のコネクションを破棄する。
+	 */
+	private synchronized void closeIdleConnections() {
+		if (null != connectionManager) {
+			connectionManager.closeExpiredConnections();
+			connectionManager.closeIdleConnections(config.getIdletimeout(), TimeUnit.MILLISECONDS);
+		}
+		if (null != asyncConnectionManager) {
+			asyncConnectionManager.closeExpiredConnections();
+			asyncConnectionManager.closeIdleConnections(config.getIdletimeout(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * アイドルコネクション監視スレッドを起動する。
+	 */
+	private void startMonitor() {
+		if (null == monitor && 0 < config.getIdletimeout()) {
+			monitor = new IdleConnectionMonitor(this, config.getIdletimeout());
+			monitor.start();
+		}
+	}
+
+	/**
+	 * リクエスト設定を取得する。
+	 * 
+	 * @return リクエスト設定
+	 */
+	private RequestConfig getRequestConfig() {
+		// validateafterinactivity はHttpClient 4.3 に存在しないため、ステイルチェックで代替する
+		RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(config.getConnecttimeout())
+				.setSocketTimeout(config.getSockettimeout()).setConnectionRequestTimeout(config.getRequesttimeout())
+				.setStaleConnectionCheckEnabled(0 <= config.getValidateafterinactivity()).build();
+		return requestConfig;
+	}
+
+	/**
+	 * デフォルトヘッダー一覧を取得する。
+	 * 
+	 * @return ヘッダー一覧
+	 */
+	private List<Header> getDefaultHeaders() {
+		List<Header> headers = new ArrayList<Header>();
+		headers.add(new BasicHeader("Accept-Charset", "utf-8"));
+		headers.add(new BasicHeader("Accept-Language", "ja, en;q=0.8"));
+		// brはJavaで展開できないため要求しない
+		headers.add(new BasicHeader("Accept-Encoding", "gzip, deflate"));
+		// chrom
+		headers.add(new BasicHeader("User-Agent",
+				"Mozilla/5.0 (Windows NT 6.1) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/28.0.1500.63 Safari/537.36"));
+		return headers;
+	}
+
+	/**
+	 * このクラスは、DNS解決をトレースするDNSリゾルバです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class TracingDnsResolver implements DnsResolver {
+
+		@Override
+		public InetAddress[] resolve(final String host) throws UnknownHostException {
+			Span span = Tracer.getInstance().begin("dns", host);
+			try {
+				return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+			} finally {
+				span.end();
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、接続をトレースするソケットファクトリです。
+	 * <p>
+	 * HTTPSの場合、接続区間にはTLSハンドシェイクを含みます。
+	 * </p>
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static class TracingSocketFactory implements ConnectionSocketFactory {
+
+		/** ソケットファクトリ */
+		private final ConnectionSocketFactory factory;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aFactory ソケットファクトリ
+		 */
+		public TracingSocketFactory(final ConnectionSocketFactory aFactory) {
+			factory = aFactory;
+		}
+
+		@Override
+		public Socket createSocket(final HttpContext context) throws IOException {
+			return factory.createSocket(context);
+		}
+
+		@Override
+		public Socket connectSocket(final int connectTimeout, final Socket sock, final HttpHost host, final InetSocketAddress remoteAddress,
+				final InetSocketAddress localAddress, final HttpContext context) throws IOException {
+			Span span = Tracer.getInstance().begin("connect", host.toHostString());
+			try {
+				return factory.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+			} finally {
+				span.end();
+			}
+		}
+
+	}
+
+	/**
+	 * このクラスは、接続とプロキシ経由のTLS接続をトレースするレイヤードソケットファクトリです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class TracingLayeredSocketFactory extends TracingSocketFactory implements LayeredConnectionSocketFactory {
+
+		/** レイヤードソケットファクトリ */
+		private final LayeredConnectionSocketFactory factory;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aFactory レイヤードソケットファクトリ
+		 */
+		public TracingLayeredSocketFactory(final LayeredConnectionSocketFactory aFactory) {
+			super(aFactory);
+			factory = aFactory;
+		}
+
+		@Override
+		public Socket createLayeredSocket(final Socket socket, final String target, final int port, final HttpContext context)
+				throws IOException {
+			Span span = Tracer.getInstance().begin("tls", target);
+			try {
+				return factory.createLayeredSocket(socket, target, port, context);
+			} finally {
+				span.end();
+			}
+		}
+	}
+
+	/**
+	 * このクラスは、期限切れ・アイドル状態のコネクションを定期的に破棄するスレッドです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class IdleConnectionMonitor extends Thread {
+
+		/** HTTPクライアントマネージャー */
+		private final HttpClientManager manager;
+		/** アイドルタイムアウト(ミリ秒) */
+		private final long idleTimeout;
+		/** 停止要求フラグ */
+		private volatile boolean shutdown;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aManager HTTPクライアントマネージャー
+		 * @param aIdleTimeout アイドルタイムアウト(ミリ秒)
+		 */
+		public IdleConnectionMonitor(final HttpClientManager aManager, final long aIdleTimeout) {
+			super("IdleConnectionMonitor");
+			setDaemon(true);
+			manager = aManager;
+			idleTimeout = aIdleTimeout;
+			shutdown = false;
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!shutdown) {
+					synchronized (this) {
+						wait(Math.max(1000, idleTimeout / 2));
+					}
+					if (!shutdown) {
+						manager.closeIdleConnections();
+					}
+				}
+			} catch (InterruptedException ex) {
+				// 終了
+			}
+		}
+
+		/**
+		 * 監視を停止する。
+		 */
+		public void shutdown() {
+			shutdown = true;
+			synchronized (this) {
+				notifyAll();
+			}
+		}
+	}
+}
@@ -0,0 +1,586 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.downloader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.util.URLNormalizer;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、URL毎のキャッシュバリデータ(ETag/Last-Modified)を管理するクラスです。
+ * <p>
+ * 再クロール時に条件付きGET(If-None-Match/If-Modified-Since)を行うために使用します。
+ * 未更新(304 Not Modified)時に出力ファイルを読めるよう、出力ファイルの圧縮形式も保持します。
+ * バリデータはURLのフィンガープリント({@link URLNormalizer#fingerprintOf(String)})をキーとし、
+ * 最大件数を超えた場合は最も長く参照されていないものから破棄します。
+ * </p>
+ * <p>
+ * ファイルが指定されている場合、変更の都度ジャーナルとしてタブ区切りテキストを追記し、次回初期化時に読み込みます。
+ * ジャーナルが保持件数に比べ肥大化した場合、現在の内容で書き直します。
+ * </p>
+ * <p>
+ * ジャーナルへの書き込みはバリデータ一覧のロックの外で行います。変更は書き込み待ちのキューへ積み、
+ * ジャーナルのロックを取得できたスレッドがまとめて書き込むため、他のスレッドはファイル操作を待機しません。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class ValidatorStore extends LoggingObject {
+
+	/** インスタンス */
+	private static final ValidatorStore INSTANCE = new ValidatorStore();
+
+	/** 文字コード */
+	private static final String CHARSET = "UTF-8";
+
+	/** デフォルト最大件数 */
+	public static final int DEFAULT_CAPACITY = 1000000;
+
+	/** ジャーナルを書き直すまでの最小行数 */
+	private static final int MIN_COMPACT_LINES = 1024;
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static ValidatorStore getInstance() {
+		return INSTANCE;
+	}
+
+	/** 保存ファイル */
+	private volatile File file;
+	/** 最大件数 */
+	private int capacity;
+	/** バリデータ一覧(参照順) */
+	private Map<Long, Validator> validators;
+	/** ジャーナルのロック(バリデータ一覧のロックより先に取得する) */
+	private final ReentrantLock journalLock;
+	/** ジャーナルへの書き込み待ちの変更(削除の場合、値は<code>null</code>) */
+	private final Queue<Map.Entry<Long, Validator>> changes;
+	/** ジャーナル */
+	private Writer journal;
+	/** ジャーナル行数 */
+	private int journalLines;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ValidatorStore() {
+		super(ValidatorStore.class);
+		capacity = DEFAULT_CAPACITY;
+		validators = createMap(capacity);
+		journalLock = new ReentrantLock();
+		changes = new ConcurrentLinkedQueue<Map.Entry<Long, Validator>>();
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * 
+	 * @param aFile 保存ファイル。<code>null</code>の場合は永続化しない。
+	 */
+	public void initialize(final File aFile) {
+		initialize(aFile, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * 
+	 * @param aFile 保存ファイル。<code>null</code>の場合は永続化しない。
+	 * @param aCapacity 最大件数
+	 */
+	public void initialize(final File aFile, final int aCapacity) {
+		journalLock.lock();
+		try {
+			closeJournal();
+			int newCapacity = (0 < aCapacity) ? aCapacity : DEFAULT_CAPACITY;
+			Map<Long, Validator> newValidators = createMap(newCapacity);
+			file = aFile;
+			if (null != file && file.isFile()) {
+				try {
+					load(newValidators);
+					info(String.format("Validator loaded.[file=%s, count=%d]", file.getAbsolutePath(), newValidators.size()));
+				} catch (IOException ex) {
+					warn(ex);
+				}
+			}
+			synchronized (this) {
+				capacity = newCapacity;
+				validators = newValidators;
+				changes.clear();
+			}
+			if (null != file) {
+				try {
+					// 読み込んだ内容で書き直し、以降は追記する
+					compact();
+				} catch (IOException ex) {
+					warn(ex);
+					closeJournal();
+				}
+			}
+		} finally {
+			journalLock.unlock();
+		}
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 */
+	public void destroy() {
+		journalLock.lock();
+		try {
+			try {
+				flush();
+			} catch (IOException ex) {
+				warn(ex);
+			}
+			closeJournal();
+			synchronized (this) {
+				validators.clear();
+				changes.clear();
+			}
+			file = null;
+		} finally {
+			journalLock.unlock();
+		}
+	}
+
+	/**
+	 * 変更内容をファイルへ保存する。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void flush() throws IOException {
+		journalLock.lock();
+		try {
+			if (null != journal) {
+				compact();
+				info(String.format("Validator saved.[file=%s, count=%d]", file.getAbsolutePath(), journalLines));
+			}
+		} finally {
+			journalLock.unlock();
+		}
+	}
+
+	/**
+	 * バリデータを取得する。
+	 * 
+	 * @param aUrl URL
+	 * @return バリデータ。存在しない場合は<code>null</code>
+	 */
+	public synchronized Validator get(final URL aUrl) {
+		return validators.get(keyOf(aUrl));
+	}
+
+	/**
+	 * バリデータを設定する。
+	 * <p>
+	 * ETag、Last-Modifiedが共に存在しない場合、バリデータを削除する。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @param aETag ETag
+	 * @param aLastModified Last-Modified
+	 */
+	public void put(final URL aUrl, final String aETag, final String aLastModified) {
+		put(aUrl, aETag, aLastModified, ContentEncoding.Identity);
+	}
+
+	/**
+	 * バリデータを設定する。
+	 * <p>
+	 * ETag、Last-Modifiedが共に存在しない場合、バリデータを削除する。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @param aETag ETag
+	 * @param aLastModified Last-Modified
+	 * @param aEncoding 出力ファイルの圧縮形式
+	 */
+	public void put(final URL aUrl, final String aETag, final String aLastModified, final ContentEncoding aEncoding) {
+		String etag = normalize(aETag);
+		String lastModified = normalize(aLastModified);
+		if (null == etag && null == lastModified) {
+			remove(aUrl);
+		} else {
+			Long key = keyOf(aUrl);
+			Validator validator = new Validator(etag, lastModified, aEncoding);
+			synchronized (this) {
+				validators.put(key, validator);
+				append(key, validator);
+			}
+			writeChanges();
+		}
+	}
+
+	/**
+	 * バリデータを削除する。
+	 * 
+	 * @param aUrl URL
+	 */
+	public void remove(final URL aUrl) {
+		Long key = keyOf(aUrl);
+		synchronized (this) {
+			if (null != validators.remove(key)) {
+				append(key, null);
+			}
+		}
+		writeChanges();
+	}
+
+	/**
+	 * 保持件数を取得する。
+	 * 
+	 * @return 保持件数
+	 */
+	public synchronized int size() {
+		return validators.size();
+	}
+
+	/**
+	 * 変更をジャーナルの書き込み待ちへ追加する。
+	 * <p>
+	 * バリデータ一覧のロックを取得した状態で呼び出すこと。
+	 * </p>
+	 * 
+	 * @param aKey キー
+	 * @param aValidator バリデータ(削除の場合、<code>null</code>)
+	 */
+	private void append(final Long aKey, final Validator aValidator) {
+		// ジャーナルは書き直し中に閉じている場合があるため、保存ファイルの有無で判断する
+		if (null != file) {
+			changes.offer(new SimpleImmutableEntry<Long, Validator>(aKey, aValidator));
+		}
+	}
+
+	/**
+	 * 書き込み待ちの変更をジャーナルへ書き込む。
+	 * <p>
+	 * 他のスレッドが書き込み中の場合は待機せずに復帰し、そのスレッドが続けて書き込む。
+	 * 書き込みに失敗した場合、以降の永続化を停止する。
+	 * </p>
+	 */
+	private void writeChanges() {
+		// ロックを解放した後に追加された変更を取りこぼさないよう、解放後に再確認する
+		while (!changes.isEmpty() && journalLock.tryLock()) {
+			try {
+				if (null == journal) {
+					changes.clear();
+					continue;
+				}
+				Map.Entry<Long, Validator> change;
+				while (null != (change = changes.poll())) {
+					write(journal, change.getKey().longValue(), change.getValue());
+					journalLines++;
+				}
+				journal.flush();
+				if (MIN_COMPACT_LINES < journalLines && size() * 2 < journalLines) {
+					compact();
+				}
+			} catch (IOException ex) {
+				warn(ex);
+				closeJournal();
+				changes.clear();
+			} finally {
+				journalLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * ファイルからバリデータを読み込む。
+	 * <p>
+	 * 後に出現した行ほど新しい内容として扱う。キーを解析できない行は読み飛ばす。
+	 * </p>
+	 * 
+	 * @param aValidators 読み込み先
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void load(final Map<Long, Validator> aValidators) throws IOException {
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+			String line;
+			while (null != (line = reader.readLine())) {
+				String[] fields = line.split("\t", -1);
+				if (3 == fields.length || 4 == fields.length) {
+					Long key = parseKey(fields[0]);
+					if (null == key) {
+						continue;
+					}
+					String etag = normalize(fields[1]);
+					String lastModified = normalize(fields[2]);
+					ContentEncoding encoding = (4 == fields.length) ? ContentEncoding.parse(fields[3]) : ContentEncoding.Identity;
+					if ((null == etag && null == lastModified) || null == encoding) {
+						aValidators.remove(key);
+					} else {
+						aValidators.put(key, new Validator(etag, lastModified, encoding));
+					}
+				}
+			}
+		} finally {
+			if (null != reader) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * 現在の内容でファイルを書き直し、ジャーナルを開き直す。
+	 * <p>
+	 * ジャーナルのロックを取得した状態で呼び出すこと。現在の内容の複製のみバリデータ一覧のロック内で行い、書き込みはロックの外で行う。
+	 * 一時ファイルへ書き込んだ後にリネームするため、書き込み中に異常終了した場合も前回の内容が保持される。
+	 * </p>
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void compact() throws IOException {
+		closeJournal();
+
+		List<Map.Entry<Long, Validator>> snapshot;
+		synchronized (this) {
+			snapshot = new ArrayList<Map.Entry<Long, Validator>>(validators.size());
+			for (Map.Entry<Long, Validator> entry : validators.entrySet()) {
+				snapshot.add(new SimpleImmutableEntry<Long, Validator>(entry));
+			}
+			// 複製に含まれる変更は書き込み不要
+			changes.clear();
+		}
+
+		File tempFile = new File(file.getAbsolutePath() + ".tmp");
+		BufferedWriter writer = null;
+		try {
+			writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), CHARSET));
+			for (Map.Entry<Long, Validator> entry : snapshot) {
+				write(writer, entry.getKey().longValue(), entry.getValue());
+			}
+		} finally {
+			if (null != writer) {
+				writer.close();
+			}
+		}
+		try {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException ex) {
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		journal = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), CHARSET));
+		journalLines = snapshot.size();
+	}
+
+	/**
+	 * ジャーナルを閉じる。
+	 */
+	private void closeJournal() {
+		if (null != journal) {
+			try {
+				journal.close();
+			} catch (IOException ex) {
+				warn(ex);
+			}
+			journal = null;
+		}
+	}
+
+	/**
+	 * バリデータを1行書き込む。
+	 * 
+	 * @param aWriter ライター
+	 * @param aKey キー
+	 * @param aValidator バリデータ(削除の場合、<code>null</code>)
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private static void write(final Writer aWriter, final long aKey, final Validator aValidator) throws IOException {
+		aWriter.write(String.format("%016x", aKey));
+		aWriter.write('\t');
+		if (null != aValidator && null != aValidator.getETag()) {
+			aWriter.write(aValidator.getETag());
+		}
+		aWriter.write('\t');
+		if (null != aValidator && null != aValidator.getLastModified()) {
+			aWriter.write(aValidator.getLastModified());
+		}
+		aWriter.write('\t');
+		if (null != aValidator) {
+			aWriter.write(aValidator.getContentEncoding().getToken());
+		}
+		aWriter.write('\n');
+	}
+
+	/**
+	 * URLのキーを取得する。
+	 * 
+	 * @param aUrl URL
+	 * @return キー
+	 */
+	private static Long keyOf(final URL aUrl) {
+		return Long.valueOf(URLNormalizer.getDefault().fingerprintOf(aUrl.toExternalForm()));
+	}
+
+	/**
+	 * 保存形式のキーを解析する。
+	 * 
+	 * @param aValue 値(16桁の16進数)
+	 * @return キー。解析できない場合、<code>null</code>
+	 */
+	private static Long parseKey(final String aValue) {
+		if (16 != aValue.length()) {
+			return null;
+		}
+		try {
+			long high = Long.parseLong(aValue.substring(0, 8), 16);
+			long low = Long.parseLong(aValue.substring(8), 16);
+			return Long.valueOf((high << 32) | low);
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * バリデータ一覧を生成する。
+	 * 
+	 * @param aCapacity 最大件数
+	 * @return バリデータ一覧
+	 */
+	private static Map<Long, Validator> createMap(final int aCapacity) {
+		return new LinkedHashMap<Long, Validator>(16, 0.75f, true) {
+			/** serialVersionUID */
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, Validator> aEldest) {
+				return size() > aCapacity;
+			}
+		};
+	}
+
+	/**
+	 * ヘッダー値を正規化する。
+	 * <p>
+	 * 空文字列および保存形式で表現できない値(タブ・改行を含む値)は<code>null</code>とする。
+	 * </p>
+	 * 
+	 * @param aValue 値
+	 * @return 正規化後の値
+	 */
+	private static String normalize(final String aValue) {
+		if (null == aValue) {
+			return null;
+		}
+		String value = aValue.trim();
+		if (0 == value.length() || -1 != value.indexOf('\t') || -1 != value.indexOf('\n') || -1 != value.indexOf('\r')) {
+			return null;
+		}
+		return value;
+	}
+
+	/**
+	 * このクラスは、キャッシュバリデータ情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static final class Validator {
+
+		/** ETag */
+		private final String etag;
+		/** Last-Modified */
+		private final String lastModified;
+		/** 出力ファイルの圧縮形式 */
+		private final ContentEncoding contentEncoding;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aETag ETag
+		 * @param aLastModified Last-Modified
+		 */
+		public Validator(final String aETag, final String aLastModified) {
+			this(aETag, aLastModified, ContentEncoding.Identity);
+		}
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aETag ETag
+		 * @param aLastModified Last-Modified
+		 * @param aEncoding 出力ファイルの圧縮形式
+		 */
+		public Validator(final String aETag, final String aLastModified, final ContentEncoding aEncoding) {
+			etag = aETag;
+			lastModified = aLastModified;
+			contentEncoding = (null != aEncoding) ? aEncoding : ContentEncoding.Identity;
+		}
+
+		/**
+		 * ETagを取得する。
+		 * 
+		 * @return ETag。存在しない場合は<code>null</code>
+		 */
+		public String getETag() {
+			return etag;
+		}
+
+		/**
+		 * Last-Modifiedを取得する。
+		 * 
+		 * @return Last-Modified。存在しない場合は<code>null</code>
+		 */
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * 出力ファイルの圧縮形式を取得する。
+		 * 
+		 * @return 圧縮形式
+		 */
+		public ContentEncoding getContentEncoding() {
+			return contentEncoding;
+		}
+	}
+}
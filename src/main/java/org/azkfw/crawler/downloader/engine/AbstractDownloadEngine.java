@@ -17,6 +17,24 @@
  */
 package org.azkfw.crawler.downloader.engine;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.downloader.ValidatorStore;
+import org.azkfw.crawler.downloader.ValidatorStore.Validator;
+import org.azkfw.crawler.performance.Counter;
+import org.azkfw.crawler.performance.Histogram;
+import org.azkfw.crawler.performance.MetricsCache;
+import org.azkfw.crawler.performance.MetricsRegistry;
+import org.azkfw.crawler.performance.Span;
+import org.azkfw.crawler.performance.Tracer;
 import org.azkfw.log.LoggingObject;
 
 /**
@@ -28,6 +46,14 @@ import org.azkfw.log.LoggingObject;
  */
 public abstract class AbstractDownloadEngine extends LoggingObject implements DownloadEngine {
 
+	/** ホスト毎のメトリクス */
+	private static final MetricsCache<String, HostMetrics> HOST_METRICS = new MetricsCache<String, HostMetrics>() {
+		@Override
+		protected HostMetrics create(final MetricsRegistry aRegistry, final String aKey) {
+			return new HostMetrics(aRegistry, aKey);
+		}
+	};
+
 	/**
 	 * コンストラクタ
 	 */
@@ -65,7 +91,49 @@ public abstract class AbstractDownloadEngine extends LoggingObject implements Do
 
 	@Override
 	public final DownloadEngineResult download(final DownloadEngineCondition condition) {
-		return doDownload(condition);
+		long startTime = System.nanoTime();
+		DownloadEngineResult result = null;
+		Tracer tracer = Tracer.getInstance();
+		Span span = tracer.begin("download", (tracer.isEnabled() && null != condition.getContentURL()) ? condition.getContentURL()
+				.toExternalForm() : null);
+		try {
+			result = doDownload(condition);
+		} finally {
+			span.end();
+		}
+		record(condition.getContentURL(), result, startTime);
+		return result;
+	}
+
+	/**
+	 * ダウンロードのメトリクスを記録する。
+	 * <p>
+	 * {@link #download(DownloadEngineCondition)}を経由しない非同期ダウンロードの場合、完了時にサブクラスから呼び出してください。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @param aResult ダウンロード結果
+	 * @param aStartTime 開始時刻({@link System#nanoTime()})
+	 */
+	protected static final void record(final URL aUrl, final DownloadEngineResult aResult, final long aStartTime) {
+		long endTime = System.nanoTime();
+		String host = (null != aUrl) ? aUrl.getHost() : "";
+
+		HostMetrics metrics = HOST_METRICS.get(host);
+		if (null != aResult && aResult.isResult()) {
+			metrics.getStatus(aResult.getStatusCode()).increment();
+		} else {
+			metrics.error.increment();
+		}
+		metrics.download.record(endTime - aStartTime);
+		if (null != aResult) {
+			if (0 <= aResult.getResponseTime()) {
+				metrics.ttfb.record(aResult.getResponseTime() - aStartTime);
+			}
+			if (0 < aResult.getLength() && !aResult.isNotModified()) {
+				metrics.bytes.add(aResult.getLength());
+			}
+		}
 	}
 
 	/**
@@ -94,4 +162,197 @@ public abstract class AbstractDownloadEngine extends LoggingObject implements Do
 	 * @return ダウンロード結果
 	 */
 	protected abstract DownloadEngineResult doDownload(final DownloadEngineCondition condition);
+
+	/**
+	 * 条件付きGET用のリクエストヘッダーを付与する。
+	 * <p>
+	 * 出力ファイルが存在し、前回取得時のバリデータがある場合に If-None-Match/If-Modified-Since を付与する。
+	 * </p>
+	 * 
+	 * @param request リクエスト
+	 * @param condition ダウンロード条件
+	 */
+	protected final void addConditionalHeaders(final HttpRequest request, final DownloadEngineCondition condition) {
+		if (!condition.isConditional()) {
+			return;
+		}
+		File destFile = condition.getDestFile();
+		if (!destFile.isFile()) {
+			return;
+		}
+		Validator validator = ValidatorStore.getInstance().get(condition.getContentURL());
+		if (null != validator) {
+			if (null != validator.getETag()) {
+				request.addHeader("If-None-Match", validator.getETag());
+			}
+			if (null != validator.getLastModified()) {
+				request.addHeader("If-Modified-Since", validator.getLastModified());
+			}
+		}
+	}
+
+	/**
+	 * レスポンスのバリデータを保存する。
+	 * <p>
+	 * 未更新時に出力ファイルを復元できるよう、出力ファイルの圧縮形式も併せて保存する。
+	 * 出力ファイルへ書き込んでいない場合(アーカイブせずにメモリに保持した場合)は、出力ファイルの内容と一致しないため前回のバリデータを削除する。
+	 * </p>
+	 * 
+	 * @param response レスポンス
+	 * @param condition ダウンロード条件
+	 * @param writer 出力ファイルの書き込み
+	 * @param encoding 出力ファイルの圧縮形式
+	 */
+	protected final void storeValidators(final HttpResponse response, final DownloadEngineCondition condition,
+			final DownloadFileWriter writer, final ContentEncoding encoding) {
+		if (!writer.isStored()) {
+			ValidatorStore.getInstance().remove(condition.getContentURL());
+			return;
+		}
+		Header etag = response.getFirstHeader("ETag");
+		Header lastModified = response.getFirstHeader("Last-Modified");
+		ValidatorStore.getInstance().put(condition.getContentURL(), (null != etag) ? etag.getValue() : null,
+				(null != lastModified) ? lastModified.getValue() : null, encoding);
+	}
+
+	/**
+	 * 未更新(304 Not Modified)時のダウンロード結果を設定する。
+	 * <p>
+	 * 前回ダウンロードした出力ファイルを、バリデータと共に保存した圧縮形式でそのまま使用する。
+	 * </p>
+	 * 
+	 * @param result ダウンロード結果
+	 * @param condition ダウンロード条件
+	 */
+	protected final void setNotModified(final DownloadEngineResult result, final DownloadEngineCondition condition) {
+		result.setNotModified(true);
+		result.setLength(condition.getDestFile().length());
+		Validator validator = ValidatorStore.getInstance().get(condition.getContentURL());
+		if (null != validator) {
+			result.setContentEncoding(validator.getContentEncoding());
+			result.setContent(DownloadFileWriter.toContent(condition.getDestFile(), validator.getContentEncoding()));
+		} else if (!condition.isStoreCompressed()) {
+			result.setContentEncoding(ContentEncoding.Identity);
+			result.setContent(DownloadFileWriter.toContent(condition.getDestFile(), ContentEncoding.Identity));
+		}
+	}
+
+	/**
+	 * 出力ファイルの書き込みを生成する。
+	 * <p>
+	 * 圧縮したまま保存する場合は、メモリに保持せずに出力ファイルへ書き込む。
+	 * </p>
+	 * 
+	 * @param condition ダウンロード条件
+	 * @param encoding レスポンスの圧縮形式
+	 * @return 書き込み
+	 * @throws IOException 一時ファイルの作成に失敗した場合
+	 */
+	protected final DownloadFileWriter createWriter(final DownloadEngineCondition condition, final ContentEncoding encoding)
+			throws IOException {
+		int memoryThreshold = condition.getMemoryThreshold();
+		if (condition.isStoreCompressed() && ContentEncoding.Identity != encoding) {
+			memoryThreshold = 0;
+		}
+		return new DownloadFileWriter(condition.getDestFile(), memoryThreshold, condition.isArchive());
+	}
+
+	/**
+	 * 未更新(304 Not Modified)のステータスコードか判断する。
+	 * 
+	 * @param statusCode ステータスコード
+	 * @return 未更新の場合、<code>true</code>
+	 */
+	protected static final boolean isNotModified(final int statusCode) {
+		return HttpStatus.SC_NOT_MODIFIED == statusCode;
+	}
+
+	/**
+	 * レスポンスの圧縮形式を取得する。
+	 * 
+	 * @param response レスポンス
+	 * @return 圧縮形式
+	 * @throws IOException 対応していない圧縮形式の場合
+	 */
+	protected static final ContentEncoding getContentEncoding(final HttpResponse response) throws IOException {
+		Header header = response.getFirstHeader("Content-Encoding");
+		ContentEncoding encoding = ContentEncoding.parse((null != header) ? header.getValue() : null);
+		if (null == encoding) {
+			throw new IOException(String.format("Unsupported content encoding.[%s]", header.getValue()));
+		}
+		return encoding;
+	}
+
+	/**
+	 * このクラスは、ホスト毎のダウンロードのメトリクスを保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class HostMetrics {
+
+		/** 保持するステータスコードの上限 */
+		private static final int MAX_STATUS = 600;
+
+		/** レジストリ */
+		private final MetricsRegistry registry;
+		/** ホスト名 */
+		private final String host;
+		/** ステータスコード毎のダウンロード数 */
+		private final AtomicReferenceArray<Counter> statuses;
+		/** 失敗したダウンロード数 */
+		private final Counter error;
+		/** ダウンロード時間 */
+		private final Histogram download;
+		/** レスポンスヘッダ受信までの時間 */
+		private final Histogram ttfb;
+		/** ダウンロードしたバイト数 */
+		private final Counter bytes;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aRegistry レジストリ
+		 * @param aHost ホスト名
+		 */
+		public HostMetrics(final MetricsRegistry aRegistry, final String aHost) {
+			registry = aRegistry;
+			host = aHost;
+			statuses = new AtomicReferenceArray<Counter>(MAX_STATUS);
+			error = newStatus("error");
+			download = aRegistry.timer("crawler_download_seconds", "Total download time.", "host", aHost);
+			ttfb = aRegistry.timer("crawler_download_ttfb_seconds", "Time until the response header is received.", "host", aHost);
+			bytes = aRegistry.counter("crawler_download_bytes_total", "Downloaded content bytes.", "host", aHost);
+		}
+
+		/**
+		 * ステータスコードのダウンロード数を取得する。
+		 * 
+		 * @param aStatusCode ステータスコード
+		 * @return ダウンロード数
+		 */
+		public Counter getStatus(final int aStatusCode) {
+			if (0 > aStatusCode || MAX_STATUS <= aStatusCode) {
+				return newStatus(Integer.toString(aStatusCode));
+			}
+			Counter counter = statuses.get(aStatusCode);
+			if (null == counter) {
+				// レジストリが同じカウンターを返すため、競合しても問題ない
+				counter = newStatus(Integer.toString(aStatusCode));
+				statuses.set(aStatusCode, counter);
+			}
+			return counter;
+		}
+
+		/**
+		 * ステータスのダウンロード数をレジストリから取得する。
+		 * 
+		 * @param aStatus ステータス
+		 * @return ダウンロード数
+		 */
+		private Counter newStatus(final String aStatus) {
+			return registry.counter("crawler_download_total", "Number of downloads.", "host", host, "status", aStatus);
+		}
+	}
 }
@@ -0,0 +1,430 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.downloader.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.ContentDecoderChannel;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.protocol.HttpContext;
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.downloader.HttpClientManager;
+import org.azkfw.crawler.performance.Tracer;
+import org.azkfw.util.ObjectUtility;
+
+/**
+ * このクラスは、ノンブロッキングI/Oで非同期にダウンロードを行うダウンロードエンジンです。
+ * <p>
+ * {@link #downloadAsync(DownloadEngineCondition)}を使用することで、１スレッドから複数のダウンロードを同時に実行できます。
+ * レスポンスボディはヒープを経由せず、{@link DownloadFileWriter}により一時ファイルへ直接転送されます。
+ * 圧縮コンテンツの展開・出力ファイルへのリネームは、I/Oディスパッチスレッドをブロックしないよう完了処理スレッドで行います。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class AsyncDownloadEngine extends AbstractDownloadEngine {
+
+	/** 非同期HTTPクライアント */
+	private CloseableHttpAsyncClient httpAsyncClient;
+
+	/**
+	 * コンストラクタ
+	 */
+	public AsyncDownloadEngine() {
+		super(AsyncDownloadEngine.class);
+		httpAsyncClient = null;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aHttpAsyncClient 非同期HTTPクライアント(起動済みであること)
+	 */
+	public AsyncDownloadEngine(final CloseableHttpAsyncClient aHttpAsyncClient) {
+		super(AsyncDownloadEngine.class);
+		httpAsyncClient = aHttpAsyncClient;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aClass クラス
+	 */
+	protected AsyncDownloadEngine(final Class<?> aClass) {
+		super(aClass);
+		httpAsyncClient = null;
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aClass クラス
+	 * @param aHttpAsyncClient 非同期HTTPクライアント(起動済みであること)
+	 */
+	protected AsyncDownloadEngine(final Class<?> aClass, final CloseableHttpAsyncClient aHttpAsyncClient) {
+		super(aClass);
+		httpAsyncClient = aHttpAsyncClient;
+	}
+
+	@Override
+	protected void doInitialize() {
+
+	}
+
+	@Override
+	protected void doRelease() {
+
+	}
+
+	/**
+	 * 非同期でダウンロード処理を行う。
+	 * 
+	 * @param condition ダウンロード条件
+	 * @return ダウンロード結果のFuture
+	 * @throws IOReactorException 非同期HTTPクライアントの生成に失敗した場合
+	 */
+	public final Future<DownloadEngineResult> downloadAsync(final DownloadEngineCondition condition) throws IOReactorException {
+		return downloadAsync(condition, null);
+	}
+
+	/**
+	 * 非同期でダウンロード処理を行う。
+	 * <p>
+	 * ダウンロード完了時に、完了処理スレッド({@link HttpClientManager#getCompletionExecutor()})上でコールバックが呼び出されます。
+	 * </p>
+	 * 
+	 * @param condition ダウンロード条件
+	 * @param callback コールバック(<code>null</code>可)
+	 * @return ダウンロード結果のFuture
+	 * @throws IOReactorException 非同期HTTPクライアントの生成に失敗した場合
+	 */
+	public final Future<DownloadEngineResult> downloadAsync(final DownloadEngineCondition condition,
+			final FutureCallback<DownloadEngineResult> callback) throws IOReactorException {
+		return execute(condition, callback, true);
+	}
+
+	@Override
+	protected final DownloadEngineResult doDownload(final DownloadEngineCondition condition) {
+		DownloadEngineResult result = null;
+		try {
+			// メトリクス・トレースはdownload()で記録する
+			result = execute(condition, null, false).get();
+		} catch (IOReactorException ex) {
+			fatal(ex);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			fatal(ex);
+		} catch (ExecutionException ex) {
+			fatal(ex.getCause());
+		}
+		if (null == result) {
+			result = new DownloadEngineResult();
+		}
+		return result;
+	}
+
+	/**
+	 * ダウンロードを開始する。
+	 * <p>
+	 * I/Oディスパッチスレッドではレスポンスボディの一時ファイルへの転送のみを行い、
+	 * 展開・リネームなどのブロッキングするファイル操作は完了処理スレッドで行います。
+	 * </p>
+	 * 
+	 * @param condition ダウンロード条件
+	 * @param callback コールバック(<code>null</code>可)
+	 * @param record メトリクス・トレースを記録する場合、<code>true</code>
+	 * @return ダウンロード結果のFuture
+	 * @throws IOReactorException 非同期HTTPクライアントの生成に失敗した場合
+	 */
+	private Future<DownloadEngineResult> execute(final DownloadEngineCondition condition,
+			final FutureCallback<DownloadEngineResult> callback, final boolean record) throws IOReactorException {
+		final URL targetUrl = condition.getContentURL();
+		File destFile = condition.getDestFile();
+
+		if (ObjectUtility.isNull(targetUrl)) {
+			throw new NullPointerException("TargetUrl");
+		}
+		if (ObjectUtility.isNull(destFile)) {
+			throw new NullPointerException("DestFile");
+		}
+
+		info(String.format("URL : %s", targetUrl.toExternalForm()));
+
+		HttpGet httpGet = new HttpGet(targetUrl.toExternalForm());
+		addConditionalHeaders(httpGet, condition);
+
+		final long startTime = System.nanoTime();
+		final ExecutorService executor = HttpClientManager.getInstance().getCompletionExecutor();
+		final AtomicReference<Future<DownloadResponseConsumer>> request = new AtomicReference<Future<DownloadResponseConsumer>>();
+		final BasicFuture<DownloadEngineResult> future = new BasicFuture<DownloadEngineResult>(callback) {
+			@Override
+			public boolean cancel(final boolean mayInterruptIfRunning) {
+				Future<DownloadResponseConsumer> f = request.get();
+				if (null != f) {
+					f.cancel(mayInterruptIfRunning);
+				}
+				return super.cancel(mayInterruptIfRunning);
+			}
+		};
+
+		DownloadResponseConsumer consumer = new DownloadResponseConsumer(condition);
+		request.set(getHttpAsyncClient().execute(HttpAsyncMethods.create(httpGet), consumer, new FutureCallback<DownloadResponseConsumer>() {
+			@Override
+			public void completed(final DownloadResponseConsumer received) {
+				try {
+					executor.execute(new Runnable() {
+						@Override
+						public void run() {
+							DownloadEngineResult result = null;
+							try {
+								result = received.complete();
+								future.completed(result);
+							} catch (Exception ex) {
+								future.failed(ex);
+							} finally {
+								received.closeWriter();
+								if (record) {
+									recordAsync(targetUrl, result, startTime);
+								}
+							}
+						}
+					});
+				} catch (RejectedExecutionException ex) {
+					received.closeWriter();
+					failed(ex);
+				}
+			}
+
+			@Override
+			public void failed(final Exception ex) {
+				if (record) {
+					recordAsync(targetUrl, null, startTime);
+				}
+				future.failed(ex);
+			}
+
+			@Override
+			public void cancelled() {
+				future.cancel(false);
+			}
+		}));
+		return future;
+	}
+
+	/**
+	 * ダウンロードのメトリクス・トレースを記録する。
+	 * 
+	 * @param aUrl URL
+	 * @param aResult ダウンロード結果(失敗した場合、<code>null</code>)
+	 * @param aStartTime 開始時刻({@link System#nanoTime()})
+	 */
+	private static void recordAsync(final URL aUrl, final DownloadEngineResult aResult, final long aStartTime) {
+		AbstractDownloadEngine.record(aUrl, aResult, aStartTime);
+		Tracer tracer = Tracer.getInstance();
+		if (tracer.isEnabled()) {
+			tracer.record("download", aUrl.toExternalForm(), aStartTime, System.nanoTime());
+		}
+	}
+
+	/**
+	 * 非同期HTTPクライアントを取得する。
+	 * 
+	 * @return 非同期HTTPクライアント
+	 * @throws IOReactorException 非同期HTTPクライアントの生成に失敗した場合
+	 */
+	private CloseableHttpAsyncClient getHttpAsyncClient() throws IOReactorException {
+		if (null == httpAsyncClient) {
+			httpAsyncClient = HttpClientManager.getInstance().getHttpAsyncClient();
+		}
+		return httpAsyncClient;
+	}
+
+	/**
+	 * このクラスは、レスポンスボディをファイルへ直接書き込むレスポンスコンシューマです。
+	 * <p>
+	 * I/Oディスパッチスレッドから呼び出されるメソッドでは、一時ファイルへの転送のみを行います。
+	 * 受信完了後、出力ファイルは完了処理スレッドで{@link #complete()}・{@link #closeWriter()}を呼び出して確定します。
+	 * </p>
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private final class DownloadResponseConsumer extends AbstractAsyncResponseConsumer<DownloadResponseConsumer> {
+
+		/** ダウンロード条件 */
+		private final DownloadEngineCondition condition;
+		/** ダウンロード結果 */
+		private final DownloadEngineResult result;
+		/** 開始時間 */
+		private final long startTime;
+
+		/** 出力ファイル */
+		private DownloadFileWriter writer;
+		/** レスポンス */
+		private HttpResponse response;
+		/** コンテンツ長 */
+		private long contentLength;
+		/** 圧縮形式 */
+		private ContentEncoding encoding;
+		/** 読み捨て用バッファ */
+		private ByteBuffer discardBuffer;
+		/** 受信完了フラグ(出力ファイルの所有権が完了処理へ移った場合、<code>true</code>) */
+		private boolean received;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aCondition ダウンロード条件
+		 */
+		public DownloadResponseConsumer(final DownloadEngineCondition aCondition) {
+			condition = aCondition;
+			result = new DownloadEngineResult();
+			startTime = System.currentTimeMillis();
+			contentLength = -1;
+		}
+
+		@Override
+		protected void onResponseReceived(final HttpResponse aResponse) throws HttpException, IOException {
+			response = aResponse;
+			result.setResponseTime(System.nanoTime());
+			result.setStatusCode(response.getStatusLine().getStatusCode());
+			for (Header header : response.getAllHeaders()) {
+				result.addHeader(header);
+				debug(String.format("%s : %s", header.getName(), header.getValue()));
+			}
+		}
+
+		@Override
+		protected void onEntityEnclosed(final HttpEntity entity, final ContentType contentType) throws IOException {
+			if (200 == result.getStatusCode()) {
+				encoding = getContentEncoding(response);
+				writer = createWriter(condition, encoding);
+				contentLength = entity.getContentLength();
+			}
+		}
+
+		@Override
+		protected void onContentReceived(final ContentDecoder decoder, final IOControl ioctrl) throws IOException {
+			if (null != writer) {
+				writer.transferFrom(new ContentDecoderChannel(decoder), Integer.MAX_VALUE);
+			} else {
+				// 200以外のレスポンスボディは読み捨てる
+				if (null == discardBuffer) {
+					discardBuffer = ByteBuffer.allocate(1024 * 4);
+				}
+				discardBuffer.clear();
+				while (0 < decoder.read(discardBuffer)) {
+					discardBuffer.clear();
+				}
+			}
+		}
+
+		@Override
+		protected DownloadResponseConsumer buildResult(final HttpContext context) throws Exception {
+			// ブロッキングするファイル操作は完了処理スレッドで行う
+			received = true;
+			return this;
+		}
+
+		/**
+		 * 出力ファイルを確定し、ダウンロード結果を生成する。
+		 * <p>
+		 * 完了処理スレッドから呼び出してください。
+		 * </p>
+		 * 
+		 * @return ダウンロード結果
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public DownloadEngineResult complete() throws IOException {
+			int statusCode = result.getStatusCode();
+			if (200 == statusCode) {
+				if (null == writer) {
+					// ボディなし
+					writer = createWriter(condition, ContentEncoding.Identity);
+				}
+				if (null == encoding || ContentEncoding.Identity == encoding || condition.isStoreCompressed()) {
+					writer.commit(contentLength);
+					result.setContentEncoding((null != encoding) ? encoding : ContentEncoding.Identity);
+				} else {
+					writer.verify(contentLength);
+					writer.decode(encoding);
+					writer.commit();
+				}
+				result.setLength(writer.getLength());
+				result.setContent(writer.getContent(result.getContentEncoding()));
+				storeValidators(response, condition, writer, result.getContentEncoding());
+			} else if (isNotModified(statusCode)) {
+				setNotModified(result, condition);
+			}
+			result.setResult(true);
+
+			long endTime = System.currentTimeMillis();
+			info(String.format("<<<<< END [%d] (%.2fs) %s", statusCode, (float) (endTime - startTime) / 1000.f, condition.getContentURL()
+					.toExternalForm()));
+			return result;
+		}
+
+		/**
+		 * 出力ファイルの書き込みを終了する。
+		 * <p>
+		 * 確定していない一時ファイルは削除されます。
+		 * </p>
+		 */
+		public void closeWriter() {
+			if (null != writer) {
+				try {
+					writer.close();
+				} catch (IOException ex) {
+					warn(ex);
+				}
+				writer = null;
+			}
+		}
+
+		@Override
+		protected void releaseResources() {
+			if (!received) {
+				closeWriter();
+			}
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.downloader.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * このクラスは、メモリ上に保持するコンテンツのバッファを再利用するプールクラスです。
+ * <p>
+ * バッファはサイズ毎に最大{@link #MAX_POOLED_BUFFERS}個まで保持します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+final class ContentBufferPool {
+
+	/** サイズ毎の最大保持数 */
+	public static final int MAX_POOLED_BUFFERS = 64;
+
+	/** インスタンス */
+	private static final ContentBufferPool INSTANCE = new ContentBufferPool();
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static ContentBufferPool getInstance() {
+		return INSTANCE;
+	}
+
+	/** サイズ毎のバッファ */
+	private final ConcurrentMap<Integer, Pool> pools;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private ContentBufferPool() {
+		pools = new ConcurrentHashMap<Integer, Pool>();
+	}
+
+	/**
+	 * バッファを取得する。
+	 * 
+	 * @param aSize サイズ
+	 * @return バッファ
+	 */
+	public byte[] acquire(final int aSize) {
+		Pool pool = pools.get(Integer.valueOf(aSize));
+		if (null != pool) {
+			byte[] buffer = pool.buffers.poll();
+			if (null != buffer) {
+				pool.size.decrementAndGet();
+				return buffer;
+			}
+		}
+		return new byte[aSize];
+	}
+
+	/**
+	 * バッファを返却する。
+	 * 
+	 * @param aBuffer バッファ
+	 */
+	public void release(final byte[] aBuffer) {
+		Integer key = Integer.valueOf(aBuffer.length);
+		Pool pool = pools.get(key);
+		if (null == pool) {
+			Pool newPool = new Pool();
+			pool = pools.putIfAbsent(key, newPool);
+			if (null == pool) {
+				pool = newPool;
+			}
+		}
+		if (MAX_POOLED_BUFFERS >= pool.size.incrementAndGet()) {
+			pool.buffers.offer(aBuffer);
+		} else {
+			pool.size.decrementAndGet();
+		}
+	}
+
+	/**
+	 * このクラスは、同じサイズのバッファのプールです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Pool {
+
+		/** バッファ */
+		private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<byte[]>();
+		/** 保持数 */
+		private final AtomicInteger size = new AtomicInteger();
+	}
+}
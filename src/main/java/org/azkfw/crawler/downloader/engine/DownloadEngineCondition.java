@@ -32,6 +32,10 @@ public class DownloadEngineCondition {
 	private URL contentUrl;
 	private File destFile;
 	private URL refererUrl;
+	private boolean conditional = true;
+	private boolean storeCompressed = false;
+	private int memoryThreshold = 0;
+	private boolean archive = true;
 
 	public void setContentURL(final URL url) {
 		contentUrl = url;
@@ -56,4 +60,73 @@ public class DownloadEngineCondition {
 	public URL getRefererURL() {
 		return refererUrl;
 	}
+
+	/**
+	 * 条件付きGETを行うか設定する。
+	 * <p>
+	 * 出力ファイルが存在し、前回取得時のバリデータ(ETag/Last-Modified)がある場合に条件付きGETを行う。
+	 * デフォルトは<code>true</code>です。
+	 * </p>
+	 * 
+	 * @param aConditional 条件付きGETを行う場合、<code>true</code>
+	 */
+	public void setConditional(final boolean aConditional) {
+		conditional = aConditional;
+	}
+
+	public boolean isConditional() {
+		return conditional;
+	}
+
+	/**
+	 * 圧縮されたコンテンツを圧縮したまま保存するか設定する。
+	 * <p>
+	 * <code>true</code>の場合、出力ファイルは{@link DownloadEngineResult#getContentEncoding()}の形式で圧縮されたまま保存されます。
+	 * デフォルトは<code>false</code>(展開して保存)です。
+	 * </p>
+	 * 
+	 * @param aStoreCompressed 圧縮したまま保存する場合、<code>true</code>
+	 */
+	public void setStoreCompressed(final boolean aStoreCompressed) {
+		storeCompressed = aStoreCompressed;
+	}
+
+	public boolean isStoreCompressed() {
+		return storeCompressed;
+	}
+
+	/**
+	 * メモリに保持するコンテンツの最大サイズを設定する。
+	 * <p>
+	 * サイズ以下のコンテンツはメモリに保持し、{@link DownloadEngineResult#getContent()}で解析エンジンへ直接渡すことができます。
+	 * サイズを超えたコンテンツは出力ファイルへ書き込みます。圧縮したまま保存する場合はメモリに保持しません。
+	 * デフォルトは0(メモリに保持しない)です。
+	 * </p>
+	 * 
+	 * @param aMemoryThreshold 最大サイズ(バイト)
+	 */
+	public void setMemoryThreshold(final int aMemoryThreshold) {
+		memoryThreshold = aMemoryThreshold;
+	}
+
+	public int getMemoryThreshold() {
+		return memoryThreshold;
+	}
+
+	/**
+	 * メモリに保持したコンテンツも出力ファイルへ書き込むか設定する。
+	 * <p>
+	 * <code>false</code>の場合、メモリに収まったコンテンツは出力ファイルへ書き込みません。
+	 * デフォルトは<code>true</code>です。
+	 * </p>
+	 * 
+	 * @param aArchive 出力ファイルへ書き込む場合、<code>true</code>
+	 */
+	public void setArchive(final boolean aArchive) {
+		archive = aArchive;
+	}
+
+	public boolean isArchive() {
+		return archive;
+	}
 }
@@ -17,10 +17,14 @@
  */
 package org.azkfw.crawler.downloader.engine;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.http.Header;
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.content.ContentEncoding;
 
 /**
  * このクラスは、ダウンロード結果情報を保持するクラスです。
@@ -35,12 +39,20 @@ public class DownloadEngineResult {
 	private int statusCode;
 	private List<Header> headers;
 	private long length;
+	private boolean notModified;
+	private ContentEncoding contentEncoding;
+	private Content content;
+	private long responseTime;
 
 	public DownloadEngineResult() {
 		result = false;
 		statusCode = -1;
 		headers = new ArrayList<Header>();
 		length = -1;
+		notModified = false;
+		contentEncoding = ContentEncoding.Identity;
+		content = null;
+		responseTime = -1;
 	}
 
 	public void setResult(final boolean aResult) {
@@ -67,6 +79,23 @@ public class DownloadEngineResult {
 		return headers;
 	}
 
+	/**
+	 * Content-Typeヘッダーを取得する。
+	 * <p>
+	 * 解析エンジンの文字コード判定に使用します。
+	 * </p>
+	 * 
+	 * @return Content-Typeヘッダー。存在しない場合、<code>null</code>
+	 */
+	public String getContentType() {
+		for (Header header : headers) {
+			if ("Content-Type".equalsIgnoreCase(header.getName())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
 	public long getLength() {
 		return length;
 	}
@@ -75,4 +104,88 @@ public class DownloadEngineResult {
 		length = aLength;
 	}
 
+	/**
+	 * コンテンツが未更新(304 Not Modified)か判断する。
+	 * <p>
+	 * 未更新の場合、前回ダウンロードした出力ファイルがそのまま有効です。
+	 * </p>
+	 * 
+	 * @return 未更新の場合、<code>true</code>
+	 */
+	public boolean isNotModified() {
+		return notModified;
+	}
+
+	public void setNotModified(final boolean aNotModified) {
+		notModified = aNotModified;
+	}
+
+	/**
+	 * 出力ファイルの圧縮形式を取得する。
+	 * <p>
+	 * {@link DownloadEngineCondition#setStoreCompressed(boolean)}で圧縮したまま保存した場合のみ{@link ContentEncoding#Identity}以外となります。
+	 * この場合、{@link #getLength()}は圧縮後のサイズです。
+	 * 未更新({@link #isNotModified()})の場合、出力ファイルは前回ダウンロード時の形式のままです。
+	 * </p>
+	 * 
+	 * @return 圧縮形式
+	 */
+	public ContentEncoding getContentEncoding() {
+		return contentEncoding;
+	}
+
+	public void setContentEncoding(final ContentEncoding aEncoding) {
+		contentEncoding = aEncoding;
+	}
+
+	/**
+	 * ダウンロードしたコンテンツを取得する。
+	 * <p>
+	 * メモリに保持したコンテンツ、または出力ファイルのコンテンツを返します。
+	 * 解析エンジン({@link org.azkfw.crawler.engine.CrawlerEngine#getParseEngine(java.net.URL, String, Content)})へそのまま渡すことができます。
+	 * 解析後は{@link #release()}を呼び出してください。
+	 * </p>
+	 * 
+	 * @return コンテンツ。ダウンロードしていない場合、<code>null</code>
+	 */
+	public Content getContent() {
+		return content;
+	}
+
+	public void setContent(final Content aContent) {
+		content = aContent;
+	}
+
+	/**
+	 * レスポンスヘッダーの受信時刻を取得する。
+	 * <p>
+	 * 最初のバイトを受信するまでの時間(TTFB)の計測に使用します。
+	 * </p>
+	 * 
+	 * @return 受信時刻({@link System#nanoTime()})。レスポンスを受信していない場合、<code>-1</code>
+	 */
+	public long getResponseTime() {
+		return responseTime;
+	}
+
+	public void setResponseTime(final long aTime) {
+		responseTime = aTime;
+	}
+
+	/**
+	 * コンテンツが使用しているバッファを解放する。
+	 * <p>
+	 * 解放後は{@link #getContent()}のコンテンツを参照しないでください。
+	 * </p>
+	 */
+	public void release() {
+		if (content instanceof Closeable) {
+			try {
+				((Closeable) content).close();
+			} catch (IOException ex) {
+				// 無視
+			}
+		}
+		content = null;
+	}
 }
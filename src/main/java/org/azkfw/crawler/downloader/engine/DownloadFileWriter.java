@@ -0,0 +1,406 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.downloader.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.content.FileContent;
+import org.azkfw.crawler.content.MappedFileContent;
+
+/**
+ * このクラスは、ダウンロードしたコンテンツを一時ファイル経由で出力ファイルへ書き込むクラスです。
+ * <p>
+ * 出力ファイルと同じディレクトリに一時ファイルを作成し、{@link FileChannel#transferFrom(ReadableByteChannel, long, long)}で書き込みます。
+ * {@link #commit()}で出力ファイルへアトミックにリネームするため、途中で失敗した場合に書きかけのファイルが残りません。
+ * </p>
+ * <p>
+ * メモリ保持サイズを指定した場合、サイズ以下のコンテンツは{@link ContentBufferPool}のバッファに保持し、
+ * サイズを超えた時点で一時ファイルへ書き出します。アーカイブしない場合、メモリに収まったコンテンツは出力ファイルへ書き込みません。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class DownloadFileWriter implements Closeable {
+
+	/** 一時ファイルの拡張子 */
+	private static final String TEMP_SUFFIX = ".part";
+
+	/** １回の転送サイズ */
+	private static final long TRANSFER_SIZE = 1024 * 1024 * 8;
+
+	/** 出力ファイル */
+	private final File destFile;
+	/** メモリ保持サイズ */
+	private final int memoryThreshold;
+	/** アーカイブフラグ */
+	private final boolean archive;
+	/** 一時ファイル */
+	private File tempFile;
+	/** メモリバッファ */
+	private byte[] memory;
+	/** 一時ファイル */
+	private RandomAccessFile accessFile;
+	/** 出力チャネル */
+	private FileChannel channel;
+	/** 書き込みサイズ */
+	private long length;
+	/** コミット済みフラグ */
+	private boolean committed;
+	/** 出力ファイル書き込み済みフラグ */
+	private boolean stored;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aDestFile 出力ファイル
+	 * @throws IOException 一時ファイルの作成に失敗した場合
+	 */
+	public DownloadFileWriter(final File aDestFile) throws IOException {
+		this(aDestFile, 0, true);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aDestFile 出力ファイル
+	 * @param aMemoryThreshold メモリ保持サイズ(0の場合、メモリに保持しない)
+	 * @param aArchive メモリに収まったコンテンツも出力ファイルへ書き込む場合、<code>true</code>
+	 * @throws IOException 一時ファイルの作成に失敗した場合
+	 */
+	public DownloadFileWriter(final File aDestFile, final int aMemoryThreshold, final boolean aArchive) throws IOException {
+		destFile = aDestFile.getAbsoluteFile();
+		memoryThreshold = Math.max(0, aMemoryThreshold);
+		archive = aArchive;
+		length = 0;
+		committed = false;
+		stored = false;
+		if (0 < memoryThreshold) {
+			memory = ContentBufferPool.getInstance().acquire(memoryThreshold);
+		} else {
+			openTempFile();
+		}
+	}
+
+	/**
+	 * 書き込みサイズを取得する。
+	 * 
+	 * @return 書き込みサイズ
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * 出力ファイルへ書き込んだか判断する。
+	 * <p>
+	 * アーカイブせずにメモリに収まったコンテンツは出力ファイルへ書き込まないため、{@link #commit()}後も<code>false</code>となります。
+	 * </p>
+	 * 
+	 * @return 出力ファイルへ書き込んだ場合、<code>true</code>
+	 */
+	public boolean isStored() {
+		return stored;
+	}
+
+	/**
+	 * コンテンツをメモリに保持しているか判断する。
+	 * 
+	 * @return メモリに保持している場合、<code>true</code>
+	 */
+	public boolean isInMemory() {
+		return null != memory;
+	}
+
+	/**
+	 * 書き込んだコンテンツを取得する。
+	 * <p>
+	 * {@link #commit()}の後に呼び出してください。
+	 * メモリに保持している場合はバッファの所有権がコンテンツへ移り、{@link #close()}でバッファは返却されません。
+	 * 使用後は{@link DownloadEngineResult#release()}でバッファを返却してください。
+	 * 出力ファイルへ書き込んだ場合は{@link #toContent(File, ContentEncoding)}のコンテンツを返します。
+	 * </p>
+	 * 
+	 * @param aEncoding 出力ファイルの圧縮形式
+	 * @return コンテンツ
+	 */
+	public Content getContent(final ContentEncoding aEncoding) {
+		if (null != memory) {
+			Content content = new PooledContent(memory, (int) length);
+			memory = null;
+			return content;
+		}
+		return toContent(destFile, aEncoding);
+	}
+
+	/**
+	 * 出力ファイルのコンテンツを生成する。
+	 * <p>
+	 * 圧縮されていないファイルは、解析時に何度読み込んでもファイルを開き直さないよう{@link MappedFileContent}とします。
+	 * 圧縮されたまま保存されたファイルは、読み込み時に展開する{@link FileContent}とします。
+	 * </p>
+	 * 
+	 * @param aFile 出力ファイル
+	 * @param aEncoding 出力ファイルの圧縮形式
+	 * @return コンテンツ
+	 */
+	static Content toContent(final File aFile, final ContentEncoding aEncoding) {
+		if (null == aEncoding || ContentEncoding.Identity == aEncoding) {
+			return new MappedFileContent(aFile);
+		}
+		return new FileContent(aFile, aEncoding);
+	}
+
+	/**
+	 * ストリームの終端までを書き込む。
+	 * 
+	 * @param aStream 入力ストリーム
+	 * @return 書き込みサイズ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public long transferFrom(final InputStream aStream) throws IOException {
+		ReadableByteChannel src = Channels.newChannel(aStream);
+		long total = 0;
+		long transferred;
+		while (0 < (transferred = transferFrom(src, TRANSFER_SIZE))) {
+			total += transferred;
+		}
+		return total;
+	}
+
+	/**
+	 * チャネルから読み込み可能なデータを書き込む。
+	 * <p>
+	 * ノンブロッキングチャネルの場合、読み込み可能なデータのみを書き込み、即座に復帰します。
+	 * </p>
+	 * 
+	 * @param aChannel 入力チャネル
+	 * @param aCount 最大書き込みサイズ
+	 * @return 書き込みサイズ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public long transferFrom(final ReadableByteChannel aChannel, final long aCount) throws IOException {
+		if (null != memory) {
+			if (length == memory.length) {
+				// メモリ保持サイズを超えるため、一時ファイルへ書き出す
+				spill();
+			} else {
+				int read = aChannel.read(ByteBuffer.wrap(memory, (int) length, (int) Math.min(aCount, memory.length - length)));
+				if (0 < read) {
+					length += read;
+				}
+				return Math.max(0, read);
+			}
+		}
+		long transferred = channel.transferFrom(aChannel, length, aCount);
+		if (0 < transferred) {
+			length += transferred;
+		}
+		return transferred;
+	}
+
+	/**
+	 * 書き込みを確定し、一時ファイルを出力ファイルへリネームする。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void commit() throws IOException {
+		commit(-1);
+	}
+
+	/**
+	 * 書き込みを確定し、一時ファイルを出力ファイルへリネームする。
+	 * <p>
+	 * 書き込みサイズがコンテンツ長と一致しない場合、コネクションが途中で切断されたとみなしリネームを行いません。
+	 * </p>
+	 * 
+	 * @param aContentLength コンテンツ長(不明な場合は負数)
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void commit(final long aContentLength) throws IOException {
+		verify(aContentLength);
+		if (null != memory) {
+			if (!archive) {
+				committed = true;
+				return;
+			}
+			openTempFile();
+			ByteBuffer buffer = ByteBuffer.wrap(memory, 0, (int) length);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+		closeChannel();
+		try {
+			Files.move(tempFile.toPath(), destFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException ex) {
+			Files.move(tempFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+		stored = true;
+	}
+
+	/**
+	 * 書き込みサイズがコンテンツ長と一致するか検証する。
+	 * 
+	 * @param aContentLength コンテンツ長(不明な場合は負数)
+	 * @throws IOException 書き込みサイズがコンテンツ長と一致しない場合
+	 */
+	public void verify(final long aContentLength) throws IOException {
+		if (0 <= aContentLength && aContentLength != length) {
+			throw new IOException(String.format("Premature end of content.[expected=%d, actual=%d]", aContentLength, length));
+		}
+	}
+
+	/**
+	 * 書き込んだ圧縮データを展開する。
+	 * <p>
+	 * {@link #commit()}の前に呼び出してください。展開後は書き込みを行うことはできません。
+	 * </p>
+	 * 
+	 * @param aEncoding 圧縮形式
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void decode(final ContentEncoding aEncoding) throws IOException {
+		if (ContentEncoding.Identity == aEncoding) {
+			return;
+		}
+		if (null != memory) {
+			byte[] encoded = memory;
+			int encodedLength = (int) length;
+			memory = ContentBufferPool.getInstance().acquire(memoryThreshold);
+			length = 0;
+			InputStream stream = null;
+			try {
+				stream = aEncoding.decode(new ByteArrayInputStream(encoded, 0, encodedLength));
+				transferFrom(stream);
+			} finally {
+				if (null != stream) {
+					stream.close();
+				}
+				ContentBufferPool.getInstance().release(encoded);
+			}
+			return;
+		}
+		closeChannel();
+
+		File decodedFile = File.createTempFile("." + destFile.getName() + ".", TEMP_SUFFIX, destFile.getParentFile());
+		boolean success = false;
+		InputStream stream = null;
+		try {
+			stream = aEncoding.decode(new FileInputStream(tempFile));
+			accessFile = new RandomAccessFile(decodedFile, "rw");
+			channel = accessFile.getChannel();
+			length = 0;
+			transferFrom(stream);
+			closeChannel();
+
+			Files.move(decodedFile.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			success = true;
+		} finally {
+			if (null != stream) {
+				stream.close();
+			}
+			if (!success) {
+				closeChannel();
+				decodedFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * 書き込みを終了する。
+	 * <p>
+	 * {@link #commit()}されていない場合、一時ファイルを削除します。
+	 * </p>
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			closeChannel();
+		} finally {
+			if (null != memory) {
+				ContentBufferPool.getInstance().release(memory);
+				memory = null;
+			}
+			if (!committed && null != tempFile && tempFile.exists()) {
+				tempFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * 一時ファイルを作成する。
+	 * 
+	 * @throws IOException 一時ファイルの作成に失敗した場合
+	 */
+	private void openTempFile() throws IOException {
+		// リネームをアトミックに行うため、一時ファイルは出力ファイルと同じディレクトリに作成する
+		tempFile = File.createTempFile("." + destFile.getName() + ".", TEMP_SUFFIX, destFile.getParentFile());
+		accessFile = new RandomAccessFile(tempFile, "rw");
+		channel = accessFile.getChannel();
+	}
+
+	/**
+	 * メモリに保持しているコンテンツを一時ファイルへ書き出し、以降は一時ファイルへ書き込む。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void spill() throws IOException {
+		openTempFile();
+		ByteBuffer buffer = ByteBuffer.wrap(memory, 0, (int) length);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		ContentBufferPool.getInstance().release(memory);
+		memory = null;
+	}
+
+	/**
+	 * 出力チャネルを閉じる。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void closeChannel() throws IOException {
+		if (null != channel) {
+			try {
+				channel.close();
+			} finally {
+				channel = null;
+				accessFile.close();
+				accessFile = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.downloader.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.azkfw.crawler.content.ByteBufferContent;
+
+/**
+ * このクラスは、{@link ContentBufferPool}のバッファを使用するコンテンツです。
+ * <p>
+ * {@link #close()}でバッファをプールへ返却します。返却後はコンテンツを参照しないでください。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+final class PooledContent extends ByteBufferContent implements Closeable {
+
+	/** バッファ */
+	private final byte[] buffer;
+	/** 返却済みフラグ */
+	private final AtomicBoolean closed;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aBuffer バッファ
+	 * @param aLength コンテンツ長
+	 */
+	public PooledContent(final byte[] aBuffer, final int aLength) {
+		super(ByteBuffer.wrap(aBuffer, 0, aLength));
+		buffer = aBuffer;
+		closed = new AtomicBoolean(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed.compareAndSet(false, true)) {
+			ContentBufferPool.getInstance().release(buffer);
+		}
+	}
+}
@@ -18,22 +18,21 @@
 package org.azkfw.crawler.downloader.engine;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
 
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.downloader.HttpClientManager;
+import org.azkfw.crawler.performance.Span;
+import org.azkfw.crawler.performance.Tracer;
 import org.azkfw.util.ObjectUtility;
 
 /**
@@ -113,8 +112,9 @@ public class SimpleDownloadEngine extends AbstractDownloadEngine {
 		}
 
 		HttpGet httpGet = null;
-		InputStream reader = null;
-		FileOutputStream writer = null;
+		HttpEntity httpEntity = null;
+		DownloadFileWriter writer = null;
+		boolean completed = false;
 		try {
 			doBefore(httpClient, condition);
 
@@ -122,7 +122,16 @@ public class SimpleDownloadEngine extends AbstractDownloadEngine {
 			info(String.format("URL : %s", targetUrl.toExternalForm()));
 
 			httpGet = new HttpGet(targetUrl.toExternalForm());
-			HttpResponse response = httpClient.execute(httpGet);
+			addConditionalHeaders(httpGet, condition);
+			// DNS解決・接続は共有HTTPクライアント(HttpClientManager)の子区間として記録される
+			HttpResponse response = null;
+			Span ttfbSpan = Tracer.getInstance().begin("ttfb");
+			try {
+				response = httpClient.execute(httpGet);
+			} finally {
+				ttfbSpan.end();
+			}
+			result.setResponseTime(System.nanoTime());
 
 			int statusCode = response.getStatusLine().getStatusCode();
 			result.setStatusCode(statusCode);
@@ -133,23 +142,35 @@ public class SimpleDownloadEngine extends AbstractDownloadEngine {
 				info(String.format("%s : %s", header.getName(), header.getValue()));
 			}
 
-			if (200 == statusCode) {
-				HttpEntity httpEntity = response.getEntity();
-				reader = httpEntity.getContent();
-
-				writer = new FileOutputStream(destFile);
-				byte[] buffer = new byte[1024*10];
-				int len;
-				long length = 0;
-				while (-1 != (len = reader.read(buffer, 0, 1024*10))) {
-					if (0 == len) {
-						info("0");
-						continue;
+			httpEntity = response.getEntity();
+			Span bodySpan = Tracer.getInstance().begin("body");
+			try {
+				if (200 == statusCode) {
+					ContentEncoding encoding = getContentEncoding(response);
+					writer = createWriter(condition, encoding);
+					if (null == httpEntity) {
+						writer.commit();
+					} else if (ContentEncoding.Identity == encoding || condition.isStoreCompressed()) {
+						writer.transferFrom(httpEntity.getContent());
+						writer.commit(httpEntity.getContentLength());
+						result.setContentEncoding(encoding);
+					} else {
+						InputStream stream = encoding.decode(httpEntity.getContent());
+						try {
+							writer.transferFrom(stream);
+						} finally {
+							stream.close();
+						}
+						writer.commit();
 					}
-					writer.write(buffer, 0, len);
-					length += len;
+					result.setLength(writer.getLength());
+					result.setContent(writer.getContent(result.getContentEncoding()));
+					storeValidators(response, condition, writer, result.getContentEncoding());
+				} else if (isNotModified(statusCode)) {
+					setNotModified(result, condition);
 				}
-				result.setLength(length);
+			} finally {
+				bodySpan.end();
 			}
 			long endTime = System.currentTimeMillis();
 			info(String.format("<<<<< END [%d] (%.2fs)", statusCode, (float) (endTime - startTime) / 1000.f));
@@ -157,6 +178,7 @@ public class SimpleDownloadEngine extends AbstractDownloadEngine {
 			doAfter(httpClient, condition);
 
 			result.setResult(true);
+			completed = true;
 
 		} catch (ClientProtocolException ex) {
 			fatal(ex);
@@ -165,23 +187,23 @@ public class SimpleDownloadEngine extends AbstractDownloadEngine {
 		} finally {
 			if (null != writer) {
 				try {
-					writer.flush();
 					writer.close();
 				} catch (IOException ex) {
-					ex.printStackTrace();
-				}
-			}
-			if (null != reader) {
-				try {
-					reader.close();
-				} catch (IOException ex) {
-					ex.printStackTrace();
+					warn(ex);
 				}
 			}
 			if (null != httpGet) {
-				httpGet.abort();
+				if (completed) {
+					// コネクションをプールへ返却する為、レスポンスを読み切る
+					try {
+						EntityUtils.consume(httpEntity);
+					} catch (IOException ex) {
+						httpGet.abort();
+					}
+				} else {
+					httpGet.abort();
+				}
 			}
-			// httpClient.getConnectionManager().shutdown();
 		}
 
 		return result;
@@ -198,26 +220,12 @@ public class SimpleDownloadEngine extends AbstractDownloadEngine {
 	/**
 	 * HTTPクライアント情報を取得する。
 	 * <p>
-	 * このメソッドをオーバーライドすることでHTTPクライアント情報を変更できます。
+	 * {@link HttpClientManager}が管理する共有HTTPクライアントを返す。
 	 * </p>
 	 * 
 	 * @return HTTPクライアント情報
 	 */
 	private HttpClient defaultClient() {
-		// Ver old
-		//HttpClient httpClient = new DefaultHttpClient();
-		// Ver 4.3
-		// int socketTimeout = 3;
-		// int connectionTimeout = 3;
-		// RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(connectionTimeout).setSocketTimeout(socketTimeout).build();
-		RequestConfig requestConfig = RequestConfig.custom().build();
-		List<Header> headers = new ArrayList<Header>();
-		headers.add(new BasicHeader("Accept-Charset", "utf-8"));
-		headers.add(new BasicHeader("Accept-Language", "ja, en;q=0.8"));
-		// chrom
-		headers.add(new BasicHeader("User-Agent",
-				"Mozilla/5.0 (Windows NT 6.1) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/28.0.1500.63 Safari/537.36"));
-		HttpClient httpClient = HttpClientBuilder.create().setDefaultRequestConfig(requestConfig).setDefaultHeaders(headers).build();
-		return httpClient;
+		return HttpClientManager.getInstance().getHttpClient();
 	}
 }
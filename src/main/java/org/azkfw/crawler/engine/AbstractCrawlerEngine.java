@@ -17,6 +17,13 @@
  */
 package org.azkfw.crawler.engine;
 
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.crawler.robots.RobotsManager;
+
 /**
  * このクラスは、クローラエンジン機能を実装する為の基底クラスです。
  * 
@@ -26,4 +33,63 @@ package org.azkfw.crawler.engine;
  */
 public abstract class AbstractCrawlerEngine implements CrawlerEngine {
 
+	/** ホストグループ一覧 */
+	private final ConcurrentMap<String, Integer> hostGroups = new ConcurrentHashMap<String, Integer>();
+
+	/** ホストグループ採番 */
+	private final AtomicInteger hostGroupSequence = new AtomicInteger();
+
+	/**
+	 * ホストグループを取得する。
+	 * <p>
+	 * デフォルトでは、プロトコル・ホスト名・ポート番号の組毎に異なるホストグループを割り当てます。
+	 * 複数のホストを１つのホストグループとして扱う場合は、このメソッドをオーバーライドしてください。
+	 * </p>
+	 */
+	@Override
+	public int getHostGroup(final String aName, final String aProtocol, final int aPort) {
+		if (null == aName) {
+			return -1;
+		}
+		String key = String.format("%s://%s:%d", aProtocol, aName.toLowerCase(), aPort);
+		Integer hostGroup = hostGroups.get(key);
+		if (null == hostGroup) {
+			Integer newHostGroup = Integer.valueOf(hostGroupSequence.getAndIncrement());
+			hostGroup = hostGroups.putIfAbsent(key, newHostGroup);
+			if (null == hostGroup) {
+				hostGroup = newHostGroup;
+			}
+		}
+		return hostGroup.intValue();
+	}
+
+	/**
+	 * ダウンロードを行うコンテンツか判断する。
+	 * <p>
+	 * 既出URLフィルタが設定されている場合、{@link #isDownloadContent(URL, URL)}の前に既出URLを除外し、
+	 * ダウンロード対象となったURLを既出として登録します。
+	 * また、robots.txtでアクセスが禁止されているURLを除外します。
+	 * </p>
+	 * 
+	 * @param url コンテンツURL
+	 * @param referUrl 参照元URL
+	 * @return 判断結果。ダウンロードを行う場合、<code>true</code>を返す。
+	 */
+	public final boolean isDownloadTarget(final URL url, final URL referUrl) {
+		SeenUrlFilter filter = FrontierManager.getInstance().getSeenUrlFilter();
+		if (null != filter && filter.mightContain(url)) {
+			return false;
+		}
+		if (!RobotsManager.getInstance().isAllowed(url)) {
+			return false;
+		}
+		if (!isDownloadContent(url, referUrl)) {
+			return false;
+		}
+		if (null != filter && !filter.put(url)) {
+			// 他のスレッドが先に登録した
+			return false;
+		}
+		return true;
+	}
 }
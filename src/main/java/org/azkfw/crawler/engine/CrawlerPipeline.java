@@ -0,0 +1,987 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.crawler.downloader.engine.DownloadEngine;
+import org.azkfw.crawler.downloader.engine.DownloadEngineCondition;
+import org.azkfw.crawler.downloader.engine.DownloadEngineResult;
+import org.azkfw.crawler.engine.HostGroupScheduler.Lease;
+import org.azkfw.crawler.parser.engine.AbstractTextParseEngine;
+import org.azkfw.crawler.parser.engine.ParseEngine;
+import org.azkfw.crawler.parser.engine.ParseEngineResult;
+import org.azkfw.crawler.parser.engine.SimpleHtmlParseEngine;
+import org.azkfw.crawler.performance.Counter;
+import org.azkfw.crawler.performance.Gauge;
+import org.azkfw.crawler.performance.MetricsCache;
+import org.azkfw.crawler.performance.MetricsRegistry;
+import org.azkfw.crawler.thread.CrawlerTaskPool.TaskGroup;
+import org.azkfw.crawler.thread.CrawlerThreadFactory;
+import org.azkfw.crawler.util.URLNormalizer;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、クローラエンジンを段階的に実行するクロールパイプラインです。
+ * <p>
+ * フロンティア → ダウンロード → 解析(リンク抽出) → 登録 の各ステージを独立したワーカースレッドで実行します。
+ * ステージ間は容量制限付きのキューで接続され、後段が詰まった場合は前段がブロックされます(バックプレッシャー)。
+ * </p>
+ * <ul>
+ * <li>フィードステージ : フロンティアからURLを取り出し、スケジューラの登録数が上限未満の場合にスケジューラへ登録する。</li>
+ * <li>ダウンロードステージ : スケジューラからアクセス可能なURLを取り出し、ダウンロードを行う。</li>
+ * <li>解析ステージ : ダウンロードしたコンテンツを解析し、リンクを抽出する。</li>
+ * <li>登録ステージ : 抽出したリンクのうちダウンロード対象となるURLをフロンティアへ登録する。</li>
+ * </ul>
+ * <p>
+ * フロンティアが初期化されていない場合、登録ステージはスケジューラへ直接登録します。
+ * この場合スケジューラの登録数は制限されないため、大規模なクロールではフロンティアを使用してください。
+ * </p>
+ * <p>
+ * 既出URLフィルタが設定されていない場合、既出URLは最近参照した上限数({@link #setSeenCapacity(int)})分のみをメモリ上に保持します。
+ * 上限を超えて追い出されたURLは再度ダウンロード対象となるため、大規模なクロールでは既出URLフィルタを使用してください。
+ * </p>
+ * <p>
+ * タスクグループ({@link #setTaskGroup(TaskGroup)})を設定した場合、ダウンロードは共有タスクプールの作業単位として実行します。
+ * ダウンロードステージのスレッドは１つとなり、ダウンロードステージのスレッド数は同時に投入する作業単位数の上限となります。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class CrawlerPipeline extends LoggingObject {
+
+	/** キュー待機時間(ミリ秒) */
+	private static final long POLL_TIMEOUT = 100;
+
+	/** 停止待機時間(ミリ秒) */
+	private static final long STOP_TIMEOUT = 30 * 1000;
+
+	/** ホスト毎の抽出リンク数 */
+	private static final MetricsCache<String, Counter> LINK_METRICS = new MetricsCache<String, Counter>() {
+		@Override
+		protected Counter create(final MetricsRegistry aRegistry, final String aKey) {
+			return aRegistry.counter("crawler_parse_links_total", "Number of links extracted from parsed pages.", "host", aKey);
+		}
+	};
+
+	/** クローラエンジン */
+	private final CrawlerEngine engine;
+
+	/** ダウンロードディレクトリ */
+	private final File directory;
+
+	/** スケジューラ */
+	private final HostGroupScheduler scheduler;
+
+	/** 既出URL(既出URLフィルタが設定されていない場合に使用) */
+	private final Map<Long, Boolean> seenUrls;
+	/** 既出URLの保持上限数 */
+	private volatile int seenCapacity;
+
+	/** フィードステージのスケジューラ登録上限数 */
+	private int scheduleCapacity;
+	/** ダウンロードステージのスレッド数 */
+	private int downloadThreads;
+	/** 解析キューの容量 */
+	private int parseCapacity;
+	/** 解析ステージのスレッド数 */
+	private int parseThreads;
+	/** 登録キューの容量 */
+	private int enqueueCapacity;
+	/** 登録ステージのスレッド数 */
+	private int enqueueThreads;
+	/** メモリ上に保持する最大コンテンツサイズ(バイト) */
+	private int memoryThreshold;
+	/** ダウンロードファイルを保存するか */
+	private boolean archive;
+	/** スレッドモード */
+	private String threadMode;
+	/** タスクグループ */
+	private TaskGroup taskGroup;
+
+	/** 解析キュー */
+	private BlockingQueue<Downloaded> parseQueue;
+	/** 登録キュー */
+	private BlockingQueue<Link> enqueueQueue;
+	/** ステージ毎のエクゼキュータ */
+	private final List<ExecutorService> executors;
+	/** 実行中フラグ */
+	private volatile boolean running;
+	/** ワーカーが処理中の件数 */
+	private final AtomicInteger inflight;
+
+	/** ダウンロード数 */
+	private final AtomicLong downloadCount;
+	/** 解析数 */
+	private final AtomicLong parseCount;
+	/** 登録数 */
+	private final AtomicLong enqueueCount;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aEngine クローラエンジン
+	 * @param aDirectory ダウンロードディレクトリ
+	 */
+	public CrawlerPipeline(final CrawlerEngine aEngine, final File aDirectory) {
+		super(CrawlerPipeline.class);
+		engine = aEngine;
+		directory = aDirectory;
+		scheduler = new HostGroupScheduler(aEngine);
+		seenUrls = new LinkedHashMap<Long, Boolean>(16, 0.75f, true) {
+			/** serialVersionUID */
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, Boolean> eldest) {
+				return size() > seenCapacity;
+			}
+		};
+		seenCapacity = 100000;
+		executors = new ArrayList<ExecutorService>();
+		running = false;
+		inflight = new AtomicInteger();
+
+		scheduleCapacity = 1000;
+		downloadThreads = 8;
+		parseCapacity = 64;
+		parseThreads = 2;
+		enqueueCapacity = 4096;
+		enqueueThreads = 1;
+		memoryThreshold = 256 * 1024;
+		archive = true;
+		threadMode = CrawlerThreadFactory.MODE_PLATFORM;
+
+		downloadCount = new AtomicLong();
+		parseCount = new AtomicLong();
+		enqueueCount = new AtomicLong();
+	}
+
+	/**
+	 * スケジューラを取得する。
+	 * <p>
+	 * ホストグループ毎のアクセス間隔・同時接続数は、スケジューラに設定してください。
+	 * </p>
+	 * 
+	 * @return スケジューラ
+	 */
+	public final HostGroupScheduler getScheduler() {
+		return scheduler;
+	}
+
+	/**
+	 * 既出URLの保持上限数を設定する。
+	 * <p>
+	 * 既出URLフィルタが設定されていない場合のみ使用します。
+	 * </p>
+	 * 
+	 * @param aCapacity 上限数
+	 */
+	public final void setSeenCapacity(final int aCapacity) {
+		seenCapacity = Math.max(1, aCapacity);
+	}
+
+	/**
+	 * フィードステージのスケジューラ登録上限数を設定する。
+	 * 
+	 * @param aCapacity 上限数
+	 */
+	public final void setScheduleCapacity(final int aCapacity) {
+		scheduleCapacity = aCapacity;
+	}
+
+	/**
+	 * ダウンロードステージのスレッド数を設定する。
+	 * 
+	 * @param aThreads スレッド数
+	 */
+	public final void setDownloadThreads(final int aThreads) {
+		downloadThreads = aThreads;
+	}
+
+	/**
+	 * 解析キューの容量を設定する。
+	 * 
+	 * @param aCapacity 容量
+	 */
+	public final void setParseCapacity(final int aCapacity) {
+		parseCapacity = aCapacity;
+	}
+
+	/**
+	 * 解析ステージのスレッド数を設定する。
+	 * 
+	 * @param aThreads スレッド数
+	 */
+	public final void setParseThreads(final int aThreads) {
+		parseThreads = aThreads;
+	}
+
+	/**
+	 * 登録キューの容量を設定する。
+	 * 
+	 * @param aCapacity 容量
+	 */
+	public final void setEnqueueCapacity(final int aCapacity) {
+		enqueueCapacity = aCapacity;
+	}
+
+	/**
+	 * 登録ステージのスレッド数を設定する。
+	 * 
+	 * @param aThreads スレッド数
+	 */
+	public final void setEnqueueThreads(final int aThreads) {
+		enqueueThreads = aThreads;
+	}
+
+	/**
+	 * メモリ上に保持する最大コンテンツサイズを設定する。
+	 * 
+	 * @param aMemoryThreshold 最大コンテンツサイズ(バイト)
+	 * @see DownloadEngineCondition#setMemoryThreshold(int)
+	 */
+	public final void setMemoryThreshold(final int aMemoryThreshold) {
+		memoryThreshold = aMemoryThreshold;
+	}
+
+	/**
+	 * ダウンロードファイルを保存するか設定する。
+	 * 
+	 * @param aArchive 保存する場合、<code>true</code>
+	 * @see DownloadEngineCondition#setArchive(boolean)
+	 */
+	public final void setArchive(final boolean aArchive) {
+		archive = aArchive;
+	}
+
+	/**
+	 * ステージのワーカースレッドのスレッドモードを設定する。
+	 * <p>
+	 * {@link CrawlerThreadFactory#MODE_VIRTUAL}を指定した場合、ダウンロードステージのスレッド数を大きくしてもOSスレッドを消費しません。
+	 * </p>
+	 * 
+	 * @param aMode スレッドモード
+	 */
+	public final void setThreadMode(final String aMode) {
+		threadMode = aMode;
+	}
+
+	/**
+	 * ダウンロードを実行するタスクグループを設定する。
+	 * 
+	 * @param aGroup タスクグループ。<code>null</code>の場合、ダウンロードステージのスレッドで実行する。
+	 */
+	public final void setTaskGroup(final TaskGroup aGroup) {
+		taskGroup = aGroup;
+	}
+
+	/**
+	 * ダウンロード数を取得する。
+	 * 
+	 * @return ダウンロード数
+	 */
+	public final long getDownloadCount() {
+		return downloadCount.get();
+	}
+
+	/**
+	 * 解析数を取得する。
+	 * 
+	 * @return 解析数
+	 */
+	public final long getParseCount() {
+		return parseCount.get();
+	}
+
+	/**
+	 * 登録数を取得する。
+	 * 
+	 * @return 登録数
+	 */
+	public final long getEnqueueCount() {
+		return enqueueCount.get();
+	}
+
+	/**
+	 * パイプラインが処理中か判断する。
+	 * <p>
+	 * スケジューラ・フロンティア・各ステージのキューにURLが残っている場合、またはワーカーが処理中の場合に処理中と判断します。
+	 * </p>
+	 * 
+	 * @return 処理中の場合、<code>true</code>
+	 */
+	private boolean isBusy() {
+		if (0 < scheduler.size()) {
+			return true;
+		}
+		Frontier frontier = FrontierManager.getInstance().getFrontier();
+		if (null != frontier && 0 < frontier.size()) {
+			return true;
+		}
+		if (null != parseQueue && !parseQueue.isEmpty()) {
+			return true;
+		}
+		if (null != enqueueQueue && !enqueueQueue.isEmpty()) {
+			return true;
+		}
+		return 0 < inflight.get();
+	}
+
+	/**
+	 * 起点URLを登録する。
+	 * 
+	 * @param aUrl URL
+	 * @return 登録した場合、<code>true</code>
+	 */
+	public final boolean addSeed(final URL aUrl) {
+		if (isDownloadTarget(aUrl, null)) {
+			enqueue(aUrl, null, 0);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * パイプラインを開始する。
+	 */
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		parseQueue = new ArrayBlockingQueue<Downloaded>(Math.max(1, parseCapacity));
+		enqueueQueue = new ArrayBlockingQueue<Link>(Math.max(1, enqueueCapacity));
+
+		startStage("feed", 1, new Runnable() {
+			@Override
+			public void run() {
+				feed();
+			}
+		});
+		if (null != taskGroup) {
+			final Semaphore permits = new Semaphore(Math.max(1, downloadThreads));
+			startStage("download", 1, new Runnable() {
+				@Override
+				public void run() {
+					submitDownload(taskGroup, permits);
+				}
+			});
+		} else {
+			startStage("download", downloadThreads, new Runnable() {
+				@Override
+				public void run() {
+					download();
+				}
+			});
+		}
+		startStage("parse", parseThreads, new Runnable() {
+			@Override
+			public void run() {
+				parse();
+			}
+		});
+		startStage("enqueue", enqueueThreads, new Runnable() {
+			@Override
+			public void run() {
+				enqueue();
+			}
+		});
+		registerMetrics();
+		info(String.format("Pipeline started.[download=%d, parse=%d(%d), enqueue=%d(%d)]", downloadThreads, parseThreads, parseCapacity,
+				enqueueThreads, enqueueCapacity));
+	}
+
+	/**
+	 * パイプラインを停止する。
+	 * <p>
+	 * 各ステージのワーカーに割り込みを行い、終了を待機します。キューに残っているコンテンツは解放されます。
+	 * </p>
+	 */
+	public synchronized void stop() {
+		if (!running) {
+			return;
+		}
+		running = false;
+		unregisterMetrics();
+		for (ExecutorService executor : executors) {
+			executor.shutdownNow();
+		}
+		try {
+			for (ExecutorService executor : executors) {
+				if (!executor.awaitTermination(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+					warn("Pipeline stage did not terminate.");
+				}
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		executors.clear();
+
+		Downloaded downloaded = null;
+		while (null != (downloaded = parseQueue.poll())) {
+			downloaded.result.release();
+		}
+		enqueueQueue.clear();
+		info(String.format("Pipeline stopped.[download=%d, parse=%d, enqueue=%d]", downloadCount.get(), parseCount.get(),
+				enqueueCount.get()));
+	}
+
+	/**
+	 * 処理対象のURLが無くなるまで待機する。
+	 * 
+	 * @param aTimeout 最大待機時間(ミリ秒)
+	 * @return 処理対象のURLが無くなった場合、<code>true</code>。タイムアウトした場合、<code>false</code>
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
+	 */
+	public final boolean awaitIdle(final long aTimeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + aTimeout;
+		// ステージ間の受け渡し中を処理なしと誤判定しないよう、２回連続で確認する
+		int idle = 0;
+		while (idle < 2) {
+			if (isBusy()) {
+				idle = 0;
+			} else {
+				idle++;
+			}
+			if (idle < 2) {
+				if (deadline <= System.currentTimeMillis()) {
+					return false;
+				}
+				Thread.sleep(POLL_TIMEOUT);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * キューの滞留数・処理中件数のメトリクスを登録する。
+	 * <p>
+	 * エンジンのクラス名をラベルとするため、同じエンジンのパイプラインを複数起動した場合は最後に起動したものを出力します。
+	 * </p>
+	 */
+	private void registerMetrics() {
+		final BlockingQueue<Downloaded> parse = parseQueue;
+		final BlockingQueue<Link> enqueue = enqueueQueue;
+		String name = engine.getClass().getSimpleName();
+		MetricsRegistry metrics = MetricsRegistry.getInstance();
+		metrics.gauge("crawler_pipeline_queue_size", "Number of items waiting in the pipeline queue.", new Gauge() {
+			@Override
+			public long getValue() {
+				return scheduler.size();
+			}
+		}, "engine", name, "queue", "schedule");
+		metrics.gauge("crawler_pipeline_queue_size", "Number of items waiting in the pipeline queue.", new Gauge() {
+			@Override
+			public long getValue() {
+				return parse.size();
+			}
+		}, "engine", name, "queue", "parse");
+		metrics.gauge("crawler_pipeline_queue_size", "Number of items waiting in the pipeline queue.", new Gauge() {
+			@Override
+			public long getValue() {
+				return enqueue.size();
+			}
+		}, "engine", name, "queue", "enqueue");
+		metrics.gauge("crawler_pipeline_inflight", "Number of items being processed by the pipeline workers.", new Gauge() {
+			@Override
+			public long getValue() {
+				return inflight.get();
+			}
+		}, "engine", name);
+	}
+
+	/**
+	 * キューの滞留数・処理中件数のメトリクスを削除する。
+	 */
+	private void unregisterMetrics() {
+		String name = engine.getClass().getSimpleName();
+		MetricsRegistry metrics = MetricsRegistry.getInstance();
+		metrics.remove("crawler_pipeline_queue_size", "engine", name, "queue", "schedule");
+		metrics.remove("crawler_pipeline_queue_size", "engine", name, "queue", "parse");
+		metrics.remove("crawler_pipeline_queue_size", "engine", name, "queue", "enqueue");
+		metrics.remove("crawler_pipeline_inflight", "engine", name);
+	}
+
+	/**
+	 * ステージのワーカーを実行するエクゼキュータを生成する。
+	 * <p>
+	 * デフォルトでは、{@link #setThreadMode(String)}で指定したスレッドモードで、固定スレッド数のスレッドプールを生成します。
+	 * </p>
+	 * 
+	 * @param aName ステージ名
+	 * @param aThreads スレッド数
+	 * @return エクゼキュータ
+	 */
+	protected ExecutorService createExecutor(final String aName, final int aThreads) {
+		return Executors.newFixedThreadPool(aThreads, new CrawlerThreadFactory(String.format("pipeline-%s", aName), threadMode, true));
+	}
+
+	/**
+	 * 解析エンジンからリンクを抽出する。
+	 * <p>
+	 * デフォルトでは、{@link SimpleHtmlParseEngine}が抽出したURLを返します。その他の解析エンジンを使用する場合は、このメソッドをオーバーライドしてください。
+	 * </p>
+	 * 
+	 * @param aParseEngine 解析エンジン(解析済み)
+	 * @return リンク一覧
+	 */
+	protected Collection<String> getLinks(final ParseEngine aParseEngine) {
+		if (aParseEngine instanceof SimpleHtmlParseEngine) {
+			return ((SimpleHtmlParseEngine) aParseEngine).getUrls().keyset();
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * 抽出したリンクの優先度を取得する。
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 * @return 優先度(0が最優先)
+	 */
+	protected int getPriority(final URL aUrl, final URL aRefererUrl) {
+		return 1;
+	}
+
+	/**
+	 * ダウンロードファイルを取得する。
+	 * <p>
+	 * デフォルトでは、ホスト名毎のディレクトリにURLのフィンガープリントをファイル名として保存します。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @return ダウンロードファイル
+	 */
+	protected File getDestFile(final URL aUrl) {
+		long fingerprint = URLNormalizer.getDefault().fingerprintOf(aUrl.toExternalForm());
+		File dir = new File(directory, aUrl.getHost());
+		dir.mkdirs();
+		return new File(dir, String.format("%016x", fingerprint));
+	}
+
+	/**
+	 * ステージを開始する。
+	 * 
+	 * @param aName ステージ名
+	 * @param aThreads スレッド数
+	 * @param aWorker ワーカー
+	 */
+	private void startStage(final String aName, final int aThreads, final Runnable aWorker) {
+		int threads = Math.max(1, aThreads);
+		ExecutorService executor = createExecutor(aName, threads);
+		for (int i = 0; i < threads; i++) {
+			executor.execute(aWorker);
+		}
+		executors.add(executor);
+	}
+
+	/**
+	 * フィードステージの処理を行う。
+	 */
+	private void feed() {
+		try {
+			while (running) {
+				Frontier frontier = FrontierManager.getInstance().getFrontier();
+				if (null == frontier || scheduleCapacity <= scheduler.size()) {
+					Thread.sleep(POLL_TIMEOUT);
+					continue;
+				}
+				FrontierEntry entry = null;
+				try {
+					entry = frontier.poll();
+				} catch (IOException ex) {
+					error(ex);
+				}
+				if (null == entry) {
+					Thread.sleep(POLL_TIMEOUT);
+					continue;
+				}
+				scheduler.offer(entry.getURL(), entry.getRefererURL());
+			}
+		} catch (InterruptedException ex) {
+			// 停止
+		}
+	}
+
+	/**
+	 * ダウンロードステージの処理を行う。
+	 */
+	private void download() {
+		try {
+			while (running) {
+				Lease lease = scheduler.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				if (null == lease) {
+					continue;
+				}
+				inflight.incrementAndGet();
+				try {
+					download(lease);
+				} finally {
+					inflight.decrementAndGet();
+				}
+			}
+		} catch (InterruptedException ex) {
+			// 停止
+		}
+	}
+
+	/**
+	 * ダウンロードステージの処理を行い、ダウンロードをタスクグループへ投入する。
+	 * <p>
+	 * 投入済みの作業単位数が上限に達している場合は、作業単位が終了するまで待機する。
+	 * </p>
+	 * 
+	 * @param aGroup タスクグループ
+	 * @param aPermits 投入可能な作業単位数
+	 */
+	private void submitDownload(final TaskGroup aGroup, final Semaphore aPermits) {
+		try {
+			while (running) {
+				aPermits.acquire();
+				Lease lease = null;
+				try {
+					lease = scheduler.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				} finally {
+					if (null == lease) {
+						aPermits.release();
+					}
+				}
+				if (null == lease) {
+					continue;
+				}
+				final Lease target = lease;
+				inflight.incrementAndGet();
+				aGroup.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws InterruptedException {
+						try {
+							download(target);
+						} finally {
+							inflight.decrementAndGet();
+							aPermits.release();
+						}
+						return null;
+					}
+				});
+			}
+		} catch (InterruptedException ex) {
+			// 停止
+		}
+		// 投入済みの作業単位の終了を待機する
+		try {
+			if (!aPermits.tryAcquire(Math.max(1, downloadThreads), STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				warn("Pipeline download units did not terminate.");
+			}
+		} catch (InterruptedException ex) {
+			warn("Pipeline download units did not terminate.");
+		}
+	}
+
+	/**
+	 * ダウンロードを行い、解析対象の場合は解析キューへ登録する。
+	 * <p>
+	 * 解析キューが満杯の場合は空きができるまでブロックする。パイプラインが停止した場合はダウンロード結果を解放する。
+	 * </p>
+	 * 
+	 * @param aLease スケジューラから取り出したURL
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
+	 */
+	private void download(final Lease aLease) throws InterruptedException {
+		DownloadEngineResult result = null;
+		try {
+			result = download(aLease.getURL(), aLease.getRefererURL());
+		} finally {
+			scheduler.release(aLease);
+		}
+		if (null == result) {
+			return;
+		}
+		Downloaded downloaded = new Downloaded(aLease.getURL(), result);
+		boolean queued = false;
+		try {
+			// 解析キューが満杯の場合、ここでブロックする
+			while (!queued && running) {
+				queued = parseQueue.offer(downloaded, POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+			}
+		} finally {
+			if (!queued) {
+				result.release();
+			}
+		}
+	}
+
+	/**
+	 * コンテンツをダウンロードする。
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 * @return 解析対象となるダウンロード結果。解析対象でない場合、<code>null</code>
+	 */
+	private DownloadEngineResult download(final URL aUrl, final URL aRefererUrl) {
+		DownloadEngine downloadEngine = engine.getDownloadEngine(aUrl, aRefererUrl);
+		if (null == downloadEngine) {
+			return null;
+		}
+
+		DownloadEngineCondition condition = new DownloadEngineCondition();
+		condition.setContentURL(aUrl);
+		condition.setRefererURL(aRefererUrl);
+		condition.setDestFile(getDestFile(aUrl));
+		condition.setMemoryThreshold(memoryThreshold);
+		condition.setArchive(archive);
+
+		DownloadEngineResult result = null;
+		try {
+			downloadEngine.initialize();
+			result = downloadEngine.download(condition);
+		} catch (RuntimeException ex) {
+			error(ex);
+		} finally {
+			downloadEngine.release();
+		}
+		if (null == result) {
+			return null;
+		}
+		downloadCount.incrementAndGet();
+
+		if (result.isResult() && 200 == result.getStatusCode() && null != result.getContent()
+				&& engine.isParseContent(aUrl, result.getContentType())) {
+			return result;
+		}
+		result.release();
+		return null;
+	}
+
+	/**
+	 * 解析ステージの処理を行う。
+	 */
+	private void parse() {
+		try {
+			while (running) {
+				Downloaded downloaded = parseQueue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				if (null == downloaded) {
+					continue;
+				}
+				inflight.incrementAndGet();
+				try {
+					List<String> links = null;
+					try {
+						links = parse(downloaded.url, downloaded.result);
+					} finally {
+						downloaded.result.release();
+					}
+					for (String link : links) {
+						URL url = null;
+						try {
+							url = new URL(link);
+						} catch (MalformedURLException ex) {
+							debug(String.format("Malformed url.[%s]", link));
+							continue;
+						}
+						// 登録キューが満杯の場合、ここでブロックする
+						enqueueQueue.put(new Link(url, downloaded.url));
+					}
+				} finally {
+					inflight.decrementAndGet();
+				}
+			}
+		} catch (InterruptedException ex) {
+			// 停止
+		}
+	}
+
+	/**
+	 * コンテンツを解析し、リンクを抽出する。
+	 * 
+	 * @param aUrl URL
+	 * @param aResult ダウンロード結果
+	 * @return リンク一覧
+	 */
+	private List<String> parse(final URL aUrl, final DownloadEngineResult aResult) {
+		List<String> links = new ArrayList<String>();
+		String contentType = aResult.getContentType();
+		ParseEngine parseEngine = engine.getParseEngine(aUrl, contentType, aResult.getContent());
+		if (null == parseEngine) {
+			return links;
+		}
+		if (parseEngine instanceof AbstractTextParseEngine) {
+			((AbstractTextParseEngine) parseEngine).setContentType(contentType);
+		}
+		try {
+			parseEngine.initialize();
+			ParseEngineResult result = parseEngine.parse();
+			if (null != result && result.isResult()) {
+				links.addAll(getLinks(parseEngine));
+				LINK_METRICS.get(aUrl.getHost()).add(links.size());
+			}
+			parseCount.incrementAndGet();
+		} catch (RuntimeException ex) {
+			error(ex);
+		} finally {
+			parseEngine.release();
+		}
+		return links;
+	}
+
+	/**
+	 * 登録ステージの処理を行う。
+	 */
+	private void enqueue() {
+		try {
+			while (running) {
+				Link link = enqueueQueue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				if (null == link) {
+					continue;
+				}
+				inflight.incrementAndGet();
+				try {
+					if (isDownloadTarget(link.url, link.refererUrl)) {
+						enqueue(link.url, link.refererUrl, getPriority(link.url, link.refererUrl));
+					}
+				} finally {
+					inflight.decrementAndGet();
+				}
+			}
+		} catch (InterruptedException ex) {
+			// 停止
+		}
+	}
+
+	/**
+	 * ダウンロード対象のURLか判断する。
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 * @return ダウンロード対象の場合、<code>true</code>
+	 */
+	private boolean isDownloadTarget(final URL aUrl, final URL aRefererUrl) {
+		if (engine instanceof AbstractCrawlerEngine) {
+			if (!((AbstractCrawlerEngine) engine).isDownloadTarget(aUrl, aRefererUrl)) {
+				return false;
+			}
+			if (null != FrontierManager.getInstance().getSeenUrlFilter()) {
+				return true;
+			}
+		} else if (!engine.isDownloadContent(aUrl, aRefererUrl)) {
+			return false;
+		}
+		// 既出URLフィルタが設定されていない場合
+		Long fingerprint = Long.valueOf(URLNormalizer.getDefault().fingerprintOf(aUrl.toExternalForm()));
+		synchronized (seenUrls) {
+			return null == seenUrls.put(fingerprint, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * URLをフロンティアへ登録する。
+	 * <p>
+	 * フロンティアが初期化されていない場合、スケジューラへ直接登録します。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 * @param aPriority 優先度
+	 */
+	private void enqueue(final URL aUrl, final URL aRefererUrl, final int aPriority) {
+		Frontier frontier = FrontierManager.getInstance().getFrontier();
+		if (null != frontier) {
+			try {
+				frontier.offer(aUrl, aRefererUrl, aPriority);
+			} catch (IOException ex) {
+				error(ex);
+				return;
+			}
+		} else {
+			scheduler.offer(aUrl, aRefererUrl);
+		}
+		enqueueCount.incrementAndGet();
+	}
+
+	/**
+	 * このクラスは、解析待ちのダウンロード結果を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Downloaded {
+
+		/** URL */
+		private final URL url;
+		/** ダウンロード結果 */
+		private final DownloadEngineResult result;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aUrl URL
+		 * @param aResult ダウンロード結果
+		 */
+		public Downloaded(final URL aUrl, final DownloadEngineResult aResult) {
+			url = aUrl;
+			result = aResult;
+		}
+	}
+
+	/**
+	 * このクラスは、登録待ちのリンクを保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Link {
+
+		/** URL */
+		private final URL url;
+		/** 参照元URL */
+		private final URL refererUrl;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aUrl URL
+		 * @param aRefererUrl 参照元URL
+		 */
+		public Link(final URL aUrl, final URL aRefererUrl) {
+			url = aUrl;
+			refererUrl = aRefererUrl;
+		}
+	}
+}
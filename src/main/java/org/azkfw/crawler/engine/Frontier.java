@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * このインターフェースは、クロール待ちURLを管理するフロンティア機能を定義したインターフェースです。
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public interface Frontier {
+
+	/**
+	 * URLを登録する。
+	 * 
+	 * @param url URL
+	 * @param refererUrl 参照元URL(<code>null</code>可)
+	 * @param priority 優先度(0が最も優先度が高い)
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void offer(final URL url, final URL refererUrl, final int priority) throws IOException;
+
+	/**
+	 * 優先度が最も高いURLを取り出す。
+	 * 
+	 * @return URL情報。存在しない場合は<code>null</code>
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public FrontierEntry poll() throws IOException;
+
+	/**
+	 * 指定したパーティションから優先度が最も高いURLを取り出す。
+	 * 
+	 * @param partition パーティション
+	 * @return URL情報。存在しない場合は<code>null</code>
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public FrontierEntry poll(final int partition) throws IOException;
+
+	/**
+	 * パーティション数を取得する。
+	 * 
+	 * @return パーティション数
+	 */
+	public int getPartitionCount();
+
+	/**
+	 * URLが属するパーティションを取得する。
+	 * <p>
+	 * 同一ホストのURLは同一パーティションに属します。
+	 * </p>
+	 * 
+	 * @param url URL
+	 * @return パーティション
+	 */
+	public int getPartition(final URL url);
+
+	/**
+	 * 登録されているURL数を取得する。
+	 * 
+	 * @return URL数
+	 */
+	public long size();
+
+	/**
+	 * 登録内容を永続化する。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void flush() throws IOException;
+
+	/**
+	 * フロンティアを閉じる。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public void close() throws IOException;
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.net.URL;
+
+/**
+ * このクラスは、フロンティアから取り出したURL情報を保持するクラスです。
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class FrontierEntry {
+
+	/** URL */
+	private final URL url;
+	/** 参照元URL */
+	private final URL refererUrl;
+	/** 優先度 */
+	private final int priority;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 * @param aPriority 優先度
+	 */
+	public FrontierEntry(final URL aUrl, final URL aRefererUrl, final int aPriority) {
+		url = aUrl;
+		refererUrl = aRefererUrl;
+		priority = aPriority;
+	}
+
+	/**
+	 * URLを取得する。
+	 * 
+	 * @return URL
+	 */
+	public URL getURL() {
+		return url;
+	}
+
+	/**
+	 * 参照元URLを取得する。
+	 * 
+	 * @return 参照元URL。存在しない場合は<code>null</code>
+	 */
+	public URL getRefererURL() {
+		return refererUrl;
+	}
+
+	/**
+	 * 優先度を取得する。
+	 * 
+	 * @return 優先度
+	 */
+	public int getPriority() {
+		return priority;
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.azkfw.crawler.config.CrawlerConfig.CrawlerFrontierConfig;
+import org.azkfw.crawler.config.CrawlerConfig.CrawlerSeenFilterConfig;
+import org.azkfw.crawler.performance.Gauge;
+import org.azkfw.crawler.performance.MetricsRegistry;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、クローラで共有するフロンティアおよび既出URLフィルタを管理するクラスです。
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class FrontierManager extends LoggingObject {
+
+	/** インスタンス */
+	private static final FrontierManager INSTANCE = new FrontierManager();
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static FrontierManager getInstance() {
+		return INSTANCE;
+	}
+
+	/** フロンティア */
+	private Frontier frontier;
+	/** 既出URLフィルタ(ダウンロード判定毎に参照するため、ロックを取得せずに参照する) */
+	private volatile SeenUrlFilter seenUrlFilter;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private FrontierManager() {
+		super(FrontierManager.class);
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * 
+	 * @param aConfig フロンティア設定。<code>null</code>の場合はフロンティアを使用しない。
+	 * @param aSeenFilterConfig 既出URLフィルタ設定。<code>null</code>の場合は既出URLフィルタを使用しない。
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public synchronized void initialize(final CrawlerFrontierConfig aConfig, final CrawlerSeenFilterConfig aSeenFilterConfig)
+			throws IOException {
+		destroy();
+		if (null != aConfig) {
+			frontier = new MappedFileFrontier(new File(aConfig.getDirectory()), aConfig.getPriorities(), aConfig.getPartitions(),
+					aConfig.getSegmentsize());
+			final Frontier target = frontier;
+			MetricsRegistry.getInstance().gauge("crawler_frontier_size", "Number of URLs in the frontier.", new Gauge() {
+				@Override
+				public long getValue() {
+					return target.size();
+				}
+			});
+		}
+		if (null != aSeenFilterConfig) {
+			seenUrlFilter = new SeenUrlFilter(new File(aSeenFilterConfig.getFile()), aSeenFilterConfig.getExpectedinsertions(),
+					aSeenFilterConfig.getFpp());
+		}
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 */
+	public synchronized void destroy() {
+		if (null != frontier) {
+			MetricsRegistry.getInstance().remove("crawler_frontier_size");
+			try {
+				frontier.close();
+			} catch (IOException ex) {
+				warn(ex);
+			}
+			frontier = null;
+		}
+		SeenUrlFilter filter = seenUrlFilter;
+		if (null != filter) {
+			seenUrlFilter = null;
+			filter.close();
+		}
+	}
+
+	/**
+	 * フロンティアを取得する。
+	 * 
+	 * @return フロンティア。設定されていない場合は<code>null</code>
+	 */
+	public synchronized Frontier getFrontier() {
+		return frontier;
+	}
+
+	/**
+	 * 既出URLフィルタを取得する。
+	 * 
+	 * @return 既出URLフィルタ。設定されていない場合は<code>null</code>
+	 */
+	public SeenUrlFilter getSeenUrlFilter() {
+		return seenUrlFilter;
+	}
+}
@@ -0,0 +1,407 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.azkfw.crawler.robots.RobotsManager;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、ホストグループ毎にアクセス間隔・同時接続数を制御するスケジューラクラスです。
+ * <p>
+ * URLはホストグループ({@link CrawlerEngine#getHostGroup(String, String, int)})毎のキューに登録されます。
+ * アクセス可能になったホストグループは{@link DelayQueue}に登録され、{@link #take()}を呼び出したスレッドに順次払い出されます。
+ * 払い出したURLの処理が終わったら、必ず{@link #release(Lease)}を呼び出してください。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class HostGroupScheduler extends LoggingObject {
+
+	/** クローラエンジン */
+	private final CrawlerEngine engine;
+
+	/** ホストグループ一覧 */
+	private final Map<String, HostGroup> groups;
+	/** ホストグループ毎のポリシー */
+	private final Map<Integer, Policy> policies;
+	/** アクセス可能待ちのホストグループ */
+	private final DelayQueue<HostGroup> readyQueue;
+
+	/** デフォルトのアクセス間隔(ミリ秒) */
+	private long defaultDelay;
+	/** デフォルトの最大同時接続数 */
+	private int defaultMaxConnections;
+
+	/** 登録URL数 */
+	private int size;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aEngine クローラエンジン
+	 */
+	public HostGroupScheduler(final CrawlerEngine aEngine) {
+		super(HostGroupScheduler.class);
+		engine = aEngine;
+		groups = new HashMap<String, HostGroup>();
+		policies = new HashMap<Integer, Policy>();
+		readyQueue = new DelayQueue<HostGroup>();
+		defaultDelay = 1000;
+		defaultMaxConnections = 1;
+		size = 0;
+	}
+
+	/**
+	 * デフォルトのアクセス間隔を設定する。
+	 * 
+	 * @param aDelay アクセス間隔(ミリ秒)
+	 */
+	public synchronized void setDefaultDelay(final long aDelay) {
+		defaultDelay = aDelay;
+	}
+
+	/**
+	 * デフォルトの最大同時接続数を設定する。
+	 * 
+	 * @param aMaxConnections 最大同時接続数
+	 */
+	public synchronized void setDefaultMaxConnections(final int aMaxConnections) {
+		defaultMaxConnections = aMaxConnections;
+	}
+
+	/**
+	 * ホストグループのアクセス間隔・最大同時接続数を設定する。
+	 * <p>
+	 * 既にURLが登録されているホストグループには、次回の払い出しから適用されます。
+	 * </p>
+	 * 
+	 * @param aHostGroup ホストグループ
+	 * @param aDelay アクセス間隔(ミリ秒)
+	 * @param aMaxConnections 最大同時接続数
+	 */
+	public synchronized void setPolicy(final int aHostGroup, final long aDelay, final int aMaxConnections) {
+		policies.put(Integer.valueOf(aHostGroup), new Policy(aDelay, aMaxConnections));
+	}
+
+	/**
+	 * 登録されているURL数を取得する。
+	 * <p>
+	 * 払い出し中のURLは含みません。
+	 * </p>
+	 * 
+	 * @return URL数
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * 保持しているホストグループ数を取得する。
+	 * 
+	 * @return ホストグループ数
+	 */
+	synchronized int getHostGroupCount() {
+		return groups.size();
+	}
+
+	/**
+	 * URLを登録する。
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 */
+	public void offer(final URL aUrl, final URL aRefererUrl) {
+		String protocol = aUrl.getProtocol();
+		String host = aUrl.getHost().toLowerCase();
+		int port = (-1 != aUrl.getPort()) ? aUrl.getPort() : aUrl.getDefaultPort();
+
+		int hostGroup = engine.getHostGroup(host, protocol, port);
+		String key = (-1 != hostGroup) ? Integer.toString(hostGroup) : String.format("%s://%s:%d", protocol, host, port);
+
+		synchronized (this) {
+			HostGroup group = groups.get(key);
+			if (null == group) {
+				group = new HostGroup(key, hostGroup);
+				groups.put(key, group);
+			}
+			group.urls.add(new Lease(group, aUrl, aRefererUrl));
+			size++;
+			schedule(group);
+		}
+	}
+
+	/**
+	 * アクセス可能になったURLを払い出す。
+	 * <p>
+	 * アクセス可能なURLが存在しない場合、アクセス可能になるまで待機します。
+	 * </p>
+	 * 
+	 * @return 払い出したURL
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
+	 */
+	public Lease take() throws InterruptedException {
+		Lease lease = null;
+		while (null == lease) {
+			lease = dispatch(readyQueue.take());
+		}
+		return lease;
+	}
+
+	/**
+	 * アクセス可能になったURLを払い出す。
+	 * 
+	 * @param aTimeout 最大待機時間
+	 * @param aUnit 最大待機時間の単位
+	 * @return 払い出したURL。タイムアウトした場合、<code>null</code>
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
+	 */
+	public Lease poll(final long aTimeout, final TimeUnit aUnit) throws InterruptedException {
+		long deadline = System.nanoTime() + aUnit.toNanos(aTimeout);
+		Lease lease = null;
+		while (null == lease) {
+			long remaining = deadline - System.nanoTime();
+			HostGroup group = readyQueue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (null == group) {
+				break;
+			}
+			lease = dispatch(group);
+		}
+		return lease;
+	}
+
+	/**
+	 * 払い出したURLの処理終了を通知する。
+	 * 
+	 * @param aLease 払い出したURL
+	 */
+	public synchronized void release(final Lease aLease) {
+		if (aLease.released) {
+			return;
+		}
+		aLease.released = true;
+
+		HostGroup group = aLease.group;
+		group.active--;
+		schedule(group);
+	}
+
+	/**
+	 * ホストグループからURLを払い出す。
+	 * 
+	 * @param aGroup ホストグループ
+	 * @return 払い出したURL。払い出すURLがない場合、<code>null</code>
+	 */
+	private synchronized Lease dispatch(final HostGroup aGroup) {
+		aGroup.scheduled = false;
+
+		Lease lease = aGroup.urls.poll();
+		if (null != lease) {
+			size--;
+			aGroup.active++;
+			// robots.txtのCrawl-delayが長い場合はそちらを優先する
+			long delay = Math.max(getPolicy(aGroup).delay, RobotsManager.getInstance().getCrawlDelay(lease.url));
+			aGroup.nextTime = System.currentTimeMillis() + delay;
+		}
+		// 払い出すURLがない場合は、次回アクセス時間を過ぎたホストグループを破棄する
+		schedule(aGroup);
+		return lease;
+	}
+
+	/**
+	 * 払い出し可能であれば、ホストグループを払い出し待ちに登録する。
+	 * 
+	 * @param aGroup ホストグループ
+	 */
+	private void schedule(final HostGroup aGroup) {
+		if (!aGroup.scheduled && !aGroup.urls.isEmpty() && aGroup.active < getPolicy(aGroup).maxConnections) {
+			aGroup.scheduled = true;
+			readyQueue.add(aGroup);
+		} else if (!aGroup.scheduled && aGroup.urls.isEmpty() && 0 == aGroup.active) {
+			if (aGroup.nextTime <= System.currentTimeMillis()) {
+				groups.remove(aGroup.key);
+			} else {
+				// 再登録時にアクセス間隔を守るため、次回アクセス時間が過ぎるまで破棄しない
+				aGroup.scheduled = true;
+				readyQueue.add(aGroup);
+			}
+		}
+	}
+
+	/**
+	 * ホストグループのポリシーを取得する。
+	 * 
+	 * @param aGroup ホストグループ
+	 * @return ポリシー
+	 */
+	private Policy getPolicy(final HostGroup aGroup) {
+		Policy policy = null;
+		if (-1 != aGroup.hostGroup) {
+			policy = policies.get(Integer.valueOf(aGroup.hostGroup));
+		}
+		if (null == policy) {
+			policy = new Policy(defaultDelay, defaultMaxConnections);
+		}
+		return policy;
+	}
+
+	/**
+	 * このクラスは、払い出したURL情報を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static final class Lease {
+
+		/** ホストグループ */
+		private final HostGroup group;
+		/** URL */
+		private final URL url;
+		/** 参照元URL */
+		private final URL refererUrl;
+		/** 解放済みフラグ */
+		private boolean released;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aGroup ホストグループ
+		 * @param aUrl URL
+		 * @param aRefererUrl 参照元URL
+		 */
+		private Lease(final HostGroup aGroup, final URL aUrl, final URL aRefererUrl) {
+			group = aGroup;
+			url = aUrl;
+			refererUrl = aRefererUrl;
+			released = false;
+		}
+
+		/**
+		 * ホストグループを取得する。
+		 * 
+		 * @return ホストグループ。不明な場合、-1
+		 */
+		public int getHostGroup() {
+			return group.hostGroup;
+		}
+
+		/**
+		 * URLを取得する。
+		 * 
+		 * @return URL
+		 */
+		public URL getURL() {
+			return url;
+		}
+
+		/**
+		 * 参照元URLを取得する。
+		 * 
+		 * @return 参照元URL
+		 */
+		public URL getRefererURL() {
+			return refererUrl;
+		}
+	}
+
+	/**
+	 * このクラスは、ホストグループ毎のアクセス制御ポリシーを保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Policy {
+
+		/** アクセス間隔(ミリ秒) */
+		private final long delay;
+		/** 最大同時接続数 */
+		private final int maxConnections;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aDelay アクセス間隔(ミリ秒)
+		 * @param aMaxConnections 最大同時接続数
+		 */
+		public Policy(final long aDelay, final int aMaxConnections) {
+			delay = Math.max(0, aDelay);
+			maxConnections = Math.max(1, aMaxConnections);
+		}
+	}
+
+	/**
+	 * このクラスは、ホストグループ毎のURLキューを保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class HostGroup implements Delayed {
+
+		/** キー */
+		private final String key;
+		/** ホストグループ */
+		private final int hostGroup;
+		/** URLキュー */
+		private final Queue<Lease> urls;
+		/** 払い出し中のURL数 */
+		private int active;
+		/** 次回アクセス可能時間 */
+		private volatile long nextTime;
+		/** 払い出し待ち登録フラグ */
+		private boolean scheduled;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aKey キー
+		 * @param aHostGroup ホストグループ
+		 */
+		public HostGroup(final String aKey, final int aHostGroup) {
+			key = aKey;
+			hostGroup = aHostGroup;
+			urls = new ArrayDeque<Lease>();
+			active = 0;
+			nextTime = 0;
+			scheduled = false;
+		}
+
+		@Override
+		public long getDelay(final TimeUnit aUnit) {
+			return aUnit.convert(nextTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(final Delayed aOther) {
+			long diff = getDelay(TimeUnit.MILLISECONDS) - aOther.getDelay(TimeUnit.MILLISECONDS);
+			return (0 > diff) ? -1 : ((0 < diff) ? 1 : 0);
+		}
+	}
+}
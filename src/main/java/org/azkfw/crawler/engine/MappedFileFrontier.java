@@ -0,0 +1,738 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、メモリマップドファイルにURLを保持するフロンティアクラスです。
+ * <p>
+ * URLは優先度・パーティション(ホスト)毎のキューに登録され、キューは追記専用のセグメントファイルの列で構成されます。
+ * 各セグメントファイルのヘッダーに書き込み位置・読み込み位置を保持するため、プロセスを再起動しても未処理のURLは失われません。
+ * 読み込み済みのセグメントファイルは削除されます。
+ * </p>
+ * <p>
+ * ヒープ上には、キュー毎に先頭の数件をデコード済みで保持するのみです。
+ * 優先度数・パーティション数を変更した場合、既存のセグメントファイルは引き継がれません。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class MappedFileFrontier extends LoggingObject implements Frontier {
+
+	/** デフォルトのセグメントサイズ */
+	public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024 * 16;
+	/** デフォルトの優先度数 */
+	public static final int DEFAULT_PRIORITIES = 3;
+	/** デフォルトのパーティション数 */
+	public static final int DEFAULT_PARTITIONS = 16;
+
+	/** 先頭バッファのサイズ */
+	private static final int HEAD_BUFFER_SIZE = 64;
+
+	/** セグメントファイルの識別子 */
+	private static final int MAGIC = 0x415a4b46;
+	/** ヘッダーサイズ */
+	private static final int HEADER_SIZE = 32;
+	/** ヘッダー:書き込み位置 */
+	private static final int HEADER_WRITE_POSITION = 4;
+	/** ヘッダー:読み込み位置 */
+	private static final int HEADER_READ_POSITION = 8;
+	/** ヘッダー:書き込み件数 */
+	private static final int HEADER_WRITE_COUNT = 12;
+	/** ヘッダー:読み込み件数 */
+	private static final int HEADER_READ_COUNT = 16;
+
+	/** セグメントファイル名パターン */
+	private static final Pattern SEGMENT_PATTERN = Pattern.compile("^p(\\d+)-(\\d+)-(\\d+)\\.seg$");
+
+	/** 文字コード */
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	/** メモリマップの解放処理(Java 9以降の sun.misc.Unsafe#invokeCleaner。使用できない場合、<code>null</code>) */
+	private static final Method INVOKE_CLEANER;
+	/** sun.misc.Unsafe */
+	private static final Object UNSAFE;
+	/** メモリマップを解放できないことを記録済みか */
+	private static final AtomicBoolean UNMAP_UNAVAILABLE = new AtomicBoolean();
+
+	static {
+		Method method = null;
+		Object unsafe = null;
+		try {
+			Class<?> clazz = Class.forName("sun.misc.Unsafe");
+			method = clazz.getMethod("invokeCleaner", ByteBuffer.class);
+			Field field = clazz.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+		} catch (Exception ex) {
+			// Java 8以前は DirectByteBuffer#cleaner を使用する
+			method = null;
+			unsafe = null;
+		}
+		INVOKE_CLEANER = method;
+		UNSAFE = unsafe;
+	}
+
+	/** ディレクトリ */
+	private final File directory;
+	/** セグメントサイズ */
+	private final int segmentSize;
+	/** キュー一覧[優先度][パーティション] */
+	private final SegmentQueue[][] queues;
+	/** パーティション巡回位置 */
+	private final AtomicInteger cursor;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aDirectory ディレクトリ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public MappedFileFrontier(final File aDirectory) throws IOException {
+		this(aDirectory, DEFAULT_PRIORITIES, DEFAULT_PARTITIONS, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aDirectory ディレクトリ
+	 * @param aPriorities 優先度数
+	 * @param aPartitions パーティション数
+	 * @param aSegmentSize セグメントサイズ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public MappedFileFrontier(final File aDirectory, final int aPriorities, final int aPartitions, final int aSegmentSize)
+			throws IOException {
+		super(MappedFileFrontier.class);
+		if (0 >= aPriorities || 0 >= aPartitions) {
+			throw new IllegalArgumentException("Priorities and partitions must be positive.");
+		}
+		if (HEADER_SIZE * 2 > aSegmentSize) {
+			throw new IllegalArgumentException(String.format("Segment size too small.[%d]", aSegmentSize));
+		}
+		directory = aDirectory;
+		segmentSize = aSegmentSize;
+		cursor = new AtomicInteger();
+
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException(String.format("Could not create directory.[%s]", directory.getAbsolutePath()));
+		}
+
+		queues = new SegmentQueue[aPriorities][aPartitions];
+		for (int priority = 0; priority < aPriorities; priority++) {
+			for (int partition = 0; partition < aPartitions; partition++) {
+				queues[priority][partition] = new SegmentQueue(priority, partition);
+			}
+		}
+		load();
+
+		info(String.format("Frontier opened.[directory=%s, size=%d]", directory.getAbsolutePath(), size()));
+	}
+
+	@Override
+	public void offer(final URL url, final URL refererUrl, final int priority) throws IOException {
+		int p = Math.min(Math.max(0, priority), queues.length - 1);
+		queues[p][getPartition(url)].append(encode(url, refererUrl));
+	}
+
+	@Override
+	public FrontierEntry poll() throws IOException {
+		int partitions = getPartitionCount();
+		for (int priority = 0; priority < queues.length; priority++) {
+			// 特定のホストに偏らないよう、パーティションを巡回する
+			int start = (cursor.getAndIncrement() & 0x7fffffff) % partitions;
+			for (int i = 0; i < partitions; i++) {
+				FrontierEntry entry = queues[priority][(start + i) % partitions].poll();
+				if (null != entry) {
+					return entry;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public FrontierEntry poll(final int partition) throws IOException {
+		for (int priority = 0; priority < queues.length; priority++) {
+			FrontierEntry entry = queues[priority][partition].poll();
+			if (null != entry) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public int getPartitionCount() {
+		return queues[0].length;
+	}
+
+	@Override
+	public int getPartition(final URL url) {
+		String host = url.getHost();
+		int hash = (null != host) ? host.toLowerCase().hashCode() : 0;
+		return (hash & 0x7fffffff) % getPartitionCount();
+	}
+
+	@Override
+	public long size() {
+		long size = 0;
+		for (SegmentQueue[] partitions : queues) {
+			for (SegmentQueue queue : partitions) {
+				size += queue.size();
+			}
+		}
+		return size;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		for (SegmentQueue[] partitions : queues) {
+			for (SegmentQueue queue : partitions) {
+				queue.flush();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (SegmentQueue[] partitions : queues) {
+			for (SegmentQueue queue : partitions) {
+				queue.close();
+			}
+		}
+		info(String.format("Frontier closed.[directory=%s]", directory.getAbsolutePath()));
+	}
+
+	/**
+	 * 既存のセグメントファイルを読み込む。
+	 * 
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void load() throws IOException {
+		File[] files = directory.listFiles();
+		if (null == files) {
+			return;
+		}
+		for (File file : files) {
+			Matcher matcher = SEGMENT_PATTERN.matcher(file.getName());
+			if (!matcher.matches()) {
+				continue;
+			}
+			int priority = Integer.parseInt(matcher.group(1));
+			int partition = Integer.parseInt(matcher.group(2));
+			long sequence = Long.parseLong(matcher.group(3));
+			if (priority >= queues.length || partition >= getPartitionCount()) {
+				warn(String.format("Segment out of range.[%s]", file.getAbsolutePath()));
+				continue;
+			}
+			queues[priority][partition].add(new Segment(file, sequence));
+		}
+		for (SegmentQueue[] partitions : queues) {
+			for (SegmentQueue queue : partitions) {
+				queue.open();
+			}
+		}
+	}
+
+	/**
+	 * URL情報をレコードに変換する。
+	 * 
+	 * @param aUrl URL
+	 * @param aRefererUrl 参照元URL
+	 * @return レコード
+	 */
+	private byte[] encode(final URL aUrl, final URL aRefererUrl) {
+		byte[] url = aUrl.toExternalForm().getBytes(CHARSET);
+		byte[] referer = (null != aRefererUrl) ? aRefererUrl.toExternalForm().getBytes(CHARSET) : new byte[0];
+		if (0xffff < url.length) {
+			throw new IllegalArgumentException(String.format("URL too long.[%d bytes]", url.length));
+		}
+		byte[] record = new byte[2 + url.length + referer.length];
+		record[0] = (byte) (url.length >>> 8);
+		record[1] = (byte) url.length;
+		System.arraycopy(url, 0, record, 2, url.length);
+		System.arraycopy(referer, 0, record, 2 + url.length, referer.length);
+		return record;
+	}
+
+	/**
+	 * レコードをURL情報に変換する。
+	 * 
+	 * @param aRecord レコード
+	 * @param aPriority 優先度
+	 * @return URL情報。URLが不正な場合は<code>null</code>
+	 */
+	private FrontierEntry decode(final byte[] aRecord, final int aPriority) {
+		int length = ((aRecord[0] & 0xff) << 8) | (aRecord[1] & 0xff);
+		String url = new String(aRecord, 2, length, CHARSET);
+		String referer = new String(aRecord, 2 + length, aRecord.length - 2 - length, CHARSET);
+		try {
+			return new FrontierEntry(new URL(url), (0 < referer.length()) ? new URL(referer) : null, aPriority);
+		} catch (MalformedURLException ex) {
+			warn(ex);
+			return null;
+		}
+	}
+
+	/**
+	 * メモリマップを解放する。
+	 * <p>
+	 * 解放APIが存在しないため、内部APIを使用して解放する。
+	 * Java 9以降は sun.misc.Unsafe#invokeCleaner、Java 8以前は DirectByteBuffer#cleaner を使用する。
+	 * 解放できない場合はGCに任せ、初回のみデバッグログを出力する。
+	 * </p>
+	 * 
+	 * @param aBuffer バッファ
+	 */
+	private void unmap(final MappedByteBuffer aBuffer) {
+		try {
+			if (null != INVOKE_CLEANER) {
+				INVOKE_CLEANER.invoke(UNSAFE, aBuffer);
+			} else {
+				Method cleanerMethod = aBuffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(aBuffer);
+				if (null != cleaner) {
+					cleaner.getClass().getMethod("clean").invoke(cleaner);
+				}
+			}
+		} catch (Exception ex) {
+			unmapUnavailable(ex);
+		} catch (LinkageError ex) {
+			unmapUnavailable(ex);
+		}
+	}
+
+	/**
+	 * メモリマップを解放できないことを記録する。
+	 * 
+	 * @param aCause 原因
+	 */
+	private void unmapUnavailable(final Throwable aCause) {
+		if (UNMAP_UNAVAILABLE.compareAndSet(false, true)) {
+			debug(String.format("Could not unmap segment, leave it to GC.[%s]", aCause));
+		}
+	}
+
+	/**
+	 * このクラスは、優先度・パーティション毎のURLキューです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private final class SegmentQueue {
+
+		/** 優先度 */
+		private final int priority;
+		/** パーティション */
+		private final int partition;
+		/** セグメント一覧 */
+		private final List<Segment> segments;
+		/** 先頭バッファ */
+		private final Deque<Record> head;
+		/** 先頭バッファの読み込み位置 */
+		private int headPosition;
+		/** 次のセグメント番号 */
+		private long nextSequence;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aPriority 優先度
+		 * @param aPartition パーティション
+		 */
+		public SegmentQueue(final int aPriority, final int aPartition) {
+			priority = aPriority;
+			partition = aPartition;
+			segments = new ArrayList<Segment>();
+			head = new ArrayDeque<Record>(HEAD_BUFFER_SIZE);
+			headPosition = -1;
+			nextSequence = 0;
+		}
+
+		/**
+		 * セグメントを追加する。
+		 * 
+		 * @param aSegment セグメント
+		 */
+		public synchronized void add(final Segment aSegment) {
+			segments.add(aSegment);
+		}
+
+		/**
+		 * 既存のセグメントを開く。
+		 * 
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public synchronized void open() throws IOException {
+			Collections.sort(segments);
+			if (!segments.isEmpty()) {
+				nextSequence = segments.get(segments.size() - 1).sequence + 1;
+			}
+			for (int i = 0; i < segments.size(); i++) {
+				Segment segment = segments.get(i);
+				segment.load();
+				if (0 < i && i < segments.size() - 1) {
+					// 先頭・末尾以外のセグメントは読み込み時までマップを解放する
+					segment.unmap();
+				}
+			}
+		}
+
+		/**
+		 * レコードを追記する。
+		 * 
+		 * @param aRecord レコード
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public synchronized void append(final byte[] aRecord) throws IOException {
+			int required = 4 + aRecord.length;
+			if (HEADER_SIZE + required > segmentSize) {
+				throw new IllegalArgumentException(String.format("Record too large.[%d bytes]", aRecord.length));
+			}
+			Segment tail = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+			if (null == tail || tail.writePosition + required > segmentSize) {
+				if (null != tail && 1 < segments.size()) {
+					// 先頭以外のセグメントは読み込み時までマップを解放する
+					tail.unmap();
+				}
+				tail = new Segment(new File(directory, String.format("p%d-%d-%010d.seg", priority, partition, nextSequence)), nextSequence);
+				nextSequence++;
+				tail.create();
+				segments.add(tail);
+			}
+			tail.write(aRecord);
+		}
+
+		/**
+		 * 先頭のURL情報を取り出す。
+		 * 
+		 * @return URL情報。存在しない場合は<code>null</code>
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public synchronized FrontierEntry poll() throws IOException {
+			while (true) {
+				if (head.isEmpty() && !fill()) {
+					return null;
+				}
+				Record record = head.poll();
+				segments.get(0).consume(record.end);
+
+				FrontierEntry entry = decode(record.data, priority);
+				if (null != entry) {
+					return entry;
+				}
+			}
+		}
+
+		/**
+		 * 先頭バッファにレコードを読み込む。
+		 * 
+		 * @return 読み込んだ場合、<code>true</code>
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		private boolean fill() throws IOException {
+			while (!segments.isEmpty()) {
+				Segment segment = segments.get(0);
+				if (-1 == headPosition) {
+					headPosition = segment.readPosition;
+				}
+				headPosition = segment.read(headPosition, head, HEAD_BUFFER_SIZE);
+				if (!head.isEmpty()) {
+					return true;
+				}
+				if (1 == segments.size()) {
+					// 末尾のセグメントは追記されるため残す
+					return false;
+				}
+				// 読み込み済みのセグメントを削除する
+				segments.remove(0);
+				segment.delete();
+				headPosition = -1;
+			}
+			return false;
+		}
+
+		/**
+		 * URL数を取得する。
+		 * 
+		 * @return URL数
+		 */
+		public synchronized long size() {
+			long size = 0;
+			for (Segment segment : segments) {
+				size += segment.writeCount - segment.readCount;
+			}
+			return size;
+		}
+
+		/**
+		 * 変更内容をファイルへ書き込む。
+		 */
+		public synchronized void flush() {
+			for (Segment segment : segments) {
+				segment.force();
+			}
+		}
+
+		/**
+		 * キューを閉じる。
+		 */
+		public synchronized void close() {
+			for (Segment segment : segments) {
+				segment.force();
+				segment.unmap();
+			}
+			segments.clear();
+			head.clear();
+			headPosition = -1;
+		}
+	}
+
+	/**
+	 * このクラスは、セグメントファイルです。
+	 * <p>
+	 * ヘッダーに続けて、[レコード長(int)][レコード]の形式でレコードを追記します。
+	 * </p>
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private final class Segment implements Comparable<Segment> {
+
+		/** ファイル */
+		private final File file;
+		/** セグメント番号 */
+		private final long sequence;
+		/** マップ */
+		private MappedByteBuffer buffer;
+		/** 書き込み位置 */
+		private int writePosition;
+		/** 読み込み位置 */
+		private int readPosition;
+		/** 書き込み件数 */
+		private int writeCount;
+		/** 読み込み件数 */
+		private int readCount;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aFile ファイル
+		 * @param aSequence セグメント番号
+		 */
+		public Segment(final File aFile, final long aSequence) {
+			file = aFile;
+			sequence = aSequence;
+		}
+
+		/**
+		 * セグメントファイルを作成する。
+		 * 
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public void create() throws IOException {
+			map();
+			buffer.putInt(0, MAGIC);
+			writePosition = HEADER_SIZE;
+			readPosition = HEADER_SIZE;
+			writeCount = 0;
+			readCount = 0;
+			buffer.putInt(HEADER_WRITE_POSITION, writePosition);
+			buffer.putInt(HEADER_READ_POSITION, readPosition);
+			buffer.putInt(HEADER_WRITE_COUNT, writeCount);
+			buffer.putInt(HEADER_READ_COUNT, readCount);
+		}
+
+		/**
+		 * セグメントファイルのヘッダーを読み込む。
+		 * 
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public void load() throws IOException {
+			map();
+			if (MAGIC != buffer.getInt(0)) {
+				throw new IOException(String.format("Invalid segment file.[%s]", file.getAbsolutePath()));
+			}
+			writePosition = buffer.getInt(HEADER_WRITE_POSITION);
+			readPosition = buffer.getInt(HEADER_READ_POSITION);
+			writeCount = buffer.getInt(HEADER_WRITE_COUNT);
+			readCount = buffer.getInt(HEADER_READ_COUNT);
+		}
+
+		/**
+		 * レコードを書き込む。
+		 * 
+		 * @param aRecord レコード
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public void write(final byte[] aRecord) throws IOException {
+			map();
+			buffer.putInt(writePosition, aRecord.length);
+			buffer.position(writePosition + 4);
+			buffer.put(aRecord);
+			// レコードを書き込んでからヘッダーを更新する
+			writePosition += 4 + aRecord.length;
+			writeCount++;
+			buffer.putInt(HEADER_WRITE_POSITION, writePosition);
+			buffer.putInt(HEADER_WRITE_COUNT, writeCount);
+		}
+
+		/**
+		 * レコードを読み込む。
+		 * 
+		 * @param aPosition 読み込み位置
+		 * @param aRecords 読み込んだレコードの格納先
+		 * @param aMax 最大読み込み件数
+		 * @return 次の読み込み位置
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		public int read(final int aPosition, final Deque<Record> aRecords, final int aMax) throws IOException {
+			map();
+			int position = aPosition;
+			int count = 0;
+			while (position < writePosition && count < aMax) {
+				int length = buffer.getInt(position);
+				byte[] data = new byte[length];
+				buffer.position(position + 4);
+				buffer.get(data);
+				position += 4 + length;
+				aRecords.add(new Record(data, position));
+				count++;
+			}
+			return position;
+		}
+
+		/**
+		 * 読み込み位置を更新する。
+		 * 
+		 * @param aPosition 読み込み位置
+		 */
+		public void consume(final int aPosition) {
+			readPosition = aPosition;
+			readCount++;
+			buffer.putInt(HEADER_READ_POSITION, readPosition);
+			buffer.putInt(HEADER_READ_COUNT, readCount);
+		}
+
+		/**
+		 * 変更内容をファイルへ書き込む。
+		 */
+		public void force() {
+			if (null != buffer) {
+				buffer.force();
+			}
+		}
+
+		/**
+		 * セグメントファイルを削除する。
+		 */
+		public void delete() {
+			unmap();
+			if (!file.delete()) {
+				warn(String.format("Could not delete segment.[%s]", file.getAbsolutePath()));
+			}
+		}
+
+		/**
+		 * セグメントファイルをマップする。
+		 * 
+		 * @throws IOException IO操作に起因する問題が発生した場合
+		 */
+		private void map() throws IOException {
+			if (null == buffer) {
+				RandomAccessFile accessFile = new RandomAccessFile(file, "rw");
+				try {
+					buffer = accessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+				} finally {
+					// マップはチャネルを閉じても有効
+					accessFile.close();
+				}
+			}
+		}
+
+		/**
+		 * マップを解放する。
+		 */
+		public void unmap() {
+			if (null != buffer) {
+				MappedByteBuffer b = buffer;
+				buffer = null;
+				MappedFileFrontier.this.unmap(b);
+			}
+		}
+
+		@Override
+		public int compareTo(final Segment aOther) {
+			return (sequence < aOther.sequence) ? -1 : ((sequence > aOther.sequence) ? 1 : 0);
+		}
+	}
+
+	/**
+	 * このクラスは、先頭バッファに読み込んだレコードです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Record {
+
+		/** レコード */
+		private final byte[] data;
+		/** レコード終端位置 */
+		private final int end;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aData レコード
+		 * @param aEnd レコード終端位置
+		 */
+		public Record(final byte[] aData, final int aEnd) {
+			data = aData;
+			end = aEnd;
+		}
+	}
+}
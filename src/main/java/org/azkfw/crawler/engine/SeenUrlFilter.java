@@ -0,0 +1,358 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.crawler.util.URLNormalizer;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、既出URLを判定するブルームフィルタクラスです。
+ * <p>
+ * ビット配列はヒープ外のメモリマップドファイルに保持するため、プロセスを再起動しても判定結果が引き継がれます。
+ * 偽陽性(未出のURLを既出と判定する)は設定した確率で発生しますが、偽陰性は発生しません。
+ * URLは{@link URLNormalizer}で正規化したフィンガープリントで判定します。
+ * </p>
+ * <p>
+ * 判定はロックを取得せずに行います。ビットの設定はワード単位のストライプロックで保護します。
+ * {@link #close()}の後は判定・登録を行わず、フィルタが設定されていない場合と同様に振る舞います。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class SeenUrlFilter extends LoggingObject {
+
+	/** ファイルの識別子 */
+	private static final int MAGIC = 0x415a4b42;
+	/** ヘッダーサイズ */
+	private static final int HEADER_SIZE = 64;
+	/** ヘッダー:ハッシュ関数の数 */
+	private static final int HEADER_NUM_HASHES = 4;
+	/** ヘッダー:ビット数 */
+	private static final int HEADER_NUM_BITS = 8;
+	/** ヘッダー:登録件数 */
+	private static final int HEADER_COUNT = 16;
+
+	/** ストライプロック数(2のべき乗) */
+	private static final int LOCK_STRIPES = 1024;
+
+	/** ファイル */
+	private final File file;
+	/** ビット配列(閉じた場合、<code>null</code>) */
+	private volatile MappedByteBuffer buffer;
+	/** ビット数 */
+	private final long numBits;
+	/** ハッシュ関数の数 */
+	private final int numHashes;
+	/** 登録件数 */
+	private final AtomicLong count;
+	/** ストライプロック */
+	private final Object[] locks;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * ファイルが既に存在する場合、ファイルのビット数・ハッシュ関数の数を使用します。
+	 * </p>
+	 * 
+	 * @param aFile ファイル
+	 * @param aExpectedInsertions 想定登録件数
+	 * @param aFpp 偽陽性率(0より大きく1未満)
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	public SeenUrlFilter(final File aFile, final long aExpectedInsertions, final double aFpp) throws IOException {
+		super(SeenUrlFilter.class);
+		if (0 >= aExpectedInsertions) {
+			throw new IllegalArgumentException(String.format("Expected insertions must be positive.[%d]", aExpectedInsertions));
+		}
+		if (0.0 >= aFpp || 1.0 <= aFpp) {
+			throw new IllegalArgumentException(String.format("False positive probability out of range.[%f]", aFpp));
+		}
+		file = aFile;
+		locks = new Object[LOCK_STRIPES];
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			locks[i] = new Object();
+		}
+
+		if (file.isFile() && 0 < file.length()) {
+			map(file.length());
+			if (MAGIC != buffer.getInt(0)) {
+				throw new IOException(String.format("Invalid filter file.[%s]", file.getAbsolutePath()));
+			}
+			numHashes = buffer.getInt(HEADER_NUM_HASHES);
+			numBits = buffer.getLong(HEADER_NUM_BITS);
+			count = new AtomicLong(buffer.getLong(HEADER_COUNT));
+		} else {
+			long bits = optimalNumBits(aExpectedInsertions, aFpp);
+			// 64bit単位に切り上げ
+			long words = (bits + 63) >>> 6;
+			if (Integer.MAX_VALUE - HEADER_SIZE < words * 8) {
+				throw new IllegalArgumentException(String.format("Filter too large.[%d bits]", bits));
+			}
+			numBits = words * 64;
+			numHashes = optimalNumHashes(aExpectedInsertions, numBits);
+			count = new AtomicLong();
+
+			File parent = file.getAbsoluteFile().getParentFile();
+			if (null != parent && !parent.isDirectory() && !parent.mkdirs()) {
+				throw new IOException(String.format("Could not create directory.[%s]", parent.getAbsolutePath()));
+			}
+			map(HEADER_SIZE + words * 8);
+			buffer.putInt(HEADER_NUM_HASHES, numHashes);
+			buffer.putLong(HEADER_NUM_BITS, numBits);
+			buffer.putLong(HEADER_COUNT, 0);
+			buffer.putInt(0, MAGIC);
+		}
+
+		info(String.format("Seen url filter opened.[file=%s, bits=%d, hashes=%d, count=%d]", file.getAbsolutePath(), numBits,
+				numHashes, count.get()));
+	}
+
+	/**
+	 * URLが既出か判断する。
+	 * 
+	 * @param aUrl URL
+	 * @return 既出の可能性がある場合、<code>true</code>。未出の場合、<code>false</code>
+	 */
+	public boolean mightContain(final URL aUrl) {
+		return mightContain(aUrl.toExternalForm());
+	}
+
+	/**
+	 * URLが既出か判断する。
+	 * 
+	 * @param aUrl URL
+	 * @return 既出の可能性がある場合、<code>true</code>。未出の場合、<code>false</code>
+	 */
+	public boolean mightContain(final String aUrl) {
+		return mightContain(URLNormalizer.getDefault().fingerprintOf(aUrl));
+	}
+
+	/**
+	 * URLが既出か判断する。
+	 * 
+	 * @param aFingerprint URLのフィンガープリント
+	 * @return 既出の可能性がある場合、<code>true</code>。未出の場合、<code>false</code>
+	 */
+	public boolean mightContain(final long aFingerprint) {
+		MappedByteBuffer bits = buffer;
+		if (null == bits) {
+			return false;
+		}
+		long hash1 = aFingerprint;
+		long hash2 = hash2(hash1);
+		for (int i = 0; i < numHashes; i++) {
+			long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % numBits;
+			if (0 == (bits.getLong(offset(bit)) & mask(bit))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * URLを既出として登録する。
+	 * 
+	 * @param aUrl URL
+	 * @return 新たに登録した場合、<code>true</code>。既出の可能性がある場合、<code>false</code>
+	 */
+	public boolean put(final URL aUrl) {
+		return put(aUrl.toExternalForm());
+	}
+
+	/**
+	 * URLを既出として登録する。
+	 * 
+	 * @param aUrl URL
+	 * @return 新たに登録した場合、<code>true</code>。既出の可能性がある場合、<code>false</code>
+	 */
+	public boolean put(final String aUrl) {
+		return put(URLNormalizer.getDefault().fingerprintOf(aUrl));
+	}
+
+	/**
+	 * URLを既出として登録する。
+	 * <p>
+	 * 同一URLを複数スレッドから同時に登録した場合、複数のスレッドが<code>true</code>を受け取る可能性があります。
+	 * </p>
+	 * 
+	 * @param aFingerprint URLのフィンガープリント
+	 * @return 新たに登録した場合、<code>true</code>。既出の可能性がある場合、<code>false</code>
+	 */
+	public boolean put(final long aFingerprint) {
+		MappedByteBuffer bits = buffer;
+		if (null == bits) {
+			return true;
+		}
+		long hash1 = aFingerprint;
+		long hash2 = hash2(hash1);
+		boolean changed = false;
+		for (int i = 0; i < numHashes; i++) {
+			long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % numBits;
+			changed |= setBit(bits, bit);
+		}
+		if (changed) {
+			count.incrementAndGet();
+		}
+		return changed;
+	}
+
+	/**
+	 * 登録件数を取得する。
+	 * 
+	 * @return 登録件数
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * ビット数を取得する。
+	 * 
+	 * @return ビット数
+	 */
+	public long getNumBits() {
+		return numBits;
+	}
+
+	/**
+	 * ハッシュ関数の数を取得する。
+	 * 
+	 * @return ハッシュ関数の数
+	 */
+	public int getNumHashes() {
+		return numHashes;
+	}
+
+	/**
+	 * 登録内容をファイルへ書き込む。
+	 */
+	public synchronized void flush() {
+		MappedByteBuffer bits = buffer;
+		if (null != bits) {
+			bits.putLong(HEADER_COUNT, count.get());
+			bits.force();
+		}
+	}
+
+	/**
+	 * フィルタを閉じる。
+	 */
+	public synchronized void close() {
+		flush();
+		buffer = null;
+		info(String.format("Seen url filter closed.[file=%s, count=%d]", file.getAbsolutePath(), count.get()));
+	}
+
+	/**
+	 * ビットを設定する。
+	 * 
+	 * @param aBits ビット配列
+	 * @param aBit ビット位置
+	 * @return ビットが変化した場合、<code>true</code>
+	 */
+	private boolean setBit(final MappedByteBuffer aBits, final long aBit) {
+		int offset = offset(aBit);
+		long mask = mask(aBit);
+		synchronized (locks[(int) (aBit >>> 6) & (LOCK_STRIPES - 1)]) {
+			long word = aBits.getLong(offset);
+			if (0 != (word & mask)) {
+				return false;
+			}
+			aBits.putLong(offset, word | mask);
+			return true;
+		}
+	}
+
+	/**
+	 * ファイルをマップする。
+	 * 
+	 * @param aSize サイズ
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private void map(final long aSize) throws IOException {
+		RandomAccessFile accessFile = new RandomAccessFile(file, "rw");
+		try {
+			buffer = accessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, aSize);
+		} finally {
+			// マップはチャネルを閉じても有効
+			accessFile.close();
+		}
+	}
+
+	/**
+	 * ビット位置のバイトオフセットを取得する。
+	 * 
+	 * @param aBit ビット位置
+	 * @return バイトオフセット
+	 */
+	private static int offset(final long aBit) {
+		return HEADER_SIZE + (int) ((aBit >>> 6) << 3);
+	}
+
+	/**
+	 * ビット位置のマスクを取得する。
+	 * 
+	 * @param aBit ビット位置
+	 * @return マスク
+	 */
+	private static long mask(final long aBit) {
+		return 1L << (aBit & 63);
+	}
+
+	/**
+	 * 最適なビット数を算出する。
+	 * 
+	 * @param n 想定登録件数
+	 * @param p 偽陽性率
+	 * @return ビット数
+	 */
+	public static long optimalNumBits(final long n, final double p) {
+		return (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+	}
+
+	/**
+	 * 最適なハッシュ関数の数を算出する。
+	 * 
+	 * @param n 想定登録件数
+	 * @param m ビット数
+	 * @return ハッシュ関数の数
+	 */
+	public static int optimalNumHashes(final long n, final long m) {
+		return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+	}
+
+	/**
+	 * ２つ目のハッシュ値を算出する。
+	 * 
+	 * @param aHash １つ目のハッシュ値
+	 * @return ハッシュ値(奇数)
+	 */
+	private static long hash2(final long aHash) {
+		return URLNormalizer.mix(aHash ^ 0x9e3779b97f4a7c15L) | 1L;
+	}
+}
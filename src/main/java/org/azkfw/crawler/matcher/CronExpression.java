@@ -0,0 +1,442 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.matcher;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * このクラスは、コンパイル済みのcron形式の日時パターンを表現するクラスです。
+ * <p>
+ * 各フィールドを許容する値のビットマスク(long)として保持するため、判定時にパターンの解析や文字列の生成を行いません。
+ * また、{@link #next(long)}により次にマッチする日時を直接算出できます。
+ * </p>
+ * <p>
+ * パターンは「分 時 日 月 曜日」の５フィールド、または先頭に秒を加えた６フィールドで指定します。
+ * ５フィールドの場合、秒は0として扱います。
+ * </p>
+ * <ul>
+ * <li>秒 : 0-59</li>
+ * <li>分 : 0-59</li>
+ * <li>時 : 0-23</li>
+ * <li>日 : 1-31</li>
+ * <li>月 : 1-12</li>
+ * <li>曜日 : 0-7(0と7は日曜日)</li>
+ * </ul>
+ * <p>
+ * 各フィールドには、<code>*</code>、<code>*&frasl;n</code>(nの倍数)、<code>a</code>、<code>a-b</code>、<code>a-b&frasl;n</code>、
+ * およびそれらのカンマ区切りを指定できます。日と曜日の両方を指定した場合は、両方にマッチする日時のみマッチします。
+ * 存在しない日付のみを指定したパターン(2月30日など)は、どの日時にもマッチしません。
+ * </p>
+ * <p>
+ * 夏時間の開始により存在しない時刻はスキップします。夏時間の終了により同じ時刻が２度ある場合、
+ * 時に<code>*</code>を指定したパターンは両方に、時を指定したパターンは１度目のみにマッチします。
+ * </p>
+ * <p>
+ * このクラスはスレッドセーフです。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class CronExpression {
+
+	/**
+	 * 次回日時を検索する最大年数
+	 * <p>
+	 * グレゴリオ暦は400年周期のため、400年以内にマッチしないパターンはマッチする日時が存在しない。
+	 * (2月29日と曜日の組み合わせは、100年毎の平年を挟むと最大40年間隔となる)
+	 * </p>
+	 */
+	private static final int SEARCH_YEARS = 400;
+
+	/** 全ての時 */
+	private static final long ALL_HOURS = (1L << 24) - 1;
+
+	/** 月毎の最大日数(閏年を含む) */
+	private static final int[] MAX_DAYS = { 31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
+	/** パターン */
+	private final String pattern;
+	/** タイムゾーン */
+	private final TimeZone timeZone;
+
+	/** 秒 */
+	private final long seconds;
+	/** 分 */
+	private final long minutes;
+	/** 時 */
+	private final long hours;
+	/** 日 */
+	private final long days;
+	/** 月 */
+	private final long months;
+	/** 曜日 */
+	private final long weeks;
+	/** 存在する日付を含む場合、<code>true</code> */
+	private final boolean possible;
+
+	/** 作業用カレンダー */
+	private final Calendar calendar;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * デフォルトのタイムゾーンを使用します。
+	 * </p>
+	 * 
+	 * @param aPattern パターン
+	 * @throws IllegalArgumentException パターンが不正な場合
+	 */
+	public CronExpression(final String aPattern) {
+		this(aPattern, TimeZone.getDefault());
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aPattern パターン
+	 * @param aTimeZone タイムゾーン
+	 * @throws IllegalArgumentException パターンが不正な場合
+	 */
+	public CronExpression(final String aPattern, final TimeZone aTimeZone) {
+		if (null == aPattern) {
+			throw new IllegalArgumentException("Pattern is null.");
+		}
+		String[] fields = aPattern.trim().split("\\s+");
+		int offset = 0;
+		if (6 == fields.length) {
+			seconds = parse(fields[0], 0, 59, aPattern);
+			offset = 1;
+		} else if (5 == fields.length) {
+			seconds = 1L;
+		} else {
+			throw new IllegalArgumentException(String.format("Invalid field count.[%s]", aPattern));
+		}
+		minutes = parse(fields[offset], 0, 59, aPattern);
+		hours = parse(fields[offset + 1], 0, 23, aPattern);
+		days = parse(fields[offset + 2], 1, 31, aPattern);
+		months = parse(fields[offset + 3], 1, 12, aPattern);
+		long week = parse(fields[offset + 4], 0, 7, aPattern);
+		if (0 != (week & (1L << 7))) {
+			week = (week | 1L) & ~(1L << 7);
+		}
+		weeks = week;
+		possible = isPossible(days, months);
+
+		pattern = aPattern;
+		timeZone = aTimeZone;
+		calendar = Calendar.getInstance(aTimeZone);
+	}
+
+	/**
+	 * パターンを取得する。
+	 * 
+	 * @return パターン
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * タイムゾーンを取得する。
+	 * 
+	 * @return タイムゾーン
+	 */
+	public TimeZone getTimeZone() {
+		return timeZone;
+	}
+
+	/**
+	 * 日時がマッチするか判断する。
+	 * 
+	 * @param aTime 日時(ミリ秒)
+	 * @return マッチする場合、<code>true</code>
+	 */
+	public synchronized boolean match(final long aTime) {
+		calendar.setTimeInMillis(aTime);
+		return contains(seconds, calendar.get(Calendar.SECOND)) && contains(minutes, calendar.get(Calendar.MINUTE))
+				&& contains(hours, calendar.get(Calendar.HOUR_OF_DAY)) && contains(days, calendar.get(Calendar.DAY_OF_MONTH))
+				&& contains(months, calendar.get(Calendar.MONTH) + 1) && contains(weeks, calendar.get(Calendar.DAY_OF_WEEK) - 1)
+				&& (ALL_HOURS == hours || !isRepeated(aTime));
+	}
+
+	/**
+	 * 指定日時より後で、次にマッチする日時を算出する。
+	 * 
+	 * @param aTime 日時(ミリ秒)
+	 * @return 次にマッチする日時(ミリ秒)。マッチする日時が存在しない場合、<code>-1</code>
+	 */
+	public synchronized long next(final long aTime) {
+		if (!possible) {
+			return -1;
+		}
+		// フィールドを変更すると夏時間終了時の時刻が再解決されるため、ミリ秒の切り捨ては時間で行う
+		long start = aTime / 1000;
+		if (0 > aTime && 0 != aTime % 1000) {
+			start--;
+		}
+		calendar.setTimeInMillis((start + 1) * 1000);
+
+		int limit = calendar.get(Calendar.YEAR) + SEARCH_YEARS;
+		while (calendar.get(Calendar.YEAR) <= limit) {
+			long before = calendar.getTimeInMillis();
+
+			int month = calendar.get(Calendar.MONTH) + 1;
+			if (!contains(months, month)) {
+				int next = nextBit(months, month);
+				calendar.set(Calendar.DAY_OF_MONTH, 1);
+				if (-1 == next) {
+					calendar.add(Calendar.YEAR, 1);
+					calendar.set(Calendar.MONTH, nextBit(months, 1) - 1);
+				} else {
+					calendar.set(Calendar.MONTH, next - 1);
+				}
+				resetTime(Calendar.HOUR_OF_DAY);
+				forward(before);
+				continue;
+			}
+
+			if (!contains(days, calendar.get(Calendar.DAY_OF_MONTH)) || !contains(weeks, calendar.get(Calendar.DAY_OF_WEEK) - 1)) {
+				calendar.add(Calendar.DAY_OF_MONTH, 1);
+				resetTime(Calendar.HOUR_OF_DAY);
+				forward(before);
+				continue;
+			}
+
+			int hour = calendar.get(Calendar.HOUR_OF_DAY);
+			if (!contains(hours, hour)) {
+				int next = nextBit(hours, hour);
+				if (-1 == next) {
+					calendar.add(Calendar.DAY_OF_MONTH, 1);
+					resetTime(Calendar.HOUR_OF_DAY);
+				} else {
+					calendar.set(Calendar.HOUR_OF_DAY, next);
+					resetTime(Calendar.MINUTE);
+				}
+				forward(before);
+				continue;
+			}
+
+			int minute = calendar.get(Calendar.MINUTE);
+			if (!contains(minutes, minute)) {
+				int next = nextBit(minutes, minute);
+				if (-1 == next) {
+					calendar.add(Calendar.HOUR_OF_DAY, 1);
+					resetTime(Calendar.MINUTE);
+				} else {
+					calendar.set(Calendar.MINUTE, next);
+					resetTime(Calendar.SECOND);
+				}
+				forward(before);
+				continue;
+			}
+
+			int second = calendar.get(Calendar.SECOND);
+			if (!contains(seconds, second)) {
+				int next = nextBit(seconds, second);
+				if (-1 == next) {
+					calendar.add(Calendar.MINUTE, 1);
+					resetTime(Calendar.SECOND);
+				} else {
+					calendar.set(Calendar.SECOND, next);
+				}
+				forward(before);
+				continue;
+			}
+
+			long time = calendar.getTimeInMillis();
+			if (ALL_HOURS != hours && isRepeated(time)) {
+				// 時を指定したパターンは、夏時間の終了による２度目の時刻では実行しない
+				calendar.setTimeInMillis(time + 1000);
+				continue;
+			}
+			return time;
+		}
+		return -1;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+
+	/**
+	 * 指定フィールド以下の時刻を0にする。
+	 * 
+	 * @param aField フィールド({@link Calendar#HOUR_OF_DAY} / {@link Calendar#MINUTE} / {@link Calendar#SECOND})
+	 */
+	private void resetTime(final int aField) {
+		if (Calendar.HOUR_OF_DAY == aField) {
+			calendar.set(Calendar.HOUR_OF_DAY, 0);
+		}
+		if (Calendar.SECOND != aField) {
+			calendar.set(Calendar.MINUTE, 0);
+		}
+		calendar.set(Calendar.SECOND, 0);
+	}
+
+	/**
+	 * 変更後の日時を補正する。
+	 * <p>
+	 * 夏時間の終了により同じ時刻が２度ある場合は、変更前の日時より後で早い方の日時とします。
+	 * また、日時が戻った場合は変更前の日時から１秒進めます。
+	 * </p>
+	 * 
+	 * @param aBefore 変更前の日時(ミリ秒)
+	 */
+	private void forward(final long aBefore) {
+		long time = calendar.getTimeInMillis();
+		int savings = timeZone.getDSTSavings();
+		if (0 < savings && time - savings > aBefore) {
+			int day = calendar.get(Calendar.DAY_OF_MONTH);
+			int hour = calendar.get(Calendar.HOUR_OF_DAY);
+			int minute = calendar.get(Calendar.MINUTE);
+			calendar.setTimeInMillis(time - savings);
+			if (day != calendar.get(Calendar.DAY_OF_MONTH) || hour != calendar.get(Calendar.HOUR_OF_DAY)
+					|| minute != calendar.get(Calendar.MINUTE)) {
+				calendar.setTimeInMillis(time);
+			}
+		}
+		if (calendar.getTimeInMillis() <= aBefore) {
+			calendar.setTimeInMillis(aBefore + 1000);
+		}
+	}
+
+	/**
+	 * 夏時間の終了により２度目となる時刻か判断する。
+	 * 
+	 * @param aTime 日時(ミリ秒)
+	 * @return ２度目となる時刻の場合、<code>true</code>
+	 */
+	private boolean isRepeated(final long aTime) {
+		int savings = timeZone.getDSTSavings();
+		return 0 < savings && !timeZone.inDaylightTime(new Date(aTime)) && timeZone.inDaylightTime(new Date(aTime - savings));
+	}
+
+	/**
+	 * 日・月のビットマスクが存在する日付を含むか判断する。
+	 * 
+	 * @param aDays 日のビットマスク
+	 * @param aMonths 月のビットマスク
+	 * @return 存在する日付を含む場合、<code>true</code>
+	 */
+	private static boolean isPossible(final long aDays, final long aMonths) {
+		for (int month = 1; month <= 12; month++) {
+			if (contains(aMonths, month) && -1 != nextBit(aDays & ((1L << (MAX_DAYS[month - 1] + 1)) - 1), 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * ビットマスクに値が含まれるか判断する。
+	 * 
+	 * @param aMask ビットマスク
+	 * @param aValue 値
+	 * @return 含まれる場合、<code>true</code>
+	 */
+	private static boolean contains(final long aMask, final int aValue) {
+		return 0 != (aMask & (1L << aValue));
+	}
+
+	/**
+	 * ビットマスクから指定値以上で最小の値を取得する。
+	 * 
+	 * @param aMask ビットマスク
+	 * @param aValue 値
+	 * @return 値。存在しない場合、<code>-1</code>
+	 */
+	private static int nextBit(final long aMask, final int aValue) {
+		long mask = aMask & (-1L << aValue);
+		if (0 == mask) {
+			return -1;
+		}
+		return Long.numberOfTrailingZeros(mask);
+	}
+
+	/**
+	 * フィールドを解析し、ビットマスクを生成する。
+	 * 
+	 * @param aField フィールド
+	 * @param aMin 最小値
+	 * @param aMax 最大値
+	 * @param aPattern パターン(エラーメッセージ用)
+	 * @return ビットマスク
+	 * @throws IllegalArgumentException フィールドが不正な場合
+	 */
+	private static long parse(final String aField, final int aMin, final int aMax, final String aPattern) {
+		long mask = 0;
+		try {
+			for (String part : aField.split(",")) {
+				int step = 1;
+				String range = part;
+				int index = part.indexOf('/');
+				boolean stepped = (-1 != index);
+				if (stepped) {
+					step = Integer.parseInt(part.substring(index + 1));
+					range = part.substring(0, index);
+					if (0 >= step) {
+						throw new IllegalArgumentException(String.format("Invalid step.[%s]", aPattern));
+					}
+				}
+
+				if ("*".equals(range)) {
+					// */n はnの倍数(互換のため最小値からではなく0から数える)
+					for (int i = aMin; i <= aMax; i++) {
+						if (0 == i % step) {
+							mask |= 1L << i;
+						}
+					}
+					continue;
+				}
+
+				int start;
+				int end;
+				index = range.indexOf('-');
+				if (-1 == index) {
+					start = Integer.parseInt(range);
+					end = stepped ? aMax : start;
+				} else {
+					start = Integer.parseInt(range.substring(0, index));
+					end = Integer.parseInt(range.substring(index + 1));
+					if (start > end) {
+						int buf = start;
+						start = end;
+						end = buf;
+					}
+				}
+				if (start < aMin || end > aMax) {
+					throw new IllegalArgumentException(String.format("Out of range.[%s]", aPattern));
+				}
+				for (int i = start; i <= end; i += step) {
+					mask |= 1L << i;
+				}
+			}
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(String.format("Invalid number.[%s]", aPattern), ex);
+		}
+		if (0 == mask) {
+			throw new IllegalArgumentException(String.format("Empty field.[%s]", aPattern));
+		}
+		return mask;
+	}
+}
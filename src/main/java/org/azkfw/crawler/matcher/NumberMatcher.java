@@ -61,8 +61,8 @@ public class NumberMatcher implements Matcher {
 				if (-1 == index) {
 					numbers.add(Integer.parseInt(s));
 				} else {
-					int start = Integer.parseInt(aPattern.substring(0, index));
-					int end = Integer.parseInt(aPattern.substring(index + 1));
+					int start = Integer.parseInt(s.substring(0, index));
+					int end = Integer.parseInt(s.substring(index + 1));
 					if (start > end) {
 						int buf = start;
 						start = end;
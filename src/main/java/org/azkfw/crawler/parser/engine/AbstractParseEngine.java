@@ -17,6 +17,12 @@
  */
 package org.azkfw.crawler.parser.engine;
 
+import org.azkfw.crawler.performance.Counter;
+import org.azkfw.crawler.performance.Histogram;
+import org.azkfw.crawler.performance.MetricsCache;
+import org.azkfw.crawler.performance.MetricsRegistry;
+import org.azkfw.crawler.performance.Span;
+import org.azkfw.crawler.performance.Tracer;
 import org.azkfw.log.LoggingObject;
 
 /**
@@ -28,6 +34,14 @@ import org.azkfw.log.LoggingObject;
  */
 public abstract class AbstractParseEngine extends LoggingObject implements ParseEngine {
 
+	/** エンジン毎のメトリクス */
+	private static final MetricsCache<Class<?>, EngineMetrics> ENGINE_METRICS = new MetricsCache<Class<?>, EngineMetrics>() {
+		@Override
+		protected EngineMetrics create(final MetricsRegistry aRegistry, final Class<?> aKey) {
+			return new EngineMetrics(aRegistry, aKey.getSimpleName());
+		}
+	};
+
 	/**
 	 * コンストラクタ
 	 */
@@ -65,7 +79,22 @@ public abstract class AbstractParseEngine extends LoggingObject implements Parse
 
 	@Override
 	public final ParseEngineResult parse() {
-		return doParse();
+		long startTime = System.nanoTime();
+		ParseEngineResult result = null;
+		Span span = Tracer.getInstance().begin("parse", getClass().getSimpleName());
+		try {
+			result = doParse();
+		} finally {
+			span.end();
+			EngineMetrics metrics = ENGINE_METRICS.get(getClass());
+			if (null != result && result.isResult()) {
+				metrics.success.increment();
+			} else {
+				metrics.failure.increment();
+			}
+			metrics.parse.record(System.nanoTime() - startTime);
+		}
+		return result;
 	}
 
 	/**
@@ -93,4 +122,33 @@ public abstract class AbstractParseEngine extends LoggingObject implements Parse
 	 * @return 解析結果
 	 */
 	protected abstract ParseEngineResult doParse();
+
+	/**
+	 * このクラスは、解析エンジン毎の解析のメトリクスを保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class EngineMetrics {
+
+		/** 成功した解析数 */
+		private final Counter success;
+		/** 失敗した解析数 */
+		private final Counter failure;
+		/** 解析時間 */
+		private final Histogram parse;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aRegistry レジストリ
+		 * @param aEngine エンジン名
+		 */
+		public EngineMetrics(final MetricsRegistry aRegistry, final String aEngine) {
+			success = aRegistry.counter("crawler_parse_total", "Number of parsed pages.", "engine", aEngine, "result", "success");
+			failure = aRegistry.counter("crawler_parse_total", "Number of parsed pages.", "engine", aEngine, "result", "failure");
+			parse = aRegistry.timer("crawler_parse_seconds", "Parse time.", "engine", aEngine);
+		}
+	}
 }
@@ -23,7 +23,9 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.nio.charset.Charset;
 
+import org.azkfw.crawler.content.CharsetDetector;
 import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.content.DirectContent;
 
 /**
  * このクラスは、テキストコンテンツに対して解析を行うエンジンを定義するための基底クラスです。
@@ -36,6 +38,8 @@ public abstract class AbstractTextParseEngine extends AbstractContentParseEngine
 
 	/** 文字コード */
 	private Charset charset;
+	/** Content-Type */
+	private String contentType;
 
 	/**
 	 * コンストラクタ
@@ -122,6 +126,47 @@ public abstract class AbstractTextParseEngine extends AbstractContentParseEngine
 		return charset;
 	}
 
+	/**
+	 * Content-Typeヘッダーを設定する。
+	 * <p>
+	 * 文字コードが設定されていない場合、charsetパラメータを文字コードの判定に使用します。
+	 * </p>
+	 * 
+	 * @param aContentType Content-Typeヘッダー
+	 */
+	public final void setContentType(final String aContentType) {
+		contentType = aContentType;
+	}
+
+	/**
+	 * Content-Typeヘッダーを取得する。
+	 * 
+	 * @return Content-Typeヘッダー
+	 */
+	public final String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * コンテンツの文字コードを判定する。
+	 * <p>
+	 * BOM・Content-Typeヘッダー・先頭バイト列のmetaタグの順に判定し、判定できない場合は日本語文字コードを統計的に判定します。
+	 * </p>
+	 * 
+	 * @param aContent コンテンツ
+	 * @return 文字コード。判定できない場合、<code>null</code>を返す。
+	 * @see CharsetDetector
+	 */
+	protected final Charset detectCharset(final Content aContent) {
+		Charset result = null;
+		try {
+			result = CharsetDetector.getDefault().detect(aContent, contentType);
+		} catch (IOException ex) {
+			fatal(ex);
+		}
+		return result;
+	}
+
 	@Override
 	protected final ParseEngineResult doParseContent(final Content aContent) {
 		return doParseTextContent(aContent);
@@ -140,6 +185,16 @@ public abstract class AbstractTextParseEngine extends AbstractContentParseEngine
 	protected final String getSource(final Content aContent, final Charset aCharset) {
 		String source = null;
 
+		if (aContent instanceof DirectContent) {
+			// バッファから直接デコードする
+			try {
+				source = ((DirectContent) aContent).getCharSequence(aCharset).toString();
+			} catch (IOException ex) {
+				fatal(ex);
+			}
+			return source;
+		}
+
 		ByteArrayOutputStream os = null;
 		InputStream is = null;
 		try {
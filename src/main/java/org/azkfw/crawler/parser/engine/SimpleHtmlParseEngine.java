@@ -20,13 +20,14 @@ package org.azkfw.crawler.parser.engine;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import javax.swing.text.MutableAttributeSet;
@@ -36,8 +37,10 @@ import javax.swing.text.html.HTMLEditorKit.ParserCallback;
 import javax.swing.text.html.parser.ParserDelegator;
 
 import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.performance.Span;
+import org.azkfw.crawler.performance.Tracer;
+import org.azkfw.crawler.util.URLNormalizer;
 import org.azkfw.util.StringUtility;
-import org.azkfw.util.URLUtility;
 
 /**
  * このクラスは、簡易的なHTMLテキスト解析を行う解析エンジンです。
@@ -48,6 +51,13 @@ import org.azkfw.util.URLUtility;
  */
 public class SimpleHtmlParseEngine extends AbstractHtmlParseEngine {
 
+	/** 集計列 - URL */
+	private static final int COLUMN_URL = 0;
+	/** 集計列 - アンカー */
+	private static final int COLUMN_ANCHOR = 1;
+	/** 集計列 - 画像 */
+	private static final int COLUMN_IMAGE = 2;
+
 	/** URL - 解析対象URL */
 	private URL url;
 	/** */
@@ -57,6 +67,8 @@ public class SimpleHtmlParseEngine extends AbstractHtmlParseEngine {
 	private List<String> imageList;
 	private List<String> scriptList;
 	private List<String> linkList;
+	/** リンク集計表 */
+	private CounterTable counterTable;
 	/** */
 	private Counter urlCounter;
 	private Counter anchorCounter;
@@ -144,9 +156,11 @@ public class SimpleHtmlParseEngine extends AbstractHtmlParseEngine {
 		scriptList = new ArrayList<String>();
 		linkList = new ArrayList<String>();
 
-		urlCounter = new Counter();
-		anchorCounter = new Counter();
-		imageCounter = new Counter();
+		// URL・アンカー・画像の集計は１つの表を共有し、リンク毎のハッシュ計算・探索を１回にする
+		counterTable = new CounterTable(3);
+		urlCounter = new Counter(counterTable, COLUMN_URL);
+		anchorCounter = new Counter(counterTable, COLUMN_ANCHOR);
+		imageCounter = new Counter(counterTable, COLUMN_IMAGE);
 	}
 
 	public final Counter getUrls() {
@@ -175,37 +189,66 @@ public class SimpleHtmlParseEngine extends AbstractHtmlParseEngine {
 	protected final ParseEngineResult doParseHtmlContent(final Content aContent) {
 		ParseEngineResult result = new ParseEngineResult();
 
-		Charset charset = getCharset();
-		if (null == charset) {
-			// charsetが不明な場合HTMLから取得
-			charset = getCharset(aContent);
-		}
+		if (doParseHtml(aContent)) {
+			Span span = Tracer.getInstance().begin("resolve");
+			try {
+				replaseURL();
+			} finally {
+				span.end();
+			}
 
-		if (null != charset) {
-			String html = getSource(aContent, charset);
+			result.setResult(true);
+		}
 
-			doBefore(html);
+		return result;
+	}
 
-			BufferedReader reader = null;
+	/**
+	 * HTMLを解析し、タグ毎に{@link #addAnchor(String, List)}などを呼び出す。
+	 * <p>
+	 * {@link ParserDelegator}を使用して解析を行う。
+	 * </p>
+	 * 
+	 * @param aContent コンテンツ
+	 * @return 解析を行った場合、<code>true</code>を返す。
+	 */
+	protected boolean doParseHtml(final Content aContent) {
+		Charset charset = getCharset();
+		if (null == charset) {
+			// charsetが不明な場合ヘッダー・BOM・先頭バイト列から判定
+			Span span = Tracer.getInstance().begin("charset");
 			try {
-				reader = new BufferedReader(new InputStreamReader(aContent.getInputStream(), charset));
-				ParserDelegator pd = new ParserDelegator();
-				HtmlParserCallback cb = new HtmlParserCallback(this, html);
-				pd.parse(reader, cb, true);
-			} catch (IOException ex) {
-				fatal(ex);
+				charset = detectCharset(aContent);
 			} finally {
-				release(reader);
+				span.end();
 			}
+		}
 
-			doAfter(html);
+		if (null == charset) {
+			return false;
+		}
 
-			replaseURL();
+		String html = getSource(aContent, charset);
 
-			result.setResult(true);
+		doBefore(html);
+
+		BufferedReader reader = null;
+		Span span = Tracer.getInstance().begin("tokenize");
+		try {
+			reader = new BufferedReader(new InputStreamReader(aContent.getInputStream(), charset));
+			ParserDelegator pd = new ParserDelegator();
+			HtmlParserCallback cb = new HtmlParserCallback(this, html);
+			pd.parse(reader, cb, true);
+		} catch (IOException ex) {
+			fatal(ex);
+		} finally {
+			release(reader);
+			span.end();
 		}
 
-		return result;
+		doAfter(html);
+
+		return true;
 	}
 
 	protected void doBefore(final String html) {
@@ -324,126 +367,376 @@ public class SimpleHtmlParseEngine extends AbstractHtmlParseEngine {
 	}
 
 	/**
-	 * コンテンツを一時読み込みし文字コードを取得する。
+	 * 解決できなかったURLを記録する。
+	 * <p>
+	 * mailto: tel: data: 等のHTTP(S)以外のスキームはページに多数含まれるため、不正なURLとして警告しない。
+	 * </p>
 	 * 
-	 * @param aContent コンテンツ
-	 * @return 文字コード。取得できない場合、<code>null</code>を返す。
+	 * @param aUrl URL
 	 */
-	private Charset getCharset(final Content aContent) {
-		Charset charset = null;
-
-		BufferedReader reader = null;
-		try {
-			reader = new BufferedReader(new InputStreamReader(aContent.getInputStream(), Charset.forName("ASCII")));
-			ParserDelegator pd = new ParserDelegator();
-			PreHtmlParserCallback cb = new PreHtmlParserCallback();
-			pd.parse(reader, cb, true);
-
-			if (StringUtility.isNotEmpty(cb.getCharset())) {
-				charset = Charset.forName(cb.getCharset());
-			}
-		} catch (IOException ex) {
-			fatal(ex);
-		} finally {
-			if (null != reader) {
-				try {
-					reader.close();
-				} catch (IOException ex) {
-					ex.printStackTrace();
-				}
-			}
+	private void unresolved(final String aUrl) {
+		if (URLNormalizer.isHttpReference(aUrl)) {
+			warn("Malformed URL : " + aUrl);
+		} else {
+			debug("Skip URL : " + aUrl);
 		}
-
-		return charset;
 	}
 
 	private void replaseURL() {
-		String base = url.toExternalForm();
+		URLNormalizer normalizer = URLNormalizer.getDefault();
+		String base = normalizer.normalize(url.toExternalForm());
 		if (StringUtility.isNotEmpty(baseUrl)) {
-			base = baseUrl;
+			String buf = normalizer.resolve(base, baseUrl);
+			if (null != buf) {
+				base = buf;
+			}
 		}
 
 		for (String url : anchorList) {
-			String buf = null;
-			try {
-				buf = decorate(URLUtility.get(base, url));
-				urlCounter.countup(buf);
-				anchorCounter.countup(buf);
-			} catch (MalformedURLException ex) {
-				warn("Malformed URL : " + buf);
+			String buf = normalizer.resolve(base, url);
+			if (null != buf) {
+				counterTable.countup(buf, (1 << COLUMN_URL) | (1 << COLUMN_ANCHOR));
+			} else {
+				unresolved(url);
 			}
 		}
 		for (String url : imageList) {
-			String buf = null;
-			try {
-				buf = decorate(URLUtility.get(base, url));
-				urlCounter.countup(buf);
-				imageCounter.countup(buf);
-			} catch (MalformedURLException ex) {
-				warn("Malformed URL : " + buf);
+			String buf = normalizer.resolve(base, url);
+			if (null != buf) {
+				counterTable.countup(buf, (1 << COLUMN_URL) | (1 << COLUMN_IMAGE));
+			} else {
+				unresolved(url);
 			}
 		}
 		for (String url : scriptList) {
-			String buf = null;
-			try {
-				buf = decorate(URLUtility.get(base, url));
+			String buf = normalizer.resolve(base, url);
+			if (null != buf) {
 				urlCounter.countup(buf);
-			} catch (MalformedURLException ex) {
-				warn("Malformed URL : " + buf);
+			} else {
+				unresolved(url);
 			}
 		}
 		for (String url : linkList) {
-			String buf = null;
-			try {
-				buf = decorate(URLUtility.get(base, url));
+			String buf = normalizer.resolve(base, url);
+			if (null != buf) {
 				urlCounter.countup(buf);
-			} catch (MalformedURLException ex) {
-				warn("Malformed URL : " + buf);
+			} else {
+				unresolved(url);
 			}
 		}
 	}
 
-	private String decorate(final String aUrl) throws MalformedURLException {
-		URL url = new URL(aUrl);
-		String str = url.toExternalForm();
-		String ref = url.getRef();
-		if (null != ref) {
-			str = str.substring(0, str.length() - (ref.length() + 1));
-		}
-		if (StringUtility.isEmpty(url.getFile())) {
-			str += "/";
-		}
-		return str;
-	}
-
+	/**
+	 * このクラスは、URL毎の出現回数を集計するクラスです。
+	 * <p>
+	 * 集計は{@link CounterTable}の１列として保持します。同じ表を共有する複数のカウンターは、URL文字列を１つだけ保持します。
+	 * </p>
+	 * 
+	 * @since 1.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
 	public static class Counter {
 
-		private Map<String, Integer> counter;
+		/** 集計表 */
+		private final CounterTable table;
+		/** 列 */
+		private final int column;
 
+		/**
+		 * コンストラクタ
+		 */
 		public Counter() {
-			counter = new HashMap<String, Integer>();
+			this(new CounterTable(1), 0);
+		}
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aTable 集計表
+		 * @param aColumn 列
+		 */
+		private Counter(final CounterTable aTable, final int aColumn) {
+			table = aTable;
+			column = aColumn;
 		}
 
+		/**
+		 * 出現したURLの一覧を取得する。
+		 * <p>
+		 * 出現順に列挙する読み取り専用のビューです。
+		 * </p>
+		 * 
+		 * @return URL一覧
+		 */
 		public Set<String> keyset() {
-			return counter.keySet();
+			return new AbstractSet<String>() {
+				@Override
+				public Iterator<String> iterator() {
+					return table.iterator(column);
+				}
+
+				@Override
+				public int size() {
+					return table.size(column);
+				}
+
+				@Override
+				public boolean contains(final Object o) {
+					return (o instanceof String) && 0 < table.getCount((String) o, column);
+				}
+			};
 		}
 
 		public int countup(final String key) {
-			int count = 0;
-			if (counter.containsKey(key)) {
-				count = counter.get(key);
-			}
-			count++;
-			counter.put(key, count);
-			return count;
+			return table.countup(key, 1 << column);
 		}
 
 		public int getCount(final String key) {
-			int count = 0;
-			if (counter.containsKey(key)) {
-				count = counter.get(key);
+			return table.getCount(key, column);
+		}
+	}
+
+	/**
+	 * このクラスは、URL毎の出現回数を複数の列で集計するオープンアドレス法のハッシュ表です。
+	 * <p>
+	 * URLは出現順の配列に１度だけ格納し、件数は列毎のint配列で保持します。
+	 * 複数の列をまとめて加算する場合も、ハッシュ計算と探索はリンク毎に１回のみで、整数のボクシングを行いません。
+	 * </p>
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class CounterTable {
+
+		/** 初期容量 */
+		private static final int INITIAL_CAPACITY = 64;
+
+		/** スロット(URLの格納位置+1。0は空き) */
+		private int[] slots;
+		/** URL(出現順) */
+		private String[] keys;
+		/** URLのハッシュ値(出現順) */
+		private int[] hashes;
+		/** 列毎の件数(出現順) */
+		private final int[][] counts;
+		/** 列毎のURL数 */
+		private final int[] sizes;
+		/** URL数 */
+		private int size;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aColumns 列数
+		 */
+		public CounterTable(final int aColumns) {
+			slots = new int[INITIAL_CAPACITY * 2];
+			keys = new String[INITIAL_CAPACITY];
+			hashes = new int[INITIAL_CAPACITY];
+			counts = new int[aColumns][INITIAL_CAPACITY];
+			sizes = new int[aColumns];
+			size = 0;
+		}
+
+		/**
+		 * 件数を加算する。
+		 * 
+		 * @param aKey URL
+		 * @param aColumns 加算する列のビットマスク
+		 * @return 最下位の列の加算後の件数
+		 */
+		public int countup(final String aKey, final int aColumns) {
+			int hash = hash(aKey);
+			int mask = slots.length - 1;
+			int slot = hash & mask;
+			int index;
+			while (true) {
+				index = slots[slot] - 1;
+				if (-1 == index) {
+					index = add(aKey, hash, slot);
+					break;
+				}
+				if (hash == hashes[index] && aKey.equals(keys[index])) {
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+
+			int result = 0;
+			for (int column = counts.length - 1; column >= 0; column--) {
+				if (0 != (aColumns & (1 << column))) {
+					int count = ++counts[column][index];
+					if (1 == count) {
+						sizes[column]++;
+					}
+					result = count;
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * 件数を取得する。
+		 * 
+		 * @param aKey URL
+		 * @param aColumn 列
+		 * @return 件数
+		 */
+		public int getCount(final String aKey, final int aColumn) {
+			int index = indexOf(aKey);
+			return (-1 == index) ? 0 : counts[aColumn][index];
+		}
+
+		/**
+		 * 列のURL数を取得する。
+		 * 
+		 * @param aColumn 列
+		 * @return URL数
+		 */
+		public int size(final int aColumn) {
+			return sizes[aColumn];
+		}
+
+		/**
+		 * 列のURLを出現順に列挙する。
+		 * 
+		 * @param aColumn 列
+		 * @return イテレータ
+		 */
+		public Iterator<String> iterator(final int aColumn) {
+			return new Iterator<String>() {
+				/** 次の位置 */
+				private int next = seek(0);
+
+				@Override
+				public boolean hasNext() {
+					return next < size;
+				}
+
+				@Override
+				public String next() {
+					if (size <= next) {
+						throw new NoSuchElementException();
+					}
+					String key = keys[next];
+					next = seek(next + 1);
+					return key;
+				}
+
+				@Override
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+
+				/**
+				 * 件数が１以上の位置を探す。
+				 * 
+				 * @param aIndex 開始位置
+				 * @return 位置
+				 */
+				private int seek(final int aIndex) {
+					int index = aIndex;
+					while (index < size && 0 == counts[aColumn][index]) {
+						index++;
+					}
+					return index;
+				}
+			};
+		}
+
+		/**
+		 * URLの位置を取得する。
+		 * 
+		 * @param aKey URL
+		 * @return 位置。存在しない場合、<code>-1</code>
+		 */
+		private int indexOf(final String aKey) {
+			if (null == aKey) {
+				return -1;
+			}
+			int hash = hash(aKey);
+			int mask = slots.length - 1;
+			int slot = hash & mask;
+			while (true) {
+				int index = slots[slot] - 1;
+				if (-1 == index) {
+					return -1;
+				}
+				if (hash == hashes[index] && aKey.equals(keys[index])) {
+					return index;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+
+		/**
+		 * URLを追加する。
+		 * 
+		 * @param aKey URL
+		 * @param aHash ハッシュ値
+		 * @param aSlot 空きスロット
+		 * @return 位置
+		 */
+		private int add(final String aKey, final int aHash, final int aSlot) {
+			if (size == keys.length) {
+				grow();
+				return add(aKey, aHash, findSlot(aHash));
 			}
-			return count;
+			int index = size++;
+			keys[index] = aKey;
+			hashes[index] = aHash;
+			slots[aSlot] = index + 1;
+			return index;
+		}
+
+		/**
+		 * 容量を２倍にする。
+		 * <p>
+		 * スロット数は常にURL格納数の２倍とし、負荷率を0.5以下に保つ。
+		 * </p>
+		 */
+		private void grow() {
+			int capacity = keys.length * 2;
+			keys = Arrays.copyOf(keys, capacity);
+			hashes = Arrays.copyOf(hashes, capacity);
+			for (int column = 0; column < counts.length; column++) {
+				counts[column] = Arrays.copyOf(counts[column], capacity);
+			}
+			slots = new int[capacity * 2];
+			for (int index = 0; index < size; index++) {
+				slots[findSlot(hashes[index])] = index + 1;
+			}
+		}
+
+		/**
+		 * 空きスロットを探す。
+		 * 
+		 * @param aHash ハッシュ値
+		 * @return スロット
+		 */
+		private int findSlot(final int aHash) {
+			int mask = slots.length - 1;
+			int slot = aHash & mask;
+			while (0 != slots[slot]) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+
+		/**
+		 * ハッシュ値を計算する。
+		 * <p>
+		 * {@link String#hashCode()}はインスタンスにキャッシュされるため、上位ビットを拡散させるのみとする。
+		 * </p>
+		 * 
+		 * @param aKey URL
+		 * @return ハッシュ値
+		 */
+		private static int hash(final String aKey) {
+			int h = aKey.hashCode() * 0x9E3779B9;
+			return h ^ (h >>> 16);
 		}
 	}
 
@@ -623,57 +916,4 @@ public class SimpleHtmlParseEngine extends AbstractHtmlParseEngine {
 			super.handleText(data, pos);
 		}
 	}
-
-	/**
-	 * このクラスは、プレ解析をするためのコールバッククラスです。
-	 * 
-	 * @since 1.0.0
-	 * @version 1.0.0 2014/07/07
-	 * @author Kawakicchi
-	 */
-	private final class PreHtmlParserCallback extends ParserCallback {
-
-		/** 文字コード */
-		private String charset;
-
-		/**
-		 * コンストラクタ
-		 */
-		public PreHtmlParserCallback() {
-
-		}
-
-		/**
-		 * 文字コードを取得する。
-		 * 
-		 * @return 文字コード
-		 */
-		public String getCharset() {
-			return charset;
-		}
-
-		@Override
-		public void handleSimpleTag(Tag tag, MutableAttributeSet attr, int pos) {
-			if (tag.equals(HTML.Tag.META)) {
-				String httpEquiv = (String) attr.getAttribute(HTML.Attribute.HTTPEQUIV);
-				if (StringUtility.isNotEmpty(httpEquiv) && "content-type".equals(httpEquiv.toLowerCase())) {
-					String content = (String) attr.getAttribute(HTML.Attribute.CONTENT);
-					if (StringUtility.isNotEmpty(content)) {
-						int index = content.toLowerCase().indexOf("charset");
-						if (-1 != index) {
-							index = content.indexOf("=", index + 7);
-							if (-1 != index) {
-								charset = content.substring(index + 1).trim();
-							}
-						}
-					}
-				}
-				String str = (String) attr.getAttribute("charset");
-				if (StringUtility.isNotEmpty(str)) {
-					charset = str;
-				}
-			}
-			super.handleSimpleTag(tag, attr, pos);
-		}
-	}
 }
@@ -0,0 +1,828 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.parser.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.azkfw.crawler.content.CharsetDetector;
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.content.DirectContent;
+import org.azkfw.util.StringUtility;
+
+/**
+ * このクラスは、HTMLをバイト列のまま１パスで解析する解析エンジンです。
+ * <p>
+ * {@link SimpleHtmlParseEngine}と異なり、コンテンツの読み込みは１度だけで、文書全体の文字列を生成しません。
+ * 文字コードは先頭のバイト列を読み込んだ時点で{@link CharsetDetector}により判定し、属性値のみをデコードします。
+ * {@link DirectContent}の場合はストリームを開かずにバッファを直接解析します。
+ * 抽出したURLは{@link SimpleHtmlParseEngine}と同じく{@link #addAnchor(String, List)}などを経由して登録されます。
+ * </p>
+ * <p>
+ * 文書全体の文字列を生成しないため、{@link #doBefore(String)}・{@link #doAfter(String)}は呼び出されません。
+ * また、ISO-2022-JP・UTF-16などASCII互換でない文字コードの場合は{@link SimpleHtmlParseEngine}の解析処理を使用します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class StreamingHtmlParseEngine extends SimpleHtmlParseEngine {
+
+	/** 読み込みバッファサイズ */
+	private static final int BUFFER_SIZE = 8 * 1024;
+	/** 最大属性値長 */
+	private static final int MAX_VALUE_LENGTH = 64 * 1024;
+	/** 最大テキスト長(アンカー・タイトル) */
+	private static final int MAX_TEXT_LENGTH = 1024;
+
+	/** デフォルト文字コード */
+	private static final Charset DEFAULT_CHARSET = Charset.forName("UTF-8");
+
+	// 状態
+	private static final int TEXT = 0;
+	private static final int TAG_OPEN = 1;
+	private static final int END_TAG_OPEN = 2;
+	private static final int TAG_NAME = 3;
+	private static final int BEFORE_ATTR_NAME = 4;
+	private static final int ATTR_NAME = 5;
+	private static final int AFTER_ATTR_NAME = 6;
+	private static final int BEFORE_ATTR_VALUE = 7;
+	private static final int ATTR_VALUE_DQ = 8;
+	private static final int ATTR_VALUE_SQ = 9;
+	private static final int ATTR_VALUE_UQ = 10;
+	private static final int MARKUP_DECL = 11;
+	private static final int COMMENT = 12;
+	private static final int BOGUS = 13;
+	private static final int RAW_TEXT = 14;
+	private static final int RAW_TEXT_LT = 15;
+	private static final int RAW_TEXT_END = 16;
+
+	// タグ
+	private static final int TAG_OTHER = 0;
+	private static final int TAG_A = 1;
+	private static final int TAG_IMG = 2;
+	private static final int TAG_SCRIPT = 3;
+	private static final int TAG_LINK = 4;
+	private static final int TAG_BASE = 5;
+	private static final int TAG_META = 6;
+	private static final int TAG_TITLE = 7;
+	private static final int TAG_STYLE = 8;
+
+	/** タグ名 */
+	private static final byte[][] TAG_NAMES = toBytes(null, "a", "img", "script", "link", "base", "meta", "title", "style");
+
+	// 属性
+	private static final int ATTR_OTHER = 0;
+	private static final int ATTR_HREF = 1;
+	private static final int ATTR_SRC = 2;
+	private static final int ATTR_ALT = 3;
+	private static final int ATTR_NAME_ = 4;
+	private static final int ATTR_CONTENT = 5;
+
+	/** 属性名 */
+	private static final byte[][] ATTR_NAMES = toBytes(null, "href", "src", "alt", "name", "content");
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aUrl URL
+	 * @param aContent コンテンツ
+	 */
+	public StreamingHtmlParseEngine(final URL aUrl, final Content aContent) {
+		super(StreamingHtmlParseEngine.class, aUrl, aContent);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aUrl URL
+	 * @param aContent コンテンツ
+	 * @param aCharset 文字コード
+	 */
+	public StreamingHtmlParseEngine(final URL aUrl, final Content aContent, final Charset aCharset) {
+		super(StreamingHtmlParseEngine.class, aUrl, aContent, aCharset);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aName 名前
+	 * @param aUrl URL
+	 * @param aContent コンテンツ
+	 */
+	protected StreamingHtmlParseEngine(final String aName, final URL aUrl, final Content aContent) {
+		super(aName, aUrl, aContent);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aClass クラス
+	 * @param aUrl URL
+	 * @param aContent コンテンツ
+	 */
+	protected StreamingHtmlParseEngine(final Class<?> aClass, final URL aUrl, final Content aContent) {
+		super(aClass, aUrl, aContent);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aName 名前
+	 * @param aUrl URL
+	 * @param aContent コンテンツ
+	 * @param aCharset 文字コード
+	 */
+	protected StreamingHtmlParseEngine(final String aName, final URL aUrl, final Content aContent, final Charset aCharset) {
+		super(aName, aUrl, aContent, aCharset);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aClass クラス
+	 * @param aUrl URL
+	 * @param aContent コンテンツ
+	 * @param aCharset 文字コード
+	 */
+	protected StreamingHtmlParseEngine(final Class<?> aClass, final URL aUrl, final Content aContent, final Charset aCharset) {
+		super(aClass, aUrl, aContent, aCharset);
+	}
+
+	@Override
+	protected boolean doParseHtml(final Content aContent) {
+		if (aContent instanceof DirectContent) {
+			return doParseDirectContent((DirectContent) aContent);
+		}
+
+		InputStream stream = null;
+		try {
+			stream = aContent.getInputStream();
+
+			int prescanSize = CharsetDetector.getDefault().getPrescanSize();
+			byte[] buffer = new byte[Math.max(BUFFER_SIZE, prescanSize)];
+			int length = 0;
+			int size;
+			while (length < prescanSize && -1 != (size = stream.read(buffer, length, buffer.length - length))) {
+				length += size;
+			}
+
+			Charset charset = resolveCharset(buffer, length);
+			if (!isAsciiCompatible(charset)) {
+				release(stream);
+				stream = null;
+				setCharset(charset);
+				return super.doParseHtml(aContent);
+			}
+
+			int offset = CharsetDetector.getBomLength(buffer, length);
+			HtmlTokenizer tokenizer = new HtmlTokenizer(charset);
+			tokenizer.feed(buffer, offset, length - offset);
+			while (-1 != (size = stream.read(buffer, 0, buffer.length))) {
+				tokenizer.feed(buffer, 0, size);
+			}
+			tokenizer.finish();
+		} catch (IOException ex) {
+			fatal(ex);
+		} finally {
+			release(stream);
+		}
+		return true;
+	}
+
+	/**
+	 * バッファから直接HTMLを解析する。
+	 * 
+	 * @param aContent コンテンツ
+	 * @return 解析を行った場合、<code>true</code>を返す。
+	 */
+	private boolean doParseDirectContent(final DirectContent aContent) {
+		try {
+			ByteBuffer source = aContent.getByteBuffer();
+
+			byte[] buffer = new byte[Math.max(BUFFER_SIZE, CharsetDetector.getDefault().getPrescanSize())];
+			int length = Math.min(buffer.length, source.remaining());
+			source.duplicate().get(buffer, 0, length);
+
+			Charset charset = resolveCharset(buffer, length);
+			if (!isAsciiCompatible(charset)) {
+				setCharset(charset);
+				return super.doParseHtml(aContent);
+			}
+
+			source.position(source.position() + CharsetDetector.getBomLength(buffer, length));
+			HtmlTokenizer tokenizer = new HtmlTokenizer(charset);
+			while (source.hasRemaining()) {
+				int size = Math.min(buffer.length, source.remaining());
+				source.get(buffer, 0, size);
+				tokenizer.feed(buffer, 0, size);
+			}
+			tokenizer.finish();
+		} catch (IOException ex) {
+			fatal(ex);
+		}
+		return true;
+	}
+
+	/**
+	 * 文字コードを決定する。
+	 * 
+	 * @param aBuffer 先頭バイト列
+	 * @param aLength 長さ
+	 * @return 文字コード
+	 */
+	private Charset resolveCharset(final byte[] aBuffer, final int aLength) {
+		Charset charset = getCharset();
+		if (null == charset) {
+			charset = CharsetDetector.getDefault().detect(aBuffer, aLength, getContentType());
+			if (null == charset) {
+				charset = DEFAULT_CHARSET;
+			}
+		}
+		return charset;
+	}
+
+	/**
+	 * HTMLの構文文字がASCIIと同じバイトで表現される文字コードか判断する。
+	 * 
+	 * @param aCharset 文字コード
+	 * @return ASCII互換の場合、<code>true</code>
+	 */
+	private static boolean isAsciiCompatible(final Charset aCharset) {
+		String name = aCharset.name().toUpperCase(Locale.ENGLISH);
+		if (name.startsWith("ISO-2022") || name.startsWith("UTF-7") || !aCharset.canEncode()) {
+			return false;
+		}
+		String syntax = "<>/=\"' &#;!-";
+		byte[] bytes = syntax.getBytes(aCharset);
+		if (bytes.length != syntax.length()) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (bytes[i] != syntax.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isWhitespace(final byte b) {
+		return ' ' == b || '\t' == b || '\n' == b || '\r' == b || '\f' == b;
+	}
+
+	private static boolean isAlpha(final byte b) {
+		return ('a' <= b && 'z' >= b) || ('A' <= b && 'Z' >= b);
+	}
+
+	private static byte toLowerCase(final byte b) {
+		return ('A' <= b && 'Z' >= b) ? (byte) (b + 32) : b;
+	}
+
+	private static byte[][] toBytes(final String... aNames) {
+		byte[][] bytes = new byte[aNames.length][];
+		for (int i = 0; i < aNames.length; i++) {
+			if (null != aNames[i]) {
+				bytes[i] = aNames[i].getBytes(Charset.forName("US-ASCII"));
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * 名前に一致するインデックスを取得する。
+	 * 
+	 * @param aNames 名前一覧
+	 * @param aBuffer バッファ
+	 * @param aLength 長さ
+	 * @return インデックス。一致しない場合、0
+	 */
+	private static int lookup(final byte[][] aNames, final byte[] aBuffer, final int aLength) {
+		for (int i = 1; i < aNames.length; i++) {
+			byte[] name = aNames[i];
+			if (name.length == aLength) {
+				int j = 0;
+				while (j < aLength && name[j] == aBuffer[j]) {
+					j++;
+				}
+				if (j == aLength) {
+					return i;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * 文字参照を展開する。
+	 * 
+	 * @param aValue 文字列
+	 * @return 展開後の文字列
+	 */
+	private static String unescape(final String aValue) {
+		int index = aValue.indexOf('&');
+		if (-1 == index) {
+			return aValue;
+		}
+
+		StringBuilder s = new StringBuilder(aValue.length());
+		s.append(aValue, 0, index);
+		while (index < aValue.length()) {
+			char c = aValue.charAt(index);
+			int end;
+			if ('&' == c && -1 != (end = aValue.indexOf(';', index)) && end - index <= 10) {
+				String ref = aValue.substring(index + 1, end);
+				int ch = -1;
+				if ("amp".equals(ref)) {
+					ch = '&';
+				} else if ("lt".equals(ref)) {
+					ch = '<';
+				} else if ("gt".equals(ref)) {
+					ch = '>';
+				} else if ("quot".equals(ref)) {
+					ch = '"';
+				} else if ("apos".equals(ref)) {
+					ch = '\'';
+				} else if ("nbsp".equals(ref)) {
+					ch = 0xA0;
+				} else if (1 < ref.length() && '#' == ref.charAt(0)) {
+					try {
+						if ('x' == ref.charAt(1) || 'X' == ref.charAt(1)) {
+							ch = Integer.parseInt(ref.substring(2), 16);
+						} else {
+							ch = Integer.parseInt(ref.substring(1));
+						}
+						if (!Character.isValidCodePoint(ch)) {
+							ch = -1;
+						}
+					} catch (NumberFormatException ex) {
+						ch = -1;
+					}
+				}
+				if (-1 != ch) {
+					s.appendCodePoint(ch);
+					index = end + 1;
+					continue;
+				}
+			}
+			s.append(c);
+			index++;
+		}
+		return s.toString();
+	}
+
+	/**
+	 * このクラスは、バイト列を逐次解析するHTMLトークナイザです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private final class HtmlTokenizer {
+
+		/** 文字コード */
+		private final Charset charset;
+
+		/** 状態 */
+		private int state;
+
+		/** タグ名 */
+		private final byte[] name;
+		/** タグ名・属性名長 */
+		private int nameLength;
+		/** タグ */
+		private int tag;
+		/** 終了タグ */
+		private boolean endTag;
+		/** 属性 */
+		private int attr;
+		/** 属性値 */
+		private final String[] attrValues;
+
+		/** 属性値バッファ */
+		private byte[] value;
+		/** 属性値長 */
+		private int valueLength;
+		/** 属性値を保持する場合、<code>true</code> */
+		private boolean collect;
+
+		/** RAWTEXT要素(script・style) */
+		private int rawTag;
+		/** RAWTEXT要素の終了タグ一致数 */
+		private int rawMatch;
+		/** コメントのハイフン数 */
+		private int dashes;
+
+		/** テキストバッファ(アンカー・タイトル) */
+		private final byte[] text;
+		/** テキスト長 */
+		private int textLength;
+		/** アンカー内 */
+		private boolean anchor;
+		/** アンカーのhref */
+		private String anchorHref;
+		/** タイトル内 */
+		private boolean title;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aCharset 文字コード
+		 */
+		public HtmlTokenizer(final Charset aCharset) {
+			charset = aCharset;
+			state = TEXT;
+			name = new byte[16];
+			attrValues = new String[ATTR_NAMES.length];
+			value = new byte[256];
+			text = new byte[MAX_TEXT_LENGTH];
+		}
+
+		/**
+		 * バイト列を解析する。
+		 * 
+		 * @param aBuffer バッファ
+		 * @param aOffset 開始位置
+		 * @param aLength 長さ
+		 */
+		public void feed(final byte[] aBuffer, final int aOffset, final int aLength) {
+			int end = aOffset + aLength;
+			for (int i = aOffset; i < end; i++) {
+				byte c = aBuffer[i];
+				switch (state) {
+				case TEXT:
+					if ('<' == c) {
+						state = TAG_OPEN;
+					} else if (anchor || title) {
+						appendText(c);
+					}
+					break;
+				case TAG_OPEN:
+					if (isAlpha(c)) {
+						startTag(false, c);
+					} else if ('/' == c) {
+						state = END_TAG_OPEN;
+					} else if ('!' == c) {
+						dashes = 0;
+						state = MARKUP_DECL;
+					} else if ('?' == c) {
+						state = BOGUS;
+					} else {
+						// タグではない
+						if (anchor || title) {
+							appendText((byte) '<');
+						}
+						state = TEXT;
+						i--;
+					}
+					break;
+				case END_TAG_OPEN:
+					if (isAlpha(c)) {
+						startTag(true, c);
+					} else if ('>' == c) {
+						state = TEXT;
+					} else {
+						state = BOGUS;
+					}
+					break;
+				case TAG_NAME:
+					if (isWhitespace(c) || '/' == c) {
+						tag = lookup(TAG_NAMES, name, nameLength);
+						state = BEFORE_ATTR_NAME;
+					} else if ('>' == c) {
+						tag = lookup(TAG_NAMES, name, nameLength);
+						emitTag();
+					} else {
+						appendName(c);
+					}
+					break;
+				case BEFORE_ATTR_NAME:
+					if ('>' == c) {
+						emitTag();
+					} else if (!isWhitespace(c) && '/' != c) {
+						startAttr(c);
+					}
+					break;
+				case ATTR_NAME:
+					if (isWhitespace(c)) {
+						attr = lookup(ATTR_NAMES, name, nameLength);
+						state = AFTER_ATTR_NAME;
+					} else if ('/' == c) {
+						attr = lookup(ATTR_NAMES, name, nameLength);
+						state = BEFORE_ATTR_NAME;
+					} else if ('=' == c) {
+						attr = lookup(ATTR_NAMES, name, nameLength);
+						state = BEFORE_ATTR_VALUE;
+					} else if ('>' == c) {
+						emitTag();
+					} else {
+						appendName(c);
+					}
+					break;
+				case AFTER_ATTR_NAME:
+					if ('=' == c) {
+						state = BEFORE_ATTR_VALUE;
+					} else if ('>' == c) {
+						emitTag();
+					} else if ('/' == c) {
+						state = BEFORE_ATTR_NAME;
+					} else if (!isWhitespace(c)) {
+						startAttr(c);
+					}
+					break;
+				case BEFORE_ATTR_VALUE:
+					if ('"' == c) {
+						startValue();
+						state = ATTR_VALUE_DQ;
+					} else if ('\'' == c) {
+						startValue();
+						state = ATTR_VALUE_SQ;
+					} else if ('>' == c) {
+						emitTag();
+					} else if (!isWhitespace(c)) {
+						startValue();
+						appendValue(c);
+						state = ATTR_VALUE_UQ;
+					}
+					break;
+				case ATTR_VALUE_DQ:
+					if ('"' == c) {
+						endValue();
+						state = BEFORE_ATTR_NAME;
+					} else {
+						appendValue(c);
+					}
+					break;
+				case ATTR_VALUE_SQ:
+					if ('\'' == c) {
+						endValue();
+						state = BEFORE_ATTR_NAME;
+					} else {
+						appendValue(c);
+					}
+					break;
+				case ATTR_VALUE_UQ:
+					if (isWhitespace(c)) {
+						endValue();
+						state = BEFORE_ATTR_NAME;
+					} else if ('>' == c) {
+						endValue();
+						emitTag();
+					} else {
+						appendValue(c);
+					}
+					break;
+				case MARKUP_DECL:
+					if ('-' == c) {
+						dashes++;
+						if (2 == dashes) {
+							dashes = 0;
+							state = COMMENT;
+						}
+					} else if ('>' == c) {
+						state = TEXT;
+					} else {
+						state = BOGUS;
+					}
+					break;
+				case COMMENT:
+					if ('-' == c) {
+						dashes++;
+					} else if ('>' == c && 2 <= dashes) {
+						state = TEXT;
+					} else {
+						dashes = 0;
+					}
+					break;
+				case BOGUS:
+					if ('>' == c) {
+						state = TEXT;
+					}
+					break;
+				case RAW_TEXT:
+					if ('<' == c) {
+						state = RAW_TEXT_LT;
+					}
+					break;
+				case RAW_TEXT_LT:
+					if ('/' == c) {
+						rawMatch = 0;
+						state = RAW_TEXT_END;
+					} else if ('<' != c) {
+						state = RAW_TEXT;
+					}
+					break;
+				case RAW_TEXT_END:
+					byte[] rawName = TAG_NAMES[rawTag];
+					if (rawName[rawMatch] == toLowerCase(c)) {
+						rawMatch++;
+						if (rawName.length == rawMatch) {
+							System.arraycopy(rawName, 0, name, 0, rawName.length);
+							nameLength = rawName.length;
+							endTag = true;
+							state = TAG_NAME;
+						}
+					} else {
+						state = RAW_TEXT;
+						i--;
+					}
+					break;
+				default:
+					break;
+				}
+			}
+		}
+
+		/**
+		 * 解析を終了する。
+		 */
+		public void finish() {
+			if (anchor) {
+				anchor = false;
+				addAnchor(anchorHref, getTexts());
+			}
+		}
+
+		private void startTag(final boolean aEndTag, final byte c) {
+			endTag = aEndTag;
+			tag = TAG_OTHER;
+			nameLength = 0;
+			appendName(c);
+			state = TAG_NAME;
+		}
+
+		private void startAttr(final byte c) {
+			attr = ATTR_OTHER;
+			nameLength = 0;
+			appendName(c);
+			state = ATTR_NAME;
+		}
+
+		private void appendName(final byte c) {
+			if (nameLength < name.length) {
+				name[nameLength] = toLowerCase(c);
+			}
+			// 長すぎる名前はどの名前にも一致させない
+			nameLength++;
+		}
+
+		private void startValue() {
+			valueLength = 0;
+			collect = (TAG_OTHER != tag && ATTR_OTHER != attr && !endTag && null == attrValues[attr]);
+		}
+
+		private void appendValue(final byte c) {
+			if (collect) {
+				if (valueLength == value.length) {
+					if (MAX_VALUE_LENGTH <= valueLength) {
+						// data URIなど長すぎる属性値は破棄する
+						collect = false;
+						return;
+					}
+					value = Arrays.copyOf(value, Math.min(MAX_VALUE_LENGTH, valueLength * 2));
+				}
+				value[valueLength++] = c;
+			}
+		}
+
+		private void endValue() {
+			if (collect) {
+				attrValues[attr] = unescape(new String(value, 0, valueLength, charset).trim());
+				collect = false;
+			}
+		}
+
+		private void appendText(final byte c) {
+			if (textLength < text.length) {
+				text[textLength++] = c;
+			}
+		}
+
+		private List<String> getTexts() {
+			List<String> texts = new ArrayList<String>();
+			String s = unescape(new String(text, 0, textLength, charset).trim());
+			if (StringUtility.isNotEmpty(s)) {
+				texts.add(s);
+			}
+			return texts;
+		}
+
+		/**
+		 * タグを通知する。
+		 */
+		private void emitTag() {
+			if (TAG_OTHER != rawTag) {
+				if (endTag && tag == rawTag) {
+					rawTag = TAG_OTHER;
+					state = TEXT;
+				} else {
+					state = RAW_TEXT;
+				}
+				return;
+			}
+			state = TEXT;
+
+			if (endTag) {
+				if (TAG_A == tag && anchor) {
+					anchor = false;
+					addAnchor(anchorHref, getTexts());
+				} else if (TAG_TITLE == tag && title) {
+					title = false;
+					List<String> texts = getTexts();
+					if (!texts.isEmpty()) {
+						setTitle(texts.get(0));
+					}
+				}
+				return;
+			}
+
+			switch (tag) {
+			case TAG_A:
+				if (anchor) {
+					// 入れ子のアンカーは、直前のアンカーを閉じてから開始する
+					addAnchor(anchorHref, getTexts());
+				}
+				anchor = true;
+				anchorHref = attrValues[ATTR_HREF];
+				textLength = 0;
+				break;
+			case TAG_IMG:
+				if (StringUtility.isNotEmpty(attrValues[ATTR_SRC])) {
+					addImage(attrValues[ATTR_SRC], attrValues[ATTR_ALT]);
+				}
+				break;
+			case TAG_LINK:
+				addLink(attrValues[ATTR_HREF]);
+				break;
+			case TAG_BASE:
+				if (StringUtility.isNotEmpty(attrValues[ATTR_HREF])) {
+					setBase(attrValues[ATTR_HREF]);
+				}
+				break;
+			case TAG_META:
+				emitMeta(attrValues[ATTR_NAME_], attrValues[ATTR_CONTENT]);
+				break;
+			case TAG_SCRIPT:
+				// インラインスクリプトの本文は通知しない
+				addScript(attrValues[ATTR_SRC], null);
+				rawTag = TAG_SCRIPT;
+				state = RAW_TEXT;
+				break;
+			case TAG_STYLE:
+				rawTag = TAG_STYLE;
+				state = RAW_TEXT;
+				break;
+			case TAG_TITLE:
+				if (!title) {
+					title = true;
+					textLength = 0;
+				}
+				break;
+			default:
+				break;
+			}
+
+			if (TAG_OTHER != tag) {
+				Arrays.fill(attrValues, null);
+			}
+		}
+
+		private void emitMeta(final String aName, final String aContent) {
+			if (StringUtility.isEmpty(aName) || StringUtility.isEmpty(aContent)) {
+				return;
+			}
+			String name = aName.toLowerCase(Locale.ENGLISH);
+			if ("description".equals(name)) {
+				setDescription(aContent);
+			} else if ("keywords".equals(name)) {
+				List<String> keywords = new ArrayList<String>();
+				for (String s : aContent.split(",")) {
+					keywords.add(s);
+				}
+				setKeywords(keywords);
+			}
+		}
+	}
+}
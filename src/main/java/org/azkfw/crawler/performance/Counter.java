@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * このクラスは、単調増加する値を計数するカウンターです。
+ * <p>
+ * このクラスはスレッドセーフです。加算はアトミックに行い、ロックを使用しません。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class Counter {
+
+	/** 値 */
+	private final AtomicLong value;
+
+	/**
+	 * コンストラクタ
+	 */
+	public Counter() {
+		value = new AtomicLong();
+	}
+
+	/**
+	 * 値を１加算する。
+	 */
+	public void increment() {
+		value.incrementAndGet();
+	}
+
+	/**
+	 * 値を加算する。
+	 * 
+	 * @param aValue 加算値(負の値は無視する)
+	 */
+	public void add(final long aValue) {
+		if (0 < aValue) {
+			value.addAndGet(aValue);
+		}
+	}
+
+	/**
+	 * 値を取得する。
+	 * 
+	 * @return 値
+	 */
+	public long get() {
+		return value.get();
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+/**
+ * このインターフェースは、取得時点の値を返すゲージを定義したインターフェースです。
+ * <p>
+ * 値はメトリクスの出力時に取得します。キューのサイズやスレッドの状態など、既存のオブジェクトから値を参照する場合に使用します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public interface Gauge {
+
+	/**
+	 * 値を取得する。
+	 * <p>
+	 * 出力スレッドから呼び出されるため、ブロッキング処理を行わないでください。
+	 * </p>
+	 * 
+	 * @return 値
+	 */
+	public long getValue();
+}
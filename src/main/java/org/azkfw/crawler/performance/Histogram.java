@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * このクラスは、値の分布を固定メモリで集計するヒストグラムです。
+ * <p>
+ * HDR Histogramと同様に、{@value #SUB_BUCKET_COUNT}未満の値は１毎に、それ以上の値は２のべき乗毎の区間を{@value #SUB_BUCKET_HALF}個の小区間で等分して計数します。
+ * パーセンタイル値は小区間の上限値で代表させるため、値の大きさに関わらず相対誤差は最大で1/{@value #SUB_BUCKET_HALF}(約6%)となります。
+ * 記録は配列要素のアトミックな加算のみで行います。
+ * </p>
+ * <p>
+ * このクラスはスレッドセーフです。記録と読み取りは並行して行えますが、読み取り結果は記録中の値を含まない場合があります。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class Histogram {
+
+	/** 小区間のビット数 */
+	private static final int SUB_BUCKET_BITS = 5;
+	/** 小区間数 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	/** 小区間数の半分 */
+	private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+	/** 区間数 */
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+	/** 区間毎の件数 */
+	private final AtomicLongArray counts;
+	/** 件数 */
+	private final AtomicLong count;
+	/** 合計 */
+	private final AtomicLong sum;
+	/** 最小値 */
+	private final AtomicLong min;
+	/** 最大値 */
+	private final AtomicLong max;
+
+	/**
+	 * コンストラクタ
+	 */
+	public Histogram() {
+		counts = new AtomicLongArray(BUCKET_COUNT);
+		count = new AtomicLong();
+		sum = new AtomicLong();
+		min = new AtomicLong(Long.MAX_VALUE);
+		max = new AtomicLong(Long.MIN_VALUE);
+	}
+
+	/**
+	 * 値を記録する。
+	 * 
+	 * @param aValue 値(負の値は0として扱う)
+	 */
+	public void record(final long aValue) {
+		long value = Math.max(0, aValue);
+		counts.incrementAndGet(indexOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+
+		long current = min.get();
+		while (value < current && !min.compareAndSet(current, value)) {
+			current = min.get();
+		}
+		current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/**
+	 * 件数を取得する。
+	 * 
+	 * @return 件数
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * 合計を取得する。
+	 * 
+	 * @return 合計
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+
+	/**
+	 * 最小値を取得する。
+	 * 
+	 * @return 最小値。記録がない場合、<code>0</code>
+	 */
+	public long getMin() {
+		long value = min.get();
+		return (Long.MAX_VALUE == value) ? 0 : value;
+	}
+
+	/**
+	 * 最大値を取得する。
+	 * 
+	 * @return 最大値。記録がない場合、<code>0</code>
+	 */
+	public long getMax() {
+		long value = max.get();
+		return (Long.MIN_VALUE == value) ? 0 : value;
+	}
+
+	/**
+	 * 平均値を取得する。
+	 * 
+	 * @return 平均値。記録がない場合、<code>0</code>
+	 */
+	public double getMean() {
+		long total = count.get();
+		return (0 == total) ? 0 : (double) sum.get() / total;
+	}
+
+	/**
+	 * パーセンタイル値を取得する。
+	 * <p>
+	 * 該当する区間の上限値を返します。ただし、最大値を超えることはありません。
+	 * </p>
+	 * 
+	 * @param aPercentile パーセンタイル(0-100)
+	 * @return パーセンタイル値。記録がない場合、<code>0</code>
+	 */
+	public long getPercentile(final double aPercentile) {
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			total += counts.get(i);
+		}
+		if (0 == total) {
+			return 0;
+		}
+		double percentile = Math.min(100.0, Math.max(0.0, aPercentile));
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+
+		long accumulated = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			accumulated += counts.get(i);
+			if (accumulated >= rank) {
+				return Math.max(getMin(), Math.min(getMax(), highestValueOf(i)));
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * 値が属する区間の番号を取得する。
+	 * 
+	 * @param aValue 値(0以上)
+	 * @return 区間番号
+	 */
+	static int indexOf(final long aValue) {
+		if (aValue < SUB_BUCKET_COUNT) {
+			return (int) aValue;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(aValue);
+		int shift = exponent - SUB_BUCKET_BITS + 1;
+		return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) ((aValue >>> shift) - SUB_BUCKET_HALF);
+	}
+
+	/**
+	 * 区間の上限値を取得する。
+	 * 
+	 * @param aIndex 区間番号
+	 * @return 上限値
+	 */
+	static long highestValueOf(final int aIndex) {
+		if (aIndex < SUB_BUCKET_COUNT) {
+			return aIndex;
+		}
+		int offset = aIndex - SUB_BUCKET_COUNT;
+		int shift = offset / SUB_BUCKET_HALF + 1;
+		long lowest = (long) (offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
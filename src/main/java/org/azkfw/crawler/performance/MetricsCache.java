@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * このクラスは、ラベル値毎にメトリクスのハンドルを保持するキャッシュクラスです。
+ * <p>
+ * {@link MetricsRegistry}から取得する度にラベル配列の生成とラベル文字列の組み立てが発生するため、
+ * ダウンロード毎・解析毎に記録する箇所ではホスト名などのラベル値をキーに取得済みのハンドルを再利用してください。
+ * </p>
+ * <p>
+ * {@link MetricsRegistry#destroy()}でメトリクスが破棄された場合は、保持しているハンドルを破棄して取得し直します。
+ * 保持するキーの数は{@link MetricsRegistry#MAX_SERIES}までとし、超過分は毎回{@link #create(MetricsRegistry, Object)}で取得します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ * @param <K> キー
+ * @param <T> ハンドル
+ */
+public abstract class MetricsCache<K, T> {
+
+	/** キー毎のハンドル */
+	private final ConcurrentMap<K, T> handles;
+
+	/** ハンドルを取得した時点のレジストリの世代 */
+	private volatile int generation;
+
+	/**
+	 * コンストラクタ
+	 */
+	public MetricsCache() {
+		handles = new ConcurrentHashMap<K, T>();
+		generation = MetricsRegistry.getInstance().getGeneration();
+	}
+
+	/**
+	 * ハンドルを取得する。
+	 * <p>
+	 * 該当するハンドルを保持していない場合は生成する。
+	 * </p>
+	 * 
+	 * @param aKey キー
+	 * @return ハンドル
+	 */
+	public final T get(final K aKey) {
+		MetricsRegistry registry = MetricsRegistry.getInstance();
+		int current = registry.getGeneration();
+		if (current != generation) {
+			handles.clear();
+			generation = current;
+		}
+		T handle = handles.get(aKey);
+		if (null == handle) {
+			handle = create(registry, aKey);
+			if (MetricsRegistry.MAX_SERIES > handles.size()) {
+				T registered = handles.putIfAbsent(aKey, handle);
+				if (null != registered) {
+					handle = registered;
+				}
+			}
+		}
+		return handle;
+	}
+
+	/**
+	 * ハンドルを生成する。
+	 * 
+	 * @param aRegistry レジストリ
+	 * @param aKey キー
+	 * @return ハンドル
+	 */
+	protected abstract T create(final MetricsRegistry aRegistry, final K aKey);
+
+}
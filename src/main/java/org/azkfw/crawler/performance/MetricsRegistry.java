@@ -0,0 +1,505 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、クローラのメトリクスを管理するクラスです。
+ * <p>
+ * カウンター・ゲージ・ヒストグラムをメトリクス名とラベルの組み合わせ毎に保持し、Prometheusのテキスト形式で出力します。
+ * 記録処理はアトミック変数の加算のみで行い、ロックを使用しません。
+ * </p>
+ * <p>
+ * ラベルは名前と値を交互に指定します。(例:<code>counter("crawler_download_total", "...", "host", host, "status", "200")</code>)
+ * ホスト名などの値の種類が際限なく増えないよう、メトリクス毎の系列数は{@value #MAX_SERIES}までとし、超過分は<code>overflow="true"</code>の系列へ集約します。
+ * </p>
+ * <p>
+ * 取得の度にラベル文字列を組み立てるため、頻繁に記録する箇所では{@link MetricsCache}で取得済みのハンドルを再利用してください。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class MetricsRegistry extends LoggingObject {
+
+	/** メトリクス毎の最大系列数 */
+	public static final int MAX_SERIES = 1000;
+
+	/** 超過系列のラベル */
+	private static final String OVERFLOW_LABELS = "overflow=\"true\"";
+
+	/** 集計するパーセンタイル */
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+	/** １秒のナノ秒数 */
+	private static final double NANOS_PER_SECOND = 1000000000.0;
+
+	/** インスタンス */
+	private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static MetricsRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	/** メトリクス一覧 */
+	private final ConcurrentMap<String, Family> families;
+
+	/** 世代(破棄する度に加算する) */
+	private final AtomicInteger generation;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private MetricsRegistry() {
+		super(MetricsRegistry.class);
+		families = new ConcurrentHashMap<String, Family>();
+		generation = new AtomicInteger();
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 * <p>
+	 * 登録されている全てのメトリクスを削除する。
+	 * </p>
+	 */
+	public void destroy() {
+		families.clear();
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * 世代を取得する。
+	 * <p>
+	 * {@link #destroy()}を呼び出す度に変わるため、保持しているハンドルが有効か判断するために使用します。
+	 * </p>
+	 * 
+	 * @return 世代
+	 */
+	int getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * カウンターを取得する。
+	 * <p>
+	 * 該当するカウンターが存在しない場合は生成する。
+	 * </p>
+	 * 
+	 * @param aName メトリクス名
+	 * @param aHelp 説明
+	 * @param aLabels ラベル(名前と値の組)
+	 * @return カウンター
+	 */
+	public Counter counter(final String aName, final String aHelp, final String... aLabels) {
+		Family family = getFamily(aName, aHelp, Type.counter);
+		Object metric = family.get(aLabels);
+		if (null == metric) {
+			metric = family.putIfAbsent(aLabels, new Counter());
+		}
+		return (Counter) metric;
+	}
+
+	/**
+	 * ヒストグラムを取得する。
+	 * <p>
+	 * 該当するヒストグラムが存在しない場合は生成する。
+	 * </p>
+	 * 
+	 * @param aName メトリクス名
+	 * @param aHelp 説明
+	 * @param aLabels ラベル(名前と値の組)
+	 * @return ヒストグラム
+	 */
+	public Histogram histogram(final String aName, final String aHelp, final String... aLabels) {
+		return histogram(getFamily(aName, aHelp, Type.histogram), aLabels);
+	}
+
+	/**
+	 * 処理時間のヒストグラムを取得する。
+	 * <p>
+	 * ナノ秒で記録し、秒に換算して出力します。該当するヒストグラムが存在しない場合は生成する。
+	 * </p>
+	 * 
+	 * @param aName メトリクス名(単位を<code>_seconds</code>とすること)
+	 * @param aHelp 説明
+	 * @param aLabels ラベル(名前と値の組)
+	 * @return ヒストグラム
+	 */
+	public Histogram timer(final String aName, final String aHelp, final String... aLabels) {
+		return histogram(getFamily(aName, aHelp, Type.timer), aLabels);
+	}
+
+	/**
+	 * ゲージを登録する。
+	 * <p>
+	 * 同じメトリクス名・ラベルのゲージが既に登録されている場合は置き換える。
+	 * </p>
+	 * 
+	 * @param aName メトリクス名
+	 * @param aHelp 説明
+	 * @param aGauge ゲージ
+	 * @param aLabels ラベル(名前と値の組)
+	 */
+	public void gauge(final String aName, final String aHelp, final Gauge aGauge, final String... aLabels) {
+		getFamily(aName, aHelp, Type.gauge).put(aLabels, aGauge);
+	}
+
+	/**
+	 * 累積値を返すゲージをカウンターとして登録する。
+	 * <p>
+	 * 既存のオブジェクトが保持する累積値を出力する場合に使用します。同じメトリクス名・ラベルのものが既に登録されている場合は置き換える。
+	 * </p>
+	 * 
+	 * @param aName メトリクス名
+	 * @param aHelp 説明
+	 * @param aGauge 累積値を返すゲージ
+	 * @param aLabels ラベル(名前と値の組)
+	 */
+	public void counterGauge(final String aName, final String aHelp, final Gauge aGauge, final String... aLabels) {
+		getFamily(aName, aHelp, Type.counter).put(aLabels, aGauge);
+	}
+
+	/**
+	 * メトリクスを削除する。
+	 * 
+	 * @param aName メトリクス名
+	 * @param aLabels ラベル(名前と値の組)
+	 */
+	public void remove(final String aName, final String... aLabels) {
+		Family family = families.get(aName);
+		if (null != family) {
+			family.remove(aLabels);
+		}
+	}
+
+	/**
+	 * 全てのメトリクスをPrometheusのテキスト形式(version 0.0.4)で出力する。
+	 * 
+	 * @param aBuilder 出力先
+	 */
+	public void write(final StringBuilder aBuilder) {
+		// 出力順を安定させるため、名前順に並べる
+		Map<String, Family> sorted = new TreeMap<String, Family>(families);
+		for (Family family : sorted.values()) {
+			if (family.series.isEmpty()) {
+				continue;
+			}
+			aBuilder.append("# HELP ").append(family.name).append(' ').append(escapeHelp(family.help)).append('\n');
+			aBuilder.append("# TYPE ").append(family.name).append(' ').append(family.type.getExposition()).append('\n');
+			Map<String, Object> series = new TreeMap<String, Object>(family.series);
+			for (Map.Entry<String, Object> entry : series.entrySet()) {
+				String labels = entry.getKey();
+				Object metric = entry.getValue();
+				if (metric instanceof Counter) {
+					writeSample(aBuilder, family.name, labels, null, Long.toString(((Counter) metric).get()));
+				} else if (metric instanceof Gauge) {
+					long value;
+					try {
+						value = ((Gauge) metric).getValue();
+					} catch (RuntimeException ex) {
+						warn(ex);
+						continue;
+					}
+					writeSample(aBuilder, family.name, labels, null, Long.toString(value));
+				} else if (metric instanceof Histogram) {
+					writeSummary(aBuilder, family, labels, (Histogram) metric);
+				}
+			}
+		}
+	}
+
+	/**
+	 * ヒストグラムをサマリー形式で出力する。
+	 * 
+	 * @param aBuilder 出力先
+	 * @param aFamily メトリクス
+	 * @param aLabels ラベル
+	 * @param aHistogram ヒストグラム
+	 */
+	private static void writeSummary(final StringBuilder aBuilder, final Family aFamily, final String aLabels, final Histogram aHistogram) {
+		long count = aHistogram.getCount();
+		for (double quantile : QUANTILES) {
+			String value = (0 == count) ? "NaN" : aFamily.format(aHistogram.getPercentile(quantile * 100.0));
+			writeSample(aBuilder, aFamily.name, aLabels, String.format("quantile=\"%s\"", Double.toString(quantile)), value);
+		}
+		writeSample(aBuilder, aFamily.name + "_sum", aLabels, null, aFamily.format(aHistogram.getSum()));
+		writeSample(aBuilder, aFamily.name + "_count", aLabels, null, Long.toString(count));
+	}
+
+	/**
+	 * サンプルを１行出力する。
+	 * 
+	 * @param aBuilder 出力先
+	 * @param aName メトリクス名
+	 * @param aLabels ラベル
+	 * @param aExtraLabel 追加ラベル(<code>null</code>可)
+	 * @param aValue 値
+	 */
+	private static void writeSample(final StringBuilder aBuilder, final String aName, final String aLabels, final String aExtraLabel,
+			final String aValue) {
+		aBuilder.append(aName);
+		if (0 < aLabels.length() || null != aExtraLabel) {
+			aBuilder.append('{').append(aLabels);
+			if (null != aExtraLabel) {
+				if (0 < aLabels.length()) {
+					aBuilder.append(',');
+				}
+				aBuilder.append(aExtraLabel);
+			}
+			aBuilder.append('}');
+		}
+		aBuilder.append(' ').append(aValue).append('\n');
+	}
+
+	/**
+	 * ヒストグラムを取得する。
+	 * 
+	 * @param aFamily メトリクス
+	 * @param aLabels ラベル(名前と値の組)
+	 * @return ヒストグラム
+	 */
+	private static Histogram histogram(final Family aFamily, final String... aLabels) {
+		Object metric = aFamily.get(aLabels);
+		if (null == metric) {
+			metric = aFamily.putIfAbsent(aLabels, new Histogram());
+		}
+		return (Histogram) metric;
+	}
+
+	/**
+	 * メトリクスを取得する。
+	 * <p>
+	 * 該当するメトリクスが存在しない場合は生成する。
+	 * </p>
+	 * 
+	 * @param aName メトリクス名
+	 * @param aHelp 説明
+	 * @param aType 種別
+	 * @return メトリクス
+	 * @throws IllegalArgumentException 同名のメトリクスが異なる種別で登録されている場合
+	 */
+	private Family getFamily(final String aName, final String aHelp, final Type aType) {
+		Family family = families.get(aName);
+		if (null == family) {
+			Family newFamily = new Family(aName, aHelp, aType);
+			family = families.putIfAbsent(aName, newFamily);
+			if (null == family) {
+				family = newFamily;
+			}
+		}
+		if (aType != family.type) {
+			throw new IllegalArgumentException(String.format("Metrics type mismatch.[name=%s, type=%s, registered=%s]", aName, aType,
+					family.type));
+		}
+		return family;
+	}
+
+	/**
+	 * ラベルをPrometheusのテキスト形式に変換する。
+	 * 
+	 * @param aLabels ラベル(名前と値の組)
+	 * @return ラベル文字列
+	 * @throws IllegalArgumentException ラベルの名前と値が組になっていない場合
+	 */
+	private static String toLabelString(final String... aLabels) {
+		if (0 != aLabels.length % 2) {
+			throw new IllegalArgumentException("Labels must be name/value pairs.");
+		}
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < aLabels.length; i += 2) {
+			if (0 < i) {
+				s.append(',');
+			}
+			s.append(aLabels[i]).append("=\"").append(escapeLabel(aLabels[i + 1])).append('"');
+		}
+		return s.toString();
+	}
+
+	/**
+	 * ラベル値をエスケープする。
+	 * 
+	 * @param aValue ラベル値
+	 * @return エスケープした値
+	 */
+	private static String escapeLabel(final String aValue) {
+		if (null == aValue) {
+			return "";
+		}
+		return aValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/**
+	 * 説明をエスケープする。
+	 * 
+	 * @param aHelp 説明
+	 * @return エスケープした説明
+	 */
+	private static String escapeHelp(final String aHelp) {
+		if (null == aHelp) {
+			return "";
+		}
+		return aHelp.replace("\\", "\\\\").replace("\n", "\\n");
+	}
+
+	/**
+	 * メトリクスの種別を定義した列挙型です。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static enum Type {
+		/** カウンター */
+		counter("counter"),
+		/** ゲージ */
+		gauge("gauge"),
+		/** ヒストグラム */
+		histogram("summary"),
+		/** 処理時間(ナノ秒で記録し、秒で出力) */
+		timer("summary");
+
+		/** 出力時の種別 */
+		private final String exposition;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aExposition 出力時の種別
+		 */
+		private Type(final String aExposition) {
+			exposition = aExposition;
+		}
+
+		/**
+		 * 出力時の種別を取得する。
+		 * 
+		 * @return 出力時の種別
+		 */
+		public String getExposition() {
+			return exposition;
+		}
+	}
+
+	/**
+	 * このクラスは、同名のメトリクスをラベル毎に保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Family {
+
+		/** メトリクス名 */
+		private final String name;
+		/** 説明 */
+		private final String help;
+		/** 種別 */
+		private final Type type;
+		/** ラベル毎のメトリクス */
+		private final ConcurrentMap<String, Object> series;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aName メトリクス名
+		 * @param aHelp 説明
+		 * @param aType 種別
+		 */
+		public Family(final String aName, final String aHelp, final Type aType) {
+			name = aName;
+			help = aHelp;
+			type = aType;
+			series = new ConcurrentHashMap<String, Object>();
+		}
+
+		/**
+		 * メトリクスを取得する。
+		 * 
+		 * @param aLabels ラベル(名前と値の組)
+		 * @return メトリクス。存在しない場合、<code>null</code>
+		 */
+		public Object get(final String... aLabels) {
+			return series.get(toLabelString(aLabels));
+		}
+
+		/**
+		 * メトリクスが存在しない場合に登録する。
+		 * <p>
+		 * 系列数が上限に達している場合は、超過系列へ集約する。
+		 * </p>
+		 * 
+		 * @param aLabels ラベル(名前と値の組)
+		 * @param aMetric メトリクス
+		 * @return 登録されているメトリクス
+		 */
+		public Object putIfAbsent(final String[] aLabels, final Object aMetric) {
+			String key = (MAX_SERIES <= series.size()) ? OVERFLOW_LABELS : toLabelString(aLabels);
+			Object metric = series.putIfAbsent(key, aMetric);
+			return (null != metric) ? metric : aMetric;
+		}
+
+		/**
+		 * メトリクスを登録する。
+		 * 
+		 * @param aLabels ラベル(名前と値の組)
+		 * @param aMetric メトリクス
+		 */
+		public void put(final String[] aLabels, final Object aMetric) {
+			series.put(toLabelString(aLabels), aMetric);
+		}
+
+		/**
+		 * メトリクスを削除する。
+		 * 
+		 * @param aLabels ラベル(名前と値の組)
+		 */
+		public void remove(final String... aLabels) {
+			series.remove(toLabelString(aLabels));
+		}
+
+		/**
+		 * 記録値を出力形式の数値文字列に変換する。
+		 * 
+		 * @param aValue 記録値
+		 * @return 数値文字列
+		 */
+		public String format(final long aValue) {
+			if (Type.timer == type) {
+				// 逆数を乗算すると 0.30000000000000004 のように丸め誤差が出力されるため、除算する
+				return Double.toString(aValue / NANOS_PER_SECOND);
+			}
+			return Long.toString(aValue);
+		}
+	}
+}
@@ -48,5 +48,8 @@ public class Performance extends LoggingObject {
 		s.append(name);
 		s.append(String.format(" [%.9f sec]", (double) (stop - start) * Math.pow(10.f, -9.f)));
 		info(s.toString());
+
+		MetricsRegistry.getInstance().timer("crawler_performance_seconds", "Elapsed time measured by Performance.", "name", name).record(
+				stop - start);
 	}
 }
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+/**
+ * このクラスは、トレースの区間を表すクラスです。
+ * <p>
+ * {@link Tracer#begin(String)}で取得し、区間の終了時に必ず{@link #end()}を呼び出してください。
+ * インスタンスはスレッド毎に再利用されるため、{@link #end()}の呼び出し後は参照を保持しないでください。
+ * </p>
+ * 
+ * <pre>
+ * Span span = Tracer.getInstance().begin(&quot;connect&quot;);
+ * try {
+ * 	// 計測対象の処理
+ * } finally {
+ * 	span.end();
+ * }
+ * </pre>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class Span {
+
+	/** 記録しない区間 */
+	static final Span NOOP = new Span(null, null, -1);
+
+	/** トレーサー */
+	private final Tracer tracer;
+	/** スレッドのトレース状態 */
+	private final Tracer.TraceContext context;
+	/** 階層 */
+	private final int level;
+
+	/** 名前 */
+	private String name;
+	/** 詳細 */
+	private String detail;
+	/** 開始時刻({@link System#nanoTime()}) */
+	private long startTime;
+	/** 記録フラグ */
+	private boolean recording;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aTracer トレーサー
+	 * @param aContext スレッドのトレース状態
+	 * @param aLevel 階層
+	 */
+	Span(final Tracer aTracer, final Tracer.TraceContext aContext, final int aLevel) {
+		tracer = aTracer;
+		context = aContext;
+		level = aLevel;
+	}
+
+	/**
+	 * 区間を開始する。
+	 * 
+	 * @param aName 名前
+	 * @param aDetail 詳細
+	 * @param aRecording 記録する場合、<code>true</code>
+	 * @return 区間
+	 */
+	Span open(final String aName, final String aDetail, final boolean aRecording) {
+		name = aName;
+		detail = aDetail;
+		recording = aRecording;
+		startTime = (aRecording) ? System.nanoTime() : 0;
+		return this;
+	}
+
+	/**
+	 * 区間を終了する。
+	 * <p>
+	 * 終了していない子区間がある場合は、それらも終了したものとして扱います。
+	 * </p>
+	 */
+	public void end() {
+		if (null == context) {
+			return;
+		}
+		context.depth = level;
+		if (recording) {
+			recording = false;
+			tracer.append(name, detail, startTime, System.nanoTime());
+		}
+		name = null;
+		detail = null;
+	}
+}
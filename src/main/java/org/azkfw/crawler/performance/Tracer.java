@@ -0,0 +1,400 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.performance;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.crawler.config.CrawlerConfig.CrawlerTracerConfig;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、処理区間のトレースを行うクラスです。
+ * <p>
+ * ダウンロード・解析処理内の区間(DNS解決・接続・受信・解析など)の所要時間を記録し、Chrome Trace Event形式のJSONで出力します。
+ * 出力したJSONは<code>chrome://tracing</code>またはPerfettoで表示できます。
+ * </p>
+ * <p>
+ * 無効時の{@link #begin(String)}は共有の空区間を返すのみで、オブジェクトを生成しません。
+ * 有効時は最上位の区間毎に{@link CrawlerTracerConfig#getSample()}件に１件をサンプリングし、子区間はその判定を引き継ぎます。
+ * 区間のオブジェクトはスレッド毎に階層単位で再利用し、記録した区間は固定長のリングバッファに保持します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class Tracer extends LoggingObject {
+
+	/** 最大階層数 */
+	private static final int MAX_DEPTH = 32;
+
+	/** インスタンス */
+	private static final Tracer INSTANCE = new Tracer();
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static Tracer getInstance() {
+		return INSTANCE;
+	}
+
+	/** 基準時刻({@link System#nanoTime()}) */
+	private final long epoch;
+	/** スレッド毎のトレース状態 */
+	private final ThreadLocal<TraceContext> contexts;
+	/** 最上位区間の連番 */
+	private final AtomicLong sequence;
+	/** スレッド名 */
+	private final ConcurrentMap<Long, String> threadNames;
+
+	/** 有効フラグ */
+	private volatile boolean enabled;
+	/** サンプリング間隔 */
+	private volatile int sample;
+
+	/** 区間名 */
+	private String[] names;
+	/** 区間の詳細 */
+	private String[] details;
+	/** スレッドID */
+	private long[] threadIds;
+	/** 開始時刻 */
+	private long[] startTimes;
+	/** 終了時刻 */
+	private long[] endTimes;
+	/** 次の書き込み位置 */
+	private int cursor;
+	/** 記録件数 */
+	private int size;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private Tracer() {
+		super(Tracer.class);
+		epoch = System.nanoTime();
+		contexts = new ThreadLocal<TraceContext>() {
+			@Override
+			protected TraceContext initialValue() {
+				return new TraceContext(Tracer.this);
+			}
+		};
+		sequence = new AtomicLong();
+		threadNames = new ConcurrentHashMap<Long, String>();
+		enabled = false;
+		sample = 1;
+		allocate(0);
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * 
+	 * @param aConfig トレース設定。<code>null</code>の場合はトレースを無効にする。
+	 */
+	public synchronized void initialize(final CrawlerTracerConfig aConfig) {
+		destroy();
+		if (null != aConfig && aConfig.isEnabled()) {
+			sample = Math.max(1, aConfig.getSample());
+			allocate(Math.max(1, aConfig.getCapacity()));
+			enabled = true;
+			info(String.format("Tracer enabled.[sample=1/%d, capacity=%d]", sample, names.length));
+		}
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 * <p>
+	 * トレースを無効にし、記録した区間を破棄する。
+	 * </p>
+	 */
+	public synchronized void destroy() {
+		enabled = false;
+		allocate(0);
+		threadNames.clear();
+	}
+
+	/**
+	 * トレースが有効か判断する。
+	 * 
+	 * @return 有効な場合、<code>true</code>
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 区間を開始する。
+	 * 
+	 * @param aName 名前
+	 * @return 区間
+	 */
+	public Span begin(final String aName) {
+		return begin(aName, null);
+	}
+
+	/**
+	 * 区間を開始する。
+	 * 
+	 * @param aName 名前
+	 * @param aDetail 詳細(URLなど。<code>null</code>可)
+	 * @return 区間
+	 */
+	public Span begin(final String aName, final String aDetail) {
+		if (!enabled) {
+			return Span.NOOP;
+		}
+		TraceContext context = contexts.get();
+		if (0 == context.depth) {
+			context.sampled = (0 == sequence.getAndIncrement() % sample);
+		}
+		if (MAX_DEPTH <= context.depth) {
+			return Span.NOOP;
+		}
+		return context.next().open(aName, aDetail, context.sampled);
+	}
+
+	/**
+	 * 開始・終了時刻が確定している区間を記録する。
+	 * <p>
+	 * 非同期処理など、開始と終了が異なるスレッドで行われる区間に使用します。最上位の区間としてサンプリングを行います。
+	 * </p>
+	 * 
+	 * @param aName 名前
+	 * @param aDetail 詳細(<code>null</code>可)
+	 * @param aStartTime 開始時刻({@link System#nanoTime()})
+	 * @param aEndTime 終了時刻({@link System#nanoTime()})
+	 */
+	public void record(final String aName, final String aDetail, final long aStartTime, final long aEndTime) {
+		if (!enabled || 0 != sequence.getAndIncrement() % sample) {
+			return;
+		}
+		append(aName, aDetail, aStartTime, aEndTime);
+	}
+
+	/**
+	 * 記録した区間を破棄する。
+	 */
+	public synchronized void clear() {
+		cursor = 0;
+		size = 0;
+	}
+
+	/**
+	 * 記録した区間をChrome Trace Event形式のJSONで出力する。
+	 * 
+	 * @param aBuilder 出力先
+	 */
+	public void write(final StringBuilder aBuilder) {
+		String[] n;
+		String[] d;
+		long[] t;
+		long[] s;
+		long[] e;
+		synchronized (this) {
+			n = new String[size];
+			d = new String[size];
+			t = new long[size];
+			s = new long[size];
+			e = new long[size];
+			int start = (cursor - size + names.length) % Math.max(1, names.length);
+			for (int i = 0; i < size; i++) {
+				int index = (start + i) % names.length;
+				n[i] = names[index];
+				d[i] = details[index];
+				t[i] = threadIds[index];
+				s[i] = startTimes[index];
+				e[i] = endTimes[index];
+			}
+		}
+
+		aBuilder.append("{\"traceEvents\":[");
+		boolean first = true;
+		Map<Long, String> threads = new TreeMap<Long, String>(threadNames);
+		for (Map.Entry<Long, String> entry : threads.entrySet()) {
+			if (!first) {
+				aBuilder.append(',');
+			}
+			first = false;
+			aBuilder.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(entry.getKey());
+			aBuilder.append(",\"args\":{\"name\":");
+			appendString(aBuilder, entry.getValue());
+			aBuilder.append("}}");
+		}
+		for (int i = 0; i < n.length; i++) {
+			if (!first) {
+				aBuilder.append(',');
+			}
+			first = false;
+			aBuilder.append("\n{\"name\":");
+			appendString(aBuilder, n[i]);
+			aBuilder.append(",\"cat\":\"crawler\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(t[i]);
+			aBuilder.append(",\"ts\":");
+			appendMicros(aBuilder, s[i] - epoch);
+			aBuilder.append(",\"dur\":");
+			appendMicros(aBuilder, e[i] - s[i]);
+			if (null != d[i]) {
+				aBuilder.append(",\"args\":{\"detail\":");
+				appendString(aBuilder, d[i]);
+				aBuilder.append('}');
+			}
+			aBuilder.append('}');
+		}
+		aBuilder.append("\n],\"displayTimeUnit\":\"ms\"}");
+	}
+
+	/**
+	 * 区間を記録する。
+	 * 
+	 * @param aName 名前
+	 * @param aDetail 詳細
+	 * @param aStartTime 開始時刻({@link System#nanoTime()})
+	 * @param aEndTime 終了時刻({@link System#nanoTime()})
+	 */
+	void append(final String aName, final String aDetail, final long aStartTime, final long aEndTime) {
+		Thread thread = Thread.currentThread();
+		Long threadId = Long.valueOf(thread.getId());
+		if (!threadNames.containsKey(threadId)) {
+			threadNames.putIfAbsent(threadId, thread.getName());
+		}
+		synchronized (this) {
+			if (0 == names.length) {
+				return;
+			}
+			names[cursor] = aName;
+			details[cursor] = aDetail;
+			threadIds[cursor] = threadId.longValue();
+			startTimes[cursor] = aStartTime;
+			endTimes[cursor] = aEndTime;
+			cursor = (cursor + 1) % names.length;
+			if (size < names.length) {
+				size++;
+			}
+		}
+	}
+
+	/**
+	 * リングバッファを確保する。
+	 * 
+	 * @param aCapacity 容量
+	 */
+	private synchronized void allocate(final int aCapacity) {
+		names = new String[aCapacity];
+		details = new String[aCapacity];
+		threadIds = new long[aCapacity];
+		startTimes = new long[aCapacity];
+		endTimes = new long[aCapacity];
+		cursor = 0;
+		size = 0;
+	}
+
+	/**
+	 * ナノ秒をマイクロ秒(小数３桁)で出力する。
+	 * 
+	 * @param aBuilder 出力先
+	 * @param aNanos ナノ秒
+	 */
+	private static void appendMicros(final StringBuilder aBuilder, final long aNanos) {
+		long nanos = Math.max(0, aNanos);
+		aBuilder.append(nanos / 1000).append('.');
+		long fraction = nanos % 1000;
+		if (fraction < 100) {
+			aBuilder.append('0');
+		}
+		if (fraction < 10) {
+			aBuilder.append('0');
+		}
+		aBuilder.append(fraction);
+	}
+
+	/**
+	 * JSON文字列を出力する。
+	 * 
+	 * @param aBuilder 出力先
+	 * @param aValue 文字列
+	 */
+	private static void appendString(final StringBuilder aBuilder, final String aValue) {
+		aBuilder.append('"');
+		String value = (null != aValue) ? aValue : "";
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if ('"' == c || '\\' == c) {
+				aBuilder.append('\\').append(c);
+			} else if (c < 0x20) {
+				aBuilder.append(String.format("\\u%04x", (int) c));
+			} else {
+				aBuilder.append(c);
+			}
+		}
+		aBuilder.append('"');
+	}
+
+	/**
+	 * このクラスは、スレッド毎のトレース状態を保持するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	static final class TraceContext {
+
+		/** トレーサー */
+		private final Tracer tracer;
+		/** 階層毎の区間 */
+		private final Span[] spans;
+		/** 現在の階層 */
+		int depth;
+		/** サンプリング対象フラグ */
+		boolean sampled;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aTracer トレーサー
+		 */
+		TraceContext(final Tracer aTracer) {
+			tracer = aTracer;
+			spans = new Span[MAX_DEPTH];
+			depth = 0;
+			sampled = false;
+		}
+
+		/**
+		 * 次の階層の区間を取得する。
+		 * 
+		 * @return 区間
+		 */
+		Span next() {
+			Span span = spans[depth];
+			if (null == span) {
+				span = new Span(tracer, this, depth);
+				spans[depth] = span;
+			}
+			depth++;
+			return span;
+		}
+	}
+}
@@ -0,0 +1,363 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.robots;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.azkfw.crawler.config.CrawlerConfig.CrawlerRobotsConfig;
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.downloader.HttpClientManager;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、ホスト毎のrobots.txtを取得・キャッシュするクラスです。
+ * <p>
+ * robots.txtはホスト(スキーム・ホスト・ポート)毎に１度だけ取得し、コンパイルしたルールを有効期間の間キャッシュします。
+ * 同じホストへの同時要求は、最初の取得結果を待ち合わせます。キャッシュは最大ホスト数を超えた場合、最も古く参照されたホストから破棄します。
+ * </p>
+ * <ul>
+ * <li>2xx : robots.txtのルールに従う</li>
+ * <li>4xx : 全て許可</li>
+ * <li>5xx・通信エラー : 全て禁止(取得失敗時の有効期間経過後に再取得)</li>
+ * </ul>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class RobotsManager extends LoggingObject {
+
+	/** インスタンス */
+	private static final RobotsManager INSTANCE = new RobotsManager();
+
+	/** robots.txtの最大読み込みサイズ */
+	private static final int MAX_LENGTH = 512 * 1024;
+
+	/** 文字コード */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static RobotsManager getInstance() {
+		return INSTANCE;
+	}
+
+	/** robots.txt設定 */
+	private CrawlerRobotsConfig config;
+	/** パーサー */
+	private RobotsParser parser;
+	/** キャッシュ */
+	private Map<String, CacheEntry> cache;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private RobotsManager() {
+		super(RobotsManager.class);
+		initialize(null);
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * 
+	 * @param aConfig robots.txt設定。<code>null</code>の場合はデフォルト設定を使用する。
+	 */
+	public synchronized void initialize(final CrawlerRobotsConfig aConfig) {
+		if (null != aConfig) {
+			config = aConfig;
+		} else {
+			config = new CrawlerRobotsConfig();
+		}
+		parser = new RobotsParser(config.getUseragent());
+
+		final int maxHosts = Math.max(1, config.getMaxhosts());
+		cache = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+			/** serialVersionUID */
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, CacheEntry> eldest) {
+				return size() > maxHosts;
+			}
+		};
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 */
+	public synchronized void destroy() {
+		cache.clear();
+	}
+
+	/**
+	 * URLへのアクセスがrobots.txtで許可されているか判断する。
+	 * <p>
+	 * robots.txtがキャッシュされていない場合、取得します。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @return 許可されている場合、<code>true</code>
+	 */
+	public boolean isAllowed(final URL aUrl) {
+		if (!config.isEnable() || !isSupported(aUrl)) {
+			return true;
+		}
+		String path = aUrl.getFile();
+		return getRules(aUrl).isAllowed(path);
+	}
+
+	/**
+	 * URLのホストに適用するルールを取得する。
+	 * <p>
+	 * robots.txtがキャッシュされていない場合、取得します。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @return ルール
+	 */
+	public RobotsRules getRules(final URL aUrl) {
+		if (!config.isEnable() || !isSupported(aUrl)) {
+			return RobotsRules.ALLOW_ALL;
+		}
+
+		final String key = getKey(aUrl);
+		CacheEntry entry;
+		boolean owner = false;
+		synchronized (this) {
+			entry = cache.get(key);
+			if (null == entry || entry.isExpired(System.currentTimeMillis())) {
+				entry = new CacheEntry(new FutureTask<RobotsRules>(new Callable<RobotsRules>() {
+					@Override
+					public RobotsRules call() throws Exception {
+						return fetch(key);
+					}
+				}));
+				cache.put(key, entry);
+				owner = true;
+			}
+		}
+		if (owner) {
+			entry.task.run();
+		}
+
+		try {
+			return entry.task.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return RobotsRules.DISALLOW_ALL;
+		} catch (ExecutionException ex) {
+			warn(ex.getCause());
+			return RobotsRules.DISALLOW_ALL;
+		}
+	}
+
+	/**
+	 * キャッシュされているCrawl-delayを取得する。
+	 * <p>
+	 * robots.txtの取得は行いません。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @return アクセス間隔(ミリ秒)。キャッシュされていない・指定されていない場合、-1
+	 */
+	public long getCrawlDelay(final URL aUrl) {
+		if (!config.isEnable() || !isSupported(aUrl)) {
+			return -1;
+		}
+		CacheEntry entry;
+		synchronized (this) {
+			entry = cache.get(getKey(aUrl));
+		}
+		if (null == entry || !entry.task.isDone()) {
+			return -1;
+		}
+		try {
+			return entry.task.get().getCrawlDelay();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return -1;
+		} catch (ExecutionException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * robots.txtを取得する。
+	 * 
+	 * @param aKey スキーム・ホスト・ポート
+	 * @return ルール
+	 */
+	private RobotsRules fetch(final String aKey) {
+		String url = aKey + "/robots.txt";
+		long ttl = config.getTtl();
+		RobotsRules rules = RobotsRules.DISALLOW_ALL;
+
+		HttpGet httpGet = new HttpGet(url);
+		CloseableHttpResponse response = null;
+		try {
+			response = HttpClientManager.getInstance().getHttpClient().execute(httpGet);
+			int statusCode = response.getStatusLine().getStatusCode();
+			HttpEntity entity = response.getEntity();
+			if (200 <= statusCode && 300 > statusCode) {
+				String text = (null != entity) ? read(entity, response.getFirstHeader("Content-Encoding")) : "";
+				rules = parser.parse(text);
+			} else if (400 <= statusCode && 500 > statusCode) {
+				rules = RobotsRules.ALLOW_ALL;
+			} else {
+				ttl = config.getErrorttl();
+			}
+			EntityUtils.consumeQuietly(entity);
+			info(String.format("robots.txt [%d] %s", statusCode, url));
+		} catch (IOException ex) {
+			warn(String.format("robots.txt fetch error.[%s] %s", url, ex.getMessage()));
+			ttl = config.getErrorttl();
+		} finally {
+			if (null != response) {
+				try {
+					response.close();
+				} catch (IOException ex) {
+					warn(ex);
+				}
+			}
+		}
+
+		CacheEntry entry;
+		synchronized (this) {
+			entry = cache.get(aKey);
+		}
+		if (null != entry) {
+			entry.expireTime = System.currentTimeMillis() + ttl;
+		}
+		return rules;
+	}
+
+	/**
+	 * レスポンスボディを読み込む。
+	 * 
+	 * @param aEntity エンティティ
+	 * @param aEncoding Content-Encodingヘッダー
+	 * @return 内容
+	 * @throws IOException IO操作に起因する問題が発生した場合
+	 */
+	private String read(final HttpEntity aEntity, final Header aEncoding) throws IOException {
+		ContentEncoding encoding = ContentEncoding.parse((null != aEncoding) ? aEncoding.getValue() : null);
+		if (null == encoding) {
+			throw new IOException(String.format("Unsupported content encoding.[%s]", aEncoding.getValue()));
+		}
+
+		InputStream stream = null;
+		try {
+			stream = encoding.decode(aEntity.getContent());
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			byte[] bytes = new byte[1024 * 4];
+			int size;
+			while (buffer.size() < MAX_LENGTH && -1 != (size = stream.read(bytes, 0, Math.min(bytes.length, MAX_LENGTH - buffer.size())))) {
+				buffer.write(bytes, 0, size);
+			}
+			return new String(buffer.toByteArray(), UTF8);
+		} finally {
+			if (null != stream) {
+				stream.close();
+			}
+		}
+	}
+
+	/**
+	 * robots.txtの対象となるURLか判断する。
+	 * 
+	 * @param aUrl URL
+	 * @return 対象の場合、<code>true</code>
+	 */
+	private static boolean isSupported(final URL aUrl) {
+		String protocol = aUrl.getProtocol();
+		return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol);
+	}
+
+	/**
+	 * キャッシュキーを取得する。
+	 * 
+	 * @param aUrl URL
+	 * @return スキーム・ホスト・ポート
+	 */
+	private static String getKey(final URL aUrl) {
+		String protocol = aUrl.getProtocol().toLowerCase(Locale.ENGLISH);
+		String host = aUrl.getHost().toLowerCase(Locale.ENGLISH);
+		int port = aUrl.getPort();
+		if (-1 == port || port == aUrl.getDefaultPort()) {
+			return protocol + "://" + host;
+		} else {
+			return protocol + "://" + host + ":" + port;
+		}
+	}
+
+	/**
+	 * このクラスは、キャッシュエントリです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class CacheEntry {
+
+		/** 取得タスク */
+		private final FutureTask<RobotsRules> task;
+		/** 有効期限 */
+		private volatile long expireTime;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aTask 取得タスク
+		 */
+		public CacheEntry(final FutureTask<RobotsRules> aTask) {
+			task = aTask;
+			expireTime = Long.MAX_VALUE;
+		}
+
+		/**
+		 * 有効期限切れか判断する。
+		 * 
+		 * @param aTime 現在時刻
+		 * @return 有効期限切れの場合、<code>true</code>
+		 */
+		public boolean isExpired(final long aTime) {
+			return aTime >= expireTime;
+		}
+	}
+}
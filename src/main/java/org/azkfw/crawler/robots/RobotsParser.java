@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.robots;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * このクラスは、robots.txtを解析するパーサークラスです。
+ * <p>
+ * 対象のユーザーエージェントに一致するグループのうち、最も具体的な(長い)トークンに一致したグループのルールを採用します。
+ * 一致するグループが存在しない場合、<code>*</code>のグループのルールを採用します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class RobotsParser {
+
+	/** ユーザーエージェント(小文字) */
+	private final String userAgent;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aUserAgent ユーザーエージェント(製品トークン)
+	 */
+	public RobotsParser(final String aUserAgent) {
+		userAgent = (null == aUserAgent) ? "" : aUserAgent.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * robots.txtを解析する。
+	 * 
+	 * @param aText robots.txtの内容
+	 * @return ルール
+	 */
+	public RobotsRules parse(final String aText) {
+		try {
+			return parse(new StringReader(aText));
+		} catch (IOException ex) {
+			// StringReaderでは発生しない
+			return RobotsRules.ALLOW_ALL;
+		}
+	}
+
+	/**
+	 * robots.txtを解析する。
+	 * 
+	 * @param aReader リーダー
+	 * @return ルール
+	 * @throws IOException 読み込みに失敗した場合
+	 */
+	public RobotsRules parse(final Reader aReader) throws IOException {
+		List<Group> groups = new ArrayList<Group>();
+		Group group = null;
+		boolean agentLine = false;
+
+		BufferedReader reader = new BufferedReader(aReader);
+		String line;
+		while (null != (line = reader.readLine())) {
+			int index = line.indexOf('#');
+			if (-1 != index) {
+				line = line.substring(0, index);
+			}
+			index = line.indexOf(':');
+			if (-1 == index) {
+				continue;
+			}
+			String key = line.substring(0, index).trim().toLowerCase(Locale.ENGLISH);
+			String value = line.substring(index + 1).trim();
+
+			if ("user-agent".equals(key)) {
+				if (!agentLine) {
+					group = new Group();
+					groups.add(group);
+				}
+				group.agents.add(value.toLowerCase(Locale.ENGLISH));
+				agentLine = true;
+			} else {
+				agentLine = false;
+				if (null == group) {
+					continue;
+				}
+				if ("allow".equals(key)) {
+					if (0 < value.length()) {
+						group.rules.add(new String[] { value, "allow" });
+					}
+				} else if ("disallow".equals(key)) {
+					// 空のDisallowは全て許可
+					if (0 < value.length()) {
+						group.rules.add(new String[] { value, "disallow" });
+					}
+				} else if ("crawl-delay".equals(key)) {
+					try {
+						double second = Double.parseDouble(value);
+						if (0 <= second) {
+							group.crawlDelay = (long) (second * 1000);
+						}
+					} catch (NumberFormatException ex) {
+						// 無視
+					}
+				}
+			}
+		}
+
+		return compile(groups);
+	}
+
+	/**
+	 * 対象のグループのルールをコンパイルする。
+	 * 
+	 * @param aGroups グループ一覧
+	 * @return ルール
+	 */
+	private RobotsRules compile(final List<Group> aGroups) {
+		int bestLength = -1;
+		for (Group group : aGroups) {
+			bestLength = Math.max(bestLength, group.match(userAgent));
+		}
+		if (-1 == bestLength) {
+			return RobotsRules.ALLOW_ALL;
+		}
+
+		RobotsRules rules = new RobotsRules();
+		for (Group group : aGroups) {
+			if (bestLength == group.match(userAgent)) {
+				for (String[] rule : group.rules) {
+					rules.addRule(rule[0], "allow".equals(rule[1]));
+				}
+				if (-1 != group.crawlDelay) {
+					rules.setCrawlDelay(Math.max(rules.getCrawlDelay(), group.crawlDelay));
+				}
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * このクラスは、User-agent行で始まるグループです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Group {
+
+		/** ユーザーエージェント一覧 */
+		private final List<String> agents = new ArrayList<String>();
+		/** ルール一覧 */
+		private final List<String[]> rules = new ArrayList<String[]>();
+		/** アクセス間隔(ミリ秒) */
+		private long crawlDelay = -1;
+
+		/**
+		 * ユーザーエージェントに一致するか判断する。
+		 * 
+		 * @param aUserAgent ユーザーエージェント(小文字)
+		 * @return 一致したトークンの長さ。<code>*</code>の場合、0。一致しない場合、-1
+		 */
+		public int match(final String aUserAgent) {
+			int length = -1;
+			for (String agent : agents) {
+				if ("*".equals(agent)) {
+					length = Math.max(length, 0);
+				} else if (0 < agent.length() && 0 < aUserAgent.length() && aUserAgent.startsWith(agent)) {
+					length = Math.max(length, agent.length());
+				}
+			}
+			return length;
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.robots;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * このクラスは、robots.txtから対象のユーザーエージェントに適用するルールをコンパイルしたクラスです。
+ * <p>
+ * パスに最も長く一致したルールを適用します。Allow・Disallowが同じ長さで一致した場合、Allowを優先します。
+ * ワイルドカード(*・$)を含まないルールはトライ木で、含むルールは個別に照合します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class RobotsRules {
+
+	/** 全て許可 */
+	public static final RobotsRules ALLOW_ALL = new RobotsRules();
+	/** 全て禁止 */
+	public static final RobotsRules DISALLOW_ALL = new RobotsRules();
+
+	static {
+		DISALLOW_ALL.addRule("/", false);
+	}
+
+	/** ワイルドカードを含まないルール */
+	private final Node root;
+	/** ワイルドカードを含むルール */
+	private final List<Pattern> patterns;
+	/** アクセス間隔(ミリ秒) */
+	private long crawlDelay;
+
+	/**
+	 * コンストラクタ
+	 */
+	RobotsRules() {
+		root = new Node();
+		patterns = new ArrayList<Pattern>();
+		crawlDelay = -1;
+	}
+
+	/**
+	 * ルールを追加する。
+	 * 
+	 * @param aPath パス
+	 * @param aAllow Allowの場合、<code>true</code>
+	 */
+	void addRule(final String aPath, final boolean aAllow) {
+		if (-1 != aPath.indexOf('*') || aPath.endsWith("$")) {
+			patterns.add(new Pattern(aPath, aAllow));
+		} else {
+			Node node = root;
+			for (int i = 0; i < aPath.length(); i++) {
+				node = node.getOrCreate(aPath.charAt(i));
+			}
+			if (aAllow) {
+				node.terminal = Node.ALLOW;
+			} else if (Node.ALLOW != node.terminal) {
+				node.terminal = Node.DISALLOW;
+			}
+		}
+	}
+
+	/**
+	 * アクセス間隔を設定する。
+	 * 
+	 * @param aCrawlDelay アクセス間隔(ミリ秒)
+	 */
+	void setCrawlDelay(final long aCrawlDelay) {
+		crawlDelay = aCrawlDelay;
+	}
+
+	/**
+	 * アクセス間隔(Crawl-delay)を取得する。
+	 * 
+	 * @return アクセス間隔(ミリ秒)。指定されていない場合、-1
+	 */
+	public long getCrawlDelay() {
+		return crawlDelay;
+	}
+
+	/**
+	 * パスへのアクセスが許可されているか判断する。
+	 * 
+	 * @param aPath パス(クエリを含む)
+	 * @return 許可されている場合、<code>true</code>
+	 */
+	public boolean isAllowed(final String aPath) {
+		String path = (null == aPath || 0 == aPath.length()) ? "/" : aPath;
+		if ("/robots.txt".equals(path)) {
+			return true;
+		}
+
+		int matchLength = -1;
+		boolean allow = true;
+
+		Node node = root;
+		for (int i = 0; null != node; i++) {
+			if (Node.NONE != node.terminal) {
+				matchLength = i;
+				allow = (Node.ALLOW == node.terminal);
+			}
+			node = (i < path.length()) ? node.get(path.charAt(i)) : null;
+		}
+		for (Pattern pattern : patterns) {
+			int length = pattern.length;
+			if ((length > matchLength || (length == matchLength && pattern.allow)) && pattern.matches(path)) {
+				matchLength = length;
+				allow = pattern.allow;
+			}
+		}
+		return allow;
+	}
+
+	/**
+	 * このクラスは、トライ木のノードです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Node {
+
+		/** ルールなし */
+		private static final byte NONE = 0;
+		/** Disallow */
+		private static final byte DISALLOW = 1;
+		/** Allow */
+		private static final byte ALLOW = 2;
+
+		/** 子ノードの文字 */
+		private char[] keys;
+		/** 子ノード */
+		private Node[] children;
+		/** 子ノード数 */
+		private int size;
+		/** ルール */
+		private byte terminal;
+
+		/**
+		 * 子ノードを取得する。
+		 * 
+		 * @param c 文字
+		 * @return 子ノード。存在しない場合、<code>null</code>
+		 */
+		public Node get(final char c) {
+			for (int i = 0; i < size; i++) {
+				if (c == keys[i]) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * 子ノードを取得する。存在しない場合は生成する。
+		 * 
+		 * @param c 文字
+		 * @return 子ノード
+		 */
+		public Node getOrCreate(final char c) {
+			Node node = get(c);
+			if (null == node) {
+				if (null == keys) {
+					keys = new char[2];
+					children = new Node[2];
+				} else if (size == keys.length) {
+					char[] newKeys = new char[size * 2];
+					Node[] newChildren = new Node[size * 2];
+					System.arraycopy(keys, 0, newKeys, 0, size);
+					System.arraycopy(children, 0, newChildren, 0, size);
+					keys = newKeys;
+					children = newChildren;
+				}
+				node = new Node();
+				keys[size] = c;
+				children[size] = node;
+				size++;
+			}
+			return node;
+		}
+	}
+
+	/**
+	 * このクラスは、ワイルドカードを含むルールです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Pattern {
+
+		/** パターン(末尾の$を除く) */
+		private final String pattern;
+		/** 末尾一致 */
+		private final boolean anchored;
+		/** Allowの場合、<code>true</code> */
+		private final boolean allow;
+		/** ルールの長さ */
+		private final int length;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aPattern パターン
+		 * @param aAllow Allowの場合、<code>true</code>
+		 */
+		public Pattern(final String aPattern, final boolean aAllow) {
+			anchored = aPattern.endsWith("$");
+			pattern = anchored ? aPattern.substring(0, aPattern.length() - 1) : aPattern;
+			allow = aAllow;
+			length = aPattern.length();
+		}
+
+		/**
+		 * パスが一致するか判断する。
+		 * 
+		 * @param aPath パス
+		 * @return 一致する場合、<code>true</code>
+		 */
+		public boolean matches(final String aPath) {
+			int p = 0;
+			int s = 0;
+			int star = -1;
+			int mark = 0;
+			while (s < aPath.length()) {
+				if (p < pattern.length() && '*' == pattern.charAt(p)) {
+					star = p++;
+					mark = s;
+				} else if (p < pattern.length() && pattern.charAt(p) == aPath.charAt(s)) {
+					p++;
+					s++;
+				} else if (p == pattern.length() && !anchored) {
+					// 前方一致
+					return true;
+				} else if (-1 != star) {
+					p = star + 1;
+					s = ++mark;
+				} else {
+					return false;
+				}
+			}
+			while (p < pattern.length() && '*' == pattern.charAt(p)) {
+				p++;
+			}
+			return p == pattern.length();
+		}
+	}
+}
@@ -93,6 +93,19 @@ public abstract class AbstractCrawlerSchedule extends LoggingObject implements C
 	 */
 	protected abstract void doRelease();
 
+	/**
+	 * 次回実行時間を取得する。
+	 * <p>
+	 * デフォルトでは次回実行時間を算出しません。
+	 * </p>
+	 * 
+	 * @return <code>-1</code>
+	 */
+	@Override
+	public long getNextTime() {
+		return -1;
+	}
+
 	@Override
 	public final void setParameter(final Parameter aParameter) {
 		parameter = aParameter;
@@ -67,6 +67,11 @@ public final class CountSchedule extends AbstractCrawlerSchedule {
 		return true;
 	}
 
+	@Override
+	public long getNextTime() {
+		return 0;
+	}
+
 	@Override
 	public boolean isStop() {
 		return (nowCount > maxCount);
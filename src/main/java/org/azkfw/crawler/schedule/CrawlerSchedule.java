@@ -62,6 +62,17 @@ public interface CrawlerSchedule {
 	 */
 	public boolean check();
 
+	/**
+	 * 次回実行時間を取得する。
+	 * <p>
+	 * クローラスレッドは、次回実行時間まで{@link #sleep()}を繰り返さずに待機します。
+	 * 次回実行時間を算出できない場合は、<code>-1</code>を返してください。この場合は{@link #sleep()}の間隔でチェックを行います。
+	 * </p>
+	 * 
+	 * @return 次回実行時間(ミリ秒)。算出できない場合、<code>-1</code>
+	 */
+	public long getNextTime();
+
 	/**
 	 * 停止判断を行う。
 	 * 
@@ -17,11 +17,12 @@
  */
 package org.azkfw.crawler.schedule;
 
-import java.util.Calendar;
-import java.util.Date;
+import java.util.TimeZone;
 
-import org.azkfw.crawler.matcher.DateTimeMatcher;
+import org.azkfw.crawler.lang.CrawlerSetupException;
+import org.azkfw.crawler.matcher.CronExpression;
 import org.azkfw.parameter.Parameter;
+import org.azkfw.util.StringUtility;
 
 /**
  * このクラスは、指定時間に実行を行うスケジュールクラスです。
@@ -30,6 +31,7 @@ import org.azkfw.parameter.Parameter;
  * パラメータ一覧
  * <ul>
  * <li>pattern - 指定時間(default:*&frasl;10 * * * *)</li>
+ * <li>timezone - タイムゾーン(default:システムのタイムゾーン)</li>
  * </ul>
  * </p>
  * <p>
@@ -40,31 +42,46 @@ import org.azkfw.parameter.Parameter;
  * <li>10 0 1 * * - 毎月1日0時10分に実行する</li>
  * <li>10 0 1 12 * - 毎年12月1日0時10分に実行する</li>
  * <li>10 0 * * 1 - 毎週月曜0時10分に実行する</li>
+ * <li>30 * * * * * - 毎分30秒に実行する(先頭に秒を指定)</li>
  * </ul>
  * </p>
  * 
  * @since 1.0.0
  * @version 1.0.0 2014/05/12
  * @author Kawakicchi
+ * @see CronExpression
  */
 public class DatetimeSchedule extends AbstractCrawlerSchedule {
 
 	private String pattern;
-	private DateTimeMatcher matcher;
+	private CronExpression cron;
 
-	private String lastMatchString;
+	/** 次回実行時間(ミリ秒) */
+	private long nextTime;
 
 	@Override
-	protected void doSetup() {
+	protected void doSetup() throws CrawlerSetupException {
 		Parameter p = getParameter();
 
 		pattern = p.getString("pattern", "*/10 * * * *");
-		matcher = new DateTimeMatcher();
-		matcher.compile(pattern);
+		String timezone = p.getString("timezone", null);
+		try {
+			if (StringUtility.isNotEmpty(timezone)) {
+				cron = new CronExpression(pattern, TimeZone.getTimeZone(timezone));
+			} else {
+				cron = new CronExpression(pattern);
+			}
+		} catch (IllegalArgumentException ex) {
+			throw new CrawlerSetupException(ex);
+		}
 	}
 
 	@Override
 	protected void doInitialize() {
+		nextTime = cron.next(System.currentTimeMillis() - 1);
+		if (-1 == nextTime) {
+			warn(String.format("No matching datetime.[%s]", pattern));
+		}
 	}
 
 	@Override
@@ -81,39 +98,40 @@ public class DatetimeSchedule extends AbstractCrawlerSchedule {
 
 	@Override
 	public boolean check() {
-		Calendar cln = Calendar.getInstance();
-		cln.setTime(new Date());
-		String str = String.format("%d %d %d %d %d", cln.get(Calendar.MINUTE), cln.get(Calendar.HOUR_OF_DAY), cln.get(Calendar.DAY_OF_MONTH),
-				cln.get(Calendar.MONTH) + 1, cln.get(Calendar.DAY_OF_WEEK));
-
-		if (matcher.match(str)) {
-			String matchString = matcher.getMatchString(str);
-			if (null == matchString) {
-				return false;
-			} else if (matchString.equals(lastMatchString)) {
-				return false;
-			} else {
-				info("match " + matchString);
-				lastMatchString = matchString;
-				return true;
-			}
-		} else {
+		if (-1 == nextTime) {
+			// 一致する日時が存在しないため停止する
+			return true;
+		}
+		long now = System.currentTimeMillis();
+		if (now < nextTime) {
 			return false;
 		}
+		info(String.format("match %s [%dms]", pattern, now - nextTime));
+		// 実行が遅れた場合でも、過ぎた実行時間の分は実行しない
+		nextTime = cron.next(now);
+		return true;
+	}
+
+	@Override
+	public long getNextTime() {
+		return nextTime;
 	}
 
 	@Override
 	public boolean isStop() {
-		return false;
+		return (-1 == nextTime);
 	}
 
 	@Override
 	public boolean isRun() {
-		return true;
+		return (-1 != nextTime);
 	}
 
 	public void sleep() throws InterruptedException {
-		Thread.sleep(1000);
+		long remaining = nextTime - System.currentTimeMillis();
+		if (0 < remaining) {
+			Thread.sleep(Math.min(1000, remaining));
+		}
 	}
 
 }
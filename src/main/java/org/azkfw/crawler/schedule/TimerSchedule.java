@@ -47,9 +47,17 @@ public class TimerSchedule extends AbstractCrawlerSchedule {
 	private long sleepInterval;
 
 	/**
-	 * トータルスリープ時間(ミリ秒)
+	 * 次回実行時間(ミリ秒)
 	 */
-	private long sleepCount;
+	private long nextTime;
+
+	/**
+	 * 実行済みフラグ
+	 * <p>
+	 * 実行間隔はタスクの終了から数えるため、実行後の最初のチェックで次回実行時間を算出する。
+	 * </p>
+	 */
+	private boolean fired;
 
 	@Override
 	protected void doSetup() {
@@ -60,7 +68,8 @@ public class TimerSchedule extends AbstractCrawlerSchedule {
 
 	@Override
 	protected void doInitialize() {
-		sleepCount = interval;
+		nextTime = 0;
+		fired = false;
 		if (interval >= 1000) {
 			sleepInterval = 1000;
 		} else {
@@ -82,15 +91,27 @@ public class TimerSchedule extends AbstractCrawlerSchedule {
 
 	@Override
 	public boolean check() {
-		if (sleepCount >= interval) {
-			sleepCount = 0;
+		long now = System.currentTimeMillis();
+		if (fired) {
+			fired = false;
+			nextTime = now + interval;
+		}
+		if (now >= nextTime) {
+			fired = true;
 			return true;
 		} else {
-			sleepCount += sleepInterval;
 			return false;
 		}
 	}
 
+	@Override
+	public long getNextTime() {
+		if (fired) {
+			return System.currentTimeMillis() + interval;
+		}
+		return nextTime;
+	}
+
 	@Override
 	public boolean isStop() {
 		return false;
@@ -102,7 +123,10 @@ public class TimerSchedule extends AbstractCrawlerSchedule {
 	}
 
 	public void sleep() throws InterruptedException {
-		Thread.sleep(sleepInterval);
+		long remaining = nextTime - System.currentTimeMillis();
+		if (0 < remaining) {
+			Thread.sleep(Math.min(sleepInterval, remaining));
+		}
 	}
 
 	private long toMillis(final String aString) {
@@ -36,10 +36,13 @@ import org.azkfw.crawler.CrawlerServer;
 import org.azkfw.crawler.access.AccessControl;
 import org.azkfw.crawler.config.CrawlerConfig.CrawlerManagerConfig;
 import org.azkfw.crawler.localization.LocalizeTransform;
+import org.azkfw.crawler.performance.MetricsRegistry;
+import org.azkfw.crawler.performance.Tracer;
 import org.azkfw.crawler.schedule.CrawlerSchedule;
 import org.azkfw.crawler.task.CrawlerTask;
 import org.azkfw.crawler.task.support.CrawlerTaskStateSupport;
 import org.azkfw.crawler.thread.CrawlerTaskLog;
+import org.azkfw.crawler.thread.CrawlerTaskStatistics;
 import org.azkfw.crawler.thread.CrawlerThread;
 import org.azkfw.crawler.thread.CrawlerThread.Status;
 import org.azkfw.log.LoggingObject;
@@ -180,6 +183,29 @@ public class CrawlerManagerServer extends LoggingObject implements HttpHandler {
 				out.write(buf);
 				out.flush();
 
+			} else if ("/metrics".equals(areas)) {
+				StringBuilder s = new StringBuilder();
+				MetricsRegistry.getInstance().write(s);
+				byte[] buf = s.toString().getBytes("UTF-8");
+
+				exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+				exchange.sendResponseHeaders(200, buf.length);
+				out.write(buf);
+				out.flush();
+
+			} else if ("/trace".equals(areas)) {
+				StringBuilder s = new StringBuilder();
+				Tracer.getInstance().write(s);
+				if ("clear".equals(parameters.get("ctrl"))) {
+					Tracer.getInstance().clear();
+				}
+				byte[] buf = s.toString().getBytes("UTF-8");
+
+				exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+				exchange.sendResponseHeaders(200, buf.length);
+				out.write(buf);
+				out.flush();
+
 			} else if ("/thread".equals(areas)) {
 				String ctrl = parameters.get("ctrl");
 				String threadId = parameters.get("thread");
@@ -554,8 +580,35 @@ public class CrawlerManagerServer extends LoggingObject implements HttpHandler {
 		s.append("<h3 class=\"sub-header\">Task</h3>");
 		s.append("<div class=\"row placeholders\">");
 
-		for (CrawlerTaskLog log : aThread.getLogs()) {
-			s.append("Run ").append(log.getStartDate()).append("<br />");
+		CrawlerTaskStatistics statistics = aThread.getStatistics();
+		s.append("<table class=\"table table-striped\">");
+		s.append("<thead><tr>");
+		s.append("<th>count</th><th>failure</th><th>min</th><th>mean</th><th>p50</th><th>p99</th><th>max</th>");
+		s.append("</tr></thead>");
+		s.append("<tbody><tr>");
+		s.append("<td>").append(statistics.getCount()).append("</td>");
+		s.append("<td>").append(statistics.getFailureCount()).append("</td>");
+		s.append("<td>").append(statistics.getMin()).append("ms</td>");
+		s.append("<td>").append(String.format("%.1f", statistics.getMean())).append("ms</td>");
+		s.append("<td>").append(statistics.getP50()).append("ms</td>");
+		s.append("<td>").append(statistics.getP99()).append("ms</td>");
+		s.append("<td>").append(statistics.getMax()).append("ms</td>");
+		s.append("</tr></tbody>");
+		s.append("</table>");
+
+		// 直近の実行ログ(新しい順)
+		List<CrawlerTaskLog> logs = aThread.getLogs();
+		for (int i = logs.size() - 1; i >= 0; i--) {
+			CrawlerTaskLog log = logs.get(i);
+			s.append("Run ").append(log.getStartDate());
+			if (null != log.getStopDate()) {
+				s.append(" (").append(log.getDuration()).append("ms");
+				if (!log.isResult()) {
+					s.append(", failure");
+				}
+				s.append(")");
+			}
+			s.append("<br />");
 		}
 
 		s.append("</div>");
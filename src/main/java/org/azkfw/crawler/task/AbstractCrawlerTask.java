@@ -20,6 +20,8 @@ package org.azkfw.crawler.task;
 import org.azkfw.crawler.CrawlerServiceException;
 import org.azkfw.crawler.lang.CrawlerSetupException;
 import org.azkfw.crawler.performance.Performance;
+import org.azkfw.crawler.performance.Span;
+import org.azkfw.crawler.performance.Tracer;
 import org.azkfw.crawler.task.support.CrawlerTaskControlSupport;
 import org.azkfw.log.LoggingObject;
 import org.azkfw.parameter.Parameter;
@@ -37,7 +39,7 @@ public abstract class AbstractCrawlerTask extends LoggingObject implements Crawl
 	/**
 	 * 停止要求フラグ
 	 */
-	private boolean requestStopFlag;
+	private volatile boolean requestStopFlag;
 
 	/** パラメータ */
 	private Parameter parameter;
@@ -111,7 +113,12 @@ public abstract class AbstractCrawlerTask extends LoggingObject implements Crawl
 			Performance p = new Performance(getName());
 			p.start();
 
-			result = doExecute();
+			Span span = Tracer.getInstance().begin("task", getName());
+			try {
+				result = doExecute();
+			} finally {
+				span.end();
+			}
 
 			p.stop();
 
@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.task;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.azkfw.crawler.CrawlerServiceException;
+import org.azkfw.crawler.engine.CrawlerEngine;
+import org.azkfw.crawler.engine.CrawlerPipeline;
+import org.azkfw.crawler.lang.CrawlerSetupException;
+import org.azkfw.crawler.task.support.CrawlerTaskPoolSupport;
+import org.azkfw.crawler.thread.CrawlerTaskPool.TaskGroup;
+import org.azkfw.parameter.Parameter;
+
+/**
+ * このクラスは、クロールパイプライン({@link CrawlerPipeline})でクロールを行うクローラタスククラスです。
+ * <p>
+ * 実行毎にパイプラインを生成して起点URLを登録し、処理対象のURLが無くなるまでクロールします。
+ * タスクに停止要求があった場合は、待機を中断してパイプラインを停止します。
+ * </p>
+ * <p>
+ * このクローラタスクのパラメータを下記に記す。
+ * <ul>
+ * <li>engine - クローラエンジンのクラス名({@link CrawlerEngine}の実装クラス)</li>
+ * <li>directory - ダウンロードディレクトリ(default:download)</li>
+ * <li>seed[0-9]{1,} - 起点URL。(seed1から連番で指定)</li>
+ * <li>timeout - １回の実行の最大時間(ミリ秒)。0の場合、処理対象のURLが無くなるまで実行する。(default:0)</li>
+ * <li>delay - ホストグループ毎のアクセス間隔(ミリ秒)</li>
+ * <li>maxConnections - ホストグループ毎の最大同時接続数</li>
+ * <li>scheduleCapacity - スケジューラ登録上限数</li>
+ * <li>downloadThreads - ダウンロードステージのスレッド数</li>
+ * <li>parseThreads - 解析ステージのスレッド数</li>
+ * <li>parseCapacity - 解析キューの容量</li>
+ * <li>enqueueThreads - 登録ステージのスレッド数</li>
+ * <li>enqueueCapacity - 登録キューの容量</li>
+ * <li>memoryThreshold - メモリ上に保持する最大コンテンツサイズ(バイト)</li>
+ * <li>archive - ダウンロードファイルを保存するか</li>
+ * <li>threadMode - スレッドモード(platform/virtual)</li>
+ * <li>seenCapacity - 既出URLの保持上限数(既出URLフィルタが設定されていない場合のみ)</li>
+ * </ul>
+ * 未設定のパラメータは{@link CrawlerPipeline}のデフォルト値を使用します。
+ * </p>
+ * <p>
+ * スレッド設定で<code>pool="true"</code>を指定した場合、ダウンロードを共有タスクプールで実行します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class PipelineCrawlerTask extends AbstractCrawlerTask implements CrawlerTaskPoolSupport {
+
+	/** 停止要求を確認する間隔(ミリ秒) */
+	private static final long WAIT_INTERVAL = 1000;
+
+	/** クローラエンジン */
+	private CrawlerEngine engine;
+	/** ダウンロードディレクトリ */
+	private File directory;
+	/** 起点URL */
+	private List<URL> seeds;
+	/** 最大実行時間(ミリ秒) */
+	private long timeout;
+	/** タスクグループ */
+	private TaskGroup taskGroup;
+
+	/**
+	 * コンストラクタ
+	 */
+	public PipelineCrawlerTask() {
+		super(PipelineCrawlerTask.class);
+	}
+
+	@Override
+	public void setTaskGroup(final TaskGroup aGroup) {
+		taskGroup = aGroup;
+	}
+
+	@Override
+	protected void doSetup() throws CrawlerSetupException {
+		Parameter p = getParameter();
+
+		String engineClass = p.getString("engine");
+		if (null == engineClass) {
+			throw new CrawlerSetupException("Parameter 'engine' is required.");
+		}
+		try {
+			Class<?> clazz = Class.forName(engineClass);
+			if (!CrawlerEngine.class.isAssignableFrom(clazz)) {
+				throw new CrawlerSetupException(String.format("Not a crawler engine.[%s]", engineClass));
+			}
+			engine = (CrawlerEngine) clazz.newInstance();
+		} catch (ClassNotFoundException ex) {
+			throw new CrawlerSetupException(ex);
+		} catch (InstantiationException ex) {
+			throw new CrawlerSetupException(ex);
+		} catch (IllegalAccessException ex) {
+			throw new CrawlerSetupException(ex);
+		}
+
+		directory = new File(p.getString("directory", "download"));
+		timeout = p.getLong("timeout", Long.valueOf(0)).longValue();
+
+		seeds = new ArrayList<URL>();
+		int index = 1;
+		while (true) {
+			String value = p.getString("seed" + index);
+			if (null == value)
+				break;
+			try {
+				seeds.add(new URL(value));
+			} catch (MalformedURLException ex) {
+				throw new CrawlerSetupException(String.format("Invalid seed url.[%s]", value), ex);
+			}
+			index++;
+		}
+		if (seeds.isEmpty()) {
+			warn("No seed url.");
+		}
+		info(String.format("Engine : %s, Directory : %s, Seeds : %d", engineClass, directory.getAbsolutePath(), seeds.size()));
+	}
+
+	@Override
+	protected void doStartup() {
+	}
+
+	@Override
+	protected void doShutdown() {
+	}
+
+	@Override
+	protected void doInitialize() {
+	}
+
+	@Override
+	protected void doRelease() {
+	}
+
+	@Override
+	protected CrawlerTaskResult doExecute() throws CrawlerServiceException {
+		CrawlerTaskResult result = new CrawlerTaskResult();
+		result.setStop(false);
+
+		CrawlerPipeline pipeline = createPipeline();
+		pipeline.start();
+		try {
+			for (URL seed : seeds) {
+				if (!pipeline.addSeed(seed)) {
+					info(String.format("Skip seed : %s", seed.toExternalForm()));
+				}
+			}
+
+			long deadline = (0 < timeout) ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+			boolean idle = false;
+			while (!idle && !isRequestStop()) {
+				long wait = Math.min(WAIT_INTERVAL, deadline - System.currentTimeMillis());
+				if (0 >= wait) {
+					break;
+				}
+				idle = pipeline.awaitIdle(wait);
+			}
+			result.setResult(idle);
+			if (!idle) {
+				info(isRequestStop() ? "Stop requested." : "Timeout.");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			result.setResult(false);
+		} finally {
+			pipeline.stop();
+		}
+
+		info(String.format("Download : %d, Parse : %d, Enqueue : %d", pipeline.getDownloadCount(), pipeline.getParseCount(),
+				pipeline.getEnqueueCount()));
+		return result;
+	}
+
+	/**
+	 * パラメータからパイプラインを生成する。
+	 * 
+	 * @return パイプライン
+	 */
+	private CrawlerPipeline createPipeline() {
+		Parameter p = getParameter();
+		CrawlerPipeline pipeline = new CrawlerPipeline(engine, directory);
+		if (null != p.getLong("delay")) {
+			pipeline.getScheduler().setDefaultDelay(p.getLong("delay").longValue());
+		}
+		if (null != p.getInteger("maxConnections")) {
+			pipeline.getScheduler().setDefaultMaxConnections(p.getInteger("maxConnections").intValue());
+		}
+		if (null != p.getInteger("scheduleCapacity")) {
+			pipeline.setScheduleCapacity(p.getInteger("scheduleCapacity").intValue());
+		}
+		if (null != p.getInteger("downloadThreads")) {
+			pipeline.setDownloadThreads(p.getInteger("downloadThreads").intValue());
+		}
+		if (null != p.getInteger("parseThreads")) {
+			pipeline.setParseThreads(p.getInteger("parseThreads").intValue());
+		}
+		if (null != p.getInteger("parseCapacity")) {
+			pipeline.setParseCapacity(p.getInteger("parseCapacity").intValue());
+		}
+		if (null != p.getInteger("enqueueThreads")) {
+			pipeline.setEnqueueThreads(p.getInteger("enqueueThreads").intValue());
+		}
+		if (null != p.getInteger("enqueueCapacity")) {
+			pipeline.setEnqueueCapacity(p.getInteger("enqueueCapacity").intValue());
+		}
+		if (null != p.getInteger("memoryThreshold")) {
+			pipeline.setMemoryThreshold(p.getInteger("memoryThreshold").intValue());
+		}
+		if (null != p.getBoolean("archive")) {
+			pipeline.setArchive(p.getBoolean("archive").booleanValue());
+		}
+		if (null != p.getInteger("seenCapacity")) {
+			pipeline.setSeenCapacity(p.getInteger("seenCapacity").intValue());
+		}
+		if (null != p.getString("threadMode")) {
+			pipeline.setThreadMode(p.getString("threadMode"));
+		}
+		pipeline.setTaskGroup(taskGroup);
+		return pipeline;
+	}
+}
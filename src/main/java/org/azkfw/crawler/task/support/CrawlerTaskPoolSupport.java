@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.task.support;
+
+import org.azkfw.crawler.thread.CrawlerTaskPool.TaskGroup;
+
+/**
+ * このインターフェースは、クローラタスクの共有タスクプールサポート機能を表現するインターフェースです。
+ * <p>
+ * スレッド設定で<code>pool="true"</code>を指定した場合、クローラスレッドはスレッド数分の複製を作らずに１つだけ生成されます。
+ * このインターフェースを実装したタスクは、タスクグループへ作業単位を投入することで並列に処理を行ってください。
+ * 実装していないタスクの場合は<code>pool="true"</code>を無視し、スレッド数分の複製で処理します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public interface CrawlerTaskPoolSupport {
+
+	/**
+	 * タスクグループを設定する。
+	 * 
+	 * @param aGroup タスクグループ
+	 */
+	public void setTaskGroup(final TaskGroup aGroup);
+
+}
@@ -19,7 +19,6 @@ package org.azkfw.crawler.thread;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -27,6 +26,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.azkfw.business.property.Property;
 import org.azkfw.business.property.PropertyFile;
@@ -43,6 +47,7 @@ import org.azkfw.crawler.store.CrawlerSessionStore;
 import org.azkfw.crawler.task.CrawlerTask;
 import org.azkfw.crawler.task.CrawlerTaskResult;
 import org.azkfw.crawler.task.support.CrawlerTaskControlSupport;
+import org.azkfw.crawler.task.support.CrawlerTaskPoolSupport;
 import org.azkfw.log.LoggingObject;
 import org.azkfw.parameter.Parameter;
 import org.azkfw.parameter.ParameterSupport;
@@ -67,22 +72,31 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 	/** スレッドID */
 	private String id;
 	/** スレッドステータス */
-	private Status status;
+	private final AtomicReference<Status> status;
+	/** 停止待ちラッチ */
+	private volatile CountDownLatch stopLatch;
+	/** スレッドファクトリ */
+	private CrawlerThreadFactory threadFactory;
 
 	/** スレッド開始日時 */
-	private Date threadStartDate;
+	private volatile Date threadStartDate;
 	/** スレッド停止日時 */
-	private Date threadStopDate;
+	private volatile Date threadStopDate;
 
 	/** 停止要求フラグ */
-	private boolean stopRequest;
+	private volatile boolean stopRequest;
+
+	/** 待機用ロック */
+	private final ReentrantLock waitLock;
+	/** 停止要求通知 */
+	private final Condition stopCondition;
 
 	/** タスク情報 */
 	private CrawlerTask task;
 	/** スケジュール情報 */
 	private CrawlerSchedule schedule;
-	/** ログ情報 */
-	private List<CrawlerTaskLog> logs;
+	/** 実行履歴 */
+	private final CrawlerTaskHistory history;
 
 	/**
 	 * コンストラクタ
@@ -94,9 +108,14 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 		super(CrawlerThread.class);
 		context = aContext;
 		config = aConfig;
-		status = Status.stoped;
+		status = new AtomicReference<Status>(Status.stoped);
+		stopLatch = new CountDownLatch(0);
+		history = new CrawlerTaskHistory(aConfig.getHistory());
 
 		id = UUID.randomUUID().toString();
+		waitLock = new ReentrantLock();
+		stopCondition = waitLock.newCondition();
+		threadFactory = new CrawlerThreadFactory(String.format("crawler-%s", aConfig.getTitle()), aConfig.getMode(), false);
 	}
 
 	/**
@@ -125,7 +144,7 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 
 	@Override
 	public Status getStatus() {
-		return status;
+		return status.get();
 	}
 
 	@Override
@@ -155,7 +174,12 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 
 	@Override
 	public List<CrawlerTaskLog> getLogs() {
-		return logs;
+		return history.getLogs();
+	}
+
+	@Override
+	public CrawlerTaskStatistics getStatistics() {
+		return history.getStatistics();
 	}
 
 	@Override
@@ -163,8 +187,6 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 		setupCrawlerSchedule();
 		setupCrawlerTask();
 
-		logs = new ArrayList<CrawlerTaskLog>();
-
 		doSetup();
 	}
 
@@ -180,22 +202,43 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 
 	@Override
 	public void start() {
-		if (status == Status.stoped) {
-			Thread t = new Thread(this);
-			t.start();
+		waitLock.lock();
+		try {
+			if (Status.stoped != status.get()) {
+				return;
+			}
+			// 停止要求を受け付ける状態(sleeping)を公開する前に、停止要求フラグ・停止待ちラッチを初期化する
+			stopRequest = false;
+			stopLatch = new CountDownLatch(1);
+			status.set(Status.sleeping);
+		} finally {
+			waitLock.unlock();
 		}
+		Thread t = threadFactory.newThread(this);
+		t.start();
 	}
 
 	@Override
 	public void requestStop() {
-		if (status == Status.running || status == Status.sleeping) {
-			info("Request stop.");
-			status = Status.stoping;
+		Status current = null;
+		do {
+			current = status.get();
+			if (Status.running != current && Status.sleeping != current) {
+				return;
+			}
+		} while (!status.compareAndSet(current, Status.stoping));
+
+		info("Request stop.");
+		waitLock.lock();
+		try {
 			stopRequest = true;
+			stopCondition.signalAll();
+		} finally {
+			waitLock.unlock();
+		}
 
-			if (task instanceof CrawlerTaskControlSupport) {
-				((CrawlerTaskControlSupport) task).stop();
-			}
+		if (task instanceof CrawlerTaskControlSupport) {
+			((CrawlerTaskControlSupport) task).stop();
 		}
 	}
 
@@ -220,6 +263,9 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 	public void run() {
 		debug("Thread start.");
 
+		// 停止後に再開始された場合に新しいラッチを解放しないよう、開始時のラッチを保持する
+		CountDownLatch latch = stopLatch;
+
 		threadStartDate = new Date();
 		threadStopDate = null;
 
@@ -230,32 +276,35 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 			support.setSession(session);
 		}
 
+		Status endStatus = Status.error;
 		try {
 			schedule.initialize();
 
 			task.startup();
 
-			stopRequest = false;
 			while (true) {
-				status = Status.sleeping;
+				transit(Status.sleeping);
 
 				while (!schedule.check()) {
 					if (stopRequest) {
 						break;
 					}
-					schedule.sleep();
+					long nextTime = schedule.getNextTime();
+					if (0 <= nextTime) {
+						awaitUntil(nextTime);
+					} else {
+						schedule.sleep();
+					}
 				}
 
 				if (schedule.isStop() || stopRequest) {
 					break;
 				} else if (schedule.isRun()) {
 
-					CrawlerTaskLog log = new CrawlerTaskLog();
-					log.setStartDate(new Date());
-					logs.add(log);
+					CrawlerTaskLog log = history.start();
 
 					debug("Run task start.");
-					status = Status.running;
+					transit(Status.running);
 					CrawlerTaskResult result = null;
 					try {
 						task.initialize();
@@ -267,7 +316,7 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 							warn(ex);
 						}
 
-						log.setStopDate(new Date());
+						history.stop(log, null != result && result.isResult());
 					}
 					debug("Run task stop.");
 
@@ -283,10 +332,9 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 				}
 			}
 
-			status = Status.stoped;
+			endStatus = Status.stoped;
 
 		} catch (Exception ex) {
-			status = Status.error;
 			fatal("Thread runing exception.");
 			fatal(ex);
 		} finally {
@@ -297,13 +345,57 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 			}
 
 			schedule.release();
-		}
 
-		threadStopDate = new Date();
+			threadStopDate = new Date();
+			status.set(endStatus);
+			latch.countDown();
+		}
 
 		debug("Thread stop.");
 	}
 
+	@Override
+	public boolean awaitStop(final long aTimeout, final TimeUnit aUnit) throws InterruptedException {
+		return stopLatch.await(aTimeout, aUnit);
+	}
+
+	/**
+	 * スレッドステータスを遷移する。
+	 * <p>
+	 * 停止要求中の場合は遷移しない。
+	 * </p>
+	 * 
+	 * @param aStatus スレッドステータス
+	 */
+	private void transit(final Status aStatus) {
+		Status current = null;
+		do {
+			current = status.get();
+			if (Status.stoping == current) {
+				return;
+			}
+		} while (!status.compareAndSet(current, aStatus));
+	}
+
+	/**
+	 * 指定時間、または停止要求があるまで待機する。
+	 * 
+	 * @param aTime 待機終了時間(ミリ秒)
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
+	 */
+	private void awaitUntil(final long aTime) throws InterruptedException {
+		waitLock.lock();
+		try {
+			long remaining = aTime - System.currentTimeMillis();
+			while (!stopRequest && 0 < remaining) {
+				stopCondition.await(remaining, TimeUnit.MILLISECONDS);
+				remaining = aTime - System.currentTimeMillis();
+			}
+		} finally {
+			waitLock.unlock();
+		}
+	}
+
 	private void setupCrawlerTask() throws CrawlerSetupException {
 		try {
 			String classname = config.getTask().getClassname();
@@ -330,6 +422,12 @@ public abstract class AbstractCrawlerThread extends LoggingObject implements Cra
 					}
 				}
 
+				// 共有タスクプール非対応のタスクは、サーバがスレッド数分の複製を生成している
+				if (config.isPool() && task instanceof CrawlerTaskPoolSupport) {
+					int concurrency = (0 < config.getConcurrency()) ? config.getConcurrency() : config.getThread();
+					((CrawlerTaskPoolSupport) task).setTaskGroup(CrawlerTaskPool.getInstance().createGroup(config.getTitle(), concurrency));
+				}
+
 				if (task instanceof ContextSupport) {
 					((ContextSupport) task).setContext(context);
 				}
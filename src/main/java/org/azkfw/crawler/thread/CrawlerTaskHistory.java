@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.thread;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.azkfw.crawler.performance.Histogram;
+
+/**
+ * このクラスは、クローラタスクの実行履歴を保持するクラスです。
+ * <p>
+ * 直近の実行ログを固定長のリングバッファに保持し、全ての実行の実行時間をヒストグラムで集計します。
+ * 実行回数に関わらず、使用するメモリは一定です。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class CrawlerTaskHistory {
+
+	/** 実行ログ */
+	private final CrawlerTaskLog[] buffer;
+	/** 次の書き込み位置 */
+	private int next;
+	/** 保持件数 */
+	private int size;
+
+	/** 実行時間(ミリ秒) */
+	private final Histogram durations;
+	/** 失敗回数 */
+	private final AtomicLong failures;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aCapacity 保持する実行ログ数
+	 */
+	public CrawlerTaskHistory(final int aCapacity) {
+		buffer = new CrawlerTaskLog[Math.max(1, aCapacity)];
+		next = 0;
+		size = 0;
+		durations = new Histogram();
+		failures = new AtomicLong();
+	}
+
+	/**
+	 * 実行開始を記録する。
+	 * 
+	 * @return 実行ログ
+	 */
+	public CrawlerTaskLog start() {
+		CrawlerTaskLog log = new CrawlerTaskLog();
+		log.setStartDate(new Date());
+		synchronized (buffer) {
+			buffer[next] = log;
+			next = (next + 1) % buffer.length;
+			if (size < buffer.length) {
+				size++;
+			}
+		}
+		return log;
+	}
+
+	/**
+	 * 実行終了を記録する。
+	 * 
+	 * @param aLog 実行ログ
+	 * @param aResult 成功した場合、<code>true</code>
+	 */
+	public void stop(final CrawlerTaskLog aLog, final boolean aResult) {
+		Date stopDate = new Date();
+		aLog.setResult(aResult);
+		aLog.setStopDate(stopDate);
+
+		durations.record(stopDate.getTime() - aLog.getStartDate().getTime());
+		if (!aResult) {
+			failures.incrementAndGet();
+		}
+	}
+
+	/**
+	 * 直近の実行ログを取得する。
+	 * 
+	 * @return 実行ログ一覧(古い順)
+	 */
+	public List<CrawlerTaskLog> getLogs() {
+		List<CrawlerTaskLog> logs = null;
+		synchronized (buffer) {
+			logs = new ArrayList<CrawlerTaskLog>(size);
+			int index = (next - size + buffer.length) % buffer.length;
+			for (int i = 0; i < size; i++) {
+				logs.add(buffer[(index + i) % buffer.length]);
+			}
+		}
+		return logs;
+	}
+
+	/**
+	 * 実行統計情報を取得する。
+	 * <p>
+	 * 実行中のタスクは含みません。
+	 * </p>
+	 * 
+	 * @return 実行統計情報
+	 */
+	public CrawlerTaskStatistics getStatistics() {
+		return new CrawlerTaskStatistics(durations.getCount(), failures.get(), durations.getMin(), durations.getMax(), durations.getMean(),
+				durations.getPercentile(50), durations.getPercentile(99));
+	}
+}
@@ -29,9 +29,11 @@ import java.util.Date;
 public class CrawlerTaskLog {
 
 	/** 開始日時 */
-	private Date startDate;
+	private volatile Date startDate;
 	/** 停止日時 */
-	private Date stopDate;
+	private volatile Date stopDate;
+	/** 結果 */
+	private volatile boolean result;
 
 	/**
 	 * コンストラクタ
@@ -75,4 +77,36 @@ public class CrawlerTaskLog {
 	public Date getStopDate() {
 		return stopDate;
 	}
+
+	/**
+	 * 結果を設定する。
+	 * 
+	 * @param aResult 成功した場合、<code>true</code>
+	 */
+	public void setResult(final boolean aResult) {
+		result = aResult;
+	}
+
+	/**
+	 * 結果を取得する。
+	 * 
+	 * @return 成功した場合、<code>true</code>
+	 */
+	public boolean isResult() {
+		return result;
+	}
+
+	/**
+	 * 実行時間を取得する。
+	 * 
+	 * @return 実行時間(ミリ秒)。実行中の場合、<code>-1</code>
+	 */
+	public long getDuration() {
+		Date start = startDate;
+		Date stop = stopDate;
+		if (null == start || null == stop) {
+			return -1;
+		}
+		return stop.getTime() - start.getTime();
+	}
 }
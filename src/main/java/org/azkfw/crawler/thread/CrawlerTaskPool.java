@@ -0,0 +1,448 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.thread;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ManagedBlocker;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.crawler.config.CrawlerConfig.CrawlerTaskPoolConfig;
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、全てのクローラタスクで共有するワークスティーリング型のタスクプールです。
+ * <p>
+ * クローラタスクは{@link TaskGroup}を通して作業単位を投入し、プロセスで１つの{@link ForkJoinPool}の任意のワーカーが実行します。
+ * プールのワーカーから投入された作業単位はワーカー自身のキューに積まれ、アイドル状態のワーカーに奪われて(スティールされて)実行されます。
+ * </p>
+ * <p>
+ * {@link TaskGroup}毎に同時実行数の上限を設定でき、上限を超えた作業単位はワーカーを占有せずにグループ内で待機します。
+ * </p>
+ * <p>
+ * 作業単位はダウンロード等でブロックすることを前提に{@link ManagedBlocker}として実行します。
+ * ワーカーがブロックしている間はプールが補償スレッドを生成するため、並列度(既定はCPU数)はブロックしていないワーカー数の目安となります。
+ * 実際の同時実行数は{@link TaskGroup}の上限で制御してください。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class CrawlerTaskPool extends LoggingObject {
+
+	/** インスタンス */
+	private static final CrawlerTaskPool INSTANCE = new CrawlerTaskPool();
+
+	/**
+	 * インスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static CrawlerTaskPool getInstance() {
+		return INSTANCE;
+	}
+
+	/** タスクプール設定 */
+	private CrawlerTaskPoolConfig config;
+	/** プール */
+	private ForkJoinPool pool;
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * インスタンス生成を禁止する。
+	 * </p>
+	 */
+	private CrawlerTaskPool() {
+		super(CrawlerTaskPool.class);
+		config = new CrawlerTaskPoolConfig();
+	}
+
+	/**
+	 * 初期化処理を行う。
+	 * 
+	 * @param aConfig タスクプール設定。<code>null</code>の場合はデフォルト設定を使用する。
+	 */
+	public synchronized void initialize(final CrawlerTaskPoolConfig aConfig) {
+		destroy();
+		if (null != aConfig) {
+			config = aConfig;
+		} else {
+			config = new CrawlerTaskPoolConfig();
+		}
+	}
+
+	/**
+	 * 破棄処理を行う。
+	 * <p>
+	 * 実行中の作業単位の終了を待機します。
+	 * </p>
+	 */
+	public synchronized void destroy() {
+		if (null != pool) {
+			pool.shutdown();
+			try {
+				if (!pool.awaitTermination(config.getShutdowntimeout(), TimeUnit.MILLISECONDS)) {
+					warn("Task pool did not terminate.");
+					pool.shutdownNow();
+				}
+			} catch (InterruptedException ex) {
+				pool.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+			pool = null;
+		}
+	}
+
+	/**
+	 * タスクグループを生成する。
+	 * 
+	 * @param aName グループ名
+	 * @param aConcurrency 同時実行数の上限。0以下の場合は無制限。
+	 * @return タスクグループ
+	 */
+	public TaskGroup createGroup(final String aName, final int aConcurrency) {
+		return new TaskGroup(this, aName, aConcurrency);
+	}
+
+	/**
+	 * プールの並列度を取得する。
+	 * 
+	 * @return 並列度
+	 */
+	public int getParallelism() {
+		return getPool().getParallelism();
+	}
+
+	/**
+	 * プールを取得する。
+	 * <p>
+	 * 初回呼び出し時にプールを生成する。
+	 * </p>
+	 * 
+	 * @return プール
+	 */
+	private synchronized ForkJoinPool getPool() {
+		if (null == pool) {
+			int parallelism = config.getParallelism();
+			if (0 >= parallelism) {
+				parallelism = Runtime.getRuntime().availableProcessors();
+			}
+			// 作業単位は互いに独立しているため、FIFOで処理する
+			pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+			info(String.format("Task pool created.[parallelism=%d]", parallelism));
+		}
+		return pool;
+	}
+
+	/**
+	 * 作業単位をプールへ投入する。
+	 * <p>
+	 * プールのワーカーから投入した場合は、ワーカー自身のキューへ積む。
+	 * </p>
+	 * 
+	 * @param aTask 作業単位
+	 */
+	private void execute(final ForkJoinTask<?> aTask) {
+		ForkJoinPool target = getPool();
+		Thread thread = Thread.currentThread();
+		if (thread instanceof ForkJoinWorkerThread && target == ((ForkJoinWorkerThread) thread).getPool()) {
+			aTask.fork();
+		} else {
+			target.execute(aTask);
+		}
+	}
+
+	/**
+	 * このクラスは、同時実行数を制限して作業単位を投入するタスクグループです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	public static final class TaskGroup {
+
+		/** タスクプール */
+		private final CrawlerTaskPool pool;
+		/** グループ名 */
+		private final String name;
+		/** 同時実行数の上限 */
+		private final int concurrency;
+		/** 実行中の作業単位数 */
+		private final AtomicInteger active;
+		/** 実行待ちの作業単位 */
+		private final Queue<Unit<?>> pending;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aPool タスクプール
+		 * @param aName グループ名
+		 * @param aConcurrency 同時実行数の上限
+		 */
+		private TaskGroup(final CrawlerTaskPool aPool, final String aName, final int aConcurrency) {
+			pool = aPool;
+			name = aName;
+			concurrency = (0 < aConcurrency) ? aConcurrency : Integer.MAX_VALUE;
+			active = new AtomicInteger();
+			pending = new ConcurrentLinkedQueue<Unit<?>>();
+		}
+
+		/**
+		 * グループ名を取得する。
+		 * 
+		 * @return グループ名
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * 同時実行数の上限を取得する。
+		 * 
+		 * @return 同時実行数の上限
+		 */
+		public int getConcurrency() {
+			return concurrency;
+		}
+
+		/**
+		 * 実行中の作業単位数を取得する。
+		 * 
+		 * @return 作業単位数
+		 */
+		public int getActiveCount() {
+			return active.get();
+		}
+
+		/**
+		 * 実行待ちの作業単位数を取得する。
+		 * 
+		 * @return 作業単位数
+		 */
+		public int getPendingCount() {
+			return pending.size();
+		}
+
+		/**
+		 * 作業単位を投入する。
+		 * <p>
+		 * 同時実行数の上限に達している場合、実行中の作業単位が終了するまで実行を待機します。
+		 * 作業単位内で同じグループの作業単位の終了を待つと、上限に達した時点でデッドロックするため注意してください。
+		 * </p>
+		 * 
+		 * @param aCallable 作業単位
+		 * @return 作業単位の結果
+		 */
+		public <T> ForkJoinTask<T> submit(final Callable<T> aCallable) {
+			Unit<T> unit = new Unit<T>(this, aCallable);
+			pending.offer(unit);
+			dispatch();
+			return unit;
+		}
+
+		/**
+		 * 上限に達するまで、実行待ちの作業単位をプールへ投入する。
+		 */
+		private void dispatch() {
+			while (!pending.isEmpty()) {
+				int count = active.get();
+				if (count >= concurrency) {
+					return;
+				}
+				if (!active.compareAndSet(count, count + 1)) {
+					continue;
+				}
+				Unit<?> unit = pending.poll();
+				if (null == unit || !unit.dispatch()) {
+					// 実行待ちのまま取り消された作業単位は実行しない
+					active.decrementAndGet();
+					continue;
+				}
+				pool.execute(unit);
+			}
+		}
+
+		/**
+		 * 作業単位の終了を通知する。
+		 */
+		private void complete() {
+			active.decrementAndGet();
+			dispatch();
+		}
+	}
+
+	/**
+	 * このクラスは、タスクグループの作業単位です。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class Unit<T> extends ForkJoinTask<T> {
+
+		/** serialVersionUID */
+		private static final long serialVersionUID = 1L;
+
+		/** 状態:実行待ち */
+		private static final int PENDING = 0;
+		/** 状態:プールへ投入済み */
+		private static final int DISPATCHED = 1;
+		/** 状態:実行中 */
+		private static final int RUNNING = 2;
+		/** 状態:同時実行数の枠を返却済み */
+		private static final int RELEASED = 3;
+
+		/** タスクグループ */
+		private final TaskGroup group;
+		/** 処理 */
+		private final Callable<T> callable;
+		/** 状態 */
+		private final AtomicInteger state;
+		/** 結果 */
+		private T result;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aGroup タスクグループ
+		 * @param aCallable 処理
+		 */
+		public Unit(final TaskGroup aGroup, final Callable<T> aCallable) {
+			group = aGroup;
+			callable = aCallable;
+			state = new AtomicInteger(PENDING);
+		}
+
+		/**
+		 * プールへ投入済みにする。
+		 * 
+		 * @return 投入できる場合、<code>true</code>。取り消されている場合、<code>false</code>
+		 */
+		private boolean dispatch() {
+			return state.compareAndSet(PENDING, DISPATCHED);
+		}
+
+		/**
+		 * 作業単位を取り消す。
+		 * <p>
+		 * 実行前に取り消された作業単位は{@link #exec()}が呼ばれないため、ここで同時実行数の枠を返却する。
+		 * 実行中の作業単位は中断せず、終了時に枠を返却する。
+		 * </p>
+		 */
+		@Override
+		public boolean cancel(final boolean aMayInterruptIfRunning) {
+			boolean cancelled = super.cancel(aMayInterruptIfRunning);
+			if (cancelled) {
+				if (state.compareAndSet(PENDING, RELEASED)) {
+					group.pending.remove(this);
+				} else if (state.compareAndSet(DISPATCHED, RELEASED)) {
+					group.complete();
+				}
+			}
+			return cancelled;
+		}
+
+		@Override
+		public T getRawResult() {
+			return result;
+		}
+
+		@Override
+		protected void setRawResult(final T aValue) {
+			result = aValue;
+		}
+
+		@Override
+		protected boolean exec() {
+			if (!state.compareAndSet(DISPATCHED, RUNNING)) {
+				// 取り消し済み
+				return true;
+			}
+			UnitBlocker<T> blocker = new UnitBlocker<T>(callable);
+			try {
+				// ブロックする間はプールに補償スレッドを生成させる
+				ForkJoinPool.managedBlock(blocker);
+				if (null != blocker.error) {
+					completeExceptionally(blocker.error);
+				} else {
+					result = blocker.result;
+				}
+			} catch (InterruptedException ex) {
+				completeExceptionally(ex);
+				Thread.currentThread().interrupt();
+			} finally {
+				state.set(RELEASED);
+				group.complete();
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * このクラスは、作業単位の処理をブロック処理として実行するクラスです。
+	 * 
+	 * @since 2.0.0
+	 * @version 2.0.0 2026/10/18
+	 * @author Kawakicchi
+	 */
+	private static final class UnitBlocker<T> implements ManagedBlocker {
+
+		/** 処理 */
+		private final Callable<T> callable;
+		/** 終了フラグ */
+		private boolean done;
+		/** 結果 */
+		private T result;
+		/** 例外 */
+		private Exception error;
+
+		/**
+		 * コンストラクタ
+		 * 
+		 * @param aCallable 処理
+		 */
+		public UnitBlocker(final Callable<T> aCallable) {
+			callable = aCallable;
+			done = false;
+		}
+
+		@Override
+		public boolean block() {
+			try {
+				result = callable.call();
+			} catch (Exception ex) {
+				error = ex;
+			} finally {
+				done = true;
+			}
+			return true;
+		}
+
+		@Override
+		public boolean isReleasable() {
+			return done;
+		}
+	}
+}
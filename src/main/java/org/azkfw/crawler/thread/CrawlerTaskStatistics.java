@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.thread;
+
+/**
+ * このクラスは、クローラタスクの実行統計情報を保持するクラスです。
+ * <p>
+ * 取得時点の集計値のスナップショットです。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class CrawlerTaskStatistics {
+
+	/** 実行回数 */
+	private final long count;
+	/** 失敗回数 */
+	private final long failureCount;
+	/** 最小実行時間(ミリ秒) */
+	private final long min;
+	/** 最大実行時間(ミリ秒) */
+	private final long max;
+	/** 平均実行時間(ミリ秒) */
+	private final double mean;
+	/** 実行時間の中央値(ミリ秒) */
+	private final long p50;
+	/** 実行時間の99パーセンタイル値(ミリ秒) */
+	private final long p99;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aCount 実行回数
+	 * @param aFailureCount 失敗回数
+	 * @param aMin 最小実行時間(ミリ秒)
+	 * @param aMax 最大実行時間(ミリ秒)
+	 * @param aMean 平均実行時間(ミリ秒)
+	 * @param aP50 実行時間の中央値(ミリ秒)
+	 * @param aP99 実行時間の99パーセンタイル値(ミリ秒)
+	 */
+	public CrawlerTaskStatistics(final long aCount, final long aFailureCount, final long aMin, final long aMax, final double aMean,
+			final long aP50, final long aP99) {
+		count = aCount;
+		failureCount = aFailureCount;
+		min = aMin;
+		max = aMax;
+		mean = aMean;
+		p50 = aP50;
+		p99 = aP99;
+	}
+
+	/**
+	 * 実行回数を取得する。
+	 * 
+	 * @return 実行回数
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * 失敗回数を取得する。
+	 * 
+	 * @return 失敗回数
+	 */
+	public long getFailureCount() {
+		return failureCount;
+	}
+
+	/**
+	 * 最小実行時間を取得する。
+	 * 
+	 * @return 最小実行時間(ミリ秒)
+	 */
+	public long getMin() {
+		return min;
+	}
+
+	/**
+	 * 最大実行時間を取得する。
+	 * 
+	 * @return 最大実行時間(ミリ秒)
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * 平均実行時間を取得する。
+	 * 
+	 * @return 平均実行時間(ミリ秒)
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/**
+	 * 実行時間の中央値を取得する。
+	 * 
+	 * @return 中央値(ミリ秒)
+	 */
+	public long getP50() {
+		return p50;
+	}
+
+	/**
+	 * 実行時間の99パーセンタイル値を取得する。
+	 * 
+	 * @return 99パーセンタイル値(ミリ秒)
+	 */
+	public long getP99() {
+		return p99;
+	}
+}
@@ -19,6 +19,7 @@ package org.azkfw.crawler.thread;
 
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.azkfw.crawler.config.CrawlerConfig.CrawlerThreadConfig;
 import org.azkfw.crawler.lang.CrawlerSetupException;
@@ -99,11 +100,21 @@ public interface CrawlerThread {
 
 	/**
 	 * タスクのログを取得する。
+	 * <p>
+	 * 直近の実行ログのみ保持しており、取得時点のログのコピーを返す。
+	 * </p>
 	 * 
 	 * @return タスクログ一覧
 	 */
 	public List<CrawlerTaskLog> getLogs();
 
+	/**
+	 * タスクの実行統計情報を取得する。
+	 * 
+	 * @return 実行統計情報
+	 */
+	public CrawlerTaskStatistics getStatistics();
+
 	/**
 	 * セットアップ処理を行う。
 	 * 
@@ -131,6 +142,19 @@ public interface CrawlerThread {
 	 */
 	public void requestStop();
 
+	/**
+	 * スレッドの停止を待機する。
+	 * <p>
+	 * スレッドが起動していない場合は、直ちに復帰する。
+	 * </p>
+	 * 
+	 * @param aTimeout 最大待機時間
+	 * @param aUnit 最大待機時間の単位
+	 * @return 停止した場合、<code>true</code>。タイムアウトした場合、<code>false</code>
+	 * @throws InterruptedException 待機中に割り込みが発生した場合
+	 */
+	public boolean awaitStop(final long aTimeout, final TimeUnit aUnit) throws InterruptedException;
+
 	/**
 	 * このEnumは、クローラスレッドのステータスを表現するEnumです。
 	 * 
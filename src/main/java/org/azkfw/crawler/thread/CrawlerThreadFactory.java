@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.thread;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.azkfw.log.LoggingObject;
+
+/**
+ * このクラスは、スレッドモードに応じたスレッドを生成するスレッドファクトリです。
+ * <p>
+ * スレッドモードに{@link #MODE_VIRTUAL}を指定した場合、仮想スレッドを生成します。
+ * ソケット待ちが大半を占めるタスクでは、OSスレッドを消費せずに多数のワーカーを実行できます。
+ * 仮想スレッドは実行環境(Java 21以降)のAPIをリフレクションで呼び出すため、未対応の実行環境では通常のスレッドを生成します。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class CrawlerThreadFactory extends LoggingObject implements ThreadFactory {
+
+	/** スレッドモード(通常のスレッド) */
+	public static final String MODE_PLATFORM = "platform";
+
+	/** スレッドモード(仮想スレッド) */
+	public static final String MODE_VIRTUAL = "virtual";
+
+	/** Thread.ofVirtual() */
+	private static final Method OF_VIRTUAL;
+	/** Thread.Builder.name(String) */
+	private static final Method BUILDER_NAME;
+	/** Thread.Builder.unstarted(Runnable) */
+	private static final Method BUILDER_UNSTARTED;
+
+	static {
+		Method ofVirtual = null;
+		Method builderName = null;
+		Method builderUnstarted = null;
+		try {
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			builderName = builder.getMethod("name", String.class);
+			builderUnstarted = builder.getMethod("unstarted", Runnable.class);
+		} catch (ClassNotFoundException ex) {
+			ofVirtual = null;
+		} catch (NoSuchMethodException ex) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		BUILDER_NAME = builderName;
+		BUILDER_UNSTARTED = builderUnstarted;
+	}
+
+	/**
+	 * 実行環境が仮想スレッドに対応しているか判断する。
+	 * 
+	 * @return 対応している場合、<code>true</code>
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return null != OF_VIRTUAL;
+	}
+
+	/** スレッド名 */
+	private final String name;
+	/** 仮想スレッドを生成するか */
+	private final boolean virtual;
+	/** デーモンスレッドとするか(通常のスレッドのみ) */
+	private final boolean daemon;
+	/** スレッド番号 */
+	private final AtomicInteger sequence;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aName スレッド名
+	 * @param aMode スレッドモード。<code>null</code>の場合は{@link #MODE_PLATFORM}
+	 * @param aDaemon デーモンスレッドとするか。仮想スレッドは常にデーモンスレッドとなる。
+	 */
+	public CrawlerThreadFactory(final String aName, final String aMode, final boolean aDaemon) {
+		super(CrawlerThreadFactory.class);
+		name = aName;
+		daemon = aDaemon;
+		sequence = new AtomicInteger();
+
+		if (MODE_VIRTUAL.equalsIgnoreCase(aMode)) {
+			if (isVirtualThreadSupported()) {
+				virtual = true;
+			} else {
+				warn(String.format("Virtual thread is not supported.[%s]", System.getProperty("java.version")));
+				virtual = false;
+			}
+		} else {
+			if (null != aMode && !MODE_PLATFORM.equalsIgnoreCase(aMode)) {
+				warn(String.format("Unknown thread mode.[%s]", aMode));
+			}
+			virtual = false;
+		}
+	}
+
+	/**
+	 * 仮想スレッドを生成するか判断する。
+	 * 
+	 * @return 仮想スレッドを生成する場合、<code>true</code>
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	@Override
+	public Thread newThread(final Runnable aRunnable) {
+		String threadName = String.format("%s-%d", name, sequence.incrementAndGet());
+		if (virtual) {
+			try {
+				Object builder = OF_VIRTUAL.invoke(null);
+				builder = BUILDER_NAME.invoke(builder, threadName);
+				return (Thread) BUILDER_UNSTARTED.invoke(builder, aRunnable);
+			} catch (IllegalAccessException ex) {
+				warn(ex);
+			} catch (InvocationTargetException ex) {
+				warn(ex.getCause());
+			}
+		}
+		Thread thread = new Thread(aRunnable, threadName);
+		thread.setDaemon(daemon);
+		return thread;
+	}
+}
@@ -0,0 +1,594 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.azkfw.crawler.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * このクラスは、URLの正規化およびフィンガープリントの算出を行うクラスです。
+ * <p>
+ * 以下の正規化を行います。
+ * <ul>
+ * <li>スキーム・ホスト名の小文字化</li>
+ * <li>デフォルトポートの除去</li>
+ * <li>パーセントエンコーディングの正規化(非予約文字のデコード、16進数の大文字化、不正な文字のエンコード)</li>
+ * <li>ドットセグメント(. ..)の除去</li>
+ * <li>フラグメントの除去</li>
+ * <li>トラッキング用クエリパラメータの除去およびクエリパラメータのソート(名前順。同名のパラメータは出現順を保持)</li>
+ * </ul>
+ * {@link java.net.URL}を生成せずに文字列を１パスで処理します。インスタンスはスレッドセーフです。
+ * </p>
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public final class URLNormalizer {
+
+	/** デフォルトのトラッキング用クエリパラメータ(末尾が*の場合、前方一致) */
+	public static final List<String> DEFAULT_TRACKING_PARAMETERS = Collections.unmodifiableList(Arrays.asList("utm_*", "gclid",
+			"fbclid", "yclid", "msclkid", "dclid", "_ga", "mc_cid", "mc_eid"));
+
+	/** デフォルトインスタンス */
+	private static final URLNormalizer DEFAULT = new URLNormalizer();
+
+	/** 16進数 */
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	/** ポート番号の最大値 */
+	private static final int MAX_PORT = 65535;
+
+	/** クエリパラメータを名前で比較するコンパレータ */
+	private static final Comparator<String> PARAMETER_NAME_ORDER = new Comparator<String>() {
+		@Override
+		public int compare(final String aParameter1, final String aParameter2) {
+			int length1 = nameLength(aParameter1);
+			int length2 = nameLength(aParameter2);
+			int length = Math.min(length1, length2);
+			for (int i = 0; i < length; i++) {
+				char c1 = aParameter1.charAt(i);
+				char c2 = aParameter2.charAt(i);
+				if (c1 != c2) {
+					return c1 - c2;
+				}
+			}
+			return length1 - length2;
+		}
+
+		/**
+		 * パラメータ名の長さを取得する。
+		 * 
+		 * @param aParameter パラメータ(名前=値)
+		 * @return パラメータ名の長さ
+		 */
+		private int nameLength(final String aParameter) {
+			int index = aParameter.indexOf('=');
+			return (-1 != index) ? index : aParameter.length();
+		}
+	};
+
+	/** パスに使用可能な文字(ASCII) */
+	private static final boolean[] PATH_CHARS = new boolean[128];
+	/** クエリに使用可能な文字(ASCII) */
+	private static final boolean[] QUERY_CHARS = new boolean[128];
+
+	static {
+		for (char c = 'a'; c <= 'z'; c++) {
+			PATH_CHARS[c] = true;
+		}
+		for (char c = 'A'; c <= 'Z'; c++) {
+			PATH_CHARS[c] = true;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			PATH_CHARS[c] = true;
+		}
+		for (char c : "-._~!$&'()*+,;=:@/".toCharArray()) {
+			PATH_CHARS[c] = true;
+		}
+		System.arraycopy(PATH_CHARS, 0, QUERY_CHARS, 0, PATH_CHARS.length);
+		QUERY_CHARS['?'] = true;
+	}
+
+	/** トラッキング用クエリパラメータ */
+	private final Set<String> trackingParameters;
+	/** トラッキング用クエリパラメータ(前方一致) */
+	private final List<String> trackingPrefixes;
+	/** クエリパラメータをソートするか */
+	private final boolean sortQuery;
+
+	/**
+	 * デフォルトインスタンスを取得する。
+	 * 
+	 * @return インスタンス
+	 */
+	public static URLNormalizer getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * コンストラクタ
+	 * <p>
+	 * デフォルトのトラッキング用クエリパラメータを除去し、クエリパラメータをソートします。
+	 * </p>
+	 */
+	public URLNormalizer() {
+		this(DEFAULT_TRACKING_PARAMETERS, true);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param aTrackingParameters 除去するクエリパラメータ名(末尾が*の場合、前方一致)
+	 * @param aSortQuery クエリパラメータをソートする場合、<code>true</code>
+	 */
+	public URLNormalizer(final Collection<String> aTrackingParameters, final boolean aSortQuery) {
+		trackingParameters = new HashSet<String>();
+		trackingPrefixes = new ArrayList<String>();
+		for (String parameter : aTrackingParameters) {
+			String name = parameter.toLowerCase(Locale.ENGLISH);
+			if (name.endsWith("*")) {
+				trackingPrefixes.add(name.substring(0, name.length() - 1));
+			} else {
+				trackingParameters.add(name);
+			}
+		}
+		sortQuery = aSortQuery;
+	}
+
+	/**
+	 * URLを正規化する。
+	 * 
+	 * @param aUrl URL(絶対URL)
+	 * @return 正規化したURL。階層構造を持つ絶対URL(http://...等)でない場合、<code>null</code>
+	 */
+	public String normalize(final String aUrl) {
+		if (null == aUrl) {
+			return null;
+		}
+		String s = aUrl.trim();
+		int end = s.indexOf('#');
+		if (-1 == end) {
+			end = s.length();
+		}
+
+		int colon = indexOfScheme(s, end);
+		if (-1 == colon || colon + 2 >= end || '/' != s.charAt(colon + 1) || '/' != s.charAt(colon + 2)) {
+			return null;
+		}
+
+		StringBuilder sb = new StringBuilder(end + 16);
+		for (int i = 0; i < colon; i++) {
+			sb.append(toLowerAscii(s.charAt(i)));
+		}
+		int defaultPort = getDefaultPort(sb);
+		sb.append("://");
+
+		// authority
+		int authStart = colon + 3;
+		int authEnd = authStart;
+		while (authEnd < end) {
+			char c = s.charAt(authEnd);
+			if ('/' == c || '?' == c) {
+				break;
+			}
+			authEnd++;
+		}
+		int hostStart = authStart;
+		int at = s.lastIndexOf('@', authEnd - 1);
+		if (at >= authStart) {
+			appendEncoded(sb, s, authStart, at, PATH_CHARS);
+			sb.append('@');
+			hostStart = at + 1;
+		}
+		int portSep = -1;
+		for (int i = authEnd - 1; i >= hostStart; i--) {
+			char c = s.charAt(i);
+			if (':' == c) {
+				portSep = i;
+				break;
+			} else if (!isDigit(c)) {
+				break;
+			}
+		}
+		int hostEnd = (-1 != portSep) ? portSep : authEnd;
+		if (hostEnd > hostStart + 1 && '.' == s.charAt(hostEnd - 1)) {
+			// 末尾のドットを除去
+			hostEnd--;
+		}
+		if (hostEnd == hostStart) {
+			return null;
+		}
+		for (int i = hostStart; i < hostEnd; i++) {
+			sb.append(toLowerAscii(s.charAt(i)));
+		}
+		if (-1 != portSep && portSep + 1 < authEnd) {
+			if (portSep + 6 < authEnd) {
+				return null;
+			}
+			int port = Integer.parseInt(s.substring(portSep + 1, authEnd));
+			if (MAX_PORT < port) {
+				return null;
+			}
+			if (port != defaultPort) {
+				sb.append(':').append(port);
+			}
+		}
+
+		// path
+		int pathEnd = s.indexOf('?', authEnd);
+		if (-1 == pathEnd || pathEnd > end) {
+			pathEnd = end;
+		}
+		int pathStart = sb.length();
+		if (authEnd == pathEnd) {
+			sb.append('/');
+		} else {
+			appendEncoded(sb, s, authEnd, pathEnd, PATH_CHARS);
+			removeDotSegments(sb, pathStart);
+		}
+
+		// query
+		if (pathEnd < end) {
+			appendQuery(sb, s, pathEnd + 1, end);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * HTTP(S)のURLまたは相対URLか判断する。
+	 * <p>
+	 * mailto: tel: data: 等のスキームを持つ参照は{@link #resolve(String, String)}で解決できませんが、不正なURLではありません。
+	 * 解決できなかった参照が不正なURLか区別する場合に使用します。
+	 * </p>
+	 * 
+	 * @param aReference 相対URLまたは絶対URL
+	 * @return スキームを持たない、またはスキームがhttp/httpsの場合、<code>true</code>
+	 */
+	public static boolean isHttpReference(final String aReference) {
+		if (null == aReference) {
+			return false;
+		}
+		String ref = aReference.trim();
+		int colon = indexOfScheme(ref, ref.length());
+		if (-1 == colon) {
+			return true;
+		}
+		String scheme = ref.substring(0, colon).toLowerCase(Locale.ENGLISH);
+		return "http".equals(scheme) || "https".equals(scheme);
+	}
+
+	/**
+	 * 相対URLを解決し、正規化する。
+	 * 
+	 * @param aBase 基準URL(絶対URL)
+	 * @param aReference 相対URLまたは絶対URL
+	 * @return 正規化したURL。解決できない場合、<code>null</code>
+	 */
+	public String resolve(final String aBase, final String aReference) {
+		if (null == aReference) {
+			return null;
+		}
+		String ref = aReference.trim();
+		if (-1 != indexOfScheme(ref, ref.length())) {
+			return normalize(ref);
+		}
+		String base = normalize(aBase);
+		if (null == base) {
+			return null;
+		}
+		if (0 == ref.length() || '#' == ref.charAt(0)) {
+			return base;
+		}
+
+		int colon = base.indexOf(':');
+		if (ref.startsWith("//")) {
+			return normalize(base.substring(0, colon + 1) + ref);
+		}
+		int pathStart = base.indexOf('/', colon + 3);
+		if ('/' == ref.charAt(0)) {
+			return normalize(base.substring(0, pathStart) + ref);
+		}
+		int queryStart = base.indexOf('?');
+		int pathEnd = (-1 != queryStart) ? queryStart : base.length();
+		if ('?' == ref.charAt(0)) {
+			return normalize(base.substring(0, pathEnd) + ref);
+		}
+		return normalize(base.substring(0, base.lastIndexOf('/', pathEnd - 1) + 1) + ref);
+	}
+
+	/**
+	 * URLのフィンガープリントを算出する。
+	 * <p>
+	 * URLを正規化した後にフィンガープリントを算出します。正規化できない場合は、URLをそのまま使用します。
+	 * </p>
+	 * 
+	 * @param aUrl URL
+	 * @return フィンガープリント
+	 */
+	public long fingerprintOf(final String aUrl) {
+		String url = normalize(aUrl);
+		return fingerprint((null != url) ? url : aUrl);
+	}
+
+	/**
+	 * 文字列の64bitフィンガープリントを算出する。
+	 * <p>
+	 * FNV-1aで算出した値をMurmurHash3のfmix64で攪拌します。同一の文字列に対しては常に同一の値を返します。
+	 * </p>
+	 * 
+	 * @param aValue 文字列(正規化済みのURL)
+	 * @return フィンガープリント
+	 */
+	public static long fingerprint(final CharSequence aValue) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < aValue.length(); i++) {
+			hash ^= aValue.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	/**
+	 * ハッシュ値を攪拌する。(MurmurHash3 fmix64)
+	 * 
+	 * @param aHash ハッシュ値
+	 * @return 攪拌後のハッシュ値
+	 */
+	public static long mix(final long aHash) {
+		long h = aHash;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * クエリを正規化して追加する。
+	 * 
+	 * @param sb 出力先
+	 * @param s URL
+	 * @param start クエリ開始位置
+	 * @param end クエリ終了位置
+	 */
+	private void appendQuery(final StringBuilder sb, final String s, final int start, final int end) {
+		List<String> parameters = null;
+		StringBuilder parameter = new StringBuilder(end - start);
+		int i = start;
+		while (i < end) {
+			int next = s.indexOf('&', i);
+			if (-1 == next || next > end) {
+				next = end;
+			}
+			if (next > i && !isTrackingParameter(s, i, next)) {
+				parameter.setLength(0);
+				appendEncoded(parameter, s, i, next, QUERY_CHARS);
+				if (null == parameters) {
+					parameters = new ArrayList<String>();
+				}
+				parameters.add(parameter.toString());
+			}
+			i = next + 1;
+		}
+		if (null != parameters) {
+			if (sortQuery && 1 < parameters.size()) {
+				// 同名のパラメータは値の順序に意味があるため、名前のみで安定ソートする
+				Collections.sort(parameters, PARAMETER_NAME_ORDER);
+			}
+			sb.append('?');
+			for (int j = 0; j < parameters.size(); j++) {
+				if (0 < j) {
+					sb.append('&');
+				}
+				sb.append(parameters.get(j));
+			}
+		}
+	}
+
+	/**
+	 * トラッキング用クエリパラメータか判断する。
+	 * 
+	 * @param s URL
+	 * @param start パラメータ開始位置
+	 * @param end パラメータ終了位置
+	 * @return トラッキング用クエリパラメータの場合、<code>true</code>
+	 */
+	private boolean isTrackingParameter(final String s, final int start, final int end) {
+		int nameEnd = s.indexOf('=', start);
+		if (-1 == nameEnd || nameEnd > end) {
+			nameEnd = end;
+		}
+		int length = nameEnd - start;
+		for (String prefix : trackingPrefixes) {
+			if (length >= prefix.length() && s.regionMatches(true, start, prefix, 0, prefix.length())) {
+				return true;
+			}
+		}
+		if (!trackingParameters.isEmpty()) {
+			return trackingParameters.contains(s.substring(start, nameEnd).toLowerCase(Locale.ENGLISH));
+		}
+		return false;
+	}
+
+	/**
+	 * パーセントエンコーディングを正規化して追加する。
+	 * 
+	 * @param sb 出力先
+	 * @param s URL
+	 * @param start 開始位置
+	 * @param end 終了位置
+	 * @param allowed エンコード不要な文字
+	 */
+	private static void appendEncoded(final StringBuilder sb, final String s, final int start, final int end, final boolean[] allowed) {
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			if ('%' == c && i + 2 < end && isHex(s.charAt(i + 1)) && isHex(s.charAt(i + 2))) {
+				int value = (hex(s.charAt(i + 1)) << 4) | hex(s.charAt(i + 2));
+				if (isUnreserved(value)) {
+					sb.append((char) value);
+				} else {
+					appendEscape(sb, value);
+				}
+				i += 2;
+			} else if (c < 128 && allowed[c]) {
+				sb.append(c);
+			} else if (c < 128) {
+				appendEscape(sb, c);
+			} else {
+				int codePoint = Character.codePointAt(s, i);
+				if (Character.isSupplementaryCodePoint(codePoint)) {
+					i++;
+				}
+				appendUtf8(sb, codePoint);
+			}
+		}
+	}
+
+	/**
+	 * ドットセグメントを除去する。(RFC 3986 5.2.4)
+	 * 
+	 * @param sb 出力先
+	 * @param pathStart パス開始位置
+	 */
+	private static void removeDotSegments(final StringBuilder sb, final int pathStart) {
+		if (-1 == sb.indexOf("/.", pathStart)) {
+			return;
+		}
+		String path = sb.substring(pathStart);
+		sb.setLength(pathStart);
+		int length = path.length();
+		int i = 0;
+		while (i < length) {
+			int next = path.indexOf('/', i + 1);
+			if (-1 == next) {
+				next = length;
+			}
+			int segment = next - i - 1;
+			if (1 == segment && '.' == path.charAt(i + 1)) {
+				if (next == length) {
+					sb.append('/');
+				}
+			} else if (2 == segment && '.' == path.charAt(i + 1) && '.' == path.charAt(i + 2)) {
+				int last = sb.lastIndexOf("/");
+				if (last >= pathStart) {
+					sb.setLength(last);
+				}
+				if (next == length) {
+					sb.append('/');
+				}
+			} else {
+				sb.append(path, i, next);
+			}
+			i = next;
+		}
+		if (sb.length() == pathStart) {
+			sb.append('/');
+		}
+	}
+
+	/**
+	 * スキームの区切り文字(:)の位置を取得する。
+	 * 
+	 * @param s URL
+	 * @param end 終了位置
+	 * @return 区切り文字の位置。スキームが存在しない場合、-1
+	 */
+	private static int indexOfScheme(final String s, final int end) {
+		for (int i = 0; i < end; i++) {
+			char c = s.charAt(i);
+			if (':' == c) {
+				return (0 < i) ? i : -1;
+			}
+			if (!(isAlpha(c) || (0 < i && (isDigit(c) || '+' == c || '-' == c || '.' == c)))) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * スキームのデフォルトポートを取得する。
+	 * 
+	 * @param aScheme スキーム(小文字)
+	 * @return デフォルトポート。不明な場合、-1
+	 */
+	private static int getDefaultPort(final CharSequence aScheme) {
+		String scheme = aScheme.toString();
+		if ("http".equals(scheme)) {
+			return 80;
+		} else if ("https".equals(scheme)) {
+			return 443;
+		} else if ("ftp".equals(scheme)) {
+			return 21;
+		}
+		return -1;
+	}
+
+	private static void appendEscape(final StringBuilder sb, final int aByte) {
+		sb.append('%').append(HEX[(aByte >> 4) & 0x0f]).append(HEX[aByte & 0x0f]);
+	}
+
+	private static void appendUtf8(final StringBuilder sb, final int aCodePoint) {
+		if (aCodePoint < 0x800) {
+			appendEscape(sb, 0xc0 | (aCodePoint >> 6));
+			appendEscape(sb, 0x80 | (aCodePoint & 0x3f));
+		} else if (aCodePoint < 0x10000) {
+			appendEscape(sb, 0xe0 | (aCodePoint >> 12));
+			appendEscape(sb, 0x80 | ((aCodePoint >> 6) & 0x3f));
+			appendEscape(sb, 0x80 | (aCodePoint & 0x3f));
+		} else {
+			appendEscape(sb, 0xf0 | (aCodePoint >> 18));
+			appendEscape(sb, 0x80 | ((aCodePoint >> 12) & 0x3f));
+			appendEscape(sb, 0x80 | ((aCodePoint >> 6) & 0x3f));
+			appendEscape(sb, 0x80 | (aCodePoint & 0x3f));
+		}
+	}
+
+	private static boolean isUnreserved(final int c) {
+		return isAlpha(c) || isDigit(c) || '-' == c || '.' == c || '_' == c || '~' == c;
+	}
+
+	private static boolean isAlpha(final int c) {
+		return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z');
+	}
+
+	private static boolean isDigit(final int c) {
+		return '0' <= c && c <= '9';
+	}
+
+	private static boolean isHex(final char c) {
+		return isDigit(c) || ('a' <= c && c <= 'f') || ('A' <= c && c <= 'F');
+	}
+
+	private static int hex(final char c) {
+		return (c <= '9') ? c - '0' : ((c | 0x20) - 'a' + 10);
+	}
+
+	private static char toLowerAscii(final char c) {
+		return ('A' <= c && c <= 'Z') ? (char) (c | 0x20) : c;
+	}
+}
@@ -0,0 +1,187 @@
+package org.azkfw.crawler.content;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link CharsetDetector}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class CharsetDetectorTest extends TestCase {
+
+	/** 日本語の本文 */
+	private static final String TEXT = "日本語のテキストです。ひらがな・カタカナ・漢字を含みます。";
+
+	/** 半角カナを含む本文 */
+	private static final String KANA_TEXT = "ﾃｽﾄ用の半角ｶﾀｶﾅを含む本文です。";
+
+	/** Content-Typeヘッダー {Content-Typeヘッダー, 期待値} */
+	private static final String[][] CONTENT_TYPE = {
+			{ "text/html; charset=UTF-8", "UTF-8" },
+			{ "text/html;charset=shift_jis", "Shift_JIS" },
+			{ "text/html; Charset = \"EUC-JP\"", "EUC-JP" },
+			{ "text/html; charset='ISO-2022-JP'; format=flowed", "ISO-2022-JP" },
+			{ "TEXT/HTML; CHARSET=UTF-8", "UTF-8" },
+			// 指定されていない・不正な文字コード
+			{ "text/html", null },
+			{ "text/html; charset", null },
+			{ "text/html; charset=", null },
+			{ "text/html; charset=x-unknown-charset", null },
+			{ "text/html; charset=bad name", null },
+			{ null, null }, };
+
+	/** 先頭バイト列 {HTML, 期待値} */
+	private static final String[][] PRESCAN = {
+			{ "<html><head><meta charset=\"Shift_JIS\"></head>", "Shift_JIS" },
+			{ "<html><head><meta charset=utf-8></head>", "UTF-8" },
+			{ "<HTML><HEAD><META CHARSET='EUC-JP'/></HEAD>", "EUC-JP" },
+			{ "<meta http-equiv=\"Content-Type\" content=\"text/html; charset=euc-jp\">", "EUC-JP" },
+			{ "<meta name=\"viewport\" content=\"width=device-width\"><meta charset=\"UTF-8\">", "UTF-8" },
+			{ "<?xml version=\"1.0\" encoding=\"Shift_JIS\"?><html/>", "Shift_JIS" },
+			{ "<?xml version='1.0' encoding='EUC-JP'?>", "EUC-JP" },
+			// XML宣言にencodingが無い場合はmetaタグを参照する
+			{ "<?xml version=\"1.0\"?><html><meta charset=\"UTF-8\"></html>", "UTF-8" },
+			// 文字コードの指定が無い・不正
+			{ "<html><head><title>T</title></head>", null },
+			{ "<meta charset=\"x-unknown-charset\">", null },
+			{ "<meta charset=\"\">", null },
+			{ "<meta charset=\"UTF-8\"", null }, };
+
+	/** 統計的判定 {本文, 文字コード(エンコード), 期待値} */
+	private static final String[][] GUESS = {
+			{ TEXT, "Shift_JIS", "windows-31j" },
+			{ TEXT, "windows-31j", "windows-31j" },
+			{ TEXT, "EUC-JP", "EUC-JP" },
+			{ TEXT, "UTF-8", "UTF-8" },
+			{ TEXT, "ISO-2022-JP", "ISO-2022-JP" },
+			{ KANA_TEXT, "Shift_JIS", "windows-31j" },
+			{ KANA_TEXT, "EUC-JP", "EUC-JP" },
+			{ KANA_TEXT, "UTF-8", "UTF-8" },
+			// 機種依存文字
+			{ "①②③ ㈱ ～", "windows-31j", "windows-31j" },
+			// 補助漢字(３バイト)
+			{ "本文に補助漢字" + "俠" + "を含む", "EUC-JP", "EUC-JP" },
+			// ASCIIのみの場合は判定しない
+			{ "<html><body>ascii only</body></html>", "US-ASCII", null }, };
+
+	public void testGetCharset() {
+		for (String[] c : CONTENT_TYPE) {
+			assertCharset(c[0], c[1], CharsetDetector.getCharset(c[0]));
+		}
+	}
+
+	public void testGetBomCharset() throws IOException {
+		// {BOM付きバイト列, 期待値, BOMの長さ}
+		Object[][] cases = { { bytes(0xEF, 0xBB, 0xBF, 'a'), "UTF-8", 3 }, { bytes(0xFE, 0xFF, 0, 'a'), "UTF-16BE", 2 },
+				{ bytes(0xFF, 0xFE, 'a', 0), "UTF-16LE", 2 }, { bytes(0xEF, 0xBB), null, 0 }, { bytes('a', 'b', 'c'), null, 0 },
+				{ bytes(), null, 0 }, };
+		for (Object[] c : cases) {
+			byte[] data = (byte[]) c[0];
+			assertCharset(c[1], (String) c[1], CharsetDetector.getBomCharset(data, data.length));
+			assertEquals(((Integer) c[2]).intValue(), CharsetDetector.getBomLength(data, data.length));
+		}
+	}
+
+	public void testPrescan() throws IOException {
+		for (String[] c : PRESCAN) {
+			byte[] data = c[0].getBytes("US-ASCII");
+			assertCharset(c[0], c[1], CharsetDetector.prescan(data, data.length));
+		}
+	}
+
+	public void testGuess() throws IOException {
+		for (String[] c : GUESS) {
+			byte[] data = c[0].getBytes(c[1]);
+			assertCharset(c[0] + " (" + c[1] + ")", c[2], CharsetDetector.guess(data, data.length));
+		}
+	}
+
+	public void testGuessTruncated() throws IOException {
+		// 先頭バイト列の末尾でマルチバイト文字が途切れていても判定する
+		String[][] cases = { { "UTF-8", "UTF-8" }, { "EUC-JP", "EUC-JP" }, { "Shift_JIS", "windows-31j" } };
+		for (String[] c : cases) {
+			byte[] data = TEXT.getBytes(c[0]);
+			assertCharset(c[0], c[1], CharsetDetector.guess(data, data.length - 1));
+		}
+	}
+
+	public void testDetectOrder() throws IOException {
+		String meta = "<html><head><meta charset=\"EUC-JP\"></head><body>";
+		// {先頭バイト列, Content-Typeヘッダー, 期待値}
+		Object[][] cases = {
+				// BOM → ヘッダー
+				{ concat(bytes(0xEF, 0xBB, 0xBF), (meta + TEXT).getBytes("UTF-8")), "text/html; charset=Shift_JIS", "UTF-8" },
+				// ヘッダー → metaタグ
+				{ (meta + TEXT).getBytes("Shift_JIS"), "text/html; charset=Shift_JIS", "Shift_JIS" },
+				// 不正なヘッダーは無視する
+				{ (meta + TEXT).getBytes("EUC-JP"), "text/html; charset=x-unknown-charset", "EUC-JP" },
+				// metaタグ → 統計的判定
+				{ (meta + TEXT).getBytes("UTF-8"), "text/html", "EUC-JP" },
+				{ ("<html><body>" + TEXT).getBytes("Shift_JIS"), "text/html", "windows-31j" },
+				{ ("<html><body>" + TEXT).getBytes("EUC-JP"), null, "EUC-JP" },
+				{ "<html><body>ascii only".getBytes("US-ASCII"), null, null }, };
+		for (Object[] c : cases) {
+			byte[] data = (byte[]) c[0];
+			assertCharset(String.valueOf(c[1]), (String) c[2], CharsetDetector.getDefault().detect(data, data.length, (String) c[1]));
+		}
+	}
+
+	public void testPrescanSize() throws IOException {
+		StringBuilder html = new StringBuilder("<html><head><title>").append(TEXT).append("</title>");
+		for (int i = 0; i < 10; i++) {
+			html.append("<link rel=\"stylesheet\" href=\"/style.css\">");
+		}
+		html.append("<meta charset=\"EUC-JP\"></head>");
+		byte[] data = html.toString().getBytes("UTF-8");
+
+		// 先頭バイト列を超えた位置のmetaタグは参照しない
+		assertCharset("default", "EUC-JP", new CharsetDetector().detect(data, data.length, null));
+		assertCharset("64", null, new CharsetDetector(64, false).detect(data, data.length, null));
+		assertCharset("64 guess", "UTF-8", new CharsetDetector(64, true).detect(data, data.length, null));
+		assertEquals(64, new CharsetDetector(1, true).getPrescanSize());
+	}
+
+	public void testDetectContent() throws IOException {
+		byte[] data = ("<html><body>" + TEXT).getBytes("EUC-JP");
+		assertCharset("buffer", "EUC-JP", CharsetDetector.getDefault().detect(new ByteBufferContent(data), null));
+		assertCharset("buffer", "UTF-8", CharsetDetector.getDefault().detect(new ByteBufferContent(data), "text/html; charset=UTF-8"));
+
+		File file = File.createTempFile("charset", ".html");
+		try {
+			Files.write(file.toPath(), data);
+			assertCharset("stream", "EUC-JP", CharsetDetector.getDefault().detect(new FileContent(file), null));
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static void assertCharset(final Object aMessage, final String aExpected, final Charset aActual) {
+		if (null == aExpected) {
+			assertNull(String.valueOf(aMessage), aActual);
+		} else {
+			assertEquals(String.valueOf(aMessage), Charset.forName(aExpected), aActual);
+		}
+	}
+
+	private static byte[] bytes(final int... aValues) {
+		byte[] data = new byte[aValues.length];
+		for (int i = 0; i < aValues.length; i++) {
+			data[i] = (byte) aValues[i];
+		}
+		return data;
+	}
+
+	private static byte[] concat(final byte[] aFirst, final byte[] aSecond) {
+		byte[] data = new byte[aFirst.length + aSecond.length];
+		System.arraycopy(aFirst, 0, data, 0, aFirst.length);
+		System.arraycopy(aSecond, 0, data, aFirst.length, aSecond.length);
+		return data;
+	}
+}
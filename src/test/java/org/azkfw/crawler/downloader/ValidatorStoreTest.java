@@ -0,0 +1,149 @@
+package org.azkfw.crawler.downloader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.downloader.ValidatorStore.Validator;
+
+/**
+ * {@link ValidatorStore}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class ValidatorStoreTest extends TestCase {
+
+	private File dir;
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception {
+		dir = Files.createTempDirectory("validator").toFile();
+		file = new File(dir, "validator.tsv");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ValidatorStore.getInstance().destroy();
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	public void testReloadFromJournal() throws IOException {
+		ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(file, 100);
+		store.put(new URL("http://example.com/a"), "\"a1\"", null);
+		store.put(new URL("http://example.com/b"), null, "Sun, 18 Oct 2026 00:00:00 GMT");
+		store.put(new URL("http://example.com/a"), "\"a2\"", null);
+		store.remove(new URL("http://example.com/b"));
+		assertTrue(0 < file.length());
+
+		// destroy()を経由せずに読み直す(異常終了を想定)
+		store.initialize(file, 100);
+		assertEquals(1, store.size());
+		Validator validator = store.get(new URL("http://example.com/a"));
+		assertNotNull(validator);
+		assertEquals("\"a2\"", validator.getETag());
+		assertNull(validator.getLastModified());
+		assertNull(store.get(new URL("http://example.com/b")));
+	}
+
+	public void testReloadContentEncoding() throws IOException {
+		ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(file, 100);
+		store.put(new URL("http://example.com/a"), "\"a\"", null, ContentEncoding.Gzip);
+		store.put(new URL("http://example.com/b"), "\"b\"", null);
+
+		store.initialize(file, 100);
+		assertEquals(ContentEncoding.Gzip, store.get(new URL("http://example.com/a")).getContentEncoding());
+		assertEquals(ContentEncoding.Identity, store.get(new URL("http://example.com/b")).getContentEncoding());
+	}
+
+	public void testNormalizedUrlSharesValidator() throws IOException {
+		ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(null, 100);
+		store.put(new URL("HTTP://Example.COM:80/a?utm_source=x"), "\"a\"", null);
+		assertNotNull(store.get(new URL("http://example.com/a")));
+	}
+
+	public void testEvictLeastRecentlyUsed() throws IOException {
+		ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(file, 3);
+		store.put(new URL("http://example.com/1"), "\"1\"", null);
+		store.put(new URL("http://example.com/2"), "\"2\"", null);
+		store.put(new URL("http://example.com/3"), "\"3\"", null);
+		assertNotNull(store.get(new URL("http://example.com/1")));
+		store.put(new URL("http://example.com/4"), "\"4\"", null);
+
+		assertEquals(3, store.size());
+		assertNotNull(store.get(new URL("http://example.com/1")));
+		assertNull(store.get(new URL("http://example.com/2")));
+
+		store.destroy();
+		store.initialize(file, 3);
+		assertEquals(3, store.size());
+		assertNull(store.get(new URL("http://example.com/2")));
+	}
+
+	public void testCompactJournal() throws IOException {
+		ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(file, 100);
+		URL url = new URL("http://example.com/a");
+		for (int i = 0; i < 5000; i++) {
+			store.put(url, "\"" + i + "\"", null);
+		}
+		assertTrue(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).size() <= 1025);
+
+		store.initialize(file, 100);
+		assertEquals("\"4999\"", store.get(url).getETag());
+	}
+
+	public void testSkipInvalidKey() throws IOException {
+		// キーがフィンガープリントでない行は読み飛ばす
+		Files.write(file.toPath(), "http://example.com/a\t\"a\"\t\t\nzzzzzzzzzzzzzzzz\t\"z\"\t\t\n".getBytes("UTF-8"));
+		ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(file, 100);
+		assertEquals(0, store.size());
+		assertNull(store.get(new URL("http://example.com/a")));
+	}
+
+	public void testConcurrentPut() throws Exception {
+		final ValidatorStore store = ValidatorStore.getInstance();
+		store.initialize(file, 100000);
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 500; j++) {
+							store.put(new URL("http://example.com/" + index + "/" + j), "\"" + j + "\"", null);
+						}
+					} catch (IOException ex) {
+						fail(ex.getMessage());
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(4000, store.size());
+
+		// 全ての変更がジャーナルへ書き込まれていること
+		store.initialize(file, 100000);
+		assertEquals(4000, store.size());
+		assertEquals("\"499\"", store.get(new URL("http://example.com/7/499")).getETag());
+	}
+}
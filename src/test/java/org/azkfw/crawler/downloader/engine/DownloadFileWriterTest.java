@@ -0,0 +1,246 @@
+package org.azkfw.crawler.downloader.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+import junit.framework.TestCase;
+
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.content.ContentEncoding;
+import org.azkfw.crawler.content.FileContent;
+import org.azkfw.crawler.content.MappedFileContent;
+
+/**
+ * {@link DownloadFileWriter}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class DownloadFileWriterTest extends TestCase {
+
+	private File dir;
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception {
+		dir = Files.createTempDirectory("download").toFile();
+		file = new File(dir, "content.html");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	public void testCommitRenamesTempFile() throws IOException {
+		byte[] data = data(10000);
+		DownloadFileWriter writer = new DownloadFileWriter(file);
+		try {
+			assertEquals(data.length, writer.transferFrom(new ByteArrayInputStream(data)));
+			assertFalse(writer.isInMemory());
+
+			// コミットまでは一時ファイルにのみ書き込む
+			assertFalse(file.exists());
+			assertEquals(1, tempFiles().length);
+
+			writer.commit(data.length);
+			assertTrue(writer.isStored());
+			assertEquals(0, tempFiles().length);
+			assertTrue(Arrays.equals(data, Files.readAllBytes(file.toPath())));
+
+			Content content = writer.getContent(ContentEncoding.Identity);
+			assertTrue(content instanceof MappedFileContent);
+			assertTrue(Arrays.equals(data, read(content)));
+		} finally {
+			writer.close();
+		}
+		assertTrue(file.exists());
+	}
+
+	public void testReplaceExistingFile() throws IOException {
+		Files.write(file.toPath(), data(10));
+
+		byte[] data = data(100);
+		DownloadFileWriter writer = new DownloadFileWriter(file);
+		try {
+			writer.transferFrom(new ByteArrayInputStream(data));
+			writer.commit();
+		} finally {
+			writer.close();
+		}
+		assertTrue(Arrays.equals(data, Files.readAllBytes(file.toPath())));
+		assertEquals(0, tempFiles().length);
+	}
+
+	public void testPrematureEnd() throws IOException {
+		byte[] old = data(10);
+		Files.write(file.toPath(), old);
+
+		DownloadFileWriter writer = new DownloadFileWriter(file);
+		try {
+			writer.transferFrom(new ByteArrayInputStream(data(100)));
+			try {
+				// コンテンツ長より短い場合は、途中で切断されたとみなす
+				writer.commit(200);
+				fail();
+			} catch (IOException ex) {
+				assertTrue(ex.getMessage().startsWith("Premature end of content."));
+			}
+			assertFalse(writer.isStored());
+		} finally {
+			writer.close();
+		}
+
+		// 書きかけのファイルは残らず、出力ファイルは変更されない
+		assertEquals(0, tempFiles().length);
+		assertTrue(Arrays.equals(old, Files.readAllBytes(file.toPath())));
+	}
+
+	public void testCloseWithoutCommit() throws IOException {
+		DownloadFileWriter writer = new DownloadFileWriter(file);
+		writer.transferFrom(new ByteArrayInputStream(data(100)));
+		writer.close();
+
+		assertFalse(file.exists());
+		assertEquals(0, dir.listFiles().length);
+	}
+
+	public void testKeepInMemory() throws IOException {
+		byte[] data = data(100);
+		DownloadFileWriter writer = new DownloadFileWriter(file, 1024, false);
+		try {
+			writer.transferFrom(new ByteArrayInputStream(data));
+			writer.commit(data.length);
+			assertTrue(writer.isInMemory());
+
+			// アーカイブしない場合、メモリに収まったコンテンツは出力ファイルへ書き込まない
+			assertFalse(writer.isStored());
+			assertEquals(0, dir.listFiles().length);
+
+			Content content = writer.getContent(ContentEncoding.Identity);
+			assertTrue(content instanceof PooledContent);
+			assertTrue(Arrays.equals(data, read(content)));
+			((PooledContent) content).close();
+		} finally {
+			writer.close();
+		}
+		assertFalse(file.exists());
+	}
+
+	public void testArchiveInMemory() throws IOException {
+		byte[] data = data(100);
+		DownloadFileWriter writer = new DownloadFileWriter(file, 1024, true);
+		try {
+			writer.transferFrom(new ByteArrayInputStream(data));
+			writer.commit(data.length);
+			assertTrue(writer.isInMemory());
+			assertTrue(writer.isStored());
+		} finally {
+			writer.close();
+		}
+		assertTrue(Arrays.equals(data, Files.readAllBytes(file.toPath())));
+		assertEquals(0, tempFiles().length);
+	}
+
+	public void testSpillToFile() throws IOException {
+		// {メモリ保持サイズ, コンテンツサイズ, メモリ保持(1)/一時ファイル(0)}
+		int[][] cases = { { 64, 1, 1 }, { 64, 63, 1 }, { 64, 65, 0 }, { 64, 10000, 0 } };
+		for (int[] c : cases) {
+			byte[] data = data(c[1]);
+			DownloadFileWriter writer = new DownloadFileWriter(file, c[0], false);
+			try {
+				assertEquals(data.length, writer.transferFrom(new ByteArrayInputStream(data)));
+				assertEquals(data.length, writer.getLength());
+				assertEquals(1 == c[2], writer.isInMemory());
+
+				writer.commit(data.length);
+				assertEquals(1 != c[2], writer.isStored());
+				if (writer.isStored()) {
+					assertTrue(Arrays.equals(data, Files.readAllBytes(file.toPath())));
+				} else {
+					assertFalse(file.exists());
+				}
+				assertEquals(0, tempFiles().length);
+			} finally {
+				writer.close();
+			}
+			file.delete();
+		}
+	}
+
+	public void testDecode() throws IOException {
+		byte[] data = data(10000);
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		GZIPOutputStream gzip = new GZIPOutputStream(encoded);
+		gzip.write(data);
+		gzip.close();
+
+		// メモリ保持(展開後に一時ファイルへ書き出す) / 一時ファイル
+		int[] thresholds = { 1024 * 1024, 0 };
+		for (int threshold : thresholds) {
+			DownloadFileWriter writer = new DownloadFileWriter(file, threshold, true);
+			try {
+				writer.transferFrom(new ByteArrayInputStream(encoded.toByteArray()));
+				assertEquals(encoded.size(), writer.getLength());
+				writer.decode(ContentEncoding.Gzip);
+				assertEquals(data.length, writer.getLength());
+				writer.commit();
+			} finally {
+				writer.close();
+			}
+			assertTrue(Arrays.equals(data, Files.readAllBytes(file.toPath())));
+			assertEquals(0, tempFiles().length);
+			file.delete();
+		}
+	}
+
+	public void testToContent() {
+		assertTrue(DownloadFileWriter.toContent(file, null) instanceof MappedFileContent);
+		assertTrue(DownloadFileWriter.toContent(file, ContentEncoding.Identity) instanceof MappedFileContent);
+		assertTrue(DownloadFileWriter.toContent(file, ContentEncoding.Gzip) instanceof FileContent);
+		assertTrue(DownloadFileWriter.toContent(file, ContentEncoding.Deflate) instanceof FileContent);
+	}
+
+	private File[] tempFiles() {
+		return dir.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(final File aDir, final String aName) {
+				return aName.endsWith(".part");
+			}
+		});
+	}
+
+	private static byte[] data(final int aSize) {
+		byte[] data = new byte[aSize];
+		for (int i = 0; i < aSize; i++) {
+			data[i] = (byte) (i * 31 + i / 7);
+		}
+		return data;
+	}
+
+	private static byte[] read(final Content aContent) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		InputStream stream = aContent.getInputStream();
+		try {
+			byte[] buffer = new byte[4096];
+			int size;
+			while (-1 != (size = stream.read(buffer))) {
+				out.write(buffer, 0, size);
+			}
+		} finally {
+			stream.close();
+		}
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,291 @@
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.azkfw.crawler.CrawlInfo;
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.downloader.HttpClientManager;
+import org.azkfw.crawler.downloader.engine.DownloadEngine;
+import org.azkfw.crawler.downloader.engine.SimpleDownloadEngine;
+import org.azkfw.crawler.parser.engine.ParseEngine;
+import org.azkfw.crawler.parser.engine.StreamingHtmlParseEngine;
+import org.azkfw.crawler.task.CrawlerTaskResult;
+import org.azkfw.crawler.task.PipelineCrawlerTask;
+import org.azkfw.parameter.Parameter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * {@link CrawlerPipeline}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class CrawlerPipelineTest extends TestCase {
+
+	/** ページ数 */
+	private static final int PAGES = 40;
+
+	/** テスト用サーバのポート番号({@link PageEngine}から参照) */
+	private static volatile int port;
+
+	private HttpServer server;
+
+	private ExecutorService serverExecutor;
+
+	private File directory;
+
+	/** パス毎のアクセス数 */
+	private final ConcurrentHashMap<String, AtomicInteger> hits = new ConcurrentHashMap<String, AtomicInteger>();
+
+	/** レスポンスの遅延時間(ミリ秒) */
+	private volatile long delay;
+
+	@Override
+	protected void setUp() throws Exception {
+		directory = Files.createTempDirectory("pipeline").toFile();
+		delay = 0;
+
+		// ページnから n*3+1 〜 n*3+3 とトップページへリンクするサイト
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		serverExecutor = Executors.newFixedThreadPool(4);
+		server.setExecutor(serverExecutor);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(final HttpExchange exchange) throws IOException {
+				String path = exchange.getRequestURI().getPath();
+				if ("/robots.txt".equals(path)) {
+					exchange.sendResponseHeaders(404, -1);
+					exchange.close();
+					return;
+				}
+				AtomicInteger count = new AtomicInteger();
+				AtomicInteger old = hits.putIfAbsent(path, count);
+				(null != old ? old : count).incrementAndGet();
+				if (0 < delay) {
+					try {
+						Thread.sleep(delay);
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				}
+
+				int n = Integer.parseInt(path.substring(3));
+				StringBuilder html = new StringBuilder("<html><head><title>p" + n + "</title></head><body>");
+				for (int k = 1; k <= 3; k++) {
+					int m = n * 3 + k;
+					if (m < PAGES) {
+						html.append("<a href=\"/p/" + m + "\">next</a>");
+					}
+				}
+				html.append("<a href=\"/p/0\">home</a></body></html>");
+				byte[] body = html.toString().getBytes("UTF-8");
+				exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+				exchange.sendResponseHeaders(200, body.length);
+				exchange.getResponseBody().write(body);
+				exchange.close();
+			}
+		});
+		server.start();
+		port = server.getAddress().getPort();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		HttpClientManager.getInstance().destroy();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+		delete(directory);
+	}
+
+	public void testCrawlUntilIdle() throws Exception {
+		CrawlerPipeline pipeline = createPipeline(new PageEngine());
+		assertTrue(pipeline.addSeed(page(0)));
+		// 既出URLは登録しない
+		assertFalse(pipeline.addSeed(page(0)));
+
+		pipeline.start();
+		try {
+			assertTrue(pipeline.awaitIdle(30000));
+		} finally {
+			pipeline.stop();
+		}
+
+		assertEquals(PAGES, pipeline.getDownloadCount());
+		assertEquals(PAGES, pipeline.getParseCount());
+		assertEquals(PAGES, hits.size());
+		for (Map.Entry<String, AtomicInteger> entry : hits.entrySet()) {
+			assertEquals(entry.getKey(), 1, entry.getValue().get());
+		}
+	}
+
+	public void testBackpressure() throws Exception {
+		PageEngine engine = new PageEngine();
+		engine.gate = new CountDownLatch(1);
+
+		CrawlerPipeline pipeline = createPipeline(engine);
+		pipeline.setDownloadThreads(1);
+		pipeline.setParseThreads(1);
+		pipeline.setParseCapacity(1);
+		pipeline.setEnqueueCapacity(1);
+		for (int i = 0; i < PAGES; i++) {
+			pipeline.addSeed(page(i));
+		}
+
+		pipeline.start();
+		try {
+			// 解析ステージが止まっている間は、ダウンロードステージもブロックされる
+			assertFalse(pipeline.awaitIdle(1000));
+			// 解析中(1) + 解析キュー(1) + 解析キューへの投入待ち(1)
+			assertTrue(String.valueOf(pipeline.getDownloadCount()), 3 >= pipeline.getDownloadCount());
+			assertTrue(String.valueOf(hits.size()), 3 >= hits.size());
+			assertEquals(0, pipeline.getParseCount());
+
+			engine.gate.countDown();
+			assertTrue(pipeline.awaitIdle(30000));
+		} finally {
+			pipeline.stop();
+		}
+
+		assertEquals(PAGES, pipeline.getDownloadCount());
+		assertEquals(PAGES, pipeline.getParseCount());
+	}
+
+	public void testStop() throws Exception {
+		delay = 200;
+
+		CrawlerPipeline pipeline = createPipeline(new PageEngine());
+		pipeline.setDownloadThreads(2);
+		pipeline.addSeed(page(0));
+
+		pipeline.start();
+		// 処理対象が残っている間はタイムアウトする
+		assertFalse(pipeline.awaitIdle(300));
+
+		long start = System.nanoTime();
+		pipeline.stop();
+		assertTrue(10 > TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+
+		// 停止後はダウンロードしない
+		long count = pipeline.getDownloadCount();
+		assertTrue(PAGES > count);
+		Thread.sleep(500);
+		assertEquals(count, pipeline.getDownloadCount());
+	}
+
+	public void testSeenCapacity() throws Exception {
+		CrawlerPipeline pipeline = createPipeline(new PageEngine());
+		pipeline.setSeenCapacity(2);
+
+		assertTrue(pipeline.addSeed(page(0)));
+		assertTrue(pipeline.addSeed(page(1)));
+		assertFalse(pipeline.addSeed(page(0)));
+		// 上限を超えた場合、最も長く参照されていないURL(page1)を追い出す
+		assertTrue(pipeline.addSeed(page(2)));
+		assertFalse(pipeline.addSeed(page(0)));
+		assertTrue(pipeline.addSeed(page(1)));
+	}
+
+	public void testPipelineCrawlerTask() throws Exception {
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		parameters.put("engine", PageEngine.class.getName());
+		parameters.put("directory", directory.getAbsolutePath());
+		parameters.put("seed1", page(0).toExternalForm());
+		parameters.put("timeout", "30000");
+		parameters.put("delay", "0");
+		parameters.put("maxConnections", "4");
+		parameters.put("archive", "false");
+
+		PipelineCrawlerTask task = new PipelineCrawlerTask();
+		task.setParameter(Parameter.Builder.build(parameters));
+		task.setup();
+		task.initialize();
+		CrawlerTaskResult result = task.execute();
+		task.release();
+
+		assertTrue(result.isResult());
+		assertFalse(result.isStop());
+		assertEquals(PAGES, hits.size());
+	}
+
+	private CrawlerPipeline createPipeline(final CrawlerEngine aEngine) {
+		CrawlerPipeline pipeline = new CrawlerPipeline(aEngine, directory);
+		pipeline.getScheduler().setDefaultDelay(0);
+		pipeline.getScheduler().setDefaultMaxConnections(4);
+		pipeline.setArchive(false);
+		return pipeline;
+	}
+
+	private static URL page(final int aNo) throws IOException {
+		return new URL("http://127.0.0.1:" + port + "/p/" + aNo);
+	}
+
+	private static void delete(final File aFile) {
+		File[] files = aFile.listFiles();
+		if (null != files) {
+			for (File file : files) {
+				delete(file);
+			}
+		}
+		aFile.delete();
+	}
+
+	/**
+	 * テスト用サーバのページをクロールするエンジンです。
+	 */
+	public static final class PageEngine extends AbstractCrawlerEngine {
+
+		/** 解析開始を待機するラッチ */
+		private volatile CountDownLatch gate;
+
+		@Override
+		public CrawlInfo getCrawlInfo(final URL url) {
+			return null;
+		}
+
+		@Override
+		public boolean isDownloadContent(final URL url, final URL referUrl) {
+			return url.getPath().startsWith("/p/");
+		}
+
+		@Override
+		public DownloadEngine getDownloadEngine(final URL url, final URL referUrl) {
+			return new SimpleDownloadEngine();
+		}
+
+		@Override
+		public boolean isParseContent(final URL url, final String contentType) {
+			return null != contentType && contentType.startsWith("text/html");
+		}
+
+		@Override
+		public ParseEngine getParseEngine(final URL aUrl, final String contentType, final Content aContent) {
+			CountDownLatch latch = gate;
+			if (null != latch) {
+				try {
+					latch.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return new StreamingHtmlParseEngine(aUrl, aContent);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package org.azkfw.crawler.engine;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.azkfw.crawler.CrawlInfo;
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.downloader.engine.DownloadEngine;
+import org.azkfw.crawler.engine.HostGroupScheduler.Lease;
+import org.azkfw.crawler.parser.engine.ParseEngine;
+
+/**
+ * {@link HostGroupScheduler}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class HostGroupSchedulerTest extends TestCase {
+
+	public void testDrainHostGroups() throws Exception {
+		HostGroupScheduler scheduler = new HostGroupScheduler(new HostEngine());
+		scheduler.setDefaultDelay(50);
+		scheduler.offer(new URL("http://a.example.com/1"), null);
+		scheduler.offer(new URL("http://a.example.com/2"), null);
+		scheduler.offer(new URL("http://b.example.com/1"), null);
+		assertEquals(2, scheduler.getHostGroupCount());
+
+		for (int i = 0; i < 3; i++) {
+			Lease lease = scheduler.poll(1, TimeUnit.SECONDS);
+			assertNotNull(lease);
+			scheduler.release(lease);
+		}
+		assertEquals(0, scheduler.size());
+
+		// アクセス間隔が過ぎるまではホストグループを保持する
+		assertEquals(2, scheduler.getHostGroupCount());
+		assertNull(scheduler.poll(500, TimeUnit.MILLISECONDS));
+		assertEquals(0, scheduler.getHostGroupCount());
+	}
+
+	public void testKeepDelayAfterDrain() throws Exception {
+		HostGroupScheduler scheduler = new HostGroupScheduler(new HostEngine());
+		scheduler.setDefaultDelay(300);
+		scheduler.offer(new URL("http://a.example.com/1"), null);
+		scheduler.release(scheduler.poll(1, TimeUnit.SECONDS));
+		long start = System.nanoTime();
+
+		scheduler.offer(new URL("http://a.example.com/2"), null);
+		Lease lease = scheduler.poll(1, TimeUnit.SECONDS);
+		assertNotNull(lease);
+		assertTrue(250 <= TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		scheduler.release(lease);
+	}
+
+	public void testMaxConnections() throws Exception {
+		HostGroupScheduler scheduler = new HostGroupScheduler(new HostEngine());
+		scheduler.setDefaultDelay(0);
+		scheduler.offer(new URL("http://a.example.com/1"), null);
+		scheduler.offer(new URL("http://a.example.com/2"), null);
+
+		Lease lease = scheduler.poll(1, TimeUnit.SECONDS);
+		assertNotNull(lease);
+		assertNull(scheduler.poll(100, TimeUnit.MILLISECONDS));
+		scheduler.release(lease);
+		lease = scheduler.poll(1, TimeUnit.SECONDS);
+		assertNotNull(lease);
+		scheduler.release(lease);
+
+		assertNull(scheduler.poll(100, TimeUnit.MILLISECONDS));
+		assertEquals(0, scheduler.getHostGroupCount());
+	}
+
+	/**
+	 * ホストグループを使用しないテスト用クローラエンジンです。
+	 */
+	private static final class HostEngine implements CrawlerEngine {
+
+		@Override
+		public int getHostGroup(final String aName, final String aProtocol, final int aPort) {
+			return -1;
+		}
+
+		@Override
+		public CrawlInfo getCrawlInfo(final URL url) {
+			return null;
+		}
+
+		@Override
+		public boolean isDownloadContent(final URL url, final URL referUrl) {
+			return true;
+		}
+
+		@Override
+		public DownloadEngine getDownloadEngine(final URL url, final URL referUrl) {
+			return null;
+		}
+
+		@Override
+		public boolean isParseContent(final URL url, final String contentType) {
+			return false;
+		}
+
+		@Override
+		public ParseEngine getParseEngine(final URL aUrl, final String contentType, final Content aContent) {
+			return null;
+		}
+	}
+}
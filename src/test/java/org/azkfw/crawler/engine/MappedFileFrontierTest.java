@@ -0,0 +1,110 @@
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link MappedFileFrontier}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class MappedFileFrontierTest extends TestCase {
+
+	/** 複数のセグメントにまたがるよう、小さいセグメントサイズとする */
+	private static final int SEGMENT_SIZE = 512;
+
+	private File dir;
+
+	@Override
+	protected void setUp() throws Exception {
+		dir = Files.createTempDirectory("frontier").toFile();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		for (File f : dir.listFiles()) {
+			f.delete();
+		}
+		dir.delete();
+	}
+
+	public void testReopenAndDrainInOrder() throws IOException {
+		MappedFileFrontier frontier = new MappedFileFrontier(dir, 2, 1, SEGMENT_SIZE);
+		for (int i = 0; i < 100; i++) {
+			frontier.offer(url("low", i), url("referer", i), 1);
+		}
+		for (int i = 0; i < 10; i++) {
+			frontier.offer(url("high", i), null, 0);
+		}
+		assertEquals(110, frontier.size());
+		frontier.close();
+		assertTrue(2 < countSegments());
+
+		frontier = new MappedFileFrontier(dir, 2, 1, SEGMENT_SIZE);
+		assertEquals(110, frontier.size());
+		// 優先度順、同じ優先度は登録順に取り出す
+		for (int i = 0; i < 10; i++) {
+			FrontierEntry entry = frontier.poll();
+			assertEquals(url("high", i), entry.getURL());
+			assertNull(entry.getRefererURL());
+			assertEquals(0, entry.getPriority());
+		}
+		for (int i = 0; i < 100; i++) {
+			FrontierEntry entry = frontier.poll();
+			assertEquals(url("low", i), entry.getURL());
+			assertEquals(url("referer", i), entry.getRefererURL());
+			assertEquals(1, entry.getPriority());
+		}
+		assertNull(frontier.poll());
+		assertEquals(0, frontier.size());
+		frontier.close();
+
+		// 読み込み済みのセグメントファイルは削除される
+		assertTrue(2 >= countSegments());
+		frontier = new MappedFileFrontier(dir, 2, 1, SEGMENT_SIZE);
+		assertEquals(0, frontier.size());
+		assertNull(frontier.poll());
+		frontier.close();
+	}
+
+	public void testReopenKeepsReadPosition() throws IOException {
+		MappedFileFrontier frontier = new MappedFileFrontier(dir, 1, 1, SEGMENT_SIZE);
+		for (int i = 0; i < 50; i++) {
+			frontier.offer(url("page", i), null, 0);
+		}
+		for (int i = 0; i < 20; i++) {
+			assertEquals(url("page", i), frontier.poll().getURL());
+		}
+		frontier.close();
+
+		// 取り出し済みのURLは再起動後に取り出されない
+		frontier = new MappedFileFrontier(dir, 1, 1, SEGMENT_SIZE);
+		assertEquals(30, frontier.size());
+		frontier.offer(url("page", 50), null, 0);
+		for (int i = 20; i <= 50; i++) {
+			assertEquals(url("page", i), frontier.poll().getURL());
+		}
+		assertNull(frontier.poll());
+		frontier.close();
+	}
+
+	private int countSegments() {
+		int count = 0;
+		for (String name : dir.list()) {
+			if (name.endsWith(".seg")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static URL url(final String aName, final int aIndex) throws IOException {
+		return new URL(String.format("http://example.com/%s/%d", aName, aIndex));
+	}
+}
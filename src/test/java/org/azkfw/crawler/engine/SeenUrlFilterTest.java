@@ -0,0 +1,93 @@
+package org.azkfw.crawler.engine;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link SeenUrlFilter}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class SeenUrlFilterTest extends TestCase {
+
+	private static final int INSERTIONS = 100000;
+
+	private static final double FPP = 0.01;
+
+	private File dir;
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception {
+		dir = Files.createTempDirectory("seen").toFile();
+		file = new File(dir, "seen.bloom");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+		dir.delete();
+	}
+
+	public void testFalsePositiveRate() throws Exception {
+		SeenUrlFilter filter = new SeenUrlFilter(file, INSERTIONS, FPP);
+		int added = 0;
+		for (int i = 0; i < INSERTIONS; i++) {
+			if (filter.put(url("seen", i))) {
+				added++;
+			}
+		}
+		// 登録時にも偽陽性により既出と判定されるURLがある
+		assertEquals(added, filter.getCount());
+		assertTrue(INSERTIONS * (1.0 - FPP) < added);
+
+		int falsePositives = 0;
+		for (int i = 0; i < INSERTIONS; i++) {
+			if (filter.mightContain(url("unseen", i))) {
+				falsePositives++;
+			}
+		}
+		double rate = (double) falsePositives / INSERTIONS;
+		assertTrue(String.format("false positive rate %.4f", rate), 0.005 < rate && rate < 0.015);
+		filter.close();
+	}
+
+	public void testNoFalseNegativesAfterReopen() throws Exception {
+		SeenUrlFilter filter = new SeenUrlFilter(file, INSERTIONS, FPP);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.put(url("seen", i));
+		}
+		long numBits = filter.getNumBits();
+		long count = filter.getCount();
+		filter.close();
+
+		// 想定件数・偽陽性率はファイルの内容が優先される
+		filter = new SeenUrlFilter(file, 10, 0.5);
+		assertEquals(numBits, filter.getNumBits());
+		assertEquals(count, filter.getCount());
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(filter.mightContain(url("seen", i)));
+			assertFalse(filter.put(url("seen", i)));
+		}
+		filter.close();
+	}
+
+	public void testClosedFilter() throws Exception {
+		SeenUrlFilter filter = new SeenUrlFilter(file, INSERTIONS, FPP);
+		filter.put(url("seen", 0));
+		filter.close();
+
+		// 閉じた後はフィルタが設定されていない場合と同様に振る舞う
+		assertFalse(filter.mightContain(url("seen", 0)));
+		assertTrue(filter.put(url("seen", 1)));
+		filter.flush();
+	}
+
+	private static String url(final String aPath, final int aIndex) {
+		return String.format("http://host%d.example.com/%s/%d.html", aIndex % 97, aPath, aIndex);
+	}
+}
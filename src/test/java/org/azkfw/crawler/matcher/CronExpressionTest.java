@@ -0,0 +1,116 @@
+package org.azkfw.crawler.matcher;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link CronExpression}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class CronExpressionTest extends TestCase {
+
+	private static final TimeZone NEW_YORK = TimeZone.getTimeZone("America/New_York");
+
+	/**
+	 * {@link CronExpression#next(long)}を連続して呼び出した結果を検証する。
+	 * 
+	 * @param aPattern パターン
+	 * @param aFrom 開始日時
+	 * @param aExpected 期待する日時(マッチしない場合、<code>null</code>)
+	 */
+	private static void assertNext(final String aPattern, final String aFrom, final String... aExpected) throws ParseException {
+		CronExpression cron = new CronExpression(aPattern, NEW_YORK);
+		long time = parse(aFrom);
+		for (String expected : aExpected) {
+			time = cron.next(time);
+			assertEquals(aPattern + " from " + aFrom, expected, (-1 == time) ? null : format(time));
+			if (-1 != time) {
+				assertTrue(aPattern + " " + expected, cron.match(time));
+				assertFalse(aPattern + " " + expected, cron.match(time - 1000));
+			}
+		}
+	}
+
+	private static long parse(final String aValue) throws ParseException {
+		return formatter().parse(aValue).getTime();
+	}
+
+	private static String format(final long aTime) {
+		return formatter().format(new Date(aTime));
+	}
+
+	private static SimpleDateFormat formatter() {
+		SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS zzz");
+		format.setTimeZone(NEW_YORK);
+		return format;
+	}
+
+	public void testDaylightSavingStart() throws ParseException {
+		// 2026-03-08 02:00 EST → 03:00 EDT : 存在しない時刻はスキップする
+		assertNext("30 2 * * *", "2026-03-07 12:00:00.000 EST", "2026-03-09 02:30:00.000 EDT", "2026-03-10 02:30:00.000 EDT");
+		assertNext("0 * * * *", "2026-03-08 00:30:00.000 EST", "2026-03-08 01:00:00.000 EST", "2026-03-08 03:00:00.000 EDT",
+				"2026-03-08 04:00:00.000 EDT");
+		assertNext("*/30 * * * *", "2026-03-08 01:00:00.000 EST", "2026-03-08 01:30:00.000 EST", "2026-03-08 03:00:00.000 EDT");
+	}
+
+	public void testDaylightSavingEnd() throws ParseException {
+		// 2026-11-01 02:00 EDT → 01:00 EST : 時を指定したパターンは１度のみ
+		assertNext("30 1 * * *", "2026-10-31 12:00:00.000 EDT", "2026-11-01 01:30:00.000 EDT", "2026-11-02 01:30:00.000 EST");
+		assertNext("0 * * * *", "2026-11-01 00:30:00.000 EDT", "2026-11-01 01:00:00.000 EDT", "2026-11-01 01:00:00.000 EST",
+				"2026-11-01 02:00:00.000 EST");
+		assertNext("45 */1 * * *", "2026-11-01 01:50:00.000 EDT", "2026-11-01 01:45:00.000 EST", "2026-11-01 02:45:00.000 EST");
+	}
+
+	public void testRollover() throws ParseException {
+		assertNext("0 0 31 * *", "2026-01-31 00:00:00.000 EST", "2026-03-31 00:00:00.000 EDT", "2026-05-31 00:00:00.000 EDT",
+				"2026-07-31 00:00:00.000 EDT");
+		assertNext("59 23 31 12 *", "2026-12-31 23:59:00.000 EST", "2027-12-31 23:59:00.000 EST");
+		assertNext("0 0 1 * *", "2026-12-15 00:00:00.000 EST", "2027-01-01 00:00:00.000 EST");
+		assertNext("0 0 29 2 *", "2026-03-01 00:00:00.000 EST", "2028-02-29 00:00:00.000 EST", "2032-02-29 00:00:00.000 EST");
+		// 日と曜日の両方を指定 (7は日曜日)
+		assertNext("0 0 1 * 0", "2026-01-01 00:00:00.000 EST", "2026-02-01 00:00:00.000 EST", "2026-03-01 00:00:00.000 EST");
+		assertNext("0 0 1 1 7", "2026-01-01 00:00:00.000 EST", "2034-01-01 00:00:00.000 EST");
+	}
+
+	public void testLongCycle() throws ParseException {
+		// 月曜日の2月29日は28年毎、2100年(平年)を挟むと40年後
+		assertNext("0 0 29 2 1", "2026-01-01 00:00:00.000 EST", "2044-02-29 00:00:00.000 EST", "2072-02-29 00:00:00.000 EST",
+				"2112-02-29 00:00:00.000 EST");
+	}
+
+	public void testImpossible() throws ParseException {
+		assertNext("0 0 30 2 *", "2026-01-01 00:00:00.000 EST", (String) null);
+		assertNext("0 0 31 4,6,9,11 *", "2026-01-01 00:00:00.000 EST", (String) null);
+		assertNext("0 0 31 2,4 *", "2026-01-01 00:00:00.000 EST", (String) null);
+	}
+
+	public void testSeconds() throws ParseException {
+		assertNext("*/15 * * * * *", "2026-01-01 00:00:07.000 EST", "2026-01-01 00:00:15.000 EST", "2026-01-01 00:00:30.000 EST");
+		assertNext("*/15 * * * * *", "2026-01-01 00:00:14.999 EST", "2026-01-01 00:00:15.000 EST");
+		assertNext("*/15 * * * * *", "2026-01-01 00:00:15.000 EST", "2026-01-01 00:00:30.000 EST");
+		assertNext("59 59 23 31 12 *", "2026-12-31 23:59:58.500 EST", "2026-12-31 23:59:59.000 EST", "2027-12-31 23:59:59.000 EST");
+		assertNext("30 0 0 * * *", "2026-01-01 00:00:30.000 EST", "2026-01-02 00:00:30.000 EST");
+		// ５フィールドの場合、秒は0
+		assertNext("* * * * *", "2026-01-01 00:00:00.000 EST", "2026-01-01 00:01:00.000 EST");
+	}
+
+	public void testInvalidPattern() {
+		String[] patterns = { "* * * *", "* * * * * * *", "60 * * * *", "* 24 * * *", "* * 0 * *", "* * * 13 *", "* * * * 8",
+				"*/0 * * * *", "a * * * *" };
+		for (String pattern : patterns) {
+			try {
+				new CronExpression(pattern, NEW_YORK);
+				fail(pattern);
+			} catch (IllegalArgumentException ex) {
+				// OK
+			}
+		}
+	}
+}
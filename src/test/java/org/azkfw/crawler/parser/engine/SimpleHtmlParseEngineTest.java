@@ -0,0 +1,199 @@
+package org.azkfw.crawler.parser.engine;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.azkfw.crawler.content.ByteBufferContent;
+import org.azkfw.crawler.parser.engine.SimpleHtmlParseEngine.Counter;
+
+/**
+ * {@link SimpleHtmlParseEngine}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class SimpleHtmlParseEngineTest extends TestCase {
+
+	public void testCounter() {
+		Counter counter = new Counter();
+		assertEquals(0, counter.getCount("a"));
+		assertEquals(0, counter.keyset().size());
+		assertFalse(counter.keyset().iterator().hasNext());
+
+		assertEquals(1, counter.countup("a"));
+		assertEquals(1, counter.countup("b"));
+		assertEquals(2, counter.countup("a"));
+		assertEquals(2, counter.getCount("a"));
+		assertEquals(1, counter.getCount("b"));
+		assertEquals(0, counter.getCount("c"));
+		assertEquals(0, counter.getCount(null));
+
+		assertEquals(2, counter.keyset().size());
+		assertTrue(counter.keyset().contains("a"));
+		assertFalse(counter.keyset().contains("c"));
+		assertFalse(counter.keyset().contains(Integer.valueOf(1)));
+
+		Iterator<String> it = counter.keyset().iterator();
+		assertEquals("a", it.next());
+		assertEquals("b", it.next());
+		assertFalse(it.hasNext());
+		try {
+			it.next();
+			fail();
+		} catch (NoSuchElementException ex) {
+		}
+		try {
+			counter.keyset().iterator().remove();
+			fail();
+		} catch (UnsupportedOperationException ex) {
+		}
+	}
+
+	public void testCounterHashCollision() {
+		// "Aa"と"BB"はハッシュ値が等しいため、組み合わせた文字列は全て同じスロットを探索する
+		String[] keys = { "AaAa", "AaBB", "BBAa", "BBBB" };
+		Counter counter = new Counter();
+		for (int i = 0; i < keys.length; i++) {
+			for (int j = 0; j <= i; j++) {
+				counter.countup(keys[i]);
+			}
+		}
+		for (int i = 0; i < keys.length; i++) {
+			assertEquals(keys[i], i + 1, counter.getCount(keys[i]));
+		}
+		assertEquals(0, counter.getCount("AaAaAa"));
+		assertEquals(Arrays.asList(keys), toList(counter.keyset().iterator()));
+	}
+
+	public void testCounterCompareWithHashMap() {
+		// 初期容量(64)を超えて何度か拡張させる
+		Random random = new Random(18L);
+		Counter counter = new Counter();
+		Map<String, Integer> expected = new HashMap<String, Integer>();
+		List<String> order = new ArrayList<String>();
+		for (int i = 0; i < 10000; i++) {
+			String key = "http://example.com/" + random.nextInt(1000);
+			Integer count = expected.get(key);
+			if (null == count) {
+				count = Integer.valueOf(0);
+				order.add(key);
+			}
+			expected.put(key, Integer.valueOf(count.intValue() + 1));
+			assertEquals(key, expected.get(key).intValue(), counter.countup(key));
+		}
+
+		assertEquals(expected.size(), counter.keyset().size());
+		assertEquals(expected.keySet(), counter.keyset());
+		for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+			assertEquals(entry.getKey(), entry.getValue().intValue(), counter.getCount(entry.getKey()));
+		}
+		// 出現順に列挙する
+		assertEquals(order, toList(counter.keyset().iterator()));
+	}
+
+	public void testParseCounters() throws IOException {
+		// アンカー・画像・スクリプト・リンクで同じURLを重複して参照する
+		StringBuilder html = new StringBuilder("<html><head><title>T</title>");
+		html.append("<script src=\"/a/1\"></script><link rel=\"stylesheet\" href=\"/style.css\">");
+		html.append("</head><body>");
+		List<String> anchors = new ArrayList<String>();
+		List<String> images = new ArrayList<String>();
+		for (int i = 0; i < 200; i++) {
+			anchors.add("/a/" + i);
+			if (0 == i % 3) {
+				anchors.add("/a/" + i);
+			}
+			if (0 == i % 5) {
+				images.add("/a/" + i);
+			}
+			if (0 == i % 7) {
+				images.add("/img/" + i);
+			}
+		}
+		images.add("/img/0");
+		for (String anchor : anchors) {
+			html.append("<a href=\"" + anchor + "\">x</a>");
+		}
+		for (String image : images) {
+			html.append("<img src=\"" + image + "\">");
+		}
+		html.append("</body></html>");
+
+		SimpleHtmlParseEngine engine = new SimpleHtmlParseEngine(new URL("http://example.com/"), new ByteBufferContent(html.toString()
+				.getBytes("UTF-8")));
+		engine.setContentType("text/html; charset=UTF-8");
+		engine.initialize();
+		assertTrue(engine.parse().isResult());
+
+		// 従来の列毎のHashMapと同じ件数になること
+		// 順序は全ての列で共有するURLの出現順(アンカー → 画像 → スクリプト → リンク)となる
+		Map<String, int[]> expected = new LinkedHashMap<String, int[]>();
+		for (String anchor : anchors) {
+			count(expected, "http://example.com" + anchor, 0, 1);
+		}
+		for (String image : images) {
+			count(expected, "http://example.com" + image, 0, 2);
+		}
+		count(expected, "http://example.com/a/1", 0);
+		count(expected, "http://example.com/style.css", 0);
+
+		Counter[] counters = { engine.getUrls(), engine.getAnchors(), engine.getImages() };
+		for (int column = 0; column < counters.length; column++) {
+			Map<String, Integer> old = new HashMap<String, Integer>();
+			List<String> order = new ArrayList<String>();
+			for (Map.Entry<String, int[]> entry : expected.entrySet()) {
+				if (0 < entry.getValue()[column]) {
+					old.put(entry.getKey(), Integer.valueOf(entry.getValue()[column]));
+					order.add(entry.getKey());
+				}
+			}
+			Counter counter = counters[column];
+			assertEquals(old.keySet(), counter.keyset());
+			for (Map.Entry<String, Integer> entry : old.entrySet()) {
+				assertEquals(entry.getKey(), entry.getValue().intValue(), counter.getCount(entry.getKey()));
+			}
+			assertEquals(order, toList(counter.keyset().iterator()));
+		}
+
+		// 列を跨いだ重複
+		assertEquals(3, engine.getUrls().getCount("http://example.com/a/0"));
+		assertEquals(2, engine.getAnchors().getCount("http://example.com/a/0"));
+		assertEquals(1, engine.getImages().getCount("http://example.com/a/0"));
+		assertEquals(2, engine.getUrls().getCount("http://example.com/a/1"));
+		assertEquals(0, engine.getImages().getCount("http://example.com/a/1"));
+		assertEquals(2, engine.getImages().getCount("http://example.com/img/0"));
+		assertEquals(0, engine.getAnchors().getCount("http://example.com/img/0"));
+		assertEquals(1, engine.getUrls().getCount("http://example.com/style.css"));
+	}
+
+	private static void count(final Map<String, int[]> aMap, final String aKey, final int... aColumns) {
+		int[] counts = aMap.get(aKey);
+		if (null == counts) {
+			counts = new int[3];
+			aMap.put(aKey, counts);
+		}
+		for (int column : aColumns) {
+			counts[column]++;
+		}
+	}
+
+	private static List<String> toList(final Iterator<String> aIterator) {
+		List<String> list = new ArrayList<String>();
+		while (aIterator.hasNext()) {
+			list.add(aIterator.next());
+		}
+		return list;
+	}
+}
@@ -0,0 +1,56 @@
+package org.azkfw.crawler.parser.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.azkfw.crawler.content.ByteBufferContent;
+import org.azkfw.crawler.content.Content;
+import org.azkfw.crawler.content.FileContent;
+
+/**
+ * {@link StreamingHtmlParseEngine}のテストクラスです。
+ * 
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class StreamingHtmlParseEngineTest extends TestCase {
+
+	private static final String HTML = "<html><head><title>T</title></head><body>"
+			+ "<a href=\"/outer\">outer <a href=\"/inner\">inner</a> tail</a>"
+			+ "<a href=\"/second\">second<a href=\"/third\">third</a>"
+			+ "<img src=\"/i.png\"><a href=\"/last\">last" + "</body></html>";
+
+	public void testNestedAnchorFromBuffer() throws IOException {
+		assertAnchors(new ByteBufferContent(HTML.getBytes("UTF-8")));
+	}
+
+	public void testNestedAnchorFromStream() throws IOException {
+		File file = File.createTempFile("streaming", ".html");
+		try {
+			Files.write(file.toPath(), HTML.getBytes("UTF-8"));
+			assertAnchors(new FileContent(file));
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static void assertAnchors(final Content aContent) throws IOException {
+		StreamingHtmlParseEngine engine = new StreamingHtmlParseEngine(new URL("http://example.com/"), aContent);
+		engine.setContentType("text/html; charset=UTF-8");
+		engine.initialize();
+		assertTrue(engine.parse().isResult());
+
+		Set<String> expected = new HashSet<String>(Arrays.asList("http://example.com/outer", "http://example.com/inner",
+				"http://example.com/second", "http://example.com/third", "http://example.com/last"));
+		assertEquals(expected, engine.getAnchors().keyset());
+		assertEquals(new HashSet<String>(Arrays.asList("http://example.com/i.png")), engine.getImages().keyset());
+	}
+}
@@ -0,0 +1,102 @@
+package org.azkfw.crawler.performance;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link Histogram}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class HistogramTest extends TestCase {
+
+	public void testIndexOf() {
+		// {値, 区間番号, 区間の上限値}
+		long[][] cases = { { 0, 0, 0 }, { 1, 1, 1 }, { 31, 31, 31 },
+				// 32以上は２のべき乗毎に16区間
+				{ 32, 32, 33 }, { 33, 32, 33 }, { 34, 33, 35 }, { 63, 47, 63 },
+				{ 64, 48, 67 }, { 67, 48, 67 }, { 68, 49, 71 }, { 127, 63, 127 },
+				{ 128, 64, 135 }, { 1000, 111, 1023 }, { 1024, 112, 1087 },
+				{ Long.MAX_VALUE, 959, Long.MAX_VALUE } };
+		for (long[] c : cases) {
+			int index = Histogram.indexOf(c[0]);
+			assertEquals(Long.toString(c[0]), c[1], index);
+			assertEquals(Long.toString(c[0]), c[2], Histogram.highestValueOf(index));
+		}
+	}
+
+	public void testBucketBoundary() {
+		// 区間は隙間なく連続し、区間の幅は下限値の1/16以下
+		int last = Histogram.indexOf(Long.MAX_VALUE);
+		long lowest = 0;
+		for (int index = 0; index <= last; index++) {
+			long highest = Histogram.highestValueOf(index);
+			assertEquals(index, Histogram.indexOf(lowest));
+			assertEquals(index, Histogram.indexOf(highest));
+			assertTrue(String.valueOf(index), highest - lowest + 1 <= Math.max(1, lowest / 16));
+			if (index < last) {
+				assertEquals(index + 1, Histogram.indexOf(highest + 1));
+			}
+			lowest = highest + 1;
+		}
+		assertEquals(Long.MAX_VALUE, Histogram.highestValueOf(last));
+	}
+
+	public void testEmpty() {
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getSum());
+		assertEquals(0, histogram.getMin());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0.0, histogram.getMean(), 0.0);
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	public void testPercentile() {
+		Histogram histogram = new Histogram();
+		for (int i = 1000; i >= 1; i--) {
+			histogram.record(i);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(500500, histogram.getSum());
+		assertEquals(1, histogram.getMin());
+		assertEquals(1000, histogram.getMax());
+		assertEquals(500.5, histogram.getMean(), 0.0);
+
+		// {パーセンタイル, 期待値} 期待値は該当する区間の上限値
+		double[][] cases = { { 0, 1 }, { 1, 10 }, { 50, 511 }, { 90, 927 }, { 99, 991 }, { 100, 1000 }, { -1, 1 }, { 200, 1000 } };
+		for (double[] c : cases) {
+			long value = histogram.getPercentile(c[0]);
+			assertEquals(Double.toString(c[0]), (long) c[1], value);
+		}
+
+		// 相対誤差は1/16以内
+		for (int p = 1; p <= 100; p++) {
+			long exact = p * 10;
+			long value = histogram.getPercentile(p);
+			assertTrue(p + ":" + value, exact <= value && value <= exact + exact / 16);
+		}
+	}
+
+	public void testPercentileLimitedByMinMax() {
+		// 区間の上限値は、最大値・最小値の範囲に収める
+		Histogram histogram = new Histogram();
+		histogram.record(1000);
+		assertEquals(1000, histogram.getPercentile(50));
+
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(1023, histogram.getPercentile(50));
+		assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+	}
+
+	public void testRecordNegative() {
+		Histogram histogram = new Histogram();
+		histogram.record(-10);
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getSum());
+		assertEquals(0, histogram.getMin());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(100));
+	}
+}
@@ -0,0 +1,175 @@
+package org.azkfw.crawler.performance;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link MetricsRegistry}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class MetricsRegistryTest extends TestCase {
+
+	private MetricsRegistry registry;
+
+	@Override
+	protected void setUp() throws Exception {
+		registry = MetricsRegistry.getInstance();
+		registry.destroy();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		registry.destroy();
+	}
+
+	public void testWriteCounter() {
+		registry.counter("test_total", "Test counter.", "host", "a.example.com", "status", "200").add(3);
+		registry.counter("test_total", "Test counter.", "host", "a.example.com", "status", "200").increment();
+		registry.counter("test_total", "Test counter.").increment();
+
+		assertEquals("# HELP test_total Test counter.\n" //
+				+ "# TYPE test_total counter\n" //
+				+ "test_total 1\n" //
+				+ "test_total{host=\"a.example.com\",status=\"200\"} 4\n", write());
+	}
+
+	public void testEscape() {
+		// ラベル値は \ " 改行、説明は \ 改行 をエスケープする
+		registry.counter("test_total", "Help \\ \"quoted\"\nnext", "path", "a\\b\"c\nd").increment();
+		registry.counter("test_total", "Help", "path", null).increment();
+
+		assertEquals("# HELP test_total Help \\\\ \"quoted\"\\nnext\n" //
+				+ "# TYPE test_total counter\n" //
+				+ "test_total{path=\"\"} 1\n" //
+				+ "test_total{path=\"a\\\\b\\\"c\\nd\"} 1\n", write());
+	}
+
+	public void testWriteOrder() {
+		// メトリクス名順、ラベル順に出力し、系列の無いメトリクスは出力しない
+		registry.counter("b_total", "B.", "k", "2").increment();
+		registry.counter("b_total", "B.", "k", "1").increment();
+		registry.counter("a_total", "A.").increment();
+		registry.counter("c_total", "C.", "k", "1");
+		registry.remove("c_total", "k", "1");
+
+		assertEquals("# HELP a_total A.\n" //
+				+ "# TYPE a_total counter\n" //
+				+ "a_total 1\n" //
+				+ "# HELP b_total B.\n" //
+				+ "# TYPE b_total counter\n" //
+				+ "b_total{k=\"1\"} 1\n" //
+				+ "b_total{k=\"2\"} 1\n", write());
+	}
+
+	public void testWriteGauge() {
+		registry.gauge("test_value", "Test gauge.", new Gauge() {
+			@Override
+			public long getValue() {
+				return 42;
+			}
+		}, "name", "ok");
+		registry.gauge("test_value", "Test gauge.", new Gauge() {
+			@Override
+			public long getValue() {
+				throw new IllegalStateException("closed");
+			}
+		}, "name", "error");
+		registry.counterGauge("test_bytes_total", "Test counter gauge.", new Gauge() {
+			@Override
+			public long getValue() {
+				return 1024;
+			}
+		});
+
+		// 値の取得に失敗したゲージは出力しない
+		assertEquals("# HELP test_bytes_total Test counter gauge.\n" //
+				+ "# TYPE test_bytes_total counter\n" //
+				+ "test_bytes_total 1024\n" //
+				+ "# HELP test_value Test gauge.\n" //
+				+ "# TYPE test_value gauge\n" //
+				+ "test_value{name=\"ok\"} 42\n", write());
+	}
+
+	public void testWriteSummary() {
+		Histogram histogram = registry.histogram("test_size", "Test histogram.", "host", "a");
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		registry.histogram("test_size", "Test histogram.", "host", "b");
+
+		// パーセンタイル値は区間の上限値、記録が無い場合はNaN
+		assertEquals("# HELP test_size Test histogram.\n" //
+				+ "# TYPE test_size summary\n" //
+				+ "test_size{host=\"a\",quantile=\"0.5\"} 51\n" //
+				+ "test_size{host=\"a\",quantile=\"0.9\"} 91\n" //
+				+ "test_size{host=\"a\",quantile=\"0.99\"} 99\n" //
+				+ "test_size_sum{host=\"a\"} 5050\n" //
+				+ "test_size_count{host=\"a\"} 100\n" //
+				+ "test_size{host=\"b\",quantile=\"0.5\"} NaN\n" //
+				+ "test_size{host=\"b\",quantile=\"0.9\"} NaN\n" //
+				+ "test_size{host=\"b\",quantile=\"0.99\"} NaN\n" //
+				+ "test_size_sum{host=\"b\"} 0\n" //
+				+ "test_size_count{host=\"b\"} 0\n", write());
+	}
+
+	public void testWriteTimer() {
+		// ナノ秒で記録し、秒で出力する
+		Histogram timer = registry.timer("test_seconds", "Test timer.");
+		timer.record(1500000000L);
+		timer.record(1500000000L);
+
+		assertEquals("# HELP test_seconds Test timer.\n" //
+				+ "# TYPE test_seconds summary\n" //
+				+ "test_seconds{quantile=\"0.5\"} 1.5\n" //
+				+ "test_seconds{quantile=\"0.9\"} 1.5\n" //
+				+ "test_seconds{quantile=\"0.99\"} 1.5\n" //
+				+ "test_seconds_sum 3.0\n" //
+				+ "test_seconds_count 2\n", write());
+
+		registry.destroy();
+		timer = registry.timer("test_seconds", "Test timer.");
+		timer.record(300000000L);
+		assertTrue(write().contains("test_seconds_sum 0.3\n"));
+	}
+
+	public void testOverflowSeries() {
+		for (int i = 0; i < MetricsRegistry.MAX_SERIES + 10; i++) {
+			registry.counter("test_total", "Test counter.", "host", String.format("h%04d", i)).increment();
+		}
+		// 上限以前に登録した系列は、超過後もそれぞれの系列で記録する
+		registry.counter("test_total", "Test counter.", "host", "h0000").increment();
+		// 超過分は１つの系列へ集約する
+		registry.counter("test_total", "Test counter.", "host", "other").increment();
+
+		String text = write();
+		assertTrue(text.contains("test_total{host=\"h0000\"} 2\n"));
+		assertTrue(text.contains(String.format("test_total{host=\"h%04d\"} 1\n", MetricsRegistry.MAX_SERIES - 1)));
+		assertFalse(text.contains(String.format("host=\"h%04d\"", MetricsRegistry.MAX_SERIES)));
+		assertFalse(text.contains("host=\"other\""));
+		assertTrue(text.contains("test_total{overflow=\"true\"} 11\n"));
+		// HELP・TYPE + 上限数 + 超過系列
+		assertEquals(2 + MetricsRegistry.MAX_SERIES + 1, text.split("\n").length);
+	}
+
+	public void testTypeMismatch() {
+		registry.counter("test_total", "Test counter.");
+		try {
+			registry.histogram("test_total", "Test histogram.");
+			fail();
+		} catch (IllegalArgumentException ex) {
+		}
+		try {
+			registry.counter("test_other_total", "Test counter.", "host");
+			fail();
+		} catch (IllegalArgumentException ex) {
+		}
+	}
+
+	private String write() {
+		StringBuilder s = new StringBuilder();
+		registry.write(s);
+		return s.toString();
+	}
+}
@@ -0,0 +1,121 @@
+package org.azkfw.crawler.robots;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link RobotsParser}・{@link RobotsRules}のテストクラスです。
+ * <p>
+ * RFC 9309およびその参照例に基づくケースを検証します。
+ * </p>
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class RobotsParserTest extends TestCase {
+
+	private static RobotsRules parse(final String... aLines) {
+		StringBuilder sb = new StringBuilder();
+		for (String line : aLines) {
+			sb.append(line).append("\n");
+		}
+		return new RobotsParser("AzukiBot").parse(sb.toString());
+	}
+
+	/**
+	 * ルールとパスの組み合わせを検証する。
+	 * 
+	 * @param aRules ルール
+	 * @param aCases {パス, "allow"または"disallow"}
+	 */
+	private static void assertRules(final RobotsRules aRules, final String[][] aCases) {
+		for (String[] row : aCases) {
+			assertEquals(row[0], "allow".equals(row[1]), aRules.isAllowed(row[0]));
+		}
+	}
+
+	public void testLongestMatch() {
+		RobotsRules rules = parse("User-agent: *", "Disallow: /", "Allow: /p");
+		assertRules(rules, new String[][] { { "/page", "allow" }, { "/", "disallow" }, { "/other", "disallow" } });
+
+		rules = parse("User-agent: *", "Allow: /folder", "Disallow: /folder/private");
+		assertRules(rules, new String[][] { { "/folder/page", "allow" }, { "/folder/private", "disallow" },
+				{ "/folder/private/x", "disallow" }, { "/folder/privatex", "disallow" } });
+
+		// 記述順に依存しない
+		rules = parse("User-agent: *", "Disallow: /folder/private", "Allow: /folder");
+		assertRules(rules, new String[][] { { "/folder/page", "allow" }, { "/folder/private/x", "disallow" } });
+	}
+
+	public void testAllowWinsTie() {
+		RobotsRules rules = parse("User-agent: *", "Disallow: /folder", "Allow: /folder");
+		assertRules(rules, new String[][] { { "/folder", "allow" }, { "/folder/page", "allow" } });
+
+		rules = parse("User-agent: *", "Allow: /folder", "Disallow: /folder");
+		assertRules(rules, new String[][] { { "/folder/page", "allow" } });
+
+		// ワイルドカードを含むルール同士
+		rules = parse("User-agent: *", "Disallow: /*.htm", "Allow: /*.htm");
+		assertRules(rules, new String[][] { { "/page.htm", "allow" } });
+
+		// ワイルドカードを含むルールと含まないルール
+		rules = parse("User-agent: *", "Disallow: /a*c", "Allow: /abc");
+		assertRules(rules, new String[][] { { "/abc", "allow" }, { "/axc", "disallow" } });
+		rules = parse("User-agent: *", "Disallow: /abc", "Allow: /a*c");
+		assertRules(rules, new String[][] { { "/abc", "allow" } });
+	}
+
+	public void testWildcard() {
+		RobotsRules rules = parse("User-agent: *", "Disallow: /*.gif", "Disallow: /private*/", "Disallow: /fish*");
+		assertRules(rules, new String[][] { { "/image.gif", "disallow" }, { "/a/b/image.gif?x=1", "disallow" },
+				{ "/image.png", "allow" }, { "/private/", "disallow" }, { "/private-data/x", "disallow" }, { "/private", "allow" },
+				{ "/fish", "disallow" }, { "/fish.html", "disallow" }, { "/Fish.asp", "allow" }, { "/catfish", "allow" } });
+
+		// 一致した長さはワイルドカードを含むルールの長さで比較する
+		rules = parse("User-agent: *", "Allow: /page", "Disallow: /*.html");
+		assertRules(rules, new String[][] { { "/page", "allow" }, { "/page.html", "disallow" } });
+
+		rules = parse("User-agent: *", "Disallow: /**a", "Allow: /*");
+		assertRules(rules, new String[][] { { "/xa", "disallow" }, { "/xb", "allow" } });
+	}
+
+	public void testEndAnchor() {
+		RobotsRules rules = parse("User-agent: *", "Disallow: /*.php$");
+		assertRules(rules, new String[][] { { "/index.php", "disallow" }, { "/a/index.php", "disallow" },
+				{ "/index.php?x=1", "allow" }, { "/index.php5", "allow" }, { "/index.php/", "allow" } });
+
+		rules = parse("User-agent: *", "Allow: /$", "Disallow: /");
+		assertRules(rules, new String[][] { { "/", "allow" }, { "/page.htm", "disallow" } });
+
+		rules = parse("User-agent: *", "Disallow: /fish$");
+		assertRules(rules, new String[][] { { "/fish", "disallow" }, { "/fish/", "allow" }, { "/fishheads", "allow" } });
+	}
+
+	public void testGroupSelection() {
+		String[] text = { "User-agent: *", "Disallow: /all", "", "User-agent: azukibot", "User-agent: other", "Disallow: /azuki",
+				"Crawl-delay: 2.5", "", "User-agent: AzukiBot", "Disallow: /merged" };
+		RobotsRules rules = parse(text);
+		// 一致するグループは結合し、*のグループは適用しない
+		assertRules(rules, new String[][] { { "/all", "allow" }, { "/azuki", "disallow" }, { "/merged", "disallow" } });
+		assertEquals(2500, rules.getCrawlDelay());
+
+		rules = new RobotsParser("unknown").parse("User-agent: azukibot\nDisallow: /azuki\n\nUser-agent: *\nDisallow: /all\n");
+		assertRules(rules, new String[][] { { "/all", "disallow" }, { "/azuki", "allow" } });
+		assertEquals(-1, rules.getCrawlDelay());
+
+		// 一致するグループがない場合は全て許可
+		rules = new RobotsParser("unknown").parse("User-agent: azukibot\nDisallow: /\n");
+		assertRules(rules, new String[][] { { "/", "allow" } });
+	}
+
+	public void testSyntax() {
+		RobotsRules rules = parse("# comment", "Disallow: /before-group", "user-AGENT: * # comment", "disallow: /a # comment",
+				"Unknown: /b", "Disallow:", "Allow:   /a/b   ", "no separator");
+		assertRules(rules, new String[][] { { "/before-group", "allow" }, { "/a", "disallow" }, { "/a/b", "allow" },
+				{ "/b", "allow" } });
+
+		// robots.txt自身は常に許可
+		rules = parse("User-agent: *", "Disallow: /");
+		assertRules(rules, new String[][] { { "/robots.txt", "allow" }, { "", "disallow" } });
+	}
+}
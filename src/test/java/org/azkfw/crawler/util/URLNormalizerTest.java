@@ -0,0 +1,135 @@
+package org.azkfw.crawler.util;
+
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+/**
+ * {@link URLNormalizer}のテストクラスです。
+ *
+ * @since 2.0.0
+ * @version 2.0.0 2026/10/18
+ * @author Kawakicchi
+ */
+public class URLNormalizerTest extends TestCase {
+
+	/** 正規化 {入力, 期待値} */
+	private static final String[][] NORMALIZE = {
+			// スキーム・ホスト名
+			{ "HTTP://Example.COM/", "http://example.com/" },
+			{ "http://example.com", "http://example.com/" },
+			{ "http://example.com./a", "http://example.com/a" },
+			{ "http://User@Example.com/", "http://User@example.com/" },
+			{ "  http://example.com/a  ", "http://example.com/a" },
+			// ポート
+			{ "http://example.com:80/a", "http://example.com/a" },
+			{ "https://example.com:443/a", "https://example.com/a" },
+			{ "ftp://Example.com:21/a", "ftp://example.com/a" },
+			{ "http://example.com:8080/a", "http://example.com:8080/a" },
+			{ "https://example.com:80/", "https://example.com:80/" },
+			{ "http://example.com:/a", "http://example.com/a" },
+			// ドットセグメント
+			{ "http://example.com/a/./b/../c", "http://example.com/a/c" },
+			{ "http://example.com/../a", "http://example.com/a" },
+			{ "http://example.com/a/b/..", "http://example.com/a/" },
+			{ "http://example.com/a//b", "http://example.com/a//b" },
+			// パーセントエンコーディング
+			{ "http://example.com/%7euser/%2f", "http://example.com/~user/%2F" },
+			{ "http://example.com/%7E%41%2e", "http://example.com/~A." },
+			{ "http://example.com/a b", "http://example.com/a%20b" },
+			{ "http://example.com/日本", "http://example.com/%E6%97%A5%E6%9C%AC" },
+			{ "http://example.com/100%", "http://example.com/100%25" },
+			// フラグメント
+			{ "http://example.com/a#frag", "http://example.com/a" },
+			// クエリ
+			{ "http://example.com/?b=2&a=1", "http://example.com/?a=1&b=2" },
+			// 同名のパラメータは出現順を保持する
+			{ "http://example.com/?a=1&a=0", "http://example.com/?a=1&a=0" },
+			{ "http://example.com/?b=1&a=2&b=0", "http://example.com/?a=2&b=1&b=0" },
+			{ "http://example.com/?ab=1&a=2", "http://example.com/?a=2&ab=1" },
+			{ "http://example.com/?utm_source=x&id=1&gclid=y", "http://example.com/?id=1" },
+			{ "http://example.com/?utm_source=x", "http://example.com/" },
+			{ "http://example.com/?UTM_Medium=x&a=1", "http://example.com/?a=1" },
+			{ "http://example.com/?a=1&&b=2", "http://example.com/?a=1&b=2" },
+			{ "http://example.com/?q=a+b&r=%7e", "http://example.com/?q=a+b&r=~" },
+			{ "http://example.com/?", "http://example.com/" },
+			// 正規化できないURL
+			{ "mailto:a@example.com", null },
+			{ "javascript:void(0)", null },
+			{ "http:///a", null },
+			{ "http://example.com:999999/", null },
+			{ "http://example.com:99999/", null },
+			{ "http://example.com:65536/", null },
+			{ "http://example.com:65535/", "http://example.com:65535/" },
+			{ null, null }, };
+
+	/** 相対URLの解決 {基準URL, 相対URL, 期待値} */
+	private static final String[][] RESOLVE = {
+			{ "http://example.com/a/b?q=1", "c", "http://example.com/a/c" },
+			{ "http://example.com/a/b?q=1", " c ", "http://example.com/a/c" },
+			{ "http://example.com/a/b?q=1", "./", "http://example.com/a/" },
+			{ "http://example.com/a/b?q=1", "c/./d/../e", "http://example.com/a/c/e" },
+			{ "http://example.com/a/b?q=1", "../c", "http://example.com/c" },
+			{ "http://example.com/a/b?q=1", "../../../c", "http://example.com/c" },
+			{ "http://example.com/a/b?q=1", "/c", "http://example.com/c" },
+			{ "http://example.com/a/b?q=1", "//other.com/x", "http://other.com/x" },
+			{ "http://example.com/a/b?q=1", "?x=1", "http://example.com/a/b?x=1" },
+			{ "http://example.com/a/b?q=1", "#f", "http://example.com/a/b?q=1" },
+			{ "http://example.com/a/b?q=1", "", "http://example.com/a/b?q=1" },
+			{ "http://example.com/a/b?q=1", "https://Other.com", "https://other.com/" },
+			{ "http://example.com", "a", "http://example.com/a" },
+			{ "mailto:x", "a", null }, };
+
+	public void testNormalize() {
+		URLNormalizer normalizer = URLNormalizer.getDefault();
+		for (String[] row : NORMALIZE) {
+			assertEquals(row[0], row[1], normalizer.normalize(row[0]));
+		}
+	}
+
+	public void testNormalizeIdempotent() {
+		URLNormalizer normalizer = URLNormalizer.getDefault();
+		for (String[] row : NORMALIZE) {
+			if (null != row[1]) {
+				assertEquals(row[1], row[1], normalizer.normalize(row[1]));
+			}
+		}
+	}
+
+	public void testResolve() {
+		URLNormalizer normalizer = URLNormalizer.getDefault();
+		for (String[] row : RESOLVE) {
+			assertEquals(row[0] + " + " + row[1], row[2], normalizer.resolve(row[0], row[1]));
+		}
+	}
+
+	public void testIsHttpReference() {
+		Object[][] rows = { { "http://example.com/", true }, { "HTTPS://example.com/", true }, { "a/b", true }, { "//example.com/", true },
+				{ "?q=1", true }, { "mailto:a@example.com", false }, { "tel:0312345678", false }, { "data:image/png;base64,AA", false },
+				{ " javascript:void(0)", false }, { null, false }, };
+		for (Object[] row : rows) {
+			assertEquals(String.valueOf(row[0]), row[1], Boolean.valueOf(URLNormalizer.isHttpReference((String) row[0])));
+		}
+	}
+
+	public void testWithoutTrackingAndSort() {
+		URLNormalizer normalizer = new URLNormalizer(Collections.<String> emptyList(), false);
+		assertEquals("http://example.com/?utm_source=x&b=1&a=2", normalizer.normalize("http://example.com/?utm_source=x&b=1&a=2"));
+	}
+
+	public void testFingerprint() {
+		// 永続化した値(バリデータ・既出URLフィルタ)と互換性を保つため、値を固定する
+		assertEquals(0x22e692fac52b31ebL, URLNormalizer.fingerprint("http://example.com/"));
+		assertEquals(0xefd01f60ba992926L, URLNormalizer.fingerprint(""));
+
+		URLNormalizer normalizer = URLNormalizer.getDefault();
+		for (String[] row : NORMALIZE) {
+			if (null != row[0] && null != row[1]) {
+				assertEquals(row[0], URLNormalizer.fingerprint(row[1]), normalizer.fingerprintOf(row[0]));
+			}
+		}
+		assertFalse(normalizer.fingerprintOf("http://example.com/a") == normalizer.fingerprintOf("http://example.com/b"));
+		// 正規化できないURLはそのまま算出する
+		assertEquals(URLNormalizer.fingerprint("mailto:a@example.com"), normalizer.fingerprintOf("mailto:a@example.com"));
+	}
+}